@@ -18,11 +18,21 @@ package io.cdap.plugin.auroradb.mysql;
 
 import com.google.common.collect.ImmutableMap;
 import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+import io.cdap.plugin.mysql.MysqlConstants;
+import io.cdap.plugin.mysql.MysqlLoadDataOutputFormat;
+import io.cdap.plugin.mysql.MysqlTableMaintenance;
+import io.cdap.plugin.mysql.MysqlWriteMode;
 
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -42,6 +52,41 @@ public class AuroraMysqlSink extends AbstractDBSink<AuroraMysqlSink.AuroraMysqlS
     this.auroraMysqlSinkConfig = auroraMysqlSinkConfig;
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!auroraMysqlSinkConfig.containsMacro(MysqlConstants.WRITE_MODE)) {
+      MysqlWriteMode.validate(auroraMysqlSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, MysqlConstants.LOAD_DATA_BUFFER_SIZE, auroraMysqlSinkConfig.getLoadDataBufferSize(),
+                     "Load data buffer size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.MYSQL;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new MysqlTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (MysqlWriteMode.from(auroraMysqlSinkConfig.getWriteMode()) == MysqlWriteMode.LOAD_DATA) {
+      return MysqlLoadDataOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (MysqlWriteMode.from(auroraMysqlSinkConfig.getWriteMode()) == MysqlWriteMode.LOAD_DATA) {
+      MysqlLoadDataOutputFormat.configure(configAccessor, auroraMysqlSinkConfig.getLoadDataBufferSize());
+    }
+  }
+
   /**
    * Aurora DB MySQL action configuration.
    */
@@ -52,6 +97,30 @@ public class AuroraMysqlSink extends AbstractDBSink<AuroraMysqlSink.AuroraMysqlS
     @Nullable
     public Boolean autoReconnect;
 
+    @Name(MysqlConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+      "'LOAD_DATA' streams the records through 'LOAD DATA LOCAL INFILE'. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    public String writeMode;
+
+    @Name(MysqlConstants.LOAD_DATA_BUFFER_SIZE)
+    @Description("Size in bytes of the buffer of rows that is loaded by each statement in 'LOAD_DATA' write mode. " +
+      "Defaults to 16777216.")
+    @Macro
+    @Nullable
+    public Integer loadDataBufferSize;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getLoadDataBufferSize() {
+      return loadDataBufferSize;
+    }
+
     @Override
     public String getConnectionString() {
       return String.format(AuroraMysqlConstants.AURORA_MYSQL_CONNECTION_STRING_FORMAT, host, port, database);
@@ -18,11 +18,12 @@ package io.cdap.plugin.auroradb.postgres;
 
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 
-import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -42,18 +43,12 @@ public class AuroraPostgresDBRecord extends DBRecord {
   public AuroraPostgresDBRecord() {}
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
     if (AuroraPostgresSchemaReader.POSTGRES_TYPES.contains(sqlType)) {
-      handleSpecificType(resultSet, recordBuilder, field, columnIndex);
-    } else {
-      setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+      return createSchemaColumnReader(field, columnIndex);
     }
-  }
-
-  private void handleSpecificType(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                                  int columnIndex) throws SQLException {
-    setFieldAccordingToSchema(resultSet, recordBuilder, field, columnIndex);
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 
   @Override
@@ -18,12 +18,22 @@ package io.cdap.plugin.auroradb.postgres;
 
 import com.google.common.collect.ImmutableMap;
 import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+import io.cdap.plugin.postgres.PostgresConstants;
+import io.cdap.plugin.postgres.PostgresCopyOutputFormat;
+import io.cdap.plugin.postgres.PostgresTableMaintenance;
+import io.cdap.plugin.postgres.PostgresWriteMode;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -49,6 +59,42 @@ public class AuroraPostgresSink extends AbstractDBSink<AuroraPostgresSink.Aurora
     this.auroraPostgresSinkConfig = auroraPostgresSinkConfig;
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!auroraPostgresSinkConfig.containsMacro(PostgresConstants.WRITE_MODE)) {
+      PostgresWriteMode.validate(auroraPostgresSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, PostgresConstants.COPY_BUFFER_SIZE, auroraPostgresSinkConfig.getCopyBufferSize(),
+                     "Copy buffer size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.POSTGRES;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new PostgresTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (PostgresWriteMode.from(auroraPostgresSinkConfig.getWriteMode()) == PostgresWriteMode.COPY) {
+      return PostgresCopyOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (auroraPostgresSinkConfig.getCopyBufferSize() != null) {
+      configAccessor.getConfiguration().setInt(PostgresCopyOutputFormat.COPY_BUFFER_SIZE,
+                                               auroraPostgresSinkConfig.getCopyBufferSize());
+    }
+  }
+
   @Override
   protected void setColumnsInfo(List<Schema.Field> fields) {
     List<String> columnsList = new ArrayList<>();
@@ -72,6 +118,30 @@ public class AuroraPostgresSink extends AbstractDBSink<AuroraPostgresSink.Aurora
     @Nullable
     public Integer connectionTimeout;
 
+    @Name(PostgresConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, 'COPY' " +
+      "streams the records of each task through a single 'COPY ... FROM STDIN'. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    public String writeMode;
+
+    @Name(PostgresConstants.COPY_BUFFER_SIZE)
+    @Description("Size in bytes of the buffer of rows that are sent to the server at once in 'COPY' write mode. " +
+      "Defaults to 1048576.")
+    @Macro
+    @Nullable
+    public Integer copyBufferSize;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getCopyBufferSize() {
+      return copyBufferSize;
+    }
+
     @Override
     public String getConnectionString() {
       return String.format(AuroraPostgresConstants.AURORA_POSTGRES_CONNECTION_STRING_FORMAT, host, port, database);
@@ -29,9 +29,17 @@ import io.cdap.cdap.etl.api.batch.BatchSink;
 import io.cdap.cdap.etl.api.connector.Connector;
 import io.cdap.plugin.common.ConfigUtil;
 import io.cdap.plugin.db.CommonSchemaReader;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+import io.cdap.plugin.mysql.MysqlConstants;
+import io.cdap.plugin.mysql.MysqlLoadDataOutputFormat;
+import io.cdap.plugin.mysql.MysqlTableMaintenance;
+import io.cdap.plugin.mysql.MysqlWriteMode;
 
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -68,6 +76,41 @@ public class CloudSQLMySQLSink extends AbstractDBSink<CloudSQLMySQLSink.CloudSQL
     return new CommonSchemaReader();
   }
   
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!cloudsqlMysqlSinkConfig.containsMacro(MysqlConstants.WRITE_MODE)) {
+      MysqlWriteMode.validate(cloudsqlMysqlSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, MysqlConstants.LOAD_DATA_BUFFER_SIZE, cloudsqlMysqlSinkConfig.getLoadDataBufferSize(),
+                     "Load data buffer size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.MYSQL;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new MysqlTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (MysqlWriteMode.from(cloudsqlMysqlSinkConfig.getWriteMode()) == MysqlWriteMode.LOAD_DATA) {
+      return MysqlLoadDataOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (MysqlWriteMode.from(cloudsqlMysqlSinkConfig.getWriteMode()) == MysqlWriteMode.LOAD_DATA) {
+      MysqlLoadDataOutputFormat.configure(configAccessor, cloudsqlMysqlSinkConfig.getLoadDataBufferSize());
+    }
+  }
+
   /** CloudSQL MySQL sink configuration. */
   public static class CloudSQLMySQLSinkConfig extends AbstractDBSpecificSinkConfig {
 
@@ -95,6 +138,30 @@ public class CloudSQLMySQLSink extends AbstractDBSink<CloudSQLMySQLSink.CloudSQL
     @Nullable
     public String transactionIsolationLevel;
 
+    @Name(MysqlConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+      "'LOAD_DATA' streams the records through 'LOAD DATA LOCAL INFILE'. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    public String writeMode;
+
+    @Name(MysqlConstants.LOAD_DATA_BUFFER_SIZE)
+    @Description("Size in bytes of the buffer of rows that is loaded by each statement in 'LOAD_DATA' write mode. " +
+      "Defaults to 16777216.")
+    @Macro
+    @Nullable
+    public Integer loadDataBufferSize;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getLoadDataBufferSize() {
+      return loadDataBufferSize;
+    }
+
     @Override
     public String getTransactionIsolationLevel() {
       return transactionIsolationLevel;
@@ -30,14 +30,22 @@ import io.cdap.cdap.etl.api.PipelineConfigurer;
 import io.cdap.cdap.etl.api.batch.BatchSink;
 import io.cdap.cdap.etl.api.connector.Connector;
 import io.cdap.plugin.common.ConfigUtil;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+import io.cdap.plugin.postgres.PostgresConstants;
+import io.cdap.plugin.postgres.PostgresCopyOutputFormat;
 import io.cdap.plugin.postgres.PostgresDBRecord;
 import io.cdap.plugin.postgres.PostgresFieldsValidator;
 import io.cdap.plugin.postgres.PostgresSchemaReader;
+import io.cdap.plugin.postgres.PostgresTableMaintenance;
+import io.cdap.plugin.postgres.PostgresWriteMode;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -85,6 +93,42 @@ public class CloudSQLPostgreSQLSink extends AbstractDBSink<CloudSQLPostgreSQLSin
     return new PostgresDBRecord(output, columnTypes);
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!cloudsqlPostgresqlSinkConfig.containsMacro(PostgresConstants.WRITE_MODE)) {
+      PostgresWriteMode.validate(cloudsqlPostgresqlSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, PostgresConstants.COPY_BUFFER_SIZE, cloudsqlPostgresqlSinkConfig.getCopyBufferSize(),
+                     "Copy buffer size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.POSTGRES;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new PostgresTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (PostgresWriteMode.from(cloudsqlPostgresqlSinkConfig.getWriteMode()) == PostgresWriteMode.COPY) {
+      return PostgresCopyOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (cloudsqlPostgresqlSinkConfig.getCopyBufferSize() != null) {
+      configAccessor.getConfiguration().setInt(PostgresCopyOutputFormat.COPY_BUFFER_SIZE,
+                                               cloudsqlPostgresqlSinkConfig.getCopyBufferSize());
+    }
+  }
+
   @Override
   protected void setColumnsInfo(List<Schema.Field> fields) {
     List<String> columnsList = new ArrayList<>();
@@ -130,6 +174,30 @@ public class CloudSQLPostgreSQLSink extends AbstractDBSink<CloudSQLPostgreSQLSin
     @Nullable
     private String transactionIsolationLevel;
 
+    @Name(PostgresConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, 'COPY' " +
+      "streams the records of each task through a single 'COPY ... FROM STDIN'. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Name(PostgresConstants.COPY_BUFFER_SIZE)
+    @Description("Size in bytes of the buffer of rows that are sent to the server at once in 'COPY' write mode. " +
+      "Defaults to 1048576.")
+    @Macro
+    @Nullable
+    private Integer copyBufferSize;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getCopyBufferSize() {
+      return copyBufferSize;
+    }
+
     @Override
     public String getTransactionIsolationLevel() {
       return transactionIsolationLevel;
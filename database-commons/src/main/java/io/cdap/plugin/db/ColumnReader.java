@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the value of a single column of the current {@link ResultSet} row into a {@link StructuredRecord.Builder}.
+ * Readers are resolved once per result set from its metadata, so that no metadata lookups are done per row.
+ *
+ * @see DBRecord#createColumnReader
+ */
+@FunctionalInterface
+public interface ColumnReader {
+
+  /**
+   * Reads the column value of the current row and sets it on the record builder.
+   *
+   * @param resultSet the {@link ResultSet} positioned at the row to read
+   * @param recordBuilder the builder of the record being read
+   */
+  void read(ResultSet resultSet, StructuredRecord.Builder recordBuilder) throws SQLException;
+}
@@ -19,18 +19,26 @@ package io.cdap.plugin.db;
 import java.util.Objects;
 
 /**
- * Stores SQL column name and type.
+ * Stores SQL column name and type, with the precision and the scale of the type if they are known.
  */
 public class ColumnType {
 
   private String name;
   private String typeName;
   private int type;
+  private int precision;
+  private int scale;
 
   public ColumnType(String name, String typeName, int type) {
+    this(name, typeName, type, 0, 0);
+  }
+
+  public ColumnType(String name, String typeName, int type, int precision, int scale) {
     this.name = name;
     this.typeName = typeName;
     this.type = type;
+    this.precision = precision;
+    this.scale = scale;
   }
 
   public String getName() {
@@ -45,6 +53,18 @@ public class ColumnType {
     return type;
   }
 
+  /**
+   * Returns the precision of the type, as reported by {@link java.sql.ResultSetMetaData#getPrecision(int)}, or 0 if
+   * it is unknown.
+   */
+  public int getPrecision() {
+    return precision;
+  }
+
+  public int getScale() {
+    return scale;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -55,13 +75,15 @@ public class ColumnType {
     }
     ColumnType that = (ColumnType) o;
     return type == that.type &&
+      precision == that.precision &&
+      scale == that.scale &&
       Objects.equals(name, that.name) &&
       Objects.equals(typeName, that.typeName);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, typeName, type);
+    return Objects.hash(name, typeName, type, precision, scale);
   }
 
   @Override
@@ -70,6 +92,8 @@ public class ColumnType {
       "name='" + name + '\'' +
       ", typeName='" + typeName + '\'' +
       ", type=" + type +
+      ", precision=" + precision +
+      ", scale=" + scale +
       '}';
   }
 }
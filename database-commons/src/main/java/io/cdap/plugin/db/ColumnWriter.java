@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import io.cdap.cdap.api.data.format.StructuredRecord;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds the value of a single field of a {@link StructuredRecord} to a parameter of a {@link PreparedStatement}.
+ * Writers are resolved once per record schema, so that no field or type lookups are done per record.
+ *
+ * @see DBRecord#createColumnWriter
+ */
+@FunctionalInterface
+public interface ColumnWriter {
+
+  /**
+   * Binds the field value of the specified record to the statement.
+   *
+   * @param stmt the {@link PreparedStatement} to bind the value to
+   * @param record the record to take the value from
+   */
+  void write(PreparedStatement stmt, StructuredRecord record) throws SQLException;
+
+  /**
+   * Creates a writer that binds SQL NULL if the field value is null and delegates to the value writer otherwise.
+   *
+   * @param fieldName name of the field to write
+   * @param sqlIndex JDBC index of the parameter, starting with 1
+   * @param sqlType SQL type of the parameter
+   * @param valueWriter writer of non-null values
+   * @return writer of the field
+   */
+  static ColumnWriter nullSafe(String fieldName, int sqlIndex, int sqlType, ValueWriter valueWriter) {
+    return (stmt, record) -> {
+      Object value = record.get(fieldName);
+      if (value == null) {
+        stmt.setNull(sqlIndex, sqlType);
+      } else {
+        valueWriter.write(stmt, value);
+      }
+    };
+  }
+
+  /**
+   * Binds a non-null field value to a parameter of a {@link PreparedStatement}.
+   */
+  @FunctionalInterface
+  interface ValueWriter {
+
+    void write(PreparedStatement stmt, Object value) throws SQLException;
+  }
+}
@@ -16,7 +16,6 @@
 
 package io.cdap.plugin.db;
 
-import com.google.common.collect.Lists;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.plugin.common.db.DBUtils;
 
@@ -32,22 +31,7 @@ public class CommonSchemaReader implements SchemaReader {
 
   @Override
   public List<Schema.Field> getSchemaFields(ResultSet resultSet) throws SQLException {
-    List<Schema.Field> schemaFields = Lists.newArrayList();
-    ResultSetMetaData metadata = resultSet.getMetaData();
-    // ResultSetMetadata columns are numbered starting with 1
-    for (int i = 1; i <= metadata.getColumnCount(); i++) {
-      if (shouldIgnoreColumn(metadata, i)) {
-        continue;
-      }
-      String columnName = metadata.getColumnName(i);
-      Schema columnSchema = getSchema(metadata, i);
-      if (ResultSetMetaData.columnNullable == metadata.isNullable(i)) {
-        columnSchema = Schema.nullableOf(columnSchema);
-      }
-      Schema.Field field = Schema.Field.of(columnName, columnSchema);
-      schemaFields.add(field);
-    }
-    return schemaFields;
+    return getSchemaFields(resultSet.getMetaData());
   }
 
   @Override
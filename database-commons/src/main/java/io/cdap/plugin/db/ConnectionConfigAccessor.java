@@ -20,12 +20,16 @@ import com.google.common.base.Strings;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.cdap.plugin.db.batch.TransactionIsolationLevel;
+import io.cdap.plugin.db.batch.sink.Operation;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.source.SplitStrategy;
 import org.apache.hadoop.conf.Configuration;
 
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * Allows to specify and access connection configuration properties of {@link Configuration}.
@@ -37,10 +41,25 @@ public class ConnectionConfigAccessor {
   private static final String INIT_QUERIES = "io.cdap.plugin.db.init.queries";
   public static final String AUTO_COMMIT_ENABLED = "io.cdap.plugin.db.output.autocommit.enabled";
   public static final String FETCH_SIZE = "io.cdap.plugin.db.fetch.size";
+  public static final String SPLIT_STRATEGY = "io.cdap.plugin.db.input.split.strategy";
+  public static final String BATCH_SIZE = "io.cdap.plugin.db.output.batch.size";
+  public static final String BATCH_SIZE_BYTES = "io.cdap.plugin.db.output.batch.size.bytes";
+  public static final String BATCH_FLUSH_INTERVAL = "io.cdap.plugin.db.output.batch.flush.interval.seconds";
+  public static final String BATCHES_PER_COMMIT = "io.cdap.plugin.db.output.batches.per.commit";
+  public static final String ASYNC_BATCHES = "io.cdap.plugin.db.output.async.batches";
+  public static final String WRITER_PARALLELISM = "io.cdap.plugin.db.output.writer.parallelism";
+  public static final String ROUTING_FIELDS = "io.cdap.plugin.db.output.routing.fields";
+  public static final String ROWS_PER_INSERT = "io.cdap.plugin.db.output.rows.per.insert";
+  public static final String OPERATION = "io.cdap.plugin.db.output.operation";
+  public static final String KEY_COLUMNS = "io.cdap.plugin.db.output.key.columns";
+  public static final String SQL_DIALECT = "io.cdap.plugin.db.output.sql.dialect";
+  public static final String COLUMN_TYPES = "io.cdap.plugin.db.output.column.types";
+  public static final String RUN_ID = "io.cdap.plugin.db.output.run.id";
 
   private static final Gson GSON = new Gson();
   private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() { }.getType();
   private static final Type STRING_LIST_TYPE = new TypeToken<List<String>>() { }.getType();
+  private static final Type COLUMN_TYPE_LIST_TYPE = new TypeToken<List<ColumnType>>() { }.getType();
 
   private final Configuration configuration;
 
@@ -108,6 +127,179 @@ public class ConnectionConfigAccessor {
     return configuration.getInt(FETCH_SIZE, 0);
   }
 
+  public void setSplitStrategy(SplitStrategy splitStrategy) {
+    configuration.setEnum(SPLIT_STRATEGY, splitStrategy);
+  }
+
+  /**
+   * @return the strategy that divides the rows of the input query between splits, {@link SplitStrategy#RANGE}
+   * by default
+   */
+  public SplitStrategy getSplitStrategy() {
+    return configuration.getEnum(SPLIT_STRATEGY, SplitStrategy.RANGE);
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    configuration.setInt(BATCH_SIZE, batchSize);
+  }
+
+  /**
+   * @return maximum number of rows added to a batch before it is executed, or 0 if unbounded
+   */
+  public int getBatchSize() {
+    return configuration.getInt(BATCH_SIZE, 0);
+  }
+
+  public void setBatchSizeBytes(Long batchSizeBytes) {
+    configuration.setLong(BATCH_SIZE_BYTES, batchSizeBytes);
+  }
+
+  /**
+   * @return maximum estimated size in bytes of a batch before it is executed, or 0 if unbounded
+   */
+  public long getBatchSizeBytes() {
+    return configuration.getLong(BATCH_SIZE_BYTES, 0L);
+  }
+
+  public void setBatchFlushInterval(Integer batchFlushIntervalSeconds) {
+    configuration.setInt(BATCH_FLUSH_INTERVAL, batchFlushIntervalSeconds);
+  }
+
+  /**
+   * @return maximum number of seconds a non-empty batch is kept before it is executed, or 0 if unbounded
+   */
+  public int getBatchFlushInterval() {
+    return configuration.getInt(BATCH_FLUSH_INTERVAL, 0);
+  }
+
+  public void setBatchesPerCommit(Integer batchesPerCommit) {
+    configuration.setInt(BATCHES_PER_COMMIT, batchesPerCommit);
+  }
+
+  /**
+   * @return number of executed batches after which the transaction is committed, or 0 to commit only once all
+   * records are written
+   */
+  public int getBatchesPerCommit() {
+    return configuration.getInt(BATCHES_PER_COMMIT, 0);
+  }
+
+  public void setAsyncBatches(Integer asyncBatches) {
+    configuration.setInt(ASYNC_BATCHES, asyncBatches);
+  }
+
+  /**
+   * @return maximum number of batches executed in the background while the next batch is filled, or 0 to execute
+   * batches synchronously
+   */
+  public int getAsyncBatches() {
+    return configuration.getInt(ASYNC_BATCHES, 0);
+  }
+
+  public void setWriterParallelism(Integer writerParallelism) {
+    configuration.setInt(WRITER_PARALLELISM, writerParallelism);
+  }
+
+  /**
+   * @return number of connections each task writes through in parallel
+   */
+  public int getWriterParallelism() {
+    return configuration.getInt(WRITER_PARALLELISM, 1);
+  }
+
+  public void setRoutingFields(List<String> routingFields) {
+    configuration.set(ROUTING_FIELDS, GSON.toJson(routingFields, STRING_LIST_TYPE));
+  }
+
+  /**
+   * @return the fields whose values route records to the parallel writers of a task, or an empty list to distribute
+   * records round-robin
+   */
+  public List<String> getRoutingFields() {
+    if (Strings.isNullOrEmpty(configuration.get(ROUTING_FIELDS))) {
+      return Collections.emptyList();
+    }
+    return GSON.fromJson(configuration.get(ROUTING_FIELDS), STRING_LIST_TYPE);
+  }
+
+  public void setRowsPerInsert(Integer rowsPerInsert) {
+    configuration.setInt(ROWS_PER_INSERT, rowsPerInsert);
+  }
+
+  /**
+   * @return number of rows batched inserts are rewritten into, with a multi-row VALUES clause, or 1 to insert a row
+   * per statement
+   */
+  public int getRowsPerInsert() {
+    return configuration.getInt(ROWS_PER_INSERT, 1);
+  }
+
+  public void setOperation(Operation operation) {
+    configuration.setEnum(OPERATION, operation);
+  }
+
+  /**
+   * @return the operation applied for every record, {@link Operation#INSERT} by default
+   */
+  public Operation getOperation() {
+    return configuration.getEnum(OPERATION, Operation.INSERT);
+  }
+
+  public void setKeyColumns(List<String> keyColumns) {
+    configuration.set(KEY_COLUMNS, GSON.toJson(keyColumns, STRING_LIST_TYPE));
+  }
+
+  /**
+   * @return the escaped names of the key columns of the operation, or an empty list for inserts
+   */
+  public List<String> getKeyColumns() {
+    if (Strings.isNullOrEmpty(configuration.get(KEY_COLUMNS))) {
+      return Collections.emptyList();
+    }
+    return GSON.fromJson(configuration.get(KEY_COLUMNS), STRING_LIST_TYPE);
+  }
+
+  public void setSqlDialect(SqlDialect sqlDialect) {
+    configuration.setEnum(SQL_DIALECT, sqlDialect);
+  }
+
+  /**
+   * @return the SQL dialect of the database, or null if the sink does not declare one
+   */
+  @Nullable
+  public SqlDialect getSqlDialect() {
+    String sqlDialect = configuration.get(SQL_DIALECT);
+    return sqlDialect == null ? null : SqlDialect.valueOf(sqlDialect);
+  }
+
+  public void setColumnTypes(List<ColumnType> columnTypes) {
+    configuration.set(COLUMN_TYPES, GSON.toJson(columnTypes, COLUMN_TYPE_LIST_TYPE));
+  }
+
+  /**
+   * @return the types of the columns of the sink table, in the order of the statement parameters, or an empty list
+   * if they are not set
+   */
+  public List<ColumnType> getColumnTypes() {
+    if (Strings.isNullOrEmpty(configuration.get(COLUMN_TYPES))) {
+      return Collections.emptyList();
+    }
+    return GSON.fromJson(configuration.get(COLUMN_TYPES), COLUMN_TYPE_LIST_TYPE);
+  }
+
+  public void setRunId(String runId) {
+    configuration.set(RUN_ID, runId);
+  }
+
+  /**
+   * @return the identifier of the pipeline run, which names the tables that the tasks create for the run, or null
+   * if it is not set
+   */
+  @Nullable
+  public String getRunId() {
+    return configuration.get(RUN_ID);
+  }
+
   public Configuration getConfiguration() {
     return configuration;
   }
@@ -20,7 +20,6 @@ import com.google.common.base.Preconditions;
 import io.cdap.cdap.api.common.Bytes;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
-import io.cdap.plugin.util.DBUtils;
 import io.cdap.plugin.util.Lazy;
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
@@ -33,6 +32,8 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.sql.Blob;
+import java.sql.Clob;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -41,9 +42,11 @@ import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
-import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
 import javax.annotation.Nullable;
 import javax.sql.rowset.serial.SerialBlob;
@@ -56,9 +59,13 @@ import javax.sql.rowset.serial.SerialBlob;
  * @see DBWritable DBWritable
  */
 public class DBRecord implements Writable, DBWritable, Configurable {
+  private static final ZoneId UTC = ZoneId.ofOffset("UTC", ZoneOffset.UTC);
+
   protected StructuredRecord record;
   protected Configuration conf;
   private final Lazy<Schema> schema = new Lazy<>(this::computeSchema);
+  private ColumnReader[] columnReaders;
+  private ResultSet readersResultSet;
 
   /**
    * Need to cache column types to set fields of the input record on {@link PreparedStatement} in the right order.
@@ -93,6 +100,13 @@ public class DBRecord implements Writable, DBWritable, Configurable {
     return record;
   }
 
+  /**
+   * @return types of the columns the {@link #record} is written to, in the order of the statement parameters
+   */
+  public List<ColumnType> getColumnTypes() {
+    return columnTypes;
+  }
+
   /**
    * Builds the {@link #record} using the specified {@link ResultSet}
    *
@@ -100,16 +114,14 @@ public class DBRecord implements Writable, DBWritable, Configurable {
    */
   public void readFields(ResultSet resultSet) throws SQLException {
     Schema schema = getSchema();
-    ResultSetMetaData metadata = resultSet.getMetaData();
+    if (columnReaders == null || readersResultSet != resultSet) {
+      // resolve the readers once per result set, i.e. once per split
+      columnReaders = createColumnReaders(resultSet.getMetaData(), schema);
+      readersResultSet = resultSet;
+    }
     StructuredRecord.Builder recordBuilder = StructuredRecord.builder(schema);
-    for (int i = 0; i < schema.getFields().size(); i++) {
-      Schema.Field field = schema.getFields().get(i);
-      int columnIndex = i + 1;
-      int sqlType = metadata.getColumnType(columnIndex);
-      int sqlPrecision = metadata.getPrecision(columnIndex);
-      int sqlScale = metadata.getScale(columnIndex);
-
-      handleField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+    for (ColumnReader columnReader : columnReaders) {
+      columnReader.read(resultSet, recordBuilder);
     }
     record = recordBuilder.build();
   }
@@ -134,67 +146,164 @@ public class DBRecord implements Writable, DBWritable, Configurable {
     return new CommonSchemaReader();
   }
 
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
-    setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+  /**
+   * Resolves the readers of all schema fields. Readers are invoked in the order of the returned array, which is
+   * the order of the schema fields unless overridden.
+   *
+   * @param metadata metadata of the {@link ResultSet} to read
+   * @param schema schema of the records to build
+   * @return readers of all schema fields
+   */
+  protected ColumnReader[] createColumnReaders(ResultSetMetaData metadata, Schema schema) throws SQLException {
+    List<Schema.Field> fields = schema.getFields();
+    ColumnReader[] readers = new ColumnReader[fields.size()];
+    for (int i = 0; i < fields.size(); i++) {
+      readers[i] = createColumnReader(metadata, fields.get(i), i + 1);
+    }
+    return readers;
   }
 
-  protected void setField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                          int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
-    Object o = DBUtils.transformValue(sqlType, sqlPrecision, sqlScale, resultSet, columnIndex);
-    if (o instanceof Date) {
-      recordBuilder.setDate(field.getName(), ((Date) o).toLocalDate());
-    } else if (o instanceof Time) {
-      recordBuilder.setTime(field.getName(), ((Time) o).toLocalTime());
-    } else if (o instanceof Timestamp) {
-      Instant instant = ((Timestamp) o).toInstant();
-      recordBuilder.setTimestamp(field.getName(), instant.atZone(ZoneId.ofOffset("UTC", ZoneOffset.UTC)));
-    } else if (o instanceof BigDecimal) {
-      recordBuilder.setDecimal(field.getName(), (BigDecimal) o);
-    } else if (o instanceof BigInteger) {
-      if (sqlType == Types.BIGINT && (resultSet.getMetaData().isSigned(columnIndex) ||
-          resultSet.getMetaData().getPrecision(columnIndex) < 19)) {
+  private ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field,
+                                          int columnIndex) throws SQLException {
+    int sqlType = metadata.getColumnType(columnIndex);
+    int sqlPrecision = metadata.getPrecision(columnIndex);
+    int sqlScale = metadata.getScale(columnIndex);
+    return createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+  }
+
+  /**
+   * Resolves the reader of a single column. Override this method to handle database specific types and fall back
+   * to this implementation for the others.
+   *
+   * @param metadata metadata of the {@link ResultSet} to read
+   * @param field schema field the column is read into
+   * @param columnIndex JDBC index of the column, starting with 1
+   * @param sqlType SQL type of the column
+   * @param sqlPrecision precision of the column
+   * @param sqlScale scale of the column
+   * @return reader of the column
+   */
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+    String fieldName = field.getName();
+    switch (sqlType) {
+      case Types.SMALLINT:
+      case Types.TINYINT:
+        return (resultSet, recordBuilder) -> {
+          int value = resultSet.getInt(columnIndex);
+          recordBuilder.set(fieldName, resultSet.wasNull() ? null : value);
+        };
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        return (resultSet, recordBuilder) -> {
+          BigDecimal value = resultSet.getBigDecimal(columnIndex);
+          if (value == null) {
+            recordBuilder.set(fieldName, null);
+          } else {
+            recordBuilder.setDecimal(fieldName, value);
+          }
+        };
+      case Types.DATE:
+        return (resultSet, recordBuilder) -> {
+          Date value = resultSet.getDate(columnIndex);
+          if (value == null) {
+            recordBuilder.set(fieldName, null);
+          } else {
+            recordBuilder.setDate(fieldName, value.toLocalDate());
+          }
+        };
+      case Types.TIME:
+        return (resultSet, recordBuilder) -> {
+          Time value = resultSet.getTime(columnIndex);
+          if (value == null) {
+            recordBuilder.set(fieldName, null);
+          } else {
+            recordBuilder.setTime(fieldName, value.toLocalTime());
+          }
+        };
+      case Types.TIMESTAMP:
+        return (resultSet, recordBuilder) -> {
+          Timestamp value = resultSet.getTimestamp(columnIndex);
+          if (value == null) {
+            recordBuilder.set(fieldName, null);
+          } else {
+            recordBuilder.setTimestamp(fieldName, value.toInstant().atZone(UTC));
+          }
+        };
+      case Types.ROWID:
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
+      case Types.BLOB:
+        return (resultSet, recordBuilder) -> {
+          Blob blob = resultSet.getBlob(columnIndex);
+          recordBuilder.set(fieldName, blob == null ? null : blob.getBytes(1, (int) blob.length()));
+        };
+      case Types.CLOB:
+        return (resultSet, recordBuilder) -> {
+          Clob clob = resultSet.getClob(columnIndex);
+          recordBuilder.set(fieldName, clob == null ? null : clob.getSubString(1, (int) clob.length()));
+        };
+      default:
         //SQL BIGINT type is 64-bit long thus signed should be able to convert to long without losing precisions
         // or UNSIGNED type is within the scope of signed long
-        recordBuilder.set(field.getName(), ((BigInteger) o).longValueExact());
-      } else {
-        // BigInteger won't have any fraction part and scale is 0
-        recordBuilder.setDecimal(field.getName(), new BigDecimal((BigInteger) o, 0));
-      }
-    } else {
-      recordBuilder.set(field.getName(), o);
+        boolean bigIntegerAsLong = sqlType == Types.BIGINT &&
+          (metadata.isSigned(columnIndex) || sqlPrecision < 19);
+        return (resultSet, recordBuilder) ->
+          setValue(recordBuilder, fieldName, resultSet.getObject(columnIndex), bigIntegerAsLong);
     }
   }
 
-  protected void setFieldAccordingToSchema(ResultSet resultSet, StructuredRecord.Builder recordBuilder,
-                                           Schema.Field field, int columnIndex) throws SQLException {
+  /**
+   * Creates a reader that uses the getter matching the type of the schema field rather than the SQL type of the
+   * column.
+   *
+   * @param field schema field the column is read into
+   * @param columnIndex JDBC index of the column, starting with 1
+   * @return reader of the column
+   */
+  protected ColumnReader createSchemaColumnReader(Schema.Field field, int columnIndex) {
+    String fieldName = field.getName();
     Schema.Type fieldType = field.getSchema().isNullable() ? field.getSchema().getNonNullable().getType()
       : field.getSchema().getType();
 
     switch (fieldType) {
-      case NULL:
-        break;
       case STRING:
-        recordBuilder.set(field.getName(), resultSet.getString(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
       case BOOLEAN:
-        recordBuilder.set(field.getName(), resultSet.getBoolean(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getBoolean(columnIndex));
       case INT:
-        recordBuilder.set(field.getName(), resultSet.getInt(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getInt(columnIndex));
       case LONG:
-        recordBuilder.set(field.getName(), resultSet.getLong(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getLong(columnIndex));
       case FLOAT:
-        recordBuilder.set(field.getName(), resultSet.getFloat(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getFloat(columnIndex));
       case DOUBLE:
-        recordBuilder.set(field.getName(), resultSet.getDouble(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getDouble(columnIndex));
       case BYTES:
-        recordBuilder.set(field.getName(), resultSet.getBytes(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getBytes(columnIndex));
+      default:
+        return (resultSet, recordBuilder) -> { };
+    }
+  }
+
+  private static void setValue(StructuredRecord.Builder recordBuilder, String fieldName, @Nullable Object o,
+                               boolean bigIntegerAsLong) {
+    if (o instanceof Date) {
+      recordBuilder.setDate(fieldName, ((Date) o).toLocalDate());
+    } else if (o instanceof Time) {
+      recordBuilder.setTime(fieldName, ((Time) o).toLocalTime());
+    } else if (o instanceof Timestamp) {
+      recordBuilder.setTimestamp(fieldName, ((Timestamp) o).toInstant().atZone(UTC));
+    } else if (o instanceof BigDecimal) {
+      recordBuilder.setDecimal(fieldName, (BigDecimal) o);
+    } else if (o instanceof BigInteger) {
+      if (bigIntegerAsLong) {
+        recordBuilder.set(fieldName, ((BigInteger) o).longValueExact());
+      } else {
+        // BigInteger won't have any fraction part and scale is 0
+        recordBuilder.setDecimal(fieldName, new BigDecimal((BigInteger) o, 0));
+      }
+    } else {
+      recordBuilder.set(fieldName, o);
     }
   }
 
@@ -212,11 +321,60 @@ public class DBRecord implements Writable, DBWritable, Configurable {
    * @param stmt the {@link PreparedStatement} to write the {@link StructuredRecord} to
    */
   public void write(PreparedStatement stmt) throws SQLException {
+    write(stmt, createColumnWriters(record.getSchema()));
+  }
+
+  /**
+   * Writes the {@link #record} to the specified {@link PreparedStatement} using writers previously created by
+   * {@link #createColumnWriters(Schema)} for the schema of the record.
+   *
+   * @param stmt the {@link PreparedStatement} to write the {@link StructuredRecord} to
+   * @param columnWriters writers of all columns, in the order of the statement parameters
+   */
+  public void write(PreparedStatement stmt, ColumnWriter[] columnWriters) throws SQLException {
+    for (ColumnWriter columnWriter : columnWriters) {
+      columnWriter.write(stmt, record);
+    }
+  }
+
+  /**
+   * Resolves the writers of all columns for records of the specified schema. The writers only depend on the schema
+   * and on the column types, so they can be reused for all records of a task that share the schema.
+   *
+   * @param recordSchema schema of the records to write
+   * @return writers of all columns, in the order of the statement parameters
+   */
+  public ColumnWriter[] createColumnWriters(Schema recordSchema) {
+    ColumnWriter[] writers = new ColumnWriter[columnTypes.size()];
     for (int i = 0; i < columnTypes.size(); i++) {
-      ColumnType columnType = columnTypes.get(i);
-      Schema.Field field = record.getSchema().getField(columnType.getName());
-      writeToDB(stmt, field, i);
+      writers[i] = createColumnWriter(recordSchema.getField(columnTypes.get(i).getName()), i);
+    }
+    return writers;
+  }
+
+  /**
+   * Estimates the number of bytes the {@link #record} occupies once its values are bound to a statement.
+   * The estimate is only used to bound the size of pending batches, so it does not need to be exact.
+   *
+   * @return estimated size of the record values in bytes
+   */
+  public long estimateSize() {
+    long size = 0;
+    for (Schema.Field field : record.getSchema().getFields()) {
+      Object value = record.get(field.getName());
+      if (value == null) {
+        size++;
+      } else if (value instanceof String) {
+        size += ((String) value).length();
+      } else if (value instanceof byte[]) {
+        size += ((byte[]) value).length;
+      } else if (value instanceof ByteBuffer) {
+        size += ((ByteBuffer) value).remaining();
+      } else {
+        size += Long.BYTES;
+      }
     }
+    return size;
   }
 
   private Schema getNonNullableSchema(Schema.Field field) {
@@ -274,100 +432,126 @@ public class DBRecord implements Writable, DBWritable, Configurable {
     }
   }
 
-  protected void writeToDB(PreparedStatement stmt, @Nullable Schema.Field field, int fieldIndex) throws SQLException {
-
+  /**
+   * Resolves the writer of a single column. Override this method to handle database specific types and fall back
+   * to this implementation for the others.
+   *
+   * @param field schema field to write, or null if the field is absent in the record schema
+   * @param fieldIndex index of the column in {@link #columnTypes}
+   * @return writer of the column
+   */
+  protected ColumnWriter createColumnWriter(@Nullable Schema.Field field, int fieldIndex) {
     int sqlIndex = fieldIndex + 1;
     int sqlType = columnTypes.get(fieldIndex).getType();
     if (field == null) {
       // Some of the fields can be absent in the record
-      stmt.setNull(sqlIndex, sqlType);
-      return;
+      return (stmt, record) -> stmt.setNull(sqlIndex, sqlType);
     }
 
     String fieldName = field.getName();
     Schema fieldSchema = getNonNullableSchema(field);
     Schema.Type fieldType = fieldSchema.getType();
     Schema.LogicalType fieldLogicalType = fieldSchema.getLogicalType();
-    Object fieldValue = record.get(fieldName);
-
-    if (fieldValue == null) {
-      stmt.setNull(sqlIndex, columnTypes.get(fieldIndex).getType());
-      return;
-    }
 
     if (fieldLogicalType != null) {
       switch (fieldLogicalType) {
         case DATE:
-          stmt.setDate(sqlIndex, Date.valueOf(record.getDate(fieldName)));
-          break;
+          return (stmt, record) -> {
+            LocalDate value = record.getDate(fieldName);
+            if (value == null) {
+              stmt.setNull(sqlIndex, sqlType);
+            } else {
+              stmt.setDate(sqlIndex, Date.valueOf(value));
+            }
+          };
         case TIME_MILLIS:
         case TIME_MICROS:
-          stmt.setTime(sqlIndex, Time.valueOf(record.getTime(fieldName)));
-          break;
+          return (stmt, record) -> {
+            LocalTime value = record.getTime(fieldName);
+            if (value == null) {
+              stmt.setNull(sqlIndex, sqlType);
+            } else {
+              stmt.setTime(sqlIndex, Time.valueOf(value));
+            }
+          };
         case TIMESTAMP_MILLIS:
         case TIMESTAMP_MICROS:
-          stmt.setTimestamp(sqlIndex, Timestamp.from(record.getTimestamp(fieldName).toInstant()));
-          break;
+          return (stmt, record) -> {
+            ZonedDateTime value = record.getTimestamp(fieldName);
+            if (value == null) {
+              stmt.setNull(sqlIndex, sqlType);
+            } else {
+              stmt.setTimestamp(sqlIndex, Timestamp.from(value.toInstant()));
+            }
+          };
         case DECIMAL:
-          stmt.setBigDecimal(sqlIndex, record.getDecimal(fieldName));
-          break;
+          return (stmt, record) -> {
+            BigDecimal value = record.getDecimal(fieldName);
+            if (value == null) {
+              stmt.setNull(sqlIndex, sqlType);
+            } else {
+              stmt.setBigDecimal(sqlIndex, value);
+            }
+          };
+        default:
+          return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType, (stmt, value) -> { });
       }
-      return;
     }
 
     switch (fieldType) {
       case NULL:
-        stmt.setNull(sqlIndex, columnTypes.get(fieldIndex).getType());
-        break;
+        return (stmt, record) -> stmt.setNull(sqlIndex, sqlType);
       case STRING:
         // clob can also be written to as setString
-        stmt.setString(sqlIndex, (String) fieldValue);
-        break;
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                     (stmt, value) -> stmt.setString(sqlIndex, (String) value));
       case BOOLEAN:
-        stmt.setBoolean(sqlIndex, (Boolean) fieldValue);
-        break;
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                     (stmt, value) -> stmt.setBoolean(sqlIndex, (Boolean) value));
       case INT:
         // write short or int appropriately
-        writeInt(stmt, fieldIndex, sqlIndex, fieldValue);
-        break;
+        if (Types.TINYINT == sqlType || Types.SMALLINT == sqlType) {
+          return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                       (stmt, value) -> stmt.setShort(sqlIndex, ((Integer) value).shortValue()));
+        }
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                     (stmt, value) -> stmt.setInt(sqlIndex, (Integer) value));
       case LONG:
-        stmt.setLong(sqlIndex, (Long) fieldValue);
-        break;
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                     (stmt, value) -> stmt.setLong(sqlIndex, (Long) value));
       case FLOAT:
         // both real and float are set with the same method on prepared statement
-        stmt.setFloat(sqlIndex, (Float) fieldValue);
-        break;
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                     (stmt, value) -> stmt.setFloat(sqlIndex, (Float) value));
       case DOUBLE:
-        stmt.setDouble(sqlIndex, (Double) fieldValue);
-        break;
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType,
+                                     (stmt, value) -> stmt.setDouble(sqlIndex, (Double) value));
       case BYTES:
-        writeBytes(stmt, fieldIndex, sqlIndex, fieldValue);
-        break;
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType, createBytesWriter(sqlIndex, sqlType));
       default:
-        throw new SQLException(String.format("Unsupported datatype: %s with value: %s.", fieldType, fieldValue));
+        return ColumnWriter.nullSafe(fieldName, sqlIndex, sqlType, (stmt, value) -> {
+          throw new SQLException(String.format("Unsupported datatype: %s with value: %s.", fieldType, value));
+        });
     }
   }
 
-  protected void writeBytes(PreparedStatement stmt, int fieldIndex, int sqlIndex, Object fieldValue)
-    throws SQLException {
-    byte[] byteValue = fieldValue instanceof ByteBuffer ? Bytes.toBytes((ByteBuffer) fieldValue) : (byte[]) fieldValue;
-    int parameterType = columnTypes.get(fieldIndex).getType();
-    if (Types.BLOB == parameterType) {
-      stmt.setBlob(sqlIndex, new SerialBlob(byteValue));
-      return;
+  /**
+   * Resolves the writer of non-null bytes values.
+   *
+   * @param sqlIndex JDBC index of the parameter, starting with 1
+   * @param sqlType SQL type of the parameter
+   * @return writer of bytes values
+   */
+  protected ColumnWriter.ValueWriter createBytesWriter(int sqlIndex, int sqlType) {
+    if (Types.BLOB == sqlType) {
+      return (stmt, value) -> stmt.setBlob(sqlIndex, new SerialBlob(toBytes(value)));
     }
     // handles BINARY, VARBINARY and LOGVARBINARY
-    stmt.setBytes(sqlIndex, byteValue);
+    return (stmt, value) -> stmt.setBytes(sqlIndex, toBytes(value));
   }
 
-  protected void writeInt(PreparedStatement stmt, int fieldIndex, int sqlIndex, Object fieldValue) throws SQLException {
-    Integer intValue = (Integer) fieldValue;
-    int parameterType = columnTypes.get(fieldIndex).getType();
-    if (Types.TINYINT == parameterType || Types.SMALLINT == parameterType) {
-      stmt.setShort(sqlIndex, intValue.shortValue());
-      return;
-    }
-    stmt.setInt(sqlIndex, intValue);
+  protected static byte[] toBytes(Object fieldValue) {
+    return fieldValue instanceof ByteBuffer ? Bytes.toBytes((ByteBuffer) fieldValue) : (byte[]) fieldValue;
   }
 
   @Override
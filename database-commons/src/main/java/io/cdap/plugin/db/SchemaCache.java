@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A JVM-wide cache of the schemas inferred for queries, so that configurePipeline, prepareRun and connector browse
+ * and sample calls do not each have to go to the database for the same query. Schemas are keyed by connection string,
+ * connection arguments (which include the credentials), initialization queries, schema reader and the query with its
+ * whitespace normalized. Entries expire {@link #EXPIRE_AFTER_WRITE_MILLIS} after they were loaded, so that changes to
+ * the underlying tables are picked up eventually.
+ */
+public final class SchemaCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaCache.class);
+  static final long MAX_ENTRIES = 256;
+  static final long EXPIRE_AFTER_WRITE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern TRAILING_SEMICOLONS = Pattern.compile("(\\s*;)+$");
+  private static final SchemaCache INSTANCE = new SchemaCache(MAX_ENTRIES, EXPIRE_AFTER_WRITE_MILLIS,
+                                                              Ticker.systemTicker());
+
+  private final Cache<List<Object>, Schema> schemas;
+
+  @VisibleForTesting
+  SchemaCache(long maxEntries, long expireAfterWriteMillis, Ticker ticker) {
+    this.schemas = CacheBuilder.newBuilder()
+      .maximumSize(maxEntries)
+      .expireAfterWrite(expireAfterWriteMillis, TimeUnit.MILLISECONDS)
+      .ticker(ticker)
+      .build();
+  }
+
+  /**
+   * @return the schema cache of the JVM
+   */
+  public static SchemaCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the schema of the given query, loading it with the given loader if it is not cached or has expired.
+   *
+   * @param connectionString the connection string of the database the query runs against
+   * @param connectionArguments the connection arguments, including the credentials
+   * @param initQueries the queries executed on the connection before the query
+   * @param schemaReader the schema reader that maps the query columns to fields
+   * @param query the query
+   * @param loader loads the schema when it is not cached
+   * @return the schema of the query
+   * @throws SQLException if the schema could not be loaded
+   */
+  public Schema getSchema(String connectionString, Map<String, String> connectionArguments, List<String> initQueries,
+                          SchemaReader schemaReader, String query, SchemaLoader loader) throws SQLException {
+    List<Object> key = ImmutableList.of(connectionString, ImmutableMap.copyOf(connectionArguments),
+                                        ImmutableList.copyOf(initQueries), schemaReader.getClass().getName(),
+                                        normalizeQuery(query));
+    Schema schema = schemas.getIfPresent(key);
+    if (schema != null) {
+      LOG.debug("Using cached schema for query '{}'.", query);
+      return schema;
+    }
+    // concurrent loads of the same query are rare enough that they are not worth serializing
+    schema = loader.load();
+    schemas.put(key, schema);
+    return schema;
+  }
+
+  /**
+   * Discards all cached schemas.
+   */
+  public void invalidateAll() {
+    schemas.invalidateAll();
+  }
+
+  /**
+   * Infers the schema of the given query without reading any of its rows. The result set metadata is taken from the
+   * prepared query when the driver can describe it without executing it. Otherwise the query is executed wrapped in
+   * a condition that is never true, and, if the database does not accept the query as a sub-query, as is with at most
+   * one row fetched.
+   *
+   * @param connection the connection to run the query on
+   * @param schemaReader the schema reader that maps the query columns to fields
+   * @param query the query
+   * @return the schema of the query
+   * @throws SQLException if the schema could not be inferred
+   */
+  public static Schema inferSchema(Connection connection, SchemaReader schemaReader,
+                                   String query) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(query)) {
+      ResultSetMetaData metadata = statement.getMetaData();
+      if (metadata != null && metadata.getColumnCount() > 0) {
+        return Schema.recordOf("outputSchema", schemaReader.getSchemaFields(metadata));
+      }
+    } catch (SQLException e) {
+      // some drivers can only describe a query after executing it, or do not support prepared statement metadata
+      LOG.debug("Unable to get metadata of prepared query '{}', executing it instead.", query, e);
+    }
+
+    String emptyQuery = String.format("SELECT * FROM (%s) schema_query WHERE 1 = 0", stripTrailingSemicolons(query));
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(emptyQuery)) {
+      return Schema.recordOf("outputSchema", schemaReader.getSchemaFields(resultSet));
+    } catch (SQLException e) {
+      LOG.debug("Unable to execute query '{}' as a sub-query, executing it as is.", query, e);
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      statement.setMaxRows(1);
+      try (ResultSet resultSet = statement.executeQuery(query)) {
+        return Schema.recordOf("outputSchema", schemaReader.getSchemaFields(resultSet));
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static String normalizeQuery(String query) {
+    return stripTrailingSemicolons(WHITESPACE.matcher(query).replaceAll(" ").trim());
+  }
+
+  private static String stripTrailingSemicolons(String query) {
+    return TRAILING_SEMICOLONS.matcher(query.trim()).replaceAll("");
+  }
+
+  /**
+   * Loads the schema of a query that is not cached.
+   */
+  public interface SchemaLoader {
+
+    /**
+     * @return the schema of the query
+     * @throws SQLException if the schema could not be loaded
+     */
+    Schema load() throws SQLException;
+  }
+}
@@ -21,6 +21,7 @@ import io.cdap.cdap.api.data.schema.Schema;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,6 +41,32 @@ public interface SchemaReader {
    */
   List<Schema.Field> getSchemaFields(ResultSet resultSet) throws SQLException;
 
+  /**
+   * Given the metadata of a result set or of a prepared statement, return list of
+   * {@link io.cdap.cdap.api.data.schema.Schema.Field}, the same way as {@link SchemaReader#getSchemaFields(ResultSet)}:
+   * columns that are not ignored are mapped with {@link SchemaReader#getSchema(ResultSetMetaData, int)}, and are
+   * nullable if the column is.
+   *
+   * @param metadata metadata of the query columns
+   * @return list of schema fields
+   * @throws SQLException
+   */
+  default List<Schema.Field> getSchemaFields(ResultSetMetaData metadata) throws SQLException {
+    List<Schema.Field> schemaFields = new ArrayList<>();
+    // ResultSetMetadata columns are numbered starting with 1
+    for (int i = 1; i <= metadata.getColumnCount(); i++) {
+      if (shouldIgnoreColumn(metadata, i)) {
+        continue;
+      }
+      Schema columnSchema = getSchema(metadata, i);
+      if (ResultSetMetaData.columnNullable == metadata.isNullable(i)) {
+        columnSchema = Schema.nullableOf(columnSchema);
+      }
+      schemaFields.add(Schema.Field.of(metadata.getColumnName(i), columnSchema));
+    }
+    return schemaFields;
+  }
+
   /**
    * Given a sql metadata return schema type
    * @param metadata resultSet metadata
@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import io.cdap.cdap.api.common.Bytes;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Renders {@link StructuredRecord}s as rows of delimited text, the input format of bulk load statements like
+ * 'COPY ... FROM STDIN' or 'LOAD DATA LOCAL INFILE'. Fields are separated by tabs and rows are terminated by a new
+ * line. Null values are written as {@code \N}, and backslashes, tabs and line breaks in values are escaped with a
+ * backslash. Encoders of the fields are resolved once per record schema, like {@link ColumnWriter}s.
+ */
+public class TextRowEncoder {
+  public static final char FIELD_DELIMITER = '\t';
+  public static final char ROW_DELIMITER = '\n';
+  public static final String NULL_VALUE = "\\N";
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSSSSS");
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+  protected final List<ColumnType> columnTypes;
+  private FieldEncoder[] fieldEncoders;
+  private Schema encodersSchema;
+
+  public TextRowEncoder(List<ColumnType> columnTypes) {
+    this.columnTypes = columnTypes;
+  }
+
+  /**
+   * Appends the fields of the record that match the columns, followed by the row delimiter.
+   *
+   * @param record the record to encode
+   * @param row the builder to append the row to
+   */
+  public void encode(StructuredRecord record, StringBuilder row) {
+    Schema recordSchema = record.getSchema();
+    if (fieldEncoders == null || (recordSchema != encodersSchema && !recordSchema.equals(encodersSchema))) {
+      fieldEncoders = new FieldEncoder[columnTypes.size()];
+      for (int i = 0; i < columnTypes.size(); i++) {
+        ColumnType columnType = columnTypes.get(i);
+        Schema.Field field = recordSchema.getField(columnType.getName());
+        fieldEncoders[i] = field == null ? (rec, out) -> out.append(NULL_VALUE) : createFieldEncoder(field, columnType);
+      }
+      encodersSchema = recordSchema;
+    }
+
+    for (int i = 0; i < fieldEncoders.length; i++) {
+      if (i > 0) {
+        row.append(FIELD_DELIMITER);
+      }
+      fieldEncoders[i].encode(record, row);
+    }
+    row.append(ROW_DELIMITER);
+  }
+
+  /**
+   * Resolves the encoder of a single field. Override this method to handle database specific types and fall back
+   * to this implementation for the others.
+   *
+   * @param field schema field to encode
+   * @param columnType type of the column the field is written to
+   * @return encoder of the field
+   */
+  protected FieldEncoder createFieldEncoder(Schema.Field field, ColumnType columnType) {
+    String fieldName = field.getName();
+    Schema fieldSchema = field.getSchema().isNullable() ? field.getSchema().getNonNullable() : field.getSchema();
+    Schema.LogicalType logicalType = fieldSchema.getLogicalType();
+
+    if (logicalType != null) {
+      switch (logicalType) {
+        case DATE:
+          return (record, row) -> {
+            LocalDate value = record.getDate(fieldName);
+            row.append(value == null ? NULL_VALUE : value.toString());
+          };
+        case TIME_MILLIS:
+        case TIME_MICROS:
+          return (record, row) -> {
+            LocalTime value = record.getTime(fieldName);
+            row.append(value == null ? NULL_VALUE : formatTime(value));
+          };
+        case TIMESTAMP_MILLIS:
+        case TIMESTAMP_MICROS:
+          return (record, row) -> {
+            ZonedDateTime value = record.getTimestamp(fieldName);
+            row.append(value == null ? NULL_VALUE : formatTimestamp(value));
+          };
+        case DECIMAL:
+          return (record, row) -> {
+            BigDecimal value = record.getDecimal(fieldName);
+            row.append(value == null ? NULL_VALUE : value.toPlainString());
+          };
+        default:
+          return nullSafe(fieldName, (value, row) -> appendString(row, value.toString()));
+      }
+    }
+
+    switch (fieldSchema.getType()) {
+      case NULL:
+        return (record, row) -> row.append(NULL_VALUE);
+      case STRING:
+        return nullSafe(fieldName, (value, row) -> appendString(row, (String) value));
+      case BOOLEAN:
+        return nullSafe(fieldName, (value, row) -> row.append(formatBoolean((Boolean) value)));
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return nullSafe(fieldName, (value, row) -> row.append(value));
+      case BYTES:
+        return nullSafe(fieldName, (value, row) -> appendBytes(row, value instanceof ByteBuffer ?
+          Bytes.toBytes((ByteBuffer) value) : (byte[]) value));
+      default:
+        throw new IllegalArgumentException(String.format("Unsupported type '%s' of field '%s'.",
+                                                         fieldSchema.getType(), fieldName));
+    }
+  }
+
+  /**
+   * Creates an encoder that writes the null value if the field value is null and delegates to the value encoder
+   * otherwise.
+   */
+  protected static FieldEncoder nullSafe(String fieldName, ValueEncoder valueEncoder) {
+    return (record, row) -> {
+      Object value = record.get(fieldName);
+      if (value == null) {
+        row.append(NULL_VALUE);
+      } else {
+        valueEncoder.encode(value, row);
+      }
+    };
+  }
+
+  /**
+   * Appends the value, escaping backslashes, delimiters and line breaks.
+   */
+  protected static void appendEscaped(StringBuilder row, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+          row.append("\\\\");
+          break;
+        case '\t':
+          row.append("\\t");
+          break;
+        case '\n':
+          row.append("\\n");
+          break;
+        case '\r':
+          row.append("\\r");
+          break;
+        default:
+          row.append(c);
+      }
+    }
+  }
+
+  /**
+   * Appends a string value. The default implementation escapes it with {@link #appendEscaped}.
+   */
+  protected void appendString(StringBuilder row, String value) {
+    appendEscaped(row, value);
+  }
+
+  protected String formatBoolean(boolean value) {
+    return value ? "1" : "0";
+  }
+
+  protected String formatTime(LocalTime value) {
+    return TIME_FORMATTER.format(value);
+  }
+
+  /**
+   * Formats a timestamp as the local date time of the JVM time zone, which is how
+   * {@link java.sql.PreparedStatement#setTimestamp} binds timestamps.
+   */
+  protected String formatTimestamp(ZonedDateTime value) {
+    return TIMESTAMP_FORMATTER.format(value.withZoneSameInstant(ZoneId.systemDefault()));
+  }
+
+  /**
+   * Appends a bytes value. The default implementation appends the hex digits of the value.
+   */
+  protected void appendBytes(StringBuilder row, byte[] value) {
+    for (byte b : value) {
+      row.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+  }
+
+  /**
+   * Appends the value of a single field of a {@link StructuredRecord} to a row.
+   */
+  @FunctionalInterface
+  protected interface FieldEncoder {
+
+    void encode(StructuredRecord record, StringBuilder row);
+  }
+
+  /**
+   * Appends a non-null field value to a row.
+   */
+  @FunctionalInterface
+  protected interface ValueEncoder {
+
+    void encode(Object value, StringBuilder row);
+  }
+}
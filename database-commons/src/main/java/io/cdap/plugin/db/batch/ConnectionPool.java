@@ -0,0 +1,300 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.cdap.plugin.util.DriverRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * A JVM-wide pool of JDBC connections, shared by the splits, tasks and stages that run in the same JVM. Connections
+ * are keyed by JDBC driver class, connection string, connection arguments (which include the credentials) and
+ * initialization queries, which are executed once, when a connection is opened. Connections handed out by the pool
+ * return to it when they are closed: open transactions are rolled back, and the auto-commit mode and transaction
+ * isolation level are reset to the ones the connection was opened with. Idle connections are validated before they
+ * are handed out again, and closed once they have been idle for {@link #IDLE_TIMEOUT_MILLIS}.
+ */
+public final class ConnectionPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ConnectionPool.class);
+  static final int MAX_IDLE_CONNECTIONS = 8;
+  static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+  private static final ConnectionPool INSTANCE = new ConnectionPool(MAX_IDLE_CONNECTIONS, IDLE_TIMEOUT_MILLIS);
+
+  private final int maxIdleConnections;
+  private final long idleTimeoutMillis;
+  // idle connections by key, the most recently returned last
+  private final Map<List<Object>, Deque<PhysicalConnection>> idleConnections = new HashMap<>();
+  @Nullable
+  private ScheduledExecutorService evictor;
+
+  @VisibleForTesting
+  ConnectionPool(int maxIdleConnections, long idleTimeoutMillis) {
+    this.maxIdleConnections = maxIdleConnections;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  /**
+   * @return the connection pool of the JVM
+   */
+  public static ConnectionPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a connection to the given database, reusing an idle connection if there is a valid one. Otherwise opens
+   * a new connection through the {@link DriverRegistry} and executes the initialization queries on it. The JDBC
+   * driver must be registered when a new connection is opened. The connection returns to the pool when it is closed.
+   *
+   * @param driverClass the JDBC driver class
+   * @param url connection string of the database
+   * @param properties connection arguments, including the credentials
+   * @param initQueries queries to execute when a connection is opened
+   * @return a connection that returns to the pool when it is closed
+   */
+  public Connection getConnection(Class<? extends Driver> driverClass, String url, Properties properties,
+                                  List<String> initQueries) throws SQLException {
+    List<Object> key = ImmutableList.of(driverClass, url, ImmutableMap.copyOf(properties),
+                                        ImmutableList.copyOf(initQueries));
+    PhysicalConnection idle;
+    while ((idle = pollIdle(key)) != null) {
+      if (isValid(idle.connection)) {
+        return new PooledConnection(key, idle);
+      }
+      closeQuietly(idle.connection);
+    }
+
+    Connection connection = DriverRegistry.connect(driverClass, url, properties);
+    try {
+      for (String query : initQueries) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute(query);
+        }
+      }
+      return new PooledConnection(key, new PhysicalConnection(connection));
+    } catch (SQLException e) {
+      closeQuietly(connection);
+      throw e;
+    }
+  }
+
+  /**
+   * Closes the idle connections to the given database. Connections that are in use are not affected, and still
+   * return to the pool when they are closed.
+   *
+   * @param url connection string of the database
+   */
+  public void closeIdleConnections(String url) {
+    List<PhysicalConnection> closed = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Map.Entry<List<Object>, Deque<PhysicalConnection>>> iterator = idleConnections.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<List<Object>, Deque<PhysicalConnection>> entry = iterator.next();
+        if (url.equals(entry.getKey().get(1))) {
+          closed.addAll(entry.getValue());
+          iterator.remove();
+        }
+      }
+    }
+    closed.forEach(idle -> closeQuietly(idle.connection));
+  }
+
+  /**
+   * Closes the connections that have been idle for longer than the idle timeout.
+   */
+  @VisibleForTesting
+  void evictIdleConnections(long nowMillis) {
+    List<PhysicalConnection> evicted = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Deque<PhysicalConnection>> iterator = idleConnections.values().iterator();
+      while (iterator.hasNext()) {
+        Deque<PhysicalConnection> connections = iterator.next();
+        // the least recently returned connections are first
+        while (!connections.isEmpty() && nowMillis - connections.peekFirst().idleSinceMillis >= idleTimeoutMillis) {
+          evicted.add(connections.pollFirst());
+        }
+        if (connections.isEmpty()) {
+          iterator.remove();
+        }
+      }
+    }
+    evicted.forEach(idle -> closeQuietly(idle.connection));
+  }
+
+  @VisibleForTesting
+  synchronized int getIdleConnectionCount() {
+    return idleConnections.values().stream().mapToInt(Deque::size).sum();
+  }
+
+  @Nullable
+  private synchronized PhysicalConnection pollIdle(List<Object> key) {
+    Deque<PhysicalConnection> connections = idleConnections.get(key);
+    if (connections == null) {
+      return null;
+    }
+    PhysicalConnection idle = connections.pollLast();
+    if (connections.isEmpty()) {
+      idleConnections.remove(key);
+    }
+    return idle;
+  }
+
+  /**
+   * Resets the given connection and adds it to the idle connections, or closes it if it can not be reset or there
+   * are too many idle connections.
+   */
+  private void release(List<Object> key, PhysicalConnection physical) {
+    Connection connection = physical.connection;
+    try {
+      if (connection.isClosed()) {
+        return;
+      }
+      if (!connection.getAutoCommit()) {
+        connection.rollback();
+      }
+      if (connection.getAutoCommit() != physical.autoCommit) {
+        connection.setAutoCommit(physical.autoCommit);
+      }
+      if (connection.getTransactionIsolation() != physical.transactionIsolation) {
+        connection.setTransactionIsolation(physical.transactionIsolation);
+      }
+      connection.clearWarnings();
+    } catch (SQLException e) {
+      LOG.debug("Closing connection that could not be reset.", e);
+      closeQuietly(connection);
+      return;
+    }
+
+    synchronized (this) {
+      Deque<PhysicalConnection> connections = idleConnections.computeIfAbsent(key, k -> new ArrayDeque<>());
+      if (connections.size() < maxIdleConnections) {
+        physical.idleSinceMillis = System.currentTimeMillis();
+        connections.addLast(physical);
+        startEvictor();
+        return;
+      }
+    }
+    closeQuietly(connection);
+  }
+
+  private void startEvictor() {
+    if (evictor != null) {
+      return;
+    }
+    evictor = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("connection-pool-evictor-%d").build());
+    long period = Math.max(1, idleTimeoutMillis / 2);
+    evictor.scheduleWithFixedDelay(() -> evictIdleConnections(System.currentTimeMillis()),
+                                   period, period, TimeUnit.MILLISECONDS);
+  }
+
+  private static boolean isValid(Connection connection) {
+    try {
+      return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException | AbstractMethodError e) {
+      // drivers that do not implement validation
+      try {
+        return !connection.isClosed();
+      } catch (SQLException ex) {
+        return false;
+      }
+    }
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LOG.debug("Failed to close pooled connection.", e);
+    }
+  }
+
+  /**
+   * A connection opened by the pool, with the state it is reset to when it returns to the pool.
+   */
+  private static final class PhysicalConnection {
+    private final Connection connection;
+    private final boolean autoCommit;
+    private final int transactionIsolation;
+    private long idleSinceMillis;
+
+    private PhysicalConnection(Connection connection) throws SQLException {
+      this.connection = connection;
+      this.autoCommit = connection.getAutoCommit();
+      this.transactionIsolation = connection.getTransactionIsolation();
+    }
+  }
+
+  /**
+   * A connection handed out by the pool, which returns the physical connection to the pool when it is closed.
+   */
+  private final class PooledConnection extends ForwardingConnection {
+    private final List<Object> key;
+    private final PhysicalConnection physical;
+    private boolean closed;
+
+    private PooledConnection(List<Object> key, PhysicalConnection physical) {
+      super(physical.connection);
+      this.key = key;
+      this.physical = physical;
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      release(key, physical);
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+      return closed || super.isClosed();
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+      // an aborted connection is not returned to the pool
+      closed = true;
+      super.abort(executor);
+    }
+  }
+}
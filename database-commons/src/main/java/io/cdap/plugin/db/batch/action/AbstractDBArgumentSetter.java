@@ -25,10 +25,10 @@ import io.cdap.cdap.etl.api.action.SettableArguments;
 import io.cdap.plugin.db.ConnectionConfig;
 import io.cdap.plugin.util.DBUtils;
 import io.cdap.plugin.util.DriverCleanup;
+import io.cdap.plugin.util.DriverRegistry;
 
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -100,8 +100,7 @@ public class AbstractDBArgumentSetter extends Action {
     Properties connectionProperties = new Properties();
     connectionProperties.putAll(config.getConnectionArguments());
     try {
-      Connection connection = DriverManager
-        .getConnection(config.getConnectionString(), connectionProperties);
+      Connection connection = DriverRegistry.connect(driverClass, config.getConnectionString(), connectionProperties);
       Statement statement = connection.createStatement();
       ResultSet resultSet = statement.executeQuery(config.getQuery());
       boolean hasRecord = resultSet.next();
@@ -18,10 +18,10 @@ package io.cdap.plugin.db.batch.action;
 
 import io.cdap.plugin.util.DBUtils;
 import io.cdap.plugin.util.DriverCleanup;
+import io.cdap.plugin.util.DriverRegistry;
 
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
@@ -55,7 +55,8 @@ public class DBRun {
 
       Properties connectionProperties = new Properties();
       connectionProperties.putAll(config.getConnectionArguments());
-      try (Connection connection = DriverManager.getConnection(config.getConnectionString(), connectionProperties)) {
+      try (Connection connection = DriverRegistry.connect(driverClass, config.getConnectionString(),
+                                                          connectionProperties)) {
         executeInitQueries(connection, config.getInitQueries());
         if (!enableAutoCommit) {
           connection.setAutoCommit(false);
@@ -36,6 +36,19 @@ import javax.annotation.Nullable;
 public abstract class AbstractDBSpecificSinkConfig extends PluginConfig implements DatabaseSinkConfig {
   public static final String TABLE_NAME = "tableName";
   public static final String TRANSACTION_ISOLATION_LEVEL = "transactionIsolationLevel";
+  public static final String BATCH_SIZE = "batchSize";
+  public static final String BATCH_SIZE_BYTES = "batchSizeBytes";
+  public static final String BATCH_FLUSH_INTERVAL = "batchFlushInterval";
+  public static final String BATCHES_PER_COMMIT = "batchesPerCommit";
+  public static final String ASYNC_BATCHES = "asyncBatches";
+  public static final String WRITER_PARALLELISM = "writerParallelism";
+  public static final String ROWS_PER_INSERT = "rowsPerInsert";
+  public static final String OPERATION_NAME = "operationName";
+  public static final String RELATION_TABLE_KEY = "relationTableKey";
+  public static final String STAGING_MODE = "stagingMode";
+  public static final String STAGING_PARTITION = "stagingPartition";
+  public static final String SUSPEND_TABLE_MAINTENANCE = "suspendTableMaintenance";
+  public static final String INDEX_REBUILD_PARALLELISM = "indexRebuildParallelism";
 
   @Name(Constants.Reference.REFERENCE_NAME)
   @Description(Constants.Reference.REFERENCE_NAME_DESCRIPTION)
@@ -46,6 +59,106 @@ public abstract class AbstractDBSpecificSinkConfig extends PluginConfig implemen
   @Macro
   private String tableName;
 
+  @Nullable
+  @Name(BATCH_SIZE)
+  @Macro
+  @Description("Maximum number of rows to add to a batch before it is sent to the database. " +
+    "If not specified, all rows of a task are sent in a single batch.")
+  private Integer batchSize;
+
+  @Nullable
+  @Name(BATCH_SIZE_BYTES)
+  @Macro
+  @Description("Maximum estimated size in bytes of a batch before it is sent to the database. " +
+    "If not specified, batches are not limited by size.")
+  private Long batchSizeBytes;
+
+  @Nullable
+  @Name(BATCH_FLUSH_INTERVAL)
+  @Macro
+  @Description("Maximum number of seconds a pending batch is kept before it is sent to the database. " +
+    "The interval is checked whenever a row is written. If not specified, batches are not limited by time.")
+  private Integer batchFlushInterval;
+
+  @Nullable
+  @Name(BATCHES_PER_COMMIT)
+  @Macro
+  @Description("Number of batches after which the transaction is committed. If not specified, the transaction " +
+    "is committed once all rows of a task are written. Ignored when auto-commit is enabled.")
+  private Integer batchesPerCommit;
+
+  @Nullable
+  @Name(ASYNC_BATCHES)
+  @Macro
+  @Description("Maximum number of batches that are sent to the database in the background while the next " +
+    "batch is filled. Batches are still executed one at a time, in order, on the connection of the task. " +
+    "If not specified, every batch is sent before the next one is filled.")
+  private Integer asyncBatches;
+
+  @Nullable
+  @Name(WRITER_PARALLELISM)
+  @Macro
+  @Description("Number of connections each task writes through in parallel. Records are routed to the " +
+    "connections by the hash of the table key, so that records with the same key are written in order, or " +
+    "round-robin if no table key is specified. Each connection commits its own transaction. " +
+    "If not specified, each task writes through a single connection.")
+  private Integer writerParallelism;
+
+  @Nullable
+  @Name(ROWS_PER_INSERT)
+  @Macro
+  @Description("Number of rows inserted by each statement. Batched inserts are rewritten into statements with " +
+    "several rows in their VALUES clause, for drivers that send every row of a batch as a separate statement. " +
+    "The number of rows is capped by the maximum number of parameters of a statement. " +
+    "If not specified, every row is inserted by its own statement.")
+  private Integer rowsPerInsert;
+
+  @Nullable
+  @Name(OPERATION_NAME)
+  @Macro
+  @Description("Operation applied to the table for every record. 'INSERT' inserts a row, 'UPSERT' inserts a row or " +
+    "updates the row with the same table key if it exists, 'UPDATE' updates the rows with the same table key and " +
+    "'DELETE' deletes them. Defaults to 'INSERT'.")
+  private String operationName;
+
+  @Nullable
+  @Name(RELATION_TABLE_KEY)
+  @Macro
+  @Description("Comma separated list of the fields that identify a row of the table for the 'UPSERT', 'UPDATE' " +
+    "and 'DELETE' operations. For 'UPSERT', the table must have a primary key or unique constraint on the " +
+    "corresponding columns.")
+  private String relationTableKey;
+
+  @Nullable
+  @Name(STAGING_MODE)
+  @Macro
+  @Description("How records are staged before they are published to the table. 'NONE' writes them to the table " +
+    "directly. Other modes write them to a staging table created for the run, which is published once the run " +
+    "succeeds: 'INSERT_SELECT' inserts its rows into the table, 'SWAP' replaces the table with it and " +
+    "'EXCHANGE_PARTITION' exchanges it with a partition of the table. Defaults to 'NONE'.")
+  private String stagingMode;
+
+  @Nullable
+  @Name(STAGING_PARTITION)
+  @Macro
+  @Description("Name of the partition of the table that is exchanged with the staging table in " +
+    "'EXCHANGE_PARTITION' staging mode.")
+  private String stagingPartition;
+
+  @Nullable
+  @Name(SUSPEND_TABLE_MAINTENANCE)
+  @Macro
+  @Description("Whether the non-unique indexes, the foreign keys and the triggers of the table are dropped or " +
+    "disabled while records are loaded, and restored once the run finishes. Defaults to false.")
+  private Boolean suspendTableMaintenance;
+
+  @Nullable
+  @Name(INDEX_REBUILD_PARALLELISM)
+  @Macro
+  @Description("Maximum number of indexes rebuilt at the same time when the maintenance of the table is restored. " +
+    "Defaults to 4.")
+  private Integer indexRebuildParallelism;
+
   @Override
   public String getTableName() {
     return tableName;
@@ -63,6 +176,84 @@ public abstract class AbstractDBSpecificSinkConfig extends PluginConfig implemen
     return tableName;
   }
 
+  @Nullable
+  @Override
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  @Nullable
+  @Override
+  public Long getBatchSizeBytes() {
+    return batchSizeBytes;
+  }
+
+  @Nullable
+  @Override
+  public Integer getBatchFlushInterval() {
+    return batchFlushInterval;
+  }
+
+  @Nullable
+  @Override
+  public Integer getBatchesPerCommit() {
+    return batchesPerCommit;
+  }
+
+  @Nullable
+  @Override
+  public Integer getAsyncBatches() {
+    return asyncBatches;
+  }
+
+  @Nullable
+  @Override
+  public Integer getWriterParallelism() {
+    return writerParallelism;
+  }
+
+  @Nullable
+  @Override
+  public Integer getRowsPerInsert() {
+    return rowsPerInsert;
+  }
+
+  @Nullable
+  @Override
+  public String getOperationName() {
+    return operationName;
+  }
+
+  @Nullable
+  @Override
+  public String getRelationTableKey() {
+    return relationTableKey;
+  }
+
+  @Nullable
+  @Override
+  public String getStagingMode() {
+    return stagingMode;
+  }
+
+  @Nullable
+  @Override
+  public String getStagingPartition() {
+    return stagingPartition;
+  }
+
+  @Nullable
+  @Override
+  public Boolean getSuspendTableMaintenance() {
+    return suspendTableMaintenance;
+  }
+
+  @Nullable
+  @Override
+  public Integer getIndexRebuildParallelism() {
+    return indexRebuildParallelism;
+  }
+
   @Override
   public boolean canConnect() {
     return !containsMacro(TABLE_NAME) && getConnection().canConnect();
@@ -27,6 +27,7 @@ import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.plugin.common.Constants;
 import io.cdap.plugin.db.batch.TransactionIsolationLevel;
 import io.cdap.plugin.db.batch.source.AbstractDBSource;
+import io.cdap.plugin.db.batch.source.SplitStrategy;
 import io.cdap.plugin.db.connector.AbstractDBConnectorConfig;
 
 import java.io.IOException;
@@ -48,6 +49,7 @@ public abstract class AbstractDBSpecificSourceConfig extends PluginConfig implem
   public static final String SCHEMA = "schema";
   public static final String DATABASE = "database";
   public static final String FETCH_SIZE = "fetchSize";
+  public static final String SPLIT_STRATEGY = "splitStrategy";
 
   @Name(Constants.Reference.REFERENCE_NAME)
   @Description(Constants.Reference.REFERENCE_NAME_DESCRIPTION)
@@ -84,6 +86,16 @@ public abstract class AbstractDBSpecificSourceConfig extends PluginConfig implem
   @Macro
   private Integer numSplits;
 
+  @Nullable
+  @Name(SPLIT_STRATEGY)
+  @Macro
+  @Description("How the rows are divided between splits. 'RANGE' divides the range returned by the bounding " +
+    "query into ranges of equal width. 'QUANTILE' divides the values of the split-by column at quantiles computed " +
+    "by the database, so that splits read about the same number of rows even when the values are skewed; " +
+    "the bounding query is not needed and the split-by column must be selected by the import query. " +
+    "Defaults to 'RANGE'.")
+  private String splitStrategy;
+
   @Nullable
   @Name(SCHEMA)
   @Description("The schema of records output by the source. This will be used in place of whatever schema comes " +
@@ -142,7 +154,12 @@ public abstract class AbstractDBSpecificSourceConfig extends PluginConfig implem
         .withConfigProperty(NUM_SPLITS);
     }
 
-    if (!hasOneSplit && !containsMacro(BOUNDING_QUERY) && (boundingQuery == null || boundingQuery.isEmpty())) {
+    if (!containsMacro(SPLIT_STRATEGY)) {
+      SplitStrategy.validate(splitStrategy, SPLIT_STRATEGY, collector);
+    }
+
+    if (!hasOneSplit && requiresBoundingQuery() && !containsMacro(BOUNDING_QUERY)
+      && (boundingQuery == null || boundingQuery.isEmpty())) {
       collector.addFailure("Bounding Query must be specified if Number of Splits is not set to 1.",
                            "Specify the Bounding Query.")
         .withConfigProperty(BOUNDING_QUERY).withConfigProperty(NUM_SPLITS);
@@ -154,6 +171,21 @@ public abstract class AbstractDBSpecificSourceConfig extends PluginConfig implem
     }
   }
 
+  /**
+   * Returns whether the splits are planned from the bounding query, in which case it is required unless
+   * a single split is read.
+   */
+  protected boolean requiresBoundingQuery() {
+    if (containsMacro(SPLIT_STRATEGY)) {
+      return true;
+    }
+    try {
+      return SplitStrategy.from(splitStrategy) != SplitStrategy.QUANTILE;
+    } catch (IllegalArgumentException e) {
+      return true;
+    }
+  }
+
   public void validateSchema(Schema actualSchema, FailureCollector collector) {
     Schema configSchema = getSchema();
     if (configSchema == null) {
@@ -215,6 +247,12 @@ public abstract class AbstractDBSpecificSourceConfig extends PluginConfig implem
     return splitBy;
   }
 
+  @Nullable
+  @Override
+  public String getSplitStrategy() {
+    return splitStrategy;
+  }
+
   public String getConnectionString() {
     return getConnection().getConnectionString();
   }
@@ -17,6 +17,7 @@
 package io.cdap.plugin.db.batch.config;
 
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Interface for DB Sink plugin config
@@ -57,4 +58,86 @@ public interface DatabaseSinkConfig extends DatabaseConnectionConfig {
    */
   String getEscapedTableName();
 
+  /**
+   * @return the maximum number of rows to add to a batch before it is executed, or null if unbounded
+   */
+  @Nullable
+  Integer getBatchSize();
+
+  /**
+   * @return the maximum estimated size in bytes of a batch before it is executed, or null if unbounded
+   */
+  @Nullable
+  Long getBatchSizeBytes();
+
+  /**
+   * @return the maximum number of seconds a pending batch is kept before it is executed, or null if unbounded
+   */
+  @Nullable
+  Integer getBatchFlushInterval();
+
+  /**
+   * @return the number of executed batches after which the transaction is committed, or null to commit once
+   * all records are written
+   */
+  @Nullable
+  Integer getBatchesPerCommit();
+
+  /**
+   * @return the maximum number of batches executed in the background while the next batch is filled, or null to
+   * execute batches synchronously
+   */
+  @Nullable
+  Integer getAsyncBatches();
+
+  /**
+   * @return the number of connections each task writes through in parallel, or null to write through a single
+   * connection
+   */
+  @Nullable
+  Integer getWriterParallelism();
+
+  /**
+   * @return the number of rows inserted by each statement, with a multi-row VALUES clause, or null to insert a row
+   * per statement
+   */
+  @Nullable
+  Integer getRowsPerInsert();
+
+  /**
+   * @return the name of the operation applied for every record, or null for inserts
+   */
+  @Nullable
+  String getOperationName();
+
+  /**
+   * @return the comma separated names of the key columns of the operation, or null if not specified
+   */
+  @Nullable
+  String getRelationTableKey();
+
+  /**
+   * @return the name of the staging mode of the records, or null if records are not staged
+   */
+  @Nullable
+  String getStagingMode();
+
+  /**
+   * @return the name of the partition exchanged with the staging table, or null if not specified
+   */
+  @Nullable
+  String getStagingPartition();
+
+  /**
+   * @return whether the indexes, constraints and triggers of the table are suspended during loads, or null if not set
+   */
+  @Nullable
+  Boolean getSuspendTableMaintenance();
+
+  /**
+   * @return the maximum number of indexes rebuilt at the same time, or null if not specified
+   */
+  @Nullable
+  Integer getIndexRebuildParallelism();
+
 }
@@ -20,6 +20,7 @@ import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.cdap.etl.api.FailureCollector;
 
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Interface for DB Source plugin config
@@ -68,6 +69,12 @@ public interface DatabaseSourceConfig extends DatabaseConnectionConfig {
    */
   String getSplitBy();
 
+  /**
+   * @return the name of the strategy that divides the rows between splits, or null for range splits
+   */
+  @Nullable
+  String getSplitStrategy();
+
   /**
    * validate whether configured schema is compatible with the actual schema got from database
    *
@@ -16,8 +16,10 @@
 
 package io.cdap.plugin.db.batch.sink;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
@@ -44,6 +46,7 @@ import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBConfig;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
+import io.cdap.plugin.db.batch.ConnectionPool;
 import io.cdap.plugin.db.batch.config.DatabaseSinkConfig;
 import io.cdap.plugin.util.DBUtils;
 import io.cdap.plugin.util.DriverCleanup;
@@ -54,19 +57,24 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Sink that can be configured to export data to a database table.
@@ -75,13 +83,24 @@ import java.util.stream.Collectors;
 public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig>
   extends ReferenceBatchSink<StructuredRecord, DBRecord, NullWritable> {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractDBSink.class);
+  private static final String STAGING_TABLE_KIND = "stg";
+  private static final String OLD_TABLE_KIND = "old";
+  private static final int DEFAULT_INDEX_REBUILD_PARALLELISM = 4;
+  // conservative limit of the number of parameters of a statement, for databases with an unknown SQL dialect
+  private static final int DEFAULT_MAX_MULTI_ROW_INSERT_PARAMETERS = 2000;
+  // runtime arguments, suffixed with the stage name, that ship the table metadata from prepareRun to the tasks
+  private static final String SCHEMA_ARGUMENT_PREFIX = "io.cdap.plugin.db.sink.schema.";
+  private static final String COLUMN_TYPES_ARGUMENT_PREFIX = "io.cdap.plugin.db.sink.column.types.";
+  private static final String RUN_ID_ARGUMENT_PREFIX = "io.cdap.plugin.db.sink.run.id.";
 
   private final T dbSinkConfig;
   private Class<? extends Driver> driverClass;
-  private DriverCleanup driverCleanup;
   protected List<String> columns;
   protected List<ColumnType> columnTypes;
   protected String dbColumns;
+  private MaintenancePlan maintenancePlan;
+  private String runId;
+  private String outputTableName;
 
   public AbstractDBSink(T dbSinkConfig) {
     super(new ReferencePluginConfig(dbSinkConfig.getReferenceName()));
@@ -97,6 +116,7 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
     super.configurePipeline(pipelineConfigurer);
     StageConfigurer configurer = pipelineConfigurer.getStageConfigurer();
     DBUtils.validateJDBCPluginPipeline(pipelineConfigurer, dbSinkConfig, getJDBCPluginId());
+    validateWriteSettings(configurer.getFailureCollector());
     Schema inputSchema = configurer.getInputSchema();
     if (Objects.nonNull(inputSchema)) {
       Class<? extends Driver> driverClass = DBUtils.getDriverClass(
@@ -111,6 +131,7 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
   @Override
   public void prepareRun(BatchSinkContext context) {
     String connectionString = dbSinkConfig.getConnectionString();
+    runId = newRunId(context.getLogicalStartTime());
 
     LOG.debug("tableName = {}; pluginType = {}; pluginName = {}; connectionString = {};",
               dbSinkConfig.getTableName(),
@@ -120,6 +141,10 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
 
     Schema outputSchema = context.getInputSchema();
 
+    FailureCollector batchCollector = context.getFailureCollector();
+    validateWriteSettings(batchCollector);
+    batchCollector.getOrThrowException();
+
     // Load the plugin class to make sure it is available.
     Class<? extends Driver> driverClass = context.loadPluginClass(getJDBCPluginId());
     // make sure that the destination table exists and column types are correct
@@ -136,16 +161,30 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
     }
 
     setColumnsInfo(outputSchema.getFields());
+    try {
+      setResultSetMetadata(driverClass);
+    } catch (IllegalAccessException | InstantiationException | SQLException e) {
+      throw new InvalidStageException("Error while reading table metadata", e);
+    }
 
     emitLineage(context, outputSchema.getFields());
 
     ConnectionConfigAccessor configAccessor = new ConnectionConfigAccessor();
+    configAccessor.setColumnTypes(columnTypes);
+    // the tasks rebuild the metadata from the arguments instead of querying the database
+    if (context.getInputSchema() == null) {
+      context.getArguments().set(SCHEMA_ARGUMENT_PREFIX + context.getStageName(), outputSchema.toString());
+    }
+    context.getArguments().set(COLUMN_TYPES_ARGUMENT_PREFIX + context.getStageName(),
+                               configAccessor.getConfiguration().get(ConnectionConfigAccessor.COLUMN_TYPES));
+    context.getArguments().set(RUN_ID_ARGUMENT_PREFIX + context.getStageName(), runId);
     configAccessor.setConnectionArguments(dbSinkConfig.getConnectionArguments());
     configAccessor.setInitQueries(dbSinkConfig.getInitQueries());
+    configAccessor.setRunId(runId);
     configAccessor.getConfiguration().set(DBConfiguration.DRIVER_CLASS_PROPERTY, driverClass.getName());
     configAccessor.getConfiguration().set(DBConfiguration.URL_PROPERTY, connectionString);
-    configAccessor.getConfiguration().set(DBConfiguration.OUTPUT_TABLE_NAME_PROPERTY,
-                                          dbSinkConfig.getEscapedTableName());
+    outputTableName = createStagingTable(context, driverClass);
+    configAccessor.getConfiguration().set(DBConfiguration.OUTPUT_TABLE_NAME_PROPERTY, outputTableName);
     configAccessor.getConfiguration().set(DBConfiguration.OUTPUT_FIELD_NAMES_PROPERTY, dbColumns);
     if (dbSinkConfig.getUser() != null) {
       configAccessor.getConfiguration().set(DBConfiguration.USERNAME_PROPERTY, dbSinkConfig.getUser());
@@ -157,11 +196,95 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
     if (!Strings.isNullOrEmpty(dbSinkConfig.getTransactionIsolationLevel())) {
       configAccessor.setTransactionIsolationLevel(dbSinkConfig.getTransactionIsolationLevel());
     }
+    if (dbSinkConfig.getBatchSize() != null) {
+      configAccessor.setBatchSize(dbSinkConfig.getBatchSize());
+    }
+    if (dbSinkConfig.getBatchSizeBytes() != null) {
+      configAccessor.setBatchSizeBytes(dbSinkConfig.getBatchSizeBytes());
+    }
+    if (dbSinkConfig.getBatchFlushInterval() != null) {
+      configAccessor.setBatchFlushInterval(dbSinkConfig.getBatchFlushInterval());
+    }
+    if (dbSinkConfig.getBatchesPerCommit() != null) {
+      configAccessor.setBatchesPerCommit(dbSinkConfig.getBatchesPerCommit());
+    }
+    if (dbSinkConfig.getAsyncBatches() != null) {
+      configAccessor.setAsyncBatches(dbSinkConfig.getAsyncBatches());
+    }
+    if (dbSinkConfig.getWriterParallelism() != null) {
+      configAccessor.setWriterParallelism(dbSinkConfig.getWriterParallelism());
+      configAccessor.setRoutingFields(getKeyFields());
+    }
+    if (dbSinkConfig.getRowsPerInsert() != null) {
+      configAccessor.setRowsPerInsert(getRowsPerInsert(dbSinkConfig.getRowsPerInsert()));
+    }
 
-    context.addOutput(Output.of(dbSinkConfig.getReferenceName(), new SinkOutputFormatProvider(ETLDBOutputFormat.class,
+    configureOperation(configAccessor, batchCollector);
+    configureOutputFormat(configAccessor);
+    // last step, so that the maintenance of the table is only suspended if the run starts
+    suspendTableMaintenance(driverClass);
+
+    context.addOutput(Output.of(dbSinkConfig.getReferenceName(), new SinkOutputFormatProvider(getOutputFormatClass(),
       configAccessor.getConfiguration())));
   }
 
+  /**
+   * Returns the output format that writes the records of this sink. Override this method to load the records
+   * through a database specific mechanism instead of batched inserts.
+   */
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    return ETLDBOutputFormat.class;
+  }
+
+  /**
+   * Returns the SQL dialect of the database, which builds the statements of the operations that have no standard
+   * form. Returns null by default, in which case these operations are not supported.
+   */
+  @Nullable
+  protected SqlDialect getSqlDialect() {
+    return null;
+  }
+
+  /**
+   * Returns how the maintenance of the table is suspended while records are loaded. Returns null by default, in which
+   * case the database does not support suspending it.
+   */
+  @Nullable
+  protected TableMaintenance getTableMaintenance() {
+    return null;
+  }
+
+  /**
+   * Sets the properties of the output format that are specific to the database.
+   * Called once all common properties are set.
+   *
+   * @param configAccessor accessor of the output format configuration
+   */
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    // no-op by default
+  }
+
+  /**
+   * Returns the identifier of the run, which is generated by prepareRun and shipped to the tasks with the runtime
+   * arguments.
+   */
+  @Nullable
+  protected String getRunId() {
+    return runId;
+  }
+
+  /**
+   * Drops what the tasks of the run left in the database, for example the tables created by the task attempts that
+   * failed. Called with a pooled connection once the run finishes.
+   *
+   * @param connection connection to the database
+   * @param tableName escaped name of the table the tasks wrote to
+   * @param runId identifier of the run, see {@link ConnectionConfigAccessor#getRunId()}
+   */
+  protected void cleanupTasks(Connection connection, String tableName, String runId) throws SQLException {
+    // no-op by default
+  }
+
   /**
    * Extracts column info from input schema. Later it is used for metadata retrieval
    * and insert during query generation. Override this method if you need to escape column names
@@ -179,22 +302,37 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
   public void initialize(BatchRuntimeContext context) throws Exception {
     super.initialize(context);
     driverClass = context.loadPluginClass(getJDBCPluginId());
-    Schema outputSchema = Optional.ofNullable(context.getInputSchema()).orElse(inferSchema(driverClass));
-
+    runId = context.getArguments().get(RUN_ID_ARGUMENT_PREFIX + context.getStageName());
+    String schemaArgument = context.getArguments().get(SCHEMA_ARGUMENT_PREFIX + context.getStageName());
+    Schema outputSchema = context.getInputSchema();
+    if (outputSchema == null) {
+      outputSchema = schemaArgument == null ? inferSchema(driverClass) : Schema.parseJson(schemaArgument);
+    }
     setColumnsInfo(outputSchema.getFields());
-    setResultSetMetadata();
+
+    // the metadata is computed by prepareRun, unless the arguments it set are not available to the task
+    String columnTypesArgument = context.getArguments().get(COLUMN_TYPES_ARGUMENT_PREFIX + context.getStageName());
+    if (columnTypesArgument == null) {
+      setResultSetMetadata(driverClass);
+    } else {
+      ConnectionConfigAccessor configAccessor = new ConnectionConfigAccessor();
+      configAccessor.getConfiguration().set(ConnectionConfigAccessor.COLUMN_TYPES, columnTypesArgument);
+      columnTypes = Collections.unmodifiableList(configAccessor.getColumnTypes());
+    }
   }
 
   private Schema inferSchema(Class<? extends Driver> driverClass) {
     List<Schema.Field> inferredFields = new ArrayList<>();
     try {
-      DBUtils.ensureJDBCDriverIsAvailable(driverClass, dbSinkConfig.getConnectionString(),
-                                          dbSinkConfig.getJdbcPluginName());
+      DriverCleanup driverCleanup =
+        DBUtils.ensureJDBCDriverIsAvailable(driverClass, dbSinkConfig.getConnectionString(),
+                                            dbSinkConfig.getJdbcPluginName());
       Properties connectionProperties = new Properties();
       connectionProperties.putAll(dbSinkConfig.getConnectionArguments());
-      try (Connection connection = DriverManager.getConnection(dbSinkConfig.getConnectionString(),
-                                                               connectionProperties)) {
-        executeInitQueries(connection, dbSinkConfig.getInitQueries());
+      try (Connection connection = ConnectionPool.getInstance().getConnection(driverClass,
+                                                                              dbSinkConfig.getConnectionString(),
+                                                                              connectionProperties,
+                                                                              dbSinkConfig.getInitQueries())) {
 
         try (Statement statement = connection.createStatement();
              ResultSet rs = statement.executeQuery("SELECT * FROM " + dbSinkConfig.getEscapedTableName()
@@ -204,6 +342,8 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
       } catch (SQLException e) {
         throw new InvalidStageException("Error while reading table metadata", e);
 
+      } finally {
+        driverCleanup.destroy();
       }
     } catch (IllegalAccessException | InstantiationException | SQLException e) {
       throw new InvalidStageException("JDBC Driver unavailable: " + dbSinkConfig.getJdbcPluginName(), e);
@@ -216,6 +356,16 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
     emitter.emit(new KeyValue<>(getDBRecord(input), null));
   }
 
+  /**
+   * Wraps a record for the output format. A new {@link DBRecord} is returned for every record on purpose: the
+   * emitted key is not guaranteed to be written before the next record is transformed, since the Spark engine may
+   * collect or cache the emitted pairs, so a shared mutable key could be overwritten before it is bound. The binding
+   * state that is expensive to build, the column writers, is kept per task by the record writer of
+   * {@link ETLDBOutputFormat}, so the wrapper only holds the record and the column types.
+   *
+   * @param output the record to write
+   * @return a new {@link DBRecord} holding the record
+   */
   protected DBRecord getDBRecord(StructuredRecord output) {
     return new DBRecord(output, columnTypes);
   }
@@ -225,24 +375,338 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
   }
 
   @Override
-  public void destroy() {
-    DBUtils.cleanup(driverClass);
-    if (driverCleanup != null) {
+  public void onRunFinish(boolean succeeded, BatchSinkContext context) {
+    super.onRunFinish(succeeded, context);
+    Class<? extends Driver> driverClass = context.loadPluginClass(getJDBCPluginId());
+    try {
+      finishStaging(succeeded, context);
+    } finally {
+      try {
+        dropTaskLeftovers(driverClass);
+      } finally {
+        restoreTableMaintenance(driverClass);
+      }
+    }
+  }
+
+  /**
+   * Creates the staging table of the run if records are staged.
+   *
+   * @return the escaped name of the table the records are written to
+   */
+  private String createStagingTable(BatchSinkContext context, Class<? extends Driver> driverClass) {
+    if (StagingMode.from(dbSinkConfig.getStagingMode()) == StagingMode.NONE) {
+      return dbSinkConfig.getEscapedTableName();
+    }
+    String stagingTable = getRunTableName(STAGING_TABLE_KIND);
+    String query = Objects.requireNonNull(getSqlDialect())
+      .constructCreateStagingTableQuery(stagingTable, dbSinkConfig.getEscapedTableName());
+    try {
+      withDriver(driverClass, () -> {
+        try (Connection connection = openConnection(driverClass)) {
+          checkTableDoesNotExist(connection, stagingTable);
+          if (StagingMode.from(dbSinkConfig.getStagingMode()) == StagingMode.SWAP) {
+            checkTableDoesNotExist(connection, getRunTableName(OLD_TABLE_KIND));
+          }
+          executeQueries(connection, Collections.singletonList(query));
+        }
+      });
+    } catch (SQLException e) {
+      throw new IllegalStateException(String.format("Failed to create staging table '%s'.", stagingTable), e);
+    }
+    return stagingTable;
+  }
+
+  /**
+   * Publishes the staging table of the run to the table if the run succeeded, drops it otherwise.
+   */
+  private void finishStaging(boolean succeeded, BatchSinkContext context) {
+    StagingMode stagingMode = StagingMode.from(dbSinkConfig.getStagingMode());
+    if (stagingMode == StagingMode.NONE) {
+      return;
+    }
+    String stagingTable = getRunTableName(STAGING_TABLE_KIND);
+    Class<? extends Driver> driverClass = context.loadPluginClass(getJDBCPluginId());
+    if (!succeeded) {
+      try {
+        withDriver(driverClass, () -> executeQueries(driverClass,
+                                                     Collections.singletonList("DROP TABLE " + stagingTable)));
+      } catch (SQLException e) {
+        LOG.warn("Failed to drop staging table {}.", stagingTable, e);
+      }
+      return;
+    }
+
+    String table = dbSinkConfig.getEscapedTableName();
+    List<String> queries;
+    SqlDialect sqlDialect = Objects.requireNonNull(getSqlDialect());
+    switch (stagingMode) {
+      case SWAP:
+        queries = sqlDialect.constructSwapQueries(table, stagingTable, getRunTableName(OLD_TABLE_KIND));
+        break;
+      case EXCHANGE_PARTITION:
+        queries = Arrays.asList(sqlDialect.constructExchangePartitionQuery(table, dbSinkConfig.getStagingPartition(),
+                                                                           stagingTable),
+                                "DROP TABLE " + stagingTable);
+        break;
+      default:
+        queries = Arrays.asList(sqlDialect.constructInsertSelectQuery(table, stagingTable, dbColumns),
+                                "DROP TABLE " + stagingTable);
+    }
+    LOG.debug("Publishing staging table {} to table {}.", stagingTable, table);
+    try {
+      withDriver(driverClass, () -> executeQueries(driverClass, queries));
+    } catch (SQLException e) {
+      // the staging table is kept so that its records can still be published
+      throw new IllegalStateException(String.format("Failed to publish staging table '%s' to table '%s'.",
+                                                    stagingTable, table), e);
+    }
+  }
+
+  private void dropTaskLeftovers(Class<? extends Driver> driverClass) {
+    try {
+      withDriver(driverClass, () -> {
+        try (Connection connection = openConnection(driverClass)) {
+          cleanupTasks(connection, outputTableName, runId);
+        }
+      });
+    } catch (SQLException | RuntimeException e) {
+      // the leftovers do not affect the records of the run
+      LOG.warn("Unable to drop the leftovers of the tasks of the run.", e);
+    }
+  }
+
+  /**
+   * Returns a new identifier of a run, which names the tables created for the run. The context of the stage does not
+   * expose the id of the run, so the identifier is made of the logical start time of the run, and of random bits that
+   * tell apart the runs started with the same logical start time. It is short enough for the identifier length limits
+   * of most databases.
+   */
+  @VisibleForTesting
+  static String newRunId(long logicalStartTime) {
+    return Long.toString(logicalStartTime, 36) + "_"
+      + Long.toUnsignedString(ThreadLocalRandom.current().nextLong() >>> 24, 36);
+  }
+
+  /**
+   * Returns the name of a table created for the run, escaped like the table of the sink.
+   */
+  private String getRunTableName(String kind) {
+    String tableName = dbSinkConfig.getTableName();
+    String escapedTableName = dbSinkConfig.getEscapedTableName();
+    int index = escapedTableName.lastIndexOf(tableName);
+    return escapedTableName.substring(0, index) + String.format("%s_%s_%s", tableName, kind, runId)
+      + escapedTableName.substring(index + tableName.length());
+  }
+
+  /**
+   * Checks that the given table does not exist, so that a table created for the run never replaces or publishes the
+   * table of another run.
+   */
+  private static void checkTableDoesNotExist(Connection connection, String table) throws SQLException {
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(String.format("SELECT 1 FROM %s WHERE 1 = 0", table))) {
+      resultSet.next();
+    } catch (SQLException e) {
+      // the table does not exist
+      connection.rollback();
+      return;
+    }
+    connection.rollback();
+    throw new IllegalStateException(String.format("Table '%s' already exists.", table));
+  }
+
+  /**
+   * Drops or disables the indexes, constraints and triggers of the table if configured, until the run finishes.
+   */
+  private void suspendTableMaintenance(Class<? extends Driver> driverClass) {
+    TableMaintenance tableMaintenance = getTableMaintenance();
+    if (!Boolean.TRUE.equals(dbSinkConfig.getSuspendTableMaintenance()) || tableMaintenance == null) {
+      return;
+    }
+    String table = dbSinkConfig.getEscapedTableName();
+    int[] executed = {0};
+    try {
+      withDriver(driverClass, () -> {
+        try (Connection connection = openConnection(driverClass)) {
+          MaintenancePlan plan = tableMaintenance.plan(connection, dbSinkConfig.getTableName(), table);
+          if (plan.isEmpty()) {
+            return;
+          }
+          maintenancePlan = plan;
+          // logged before anything is suspended, so that the table can be restored by hand if the run does not finish
+          LOG.info("Suspending the maintenance of table {} with: {}; it is restored with: {}; {}", table,
+                   plan.getSuspendQueries(), plan.getIndexRestoreQueries(), plan.getRestoreQueries());
+          // DDL statements commit implicitly in some databases, so each one is committed on its own
+          for (String query : plan.getSuspendQueries()) {
+            executeQueries(connection, Collections.singletonList(query));
+            executed[0]++;
+          }
+        }
+      });
+    } catch (SQLException | RuntimeException e) {
+      IllegalStateException failure =
+        new IllegalStateException(String.format("Failed to suspend the maintenance of table '%s'.", table), e);
+      if (maintenancePlan != null) {
+        // restores what the statements that succeeded suspended
+        maintenancePlan = executed[0] == 0 ? null : maintenancePlan.getExecutedPlan(executed[0]);
+        try {
+          restoreTableMaintenance(driverClass);
+        } catch (RuntimeException restoreFailure) {
+          failure.addSuppressed(restoreFailure);
+        }
+      }
+      throw failure;
+    }
+  }
+
+  /**
+   * Restores the indexes, constraints and triggers of the table that were suspended for the run. Indexes are rebuilt
+   * in parallel, each on its own connection.
+   */
+  private void restoreTableMaintenance(Class<? extends Driver> driverClass) {
+    if (maintenancePlan == null) {
+      return;
+    }
+    MaintenancePlan plan = maintenancePlan;
+    maintenancePlan = null;
+    String table = dbSinkConfig.getEscapedTableName();
+    try {
+      withDriver(driverClass, () -> {
+        rebuildIndexes(driverClass, plan.getIndexRestoreQueries());
+        executeQueries(driverClass, plan.getRestoreQueries());
+      });
+    } catch (SQLException e) {
+      throw new IllegalStateException(String.format("Failed to restore the maintenance of table '%s' with: %s; %s",
+                                                    table, plan.getIndexRestoreQueries(),
+                                                    plan.getRestoreQueries()), e);
+    }
+    LOG.debug("Restored the maintenance of table {}.", table);
+  }
+
+  private void rebuildIndexes(Class<? extends Driver> driverClass, List<String> queries) throws SQLException {
+    if (queries.isEmpty()) {
+      return;
+    }
+    Integer parallelism = dbSinkConfig.getIndexRebuildParallelism();
+    int threads = Math.min(queries.size(), parallelism == null ? DEFAULT_INDEX_REBUILD_PARALLELISM : parallelism);
+    ExecutorService executor = Executors.newFixedThreadPool(
+      threads, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("index-rebuild-%d").build());
+    try {
+      List<Future<?>> futures = new ArrayList<>(queries.size());
+      for (String query : queries) {
+        futures.add(executor.submit(() -> {
+          executeQueries(driverClass, Collections.singletonList(query));
+          return null;
+        }));
+      }
+      SQLException failure = null;
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          SQLException cause = e.getCause() instanceof SQLException ? (SQLException) e.getCause()
+            : new SQLException(e.getCause());
+          if (failure == null) {
+            failure = cause;
+          } else {
+            failure.addSuppressed(cause);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new SQLException("Interrupted while rebuilding indexes.", e);
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Registers the JDBC driver while the given action runs.
+   */
+  private void withDriver(Class<? extends Driver> driverClass, SQLAction action) throws SQLException {
+    DriverCleanup driverCleanup;
+    try {
+      driverCleanup = DBUtils.ensureJDBCDriverIsAvailable(driverClass, dbSinkConfig.getConnectionString(),
+                                                          dbSinkConfig.getJdbcPluginName());
+    } catch (IllegalAccessException | InstantiationException e) {
+      DBUtils.cleanup(driverClass);
+      throw new InvalidStageException("JDBC Driver unavailable: " + dbSinkConfig.getJdbcPluginName(), e);
+    }
+    try {
+      action.run();
+    } finally {
       driverCleanup.destroy();
+      DBUtils.cleanup(driverClass);
+    }
+  }
+
+  /**
+   * Borrows a connection to the database from the connection pool. New connections run the init queries.
+   * The JDBC driver must be registered, see {@link #withDriver(Class, SQLAction)}.
+   */
+  private Connection openConnection(Class<? extends Driver> driverClass) throws SQLException {
+    Properties connectionProperties = new Properties();
+    connectionProperties.putAll(dbSinkConfig.getConnectionArguments());
+    return ConnectionPool.getInstance().getConnection(driverClass, dbSinkConfig.getConnectionString(),
+                                                      connectionProperties, dbSinkConfig.getInitQueries());
+  }
+
+  /**
+   * Executes the given statements in one transaction, on a pooled connection.
+   */
+  private void executeQueries(Class<? extends Driver> driverClass, List<String> queries) throws SQLException {
+    try (Connection connection = openConnection(driverClass)) {
+      executeQueries(connection, queries);
+    }
+  }
+
+  private static void executeQueries(Connection connection, List<String> queries) throws SQLException {
+    connection.setAutoCommit(false);
+    try {
+      for (String query : queries) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute(query);
+        }
+      }
+      connection.commit();
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
     }
   }
 
-  private void setResultSetMetadata() throws Exception {
+  @Override
+  public void destroy() {
+    ConnectionPool.getInstance().closeIdleConnections(dbSinkConfig.getConnectionString());
+    // the driver class is only loaded by the tasks
+    if (driverClass != null) {
+      DBUtils.cleanup(driverClass);
+    }
+  }
+
+  /**
+   * Reads the types of the columns from the metadata of the table, in the order of the parameters of the statement
+   * of the operation.
+   */
+  private void setResultSetMetadata(Class<? extends Driver> driverClass)
+    throws IllegalAccessException, InstantiationException, SQLException {
     List<ColumnType> columnTypes = new ArrayList<>(columns.size());
     String connectionString = dbSinkConfig.getConnectionString();
 
-    driverCleanup = DBUtils
+    DriverCleanup driverCleanup = DBUtils
       .ensureJDBCDriverIsAvailable(driverClass, connectionString, dbSinkConfig.getJdbcPluginName());
 
     Properties connectionProperties = new Properties();
     connectionProperties.putAll(dbSinkConfig.getConnectionArguments());
-    try (Connection connection = DriverManager.getConnection(connectionString, connectionProperties)) {
-      executeInitQueries(connection, dbSinkConfig.getInitQueries());
+    try (Connection connection = ConnectionPool.getInstance().getConnection(driverClass, connectionString,
+                                                                            connectionProperties,
+                                                                            dbSinkConfig.getInitQueries())) {
       try (Statement statement = connection.createStatement();
            // Run a query against the DB table that returns 0 records, but returns valid ResultSetMetadata
            // that can be used to construct DBRecord objects to sink to the database table.
@@ -253,9 +717,42 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
         ResultSetMetaData resultSetMetadata = rs.getMetaData();
         columnTypes.addAll(getMatchedColumnTypeList(resultSetMetadata, columns));
       }
+    } finally {
+      driverCleanup.destroy();
     }
 
-    this.columnTypes = Collections.unmodifiableList(columnTypes);
+    Operation operation = Operation.from(dbSinkConfig.getOperationName());
+    this.columnTypes = Collections.unmodifiableList(getParameterColumnTypes(columnTypes, operation, getKeyFields()));
+  }
+
+  /**
+   * Returns the column types in the order of the parameters of the statement of the operation. Updates take the
+   * non-key columns followed by the key columns, deletes only take the key columns, other operations take all columns.
+   *
+   * @param columnTypes types of all columns, in the order of the fields
+   * @param operation operation of the sink
+   * @param keyFields fields of the table key
+   * @return column types of the statement parameters
+   */
+  static List<ColumnType> getParameterColumnTypes(List<ColumnType> columnTypes, Operation operation,
+                                                  List<String> keyFields) {
+    if (operation != Operation.UPDATE && operation != Operation.DELETE) {
+      return columnTypes;
+    }
+    List<ColumnType> parameterColumnTypes = new ArrayList<>(columnTypes.size());
+    if (operation == Operation.UPDATE) {
+      columnTypes.stream()
+        .filter(columnType -> !keyFields.contains(columnType.getName()))
+        .forEach(parameterColumnTypes::add);
+    }
+    // key columns are bound in the order of the table key, like in the condition of the statement
+    for (String keyField : keyFields) {
+      columnTypes.stream()
+        .filter(columnType -> columnType.getName().equals(keyField))
+        .findFirst()
+        .ifPresent(parameterColumnTypes::add);
+    }
+    return parameterColumnTypes;
   }
 
   /**
@@ -276,7 +773,8 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
       String schemaColumnName = columns.get(i);
       Preconditions.checkArgument(schemaColumnName.toLowerCase().equals(name.toLowerCase()),
                                   "Missing column '%s' in SQL table", schemaColumnName);
-      columnTypes.add(new ColumnType(schemaColumnName, columnTypeName, type));
+      columnTypes.add(new ColumnType(schemaColumnName, columnTypeName, type, resultSetMetadata.getPrecision(i + 1),
+                                     resultSetMetadata.getScale(i + 1)));
     }
     return columnTypes;
   }
@@ -285,8 +783,10 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
                               Schema inputSchema) {
     String connectionString = dbSinkConfig.getConnectionString();
 
+    DriverCleanup driverCleanup;
     try {
-      DBUtils.ensureJDBCDriverIsAvailable(jdbcDriverClass, connectionString, dbSinkConfig.getJdbcPluginName());
+      driverCleanup =
+        DBUtils.ensureJDBCDriverIsAvailable(jdbcDriverClass, connectionString, dbSinkConfig.getJdbcPluginName());
     } catch (IllegalAccessException | InstantiationException | SQLException e) {
       collector.addFailure(String.format("Unable to load or register JDBC driver '%s' while checking for " +
                                            "the existence of the database table '%s'.",
@@ -296,8 +796,9 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
 
     Properties connectionProperties = new Properties();
     connectionProperties.putAll(dbSinkConfig.getConnectionArguments());
-    try (Connection connection = DriverManager.getConnection(connectionString, connectionProperties)) {
-      executeInitQueries(connection, dbSinkConfig.getInitQueries());
+    try (Connection connection = ConnectionPool.getInstance().getConnection(jdbcDriverClass, connectionString,
+                                                                            connectionProperties,
+                                                                            dbSinkConfig.getInitQueries())) {
       try (ResultSet tables = connection.getMetaData().getTables(null, null, tableName, null)) {
         if (!tables.next()) {
           collector.addFailure(
@@ -322,6 +823,190 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
         String.format("Exception while trying to validate schema of database table '%s' for connection '%s' with %s",
                       tableName, connectionString, e.getMessage()),
         null).withStacktrace(e.getStackTrace());
+    } finally {
+      driverCleanup.destroy();
+    }
+  }
+
+  /**
+   * Validates the settings that control how records are written. Override this method to validate database
+   * specific settings in addition to the common ones.
+   *
+   * @param collector failure collector
+   */
+  protected void validateWriteSettings(FailureCollector collector) {
+    validatePositive(collector, DBSinkConfig.BATCH_SIZE, dbSinkConfig.getBatchSize(), "Batch size");
+    validatePositive(collector, DBSinkConfig.BATCH_SIZE_BYTES, dbSinkConfig.getBatchSizeBytes(),
+                     "Batch size in bytes");
+    validatePositive(collector, DBSinkConfig.BATCH_FLUSH_INTERVAL, dbSinkConfig.getBatchFlushInterval(),
+                     "Batch flush interval");
+    validatePositive(collector, DBSinkConfig.BATCHES_PER_COMMIT, dbSinkConfig.getBatchesPerCommit(),
+                     "Batches per commit");
+    validatePositive(collector, DBSinkConfig.ASYNC_BATCHES, dbSinkConfig.getAsyncBatches(), "Asynchronous batches");
+    validatePositive(collector, DBSinkConfig.WRITER_PARALLELISM, dbSinkConfig.getWriterParallelism(),
+                     "Writer parallelism");
+    validatePositive(collector, DBSinkConfig.ROWS_PER_INSERT, dbSinkConfig.getRowsPerInsert(), "Rows per insert");
+    validateRowsPerInsert(collector);
+    validateOperation(collector);
+    validateStaging(collector);
+    validateTableMaintenance(collector);
+  }
+
+  private void validateTableMaintenance(FailureCollector collector) {
+    if (!dbSinkConfig.containsMacro(DBSinkConfig.SUSPEND_TABLE_MAINTENANCE)
+      && Boolean.TRUE.equals(dbSinkConfig.getSuspendTableMaintenance()) && getTableMaintenance() == null) {
+      collector.addFailure("Suspending the maintenance of the table is not supported for this database.", null)
+        .withConfigProperty(DBSinkConfig.SUSPEND_TABLE_MAINTENANCE);
+    }
+    validatePositive(collector, DBSinkConfig.INDEX_REBUILD_PARALLELISM, dbSinkConfig.getIndexRebuildParallelism(),
+                     "Index rebuild parallelism");
+  }
+
+  private void validateStaging(FailureCollector collector) {
+    if (dbSinkConfig.containsMacro(DBSinkConfig.STAGING_MODE)) {
+      return;
+    }
+    StagingMode.validate(dbSinkConfig.getStagingMode(), DBSinkConfig.STAGING_MODE, collector);
+    StagingMode stagingMode;
+    try {
+      stagingMode = StagingMode.from(dbSinkConfig.getStagingMode());
+    } catch (IllegalArgumentException e) {
+      return;
+    }
+    if (stagingMode == StagingMode.NONE) {
+      return;
+    }
+    SqlDialect sqlDialect = getSqlDialect();
+    if (sqlDialect == null || !sqlDialect.supportsStagingMode(stagingMode)) {
+      collector.addFailure(String.format("Staging mode '%s' is not supported for this database.", stagingMode),
+                           null)
+        .withConfigProperty(DBSinkConfig.STAGING_MODE);
+    }
+    String operationName = dbSinkConfig.getOperationName();
+    if (!dbSinkConfig.containsMacro(DBSinkConfig.OPERATION_NAME) && operationName != null
+      && !Operation.INSERT.name().equalsIgnoreCase(operationName)) {
+      collector.addFailure(String.format("Staging mode '%s' only supports the '%s' operation.", stagingMode,
+                                         Operation.INSERT), null)
+        .withConfigProperty(DBSinkConfig.STAGING_MODE);
+    }
+    if (stagingMode == StagingMode.EXCHANGE_PARTITION && !dbSinkConfig.containsMacro(DBSinkConfig.STAGING_PARTITION)
+      && Strings.isNullOrEmpty(dbSinkConfig.getStagingPartition())) {
+      collector.addFailure(String.format("Partition is required for staging mode '%s'.", stagingMode),
+                           "Specify the partition of the table that is exchanged with the staging table.")
+        .withConfigProperty(DBSinkConfig.STAGING_PARTITION);
+    }
+  }
+
+  private void validateOperation(FailureCollector collector) {
+    if (dbSinkConfig.containsMacro(DBSinkConfig.OPERATION_NAME)) {
+      return;
+    }
+    Operation.validate(dbSinkConfig.getOperationName(), DBSinkConfig.OPERATION_NAME, collector);
+    Operation operation;
+    try {
+      operation = Operation.from(dbSinkConfig.getOperationName());
+    } catch (IllegalArgumentException e) {
+      return;
+    }
+    if (operation == Operation.UPSERT && getSqlDialect() == null) {
+      collector.addFailure(String.format("Operation '%s' is not supported for this database.", operation),
+                           String.format("Use the '%s' operation.", Operation.INSERT))
+        .withConfigProperty(DBSinkConfig.OPERATION_NAME);
+    }
+    if (operation != Operation.INSERT && !dbSinkConfig.containsMacro(DBSinkConfig.RELATION_TABLE_KEY)
+      && getKeyFields().isEmpty()) {
+      collector.addFailure(String.format("Table key is required for operation '%s'.", operation),
+                           "Specify the fields that identify a row of the table.")
+        .withConfigProperty(DBSinkConfig.RELATION_TABLE_KEY);
+    }
+  }
+
+  private void validateRowsPerInsert(FailureCollector collector) {
+    Integer rowsPerInsert = dbSinkConfig.getRowsPerInsert();
+    if (dbSinkConfig.containsMacro(DBSinkConfig.ROWS_PER_INSERT) || rowsPerInsert == null || rowsPerInsert <= 1) {
+      return;
+    }
+    SqlDialect sqlDialect = getSqlDialect();
+    if (sqlDialect != null && sqlDialect.getMaxMultiRowInsertParameters() <= 0) {
+      collector.addFailure("Inserting several rows per statement is not supported for this database.", null)
+        .withConfigProperty(DBSinkConfig.ROWS_PER_INSERT);
+    }
+    if (!dbSinkConfig.containsMacro(DBSinkConfig.OPERATION_NAME) && dbSinkConfig.getOperationName() != null
+      && !Operation.INSERT.name().equalsIgnoreCase(dbSinkConfig.getOperationName())) {
+      collector.addFailure("Rows per insert can only be set for the insert operation.", null)
+        .withConfigProperty(DBSinkConfig.ROWS_PER_INSERT);
+    }
+  }
+
+  /**
+   * Returns the number of rows inserted by each statement, capped so that a statement does not exceed the maximum
+   * number of parameters of the database, or {@link #DEFAULT_MAX_MULTI_ROW_INSERT_PARAMETERS} if the SQL dialect of
+   * the database is not known.
+   */
+  private int getRowsPerInsert(int rowsPerInsert) {
+    SqlDialect sqlDialect = getSqlDialect();
+    int maxParameters = sqlDialect == null ?
+      DEFAULT_MAX_MULTI_ROW_INSERT_PARAMETERS : sqlDialect.getMaxMultiRowInsertParameters();
+    return Math.max(1, Math.min(rowsPerInsert, maxParameters / columns.size()));
+  }
+
+  /**
+   * Sets the operation of the output format, with the escaped names of its key columns. Statement parameters are
+   * bound in the order of {@link #columnTypes}, see {@link #getParameterColumnTypes(List, Operation, List)}.
+   */
+  private void configureOperation(ConnectionConfigAccessor configAccessor, FailureCollector collector) {
+    Operation operation = Operation.from(dbSinkConfig.getOperationName());
+    if (operation == Operation.INSERT) {
+      return;
+    }
+    if (getOutputFormatClass() != ETLDBOutputFormat.class) {
+      collector.addFailure(String.format("Operation '%s' is not supported by the configured write mode.", operation),
+                           "Use the default write mode.")
+        .withConfigProperty(DBSinkConfig.OPERATION_NAME);
+    }
+    String[] escapedColumns = dbColumns.split(",");
+    List<String> keyColumns = new ArrayList<>();
+    for (String keyField : getKeyFields()) {
+      int index = columns.indexOf(keyField);
+      if (index < 0) {
+        collector.addFailure(String.format("Table key '%s' is not a field of the input schema.", keyField),
+                             "Ensure the table key only contains fields of the input schema.")
+          .withConfigProperty(DBSinkConfig.RELATION_TABLE_KEY);
+      } else {
+        keyColumns.add(escapedColumns[index]);
+      }
+    }
+    if (operation == Operation.UPDATE && keyColumns.size() >= columns.size()) {
+      collector.addFailure(String.format("Operation '%s' requires a field that is not part of the table key.",
+                                         operation), "Remove a field from the table key.")
+        .withConfigProperty(DBSinkConfig.RELATION_TABLE_KEY);
+    }
+    collector.getOrThrowException();
+
+    configAccessor.setOperation(operation);
+    configAccessor.setKeyColumns(keyColumns);
+    SqlDialect sqlDialect = getSqlDialect();
+    if (sqlDialect != null) {
+      configAccessor.setSqlDialect(sqlDialect);
+    }
+  }
+
+  private List<String> getKeyFields() {
+    String relationTableKey = dbSinkConfig.getRelationTableKey();
+    if (Strings.isNullOrEmpty(relationTableKey)) {
+      return Collections.emptyList();
+    }
+    return Arrays.stream(relationTableKey.split(","))
+      .map(String::trim)
+      .filter(keyField -> !keyField.isEmpty())
+      .collect(Collectors.toList());
+  }
+
+  protected void validatePositive(FailureCollector collector, String property, @Nullable Number value, String label) {
+    if (!dbSinkConfig.containsMacro(property) && value != null && value.longValue() <= 0) {
+      collector.addFailure(String.format("Invalid %s '%s'.", label.toLowerCase(), value),
+                           String.format("%s must be a positive number.", label))
+        .withConfigProperty(property);
     }
   }
 
@@ -338,12 +1023,11 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
     }
   }
 
-  private void executeInitQueries(Connection connection, List<String> initQueries) throws SQLException {
-    for (String query : initQueries) {
-      try (Statement statement = connection.createStatement()) {
-        statement.execute(query);
-      }
-    }
+  /**
+   * Action that accesses the database.
+   */
+  private interface SQLAction {
+    void run() throws SQLException;
   }
 
   /**
@@ -352,12 +1036,125 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
   public abstract static class DBSinkConfig extends DBConfig implements DatabaseSinkConfig {
     public static final String TABLE_NAME = "tableName";
     public static final String TRANSACTION_ISOLATION_LEVEL = "transactionIsolationLevel";
+    public static final String BATCH_SIZE = "batchSize";
+    public static final String BATCH_SIZE_BYTES = "batchSizeBytes";
+    public static final String BATCH_FLUSH_INTERVAL = "batchFlushInterval";
+    public static final String BATCHES_PER_COMMIT = "batchesPerCommit";
+    public static final String ASYNC_BATCHES = "asyncBatches";
+    public static final String WRITER_PARALLELISM = "writerParallelism";
+    public static final String ROWS_PER_INSERT = "rowsPerInsert";
+    public static final String OPERATION_NAME = "operationName";
+    public static final String RELATION_TABLE_KEY = "relationTableKey";
+    public static final String STAGING_MODE = "stagingMode";
+    public static final String STAGING_PARTITION = "stagingPartition";
+    public static final String SUSPEND_TABLE_MAINTENANCE = "suspendTableMaintenance";
+    public static final String INDEX_REBUILD_PARALLELISM = "indexRebuildParallelism";
 
     @Name(TABLE_NAME)
     @Description("Name of the database table to write to.")
     @Macro
     public String tableName;
 
+    @Nullable
+    @Name(BATCH_SIZE)
+    @Macro
+    @Description("Maximum number of rows to add to a batch before it is sent to the database. " +
+      "If not specified, all rows of a task are sent in a single batch.")
+    private Integer batchSize;
+
+    @Nullable
+    @Name(BATCH_SIZE_BYTES)
+    @Macro
+    @Description("Maximum estimated size in bytes of a batch before it is sent to the database. " +
+      "If not specified, batches are not limited by size.")
+    private Long batchSizeBytes;
+
+    @Nullable
+    @Name(BATCH_FLUSH_INTERVAL)
+    @Macro
+    @Description("Maximum number of seconds a pending batch is kept before it is sent to the database. " +
+      "The interval is checked whenever a row is written. If not specified, batches are not limited by time.")
+    private Integer batchFlushInterval;
+
+    @Nullable
+    @Name(BATCHES_PER_COMMIT)
+    @Macro
+    @Description("Number of batches after which the transaction is committed. If not specified, the transaction " +
+      "is committed once all rows of a task are written. Ignored when auto-commit is enabled.")
+    private Integer batchesPerCommit;
+
+    @Nullable
+    @Name(ASYNC_BATCHES)
+    @Macro
+    @Description("Maximum number of batches that are sent to the database in the background while the next " +
+      "batch is filled. Batches are still executed one at a time, in order, on the connection of the task. " +
+      "If not specified, every batch is sent before the next one is filled.")
+    private Integer asyncBatches;
+
+    @Nullable
+    @Name(WRITER_PARALLELISM)
+    @Macro
+    @Description("Number of connections each task writes through in parallel. Records are routed to the " +
+      "connections by the hash of the table key, so that records with the same key are written in order, or " +
+      "round-robin if no table key is specified. Each connection commits its own transaction. " +
+      "If not specified, each task writes through a single connection.")
+    private Integer writerParallelism;
+
+    @Nullable
+    @Name(ROWS_PER_INSERT)
+    @Macro
+    @Description("Number of rows inserted by each statement. Batched inserts are rewritten into statements with " +
+      "several rows in their VALUES clause, for drivers that send every row of a batch as a separate statement. " +
+      "The number of rows is capped by the maximum number of parameters of a statement. " +
+      "If not specified, every row is inserted by its own statement.")
+    private Integer rowsPerInsert;
+
+    @Nullable
+    @Name(OPERATION_NAME)
+    @Macro
+    @Description("Operation applied to the table for every record. 'INSERT' inserts a row, 'UPSERT' inserts a row or " +
+      "updates the row with the same table key if it exists, 'UPDATE' updates the rows with the same table key and " +
+      "'DELETE' deletes them. Defaults to 'INSERT'.")
+    private String operationName;
+
+    @Nullable
+    @Name(RELATION_TABLE_KEY)
+    @Macro
+    @Description("Comma separated list of the fields that identify a row of the table for the 'UPSERT', 'UPDATE' " +
+      "and 'DELETE' operations. For 'UPSERT', the table must have a primary key or unique constraint on the " +
+      "corresponding columns.")
+    private String relationTableKey;
+
+    @Nullable
+    @Name(STAGING_MODE)
+    @Macro
+    @Description("How records are staged before they are published to the table. 'NONE' writes them to the table " +
+      "directly. Other modes write them to a staging table created for the run, which is published once the run " +
+      "succeeds: 'INSERT_SELECT' inserts its rows into the table, 'SWAP' replaces the table with it and " +
+      "'EXCHANGE_PARTITION' exchanges it with a partition of the table. Defaults to 'NONE'.")
+    private String stagingMode;
+
+    @Nullable
+    @Name(STAGING_PARTITION)
+    @Macro
+    @Description("Name of the partition of the table that is exchanged with the staging table in " +
+      "'EXCHANGE_PARTITION' staging mode.")
+    private String stagingPartition;
+
+    @Nullable
+    @Name(SUSPEND_TABLE_MAINTENANCE)
+    @Macro
+    @Description("Whether the non-unique indexes, the foreign keys and the triggers of the table are dropped or " +
+      "disabled while records are loaded, and restored once the run finishes. Defaults to false.")
+    private Boolean suspendTableMaintenance;
+
+    @Nullable
+    @Name(INDEX_REBUILD_PARALLELISM)
+    @Macro
+    @Description("Maximum number of indexes rebuilt at the same time when the maintenance of the table is restored. " +
+      "Defaults to 4.")
+    private Integer indexRebuildParallelism;
+
     public String getTableName() {
       return tableName;
     }
@@ -373,6 +1170,84 @@ public abstract class AbstractDBSink<T extends PluginConfig & DatabaseSinkConfig
       return tableName;
     }
 
+    @Nullable
+    @Override
+    public Integer getBatchSize() {
+      return batchSize;
+    }
+
+    @Nullable
+    @Override
+    public Long getBatchSizeBytes() {
+      return batchSizeBytes;
+    }
+
+    @Nullable
+    @Override
+    public Integer getBatchFlushInterval() {
+      return batchFlushInterval;
+    }
+
+    @Nullable
+    @Override
+    public Integer getBatchesPerCommit() {
+      return batchesPerCommit;
+    }
+
+    @Nullable
+    @Override
+    public Integer getAsyncBatches() {
+      return asyncBatches;
+    }
+
+    @Nullable
+    @Override
+    public Integer getWriterParallelism() {
+      return writerParallelism;
+    }
+
+    @Nullable
+    @Override
+    public Integer getRowsPerInsert() {
+      return rowsPerInsert;
+    }
+
+    @Nullable
+    @Override
+    public String getOperationName() {
+      return operationName;
+    }
+
+    @Nullable
+    @Override
+    public String getRelationTableKey() {
+      return relationTableKey;
+    }
+
+    @Nullable
+    @Override
+    public String getStagingMode() {
+      return stagingMode;
+    }
+
+    @Nullable
+    @Override
+    public String getStagingPartition() {
+      return stagingPartition;
+    }
+
+    @Nullable
+    @Override
+    public Boolean getSuspendTableMaintenance() {
+      return suspendTableMaintenance;
+    }
+
+    @Nullable
+    @Override
+    public Integer getIndexRebuildParallelism() {
+      return indexRebuildParallelism;
+    }
+
     public boolean canConnect() {
       return (!containsMacro(ConnectionConfig.HOST) && !containsMacro(ConnectionConfig.PORT) &&
         !containsMacro(ConnectionConfig.DATABASE) && !containsMacro(TABLE_NAME) && !containsMacro(USER) &&
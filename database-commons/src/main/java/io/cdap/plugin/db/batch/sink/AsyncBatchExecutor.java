@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.annotation.Nullable;
+
+/**
+ * Executes the batches of a record writer on a background thread, so that the writer can fill the next batch while
+ * the previous one is sent to the database. Batches are executed one at a time, in the order they are submitted,
+ * on the connection of the writer. Every batch is filled in its own statement of the same query, and at most
+ * {@code maxInFlightBatches} batches are queued or executing: submitting a batch blocks until a statement is free.
+ * The first failure is kept and thrown by the next call to {@link #submit}, {@link #checkFailure} or
+ * {@link #await}. Batches submitted after a failure are discarded.
+ */
+final class AsyncBatchExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncBatchExecutor.class);
+
+  /**
+   * Executes a filled batch of a statement.
+   */
+  interface BatchAction {
+    void execute(PreparedStatement statement, int rows) throws SQLException;
+  }
+
+  /**
+   * Prepares a statement of the query of the writer.
+   */
+  interface StatementFactory {
+    PreparedStatement prepare() throws SQLException;
+  }
+
+  private final StatementFactory statementFactory;
+  private final int maxInFlightBatches;
+  private final BatchAction action;
+  private final ExecutorService executor;
+  private final BlockingQueue<PreparedStatement> freeStatements = new LinkedBlockingQueue<>();
+  // statements prepared by this executor, in addition to the statement of the writer
+  private final List<PreparedStatement> statements = new ArrayList<>();
+  @Nullable
+  private volatile SQLException failure;
+  @Nullable
+  private Future<?> lastBatch;
+
+  /**
+   * @param statementFactory prepares the statements of the query of the writer, on the connection of the writer
+   * @param maxInFlightBatches the maximum number of batches that are queued or executing
+   * @param action executes a filled batch, called on the background thread
+   */
+  AsyncBatchExecutor(StatementFactory statementFactory, int maxInFlightBatches, BatchAction action) {
+    this.statementFactory = statementFactory;
+    this.maxInFlightBatches = maxInFlightBatches;
+    this.action = action;
+    this.executor = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("batch-executor-%d").build());
+  }
+
+  /**
+   * Hands a filled statement over to the background thread and returns a free statement to fill the next batch.
+   * Blocks while {@code maxInFlightBatches} batches are in flight.
+   *
+   * @param statement the statement holding the batch
+   * @param rows the number of rows in the batch
+   * @return the statement to fill the next batch
+   * @throws SQLException if a previous batch failed, or if no statement could be prepared
+   */
+  PreparedStatement submit(PreparedStatement statement, int rows) throws SQLException {
+    checkFailure();
+    // take the next statement before queueing the batch, so that the batch waits with the writer rather than in
+    // the queue of the executor while maxInFlightBatches batches are in flight
+    PreparedStatement next = nextStatement();
+    lastBatch = executor.submit(() -> execute(statement, rows));
+    return next;
+  }
+
+  /**
+   * Throws the failure of a batch executed in the background, if any.
+   */
+  void checkFailure() throws SQLException {
+    SQLException e = failure;
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  /**
+   * Waits until all submitted batches are executed, then throws the failure of any of them.
+   */
+  void await() throws SQLException {
+    drain();
+    checkFailure();
+  }
+
+  /**
+   * Waits until all submitted batches are executed or discarded, without throwing their failure. The connection
+   * is not used by the background thread once this method returns.
+   */
+  void drain() {
+    if (lastBatch == null) {
+      return;
+    }
+    try {
+      lastBatch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      setFailure(new SQLException("Interrupted while waiting for batches to be executed.", e));
+    } catch (ExecutionException e) {
+      setFailure(new SQLException(e.getCause()));
+    }
+  }
+
+  /**
+   * Waits for the submitted batches, stops the background thread and closes the statements prepared by this
+   * executor. The statement of the writer is not closed.
+   */
+  void close() throws SQLException {
+    drain();
+    executor.shutdownNow();
+    SQLException closeFailure = null;
+    for (PreparedStatement statement : statements) {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        if (closeFailure == null) {
+          closeFailure = e;
+        } else {
+          closeFailure.addSuppressed(e);
+        }
+      }
+    }
+    if (closeFailure != null) {
+      throw closeFailure;
+    }
+  }
+
+  private PreparedStatement nextStatement() throws SQLException {
+    PreparedStatement next = freeStatements.poll();
+    if (next != null) {
+      return next;
+    }
+    if (statements.size() < maxInFlightBatches) {
+      next = statementFactory.prepare();
+      statements.add(next);
+      return next;
+    }
+    try {
+      return freeStatements.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a batch to be executed.", e);
+    }
+  }
+
+  private void execute(PreparedStatement statement, int rows) {
+    try {
+      if (failure == null) {
+        action.execute(statement, rows);
+      } else {
+        statement.clearBatch();
+      }
+    } catch (SQLException | RuntimeException e) {
+      setFailure(e instanceof SQLException ? (SQLException) e : new SQLException(e));
+      try {
+        statement.clearBatch();
+      } catch (SQLException ex) {
+        LOG.debug("Failed to clear batch after a failure.", ex);
+      }
+    } finally {
+      freeStatements.add(statement);
+    }
+  }
+
+  private synchronized void setFailure(SQLException e) {
+    if (failure == null) {
+      failure = e;
+    }
+  }
+}
@@ -18,11 +18,16 @@ package io.cdap.plugin.db.batch.sink;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ColumnWriter;
 import io.cdap.plugin.db.ConnectionConfigAccessor;
-import io.cdap.plugin.db.JDBCDriverShim;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.batch.ConnectionPool;
 import io.cdap.plugin.db.batch.NoOpCommitConnection;
 import io.cdap.plugin.db.batch.TransactionIsolationLevel;
-import io.cdap.plugin.util.DBUtils;
+import io.cdap.plugin.util.DriverCleanup;
+import io.cdap.plugin.util.DriverRegistry;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.RecordWriter;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
@@ -36,12 +41,16 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Class that extends {@link DBOutputFormat} to load the database driver class correctly.
@@ -54,8 +63,9 @@ public class ETLDBOutputFormat<K extends DBWritable, V> extends DBOutputFormat<K
   private static final Logger LOG = LoggerFactory.getLogger(ETLDBOutputFormat.class);
 
   private Configuration conf;
-  private Driver driver;
-  private JDBCDriverShim driverShim;
+  private Class<? extends Driver> driverClass;
+  @Nullable
+  private DriverCleanup driverCleanup;
 
   @Override
   public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
@@ -68,95 +78,278 @@ public class ETLDBOutputFormat<K extends DBWritable, V> extends DBOutputFormat<K
       fieldNames = new String[dbConf.getOutputFieldCount()];
     }
 
+    ConnectionConfigAccessor connectionConfigAccessor = new ConnectionConfigAccessor(conf);
+    int writerParallelism = connectionConfigAccessor.getWriterParallelism();
+    List<BatchRecordWriter> writers = new ArrayList<>();
     try {
-      Connection connection = getConnection(conf);
-      PreparedStatement statement = connection.prepareStatement(constructQuery(tableName, fieldNames));
-      return new DBRecordWriter(connection, statement) {
-
-        private boolean emptyData = true;
-
-        //Implementation of the close method below is the exact implementation in DBOutputFormat except that
-        //we check if there is any data to be written and if not, we skip executeBatch call.
-        //There might be reducers that don't receive any data and thus this check is necessary to prevent
-        //empty data to be committed (since some Databases doesn't support that).
-        @Override
-        public void close(TaskAttemptContext context) throws IOException {
-          try {
-            if (!emptyData) {
-              getStatement().executeBatch();
-              getConnection().commit();
-            }
-          } catch (SQLException e) {
-            try {
-              getConnection().rollback();
-            } catch (SQLException ex) {
-              LOG.warn(StringUtils.stringifyException(ex));
-            }
-            throw new IOException(e);
-          } finally {
-            try {
-              getStatement().close();
-              getConnection().close();
-            } catch (SQLException ex) {
-              throw new IOException(ex);
-            }
-          }
-
-          try {
-            DriverManager.deregisterDriver(driverShim);
-          } catch (SQLException e) {
-            throw new IOException(e);
-          }
-        }
-
-        @Override
-        public void write(K key, V value) {
-          emptyData = false;
-          //We need to make correct logging to avoid losing information about error
-          try {
-            key.write(getStatement());
-            getStatement().addBatch();
-          } catch (SQLException e) {
-            LOG.warn("Failed to write value to database", e);
-          }
-        }
-      };
+      if (writerParallelism <= 1) {
+        return createRecordWriter(tableName, fieldNames, connectionConfigAccessor);
+      }
+      for (int i = 0; i < writerParallelism; i++) {
+        writers.add(createRecordWriter(tableName, fieldNames, connectionConfigAccessor));
+      }
+      LOG.debug("Writing records through {} connections.", writerParallelism);
+      return new ParallelRecordWriter<>(writers, connectionConfigAccessor.getRoutingFields());
     } catch (Exception ex) {
+      for (BatchRecordWriter writer : writers) {
+        try {
+          writer.abort();
+          writer.close(context);
+        } catch (IOException e) {
+          ex.addSuppressed(e);
+        }
+      }
       throw Throwables.propagate(ex);
+    } finally {
+      // the writers hold their own registrations of the driver
+      releaseDriver();
     }
   }
 
-  private Connection getConnection(Configuration conf) {
-    Connection connection;
+  private BatchRecordWriter createRecordWriter(String tableName, String[] fieldNames,
+                                               ConnectionConfigAccessor connectionConfigAccessor)
+    throws SQLException, ReflectiveOperationException {
+    Connection connection = getConnection(conf);
+    DriverCleanup writerDriverCleanup = null;
     try {
-      String url = conf.get(DBConfiguration.URL_PROPERTY);
+      writerDriverCleanup = DriverRegistry.register(driverClass);
+      int rowsPerInsert = connectionConfigAccessor.getRowsPerInsert();
+      if (rowsPerInsert > 1) {
+        return new BatchRecordWriter(
+          connection, () -> MultiRowInsertStatement.create(connection, tableName, fieldNames, rowsPerInsert),
+          connectionConfigAccessor, writerDriverCleanup);
+      }
+      String query = constructQuery(tableName, fieldNames);
+      return new BatchRecordWriter(connection, () -> connection.prepareStatement(query), connectionConfigAccessor,
+                                   writerDriverCleanup);
+    } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
       try {
-        // throws SQLException if no suitable driver is found
-        DriverManager.getDriver(url);
+        connection.close();
+      } catch (SQLException ex) {
+        e.addSuppressed(ex);
+      }
+      if (writerDriverCleanup != null) {
+        writerDriverCleanup.destroy();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Record writer that binds records to a prepared statement of its connection, and executes them in batches
+   * bounded by row count, size and time, optionally committing every few batches. Each writer holds a registration
+   * of the driver, so that the writers of a task can be closed in any order.
+   */
+  class BatchRecordWriter extends DBRecordWriter {
+
+    private final int batchSize;
+    private final long batchSizeBytes;
+    private final long batchFlushIntervalMillis;
+    private final int batchesPerCommit;
+    private boolean emptyData = true;
+    private boolean failed;
+    private int pendingRows;
+    private long pendingBytes;
+    private long pendingSinceMillis;
+    private int uncommittedBatches;
+    private ColumnWriter[] columnWriters;
+    private Schema writersSchema;
+    // the statement of the pending batch, which changes whenever a batch is handed over to the batch executor
+    private PreparedStatement pendingStatement = getStatement();
+    private final AsyncBatchExecutor batchExecutor;
+    private final DriverCleanup writerDriverCleanup;
+
+    BatchRecordWriter(Connection connection, AsyncBatchExecutor.StatementFactory statementFactory,
+                      ConnectionConfigAccessor connectionConfigAccessor,
+                      DriverCleanup writerDriverCleanup) throws SQLException {
+      super(connection, statementFactory.prepare());
+      this.writerDriverCleanup = writerDriverCleanup;
+      batchSize = connectionConfigAccessor.getBatchSize();
+      batchSizeBytes = connectionConfigAccessor.getBatchSizeBytes();
+      batchFlushIntervalMillis = TimeUnit.SECONDS.toMillis(connectionConfigAccessor.getBatchFlushInterval());
+      // commits are no-ops when auto-commit is enabled
+      batchesPerCommit = connectionConfigAccessor.isAutoCommitEnabled() ?
+        0 : connectionConfigAccessor.getBatchesPerCommit();
+      int asyncBatches = connectionConfigAccessor.getAsyncBatches();
+      batchExecutor = asyncBatches > 0 ?
+        new AsyncBatchExecutor(statementFactory, asyncBatches, this::executeAndCommit) : null;
+    }
+
+    //Implementation of the close method below is the exact implementation in DBOutputFormat except that
+    //we check if there is any data to be written and if not, we skip executeBatch call.
+    //There might be reducers that don't receive any data and thus this check is necessary to prevent
+    //empty data to be committed (since some Databases doesn't support that).
+    @Override
+    public void close(TaskAttemptContext context) throws IOException {
+      try {
+        if (!emptyData && !failed) {
+          if (batchExecutor != null) {
+            batchExecutor.await();
+          }
+          if (pendingRows > 0) {
+            executeBatch(pendingStatement, pendingRows);
+          }
+          getConnection().commit();
+        }
       } catch (SQLException e) {
-        if (driverShim == null) {
-          if (driver == null) {
-            ClassLoader classLoader = conf.getClassLoader();
-            @SuppressWarnings("unchecked")
-            Class<? extends Driver> driverClass =
-              (Class<? extends Driver>) classLoader.loadClass(conf.get(DBConfiguration.DRIVER_CLASS_PROPERTY));
-            driver = driverClass.newInstance();
-
-            // De-register the default driver that gets registered when driver class is loaded.
-            DBUtils.deregisterAllDrivers(driverClass);
+        rollback();
+        throw new IOException(e);
+      } finally {
+        try {
+          if (batchExecutor != null) {
+            batchExecutor.close();
           }
+          getStatement().close();
+          getConnection().close();
+        } catch (SQLException ex) {
+          throw new IOException(ex);
+        } finally {
+          writerDriverCleanup.destroy();
+        }
+      }
+    }
 
-          driverShim = new JDBCDriverShim(driver);
-          DriverManager.registerDriver(driverShim);
-          LOG.debug("Registered JDBC driver via shim {}. Actual Driver {}.", driverShim, driver);
+    @Override
+    public void write(K key, V value) throws IOException {
+      emptyData = false;
+      if (batchExecutor != null) {
+        try {
+          batchExecutor.checkFailure();
+        } catch (SQLException e) {
+          throw fail(e);
         }
       }
+      //We need to make correct logging to avoid losing information about error
+      try {
+        if (key instanceof DBRecord) {
+          writeRecord((DBRecord) key);
+        } else {
+          key.write(pendingStatement);
+        }
+        pendingStatement.addBatch();
+      } catch (SQLException e) {
+        LOG.warn("Failed to write value to database", e);
+        return;
+      }
+
+      if (pendingRows == 0 && batchFlushIntervalMillis > 0) {
+        pendingSinceMillis = System.currentTimeMillis();
+      }
+      pendingRows++;
+      if (batchSizeBytes > 0 && key instanceof DBRecord) {
+        pendingBytes += ((DBRecord) key).estimateSize();
+      }
+      if (isBatchFull()) {
+        flushBatch();
+      }
+    }
 
+    /**
+     * Binds the record using column writers that are resolved once and reused as long as the record schema
+     * does not change.
+     */
+    private void writeRecord(DBRecord dbRecord) throws SQLException {
+      Schema recordSchema = dbRecord.getRecord().getSchema();
+      if (columnWriters == null || (recordSchema != writersSchema && !recordSchema.equals(writersSchema))) {
+        columnWriters = dbRecord.createColumnWriters(recordSchema);
+        writersSchema = recordSchema;
+      }
+      dbRecord.write(pendingStatement, columnWriters);
+    }
+
+    private boolean isBatchFull() {
+      return (batchSize > 0 && pendingRows >= batchSize)
+        || (batchSizeBytes > 0 && pendingBytes >= batchSizeBytes)
+        || (batchFlushIntervalMillis > 0
+        && System.currentTimeMillis() - pendingSinceMillis >= batchFlushIntervalMillis);
+    }
+
+    /**
+     * Executes the pending batch, or hands it over to the batch executor and continues with a free statement.
+     */
+    private void flushBatch() throws IOException {
+      try {
+        if (batchExecutor == null) {
+          executeAndCommit(pendingStatement, pendingRows);
+        } else {
+          pendingStatement = batchExecutor.submit(pendingStatement, pendingRows);
+        }
+        pendingRows = 0;
+        pendingBytes = 0;
+      } catch (SQLException e) {
+        throw fail(e);
+      }
+    }
+
+    /**
+     * Executes a batch and commits the transaction every {@code batchesPerCommit} batches. Called on the
+     * thread of the batch executor when batches are executed asynchronously.
+     */
+    private void executeAndCommit(PreparedStatement batchStatement, int rows) throws SQLException {
+      executeBatch(batchStatement, rows);
+      LOG.trace("Executed batch of {} rows.", rows);
+      if (batchesPerCommit > 0 && ++uncommittedBatches >= batchesPerCommit) {
+        getConnection().commit();
+        uncommittedBatches = 0;
+      }
+    }
+
+    private IOException fail(SQLException e) {
+      failed = true;
+      rollback();
+      return new IOException(e);
+    }
+
+    private void rollback() {
+      if (batchExecutor != null) {
+        // the connection must not be rolled back while a batch is executing
+        batchExecutor.drain();
+      }
+      try {
+        getConnection().rollback();
+      } catch (SQLException ex) {
+        LOG.warn(StringUtils.stringifyException(ex));
+      }
+    }
+
+    /**
+     * Discards the rows written so far: rolls back the transaction and skips the commit when the writer is closed.
+     */
+    void abort() {
+      failed = true;
+      rollback();
+    }
+  }
+
+  /**
+   * Executes the pending batch of the statement. Called for every flushed batch, and for the last batch of a task
+   * when the writer is closed.
+   *
+   * @param statement the statement of the writer
+   * @param rows the number of rows in the batch
+   * @return the update counts of the batch
+   */
+  protected int[] executeBatch(PreparedStatement statement, int rows) throws SQLException {
+    return statement.executeBatch();
+  }
+
+  /**
+   * Borrows a connection to the output database from the {@link ConnectionPool}, registering the JDBC driver if
+   * needed, and applies the auto-commit and transaction isolation level of the configuration.
+   * New connections run the initialization queries of the configuration.
+   */
+  protected Connection getConnection(Configuration conf) {
+    Connection connection;
+    try {
+      String url = conf.get(DBConfiguration.URL_PROPERTY);
+      Class<? extends Driver> driverClass = registerDriver(conf);
       ConnectionConfigAccessor connectionConfigAccessor = new ConnectionConfigAccessor(conf);
       Map<String, String> connectionArgs = connectionConfigAccessor.getConnectionArguments();
       Properties properties = new Properties();
       properties.putAll(connectionArgs);
-      connection = DriverManager.getConnection(url, properties);
+      // initialization queries are executed by the pool when a connection is opened
+      connection = ConnectionPool.getInstance().getConnection(driverClass, url, properties,
+                                                              connectionConfigAccessor.getInitQueries());
 
       boolean autoCommitEnabled = connectionConfigAccessor.isAutoCommitEnabled();
       if (autoCommitEnabled) {
@@ -168,20 +361,59 @@ public class ETLDBOutputFormat<K extends DBWritable, V> extends DBOutputFormat<K
       String level = connectionConfigAccessor.getTransactionIsolationLevel();
       LOG.debug("Transaction isolation level: {}", level);
       connection.setTransactionIsolation(TransactionIsolationLevel.getLevel(level));
-      // execute initialization queries if any
-      for (String query : connectionConfigAccessor.getInitQueries()) {
-        try (Statement statement = connection.createStatement()) {
-          statement.execute(query);
-        }
-      }
     } catch (Exception e) {
       throw Throwables.propagate(e);
     }
     return connection;
   }
 
+  /**
+   * Registers the JDBC driver of the configuration with the {@link DriverRegistry}, unless this output format
+   * already holds a registration, and returns the driver class. Connections that are not pooled can be opened
+   * with {@link DriverRegistry#connect} until the driver is released.
+   */
+  protected Class<? extends Driver> registerDriver(Configuration conf)
+    throws ClassNotFoundException, IllegalAccessException, InstantiationException {
+    if (driverCleanup == null) {
+      @SuppressWarnings("unchecked")
+      Class<? extends Driver> loadedClass =
+        (Class<? extends Driver>) conf.getClassLoader().loadClass(conf.get(DBConfiguration.DRIVER_CLASS_PROPERTY));
+      driverClass = loadedClass;
+      driverCleanup = DriverRegistry.register(driverClass);
+    }
+    return driverClass;
+  }
+
+  /**
+   * Releases the driver registered by {@link #getConnection(Configuration)}, if any.
+   * Called once the connection of a task is closed.
+   */
+  protected void releaseDriver() {
+    if (driverCleanup != null) {
+      driverCleanup.destroy();
+      driverCleanup = null;
+    }
+  }
+
   @Override
   public String constructQuery(String table, String[] fieldNames) {
+    ConnectionConfigAccessor connectionConfigAccessor = new ConnectionConfigAccessor(conf);
+    switch (connectionConfigAccessor.getOperation()) {
+      case UPSERT:
+        SqlDialect sqlDialect = connectionConfigAccessor.getSqlDialect();
+        Preconditions.checkState(sqlDialect != null, "Upserts require the SQL dialect of the database.");
+        List<ColumnType> columnTypes = connectionConfigAccessor.getColumnTypes();
+        return columnTypes.size() == fieldNames.length
+          ? sqlDialect.constructUpsertQuery(table, fieldNames, connectionConfigAccessor.getKeyColumns(), columnTypes)
+          : sqlDialect.constructUpsertQuery(table, fieldNames, connectionConfigAccessor.getKeyColumns());
+      case UPDATE:
+        return constructUpdateQuery(table, fieldNames, connectionConfigAccessor.getKeyColumns());
+      case DELETE:
+        return constructDeleteQuery(table, connectionConfigAccessor.getKeyColumns());
+      default:
+        break;
+    }
+
     String query = super.constructQuery(table, fieldNames);
     // Strip the ';' at the end since Oracle doesn't like it.
     // TODO: Perhaps do a conditional if we can find a way to tell that this is going to Oracle
@@ -196,4 +428,28 @@ public class ETLDBOutputFormat<K extends DBWritable, V> extends DBOutputFormat<K
     }
     return query;
   }
+
+  /**
+   * Builds the statement that updates the rows with the given key. The statement takes the values of the non-key
+   * columns, in the order of the fields, followed by the values of the key columns.
+   */
+  static String constructUpdateQuery(String table, String[] fieldNames, List<String> keyColumns) {
+    String assignments = Arrays.stream(fieldNames)
+      .filter(column -> !keyColumns.contains(column))
+      .map(column -> column + " = ?")
+      .collect(Collectors.joining(", "));
+    return String.format("UPDATE %s SET %s WHERE %s", table, assignments, getKeyCondition(keyColumns));
+  }
+
+  /**
+   * Builds the statement that deletes the rows with the given key. The statement takes the values of the key columns.
+   */
+  static String constructDeleteQuery(String table, List<String> keyColumns) {
+    return String.format("DELETE FROM %s WHERE %s", table, getKeyCondition(keyColumns));
+  }
+
+  private static String getKeyCondition(List<String> keyColumns) {
+    return keyColumns.stream().map(column -> column + " = ?").collect(Collectors.joining(" AND "));
+  }
+
 }
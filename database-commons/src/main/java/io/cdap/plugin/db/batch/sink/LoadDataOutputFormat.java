@@ -0,0 +1,446 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.TextRowEncoder;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that loads records with 'LOAD DATA LOCAL INFILE' instead of batched inserts, for the databases of the
+ * MySQL family.
+ *
+ * <p>Rows are encoded as tab separated text by {@link TextRowEncoder} into an in-memory buffer, and each full buffer
+ * is loaded by one statement that reads it through the 'setLocalInfileInputStream' hook of the driver, so no file is
+ * written. A task can spread the rows over several load streams, each with its own connection and buffer, in which
+ * case a full buffer is loaded on a background thread, optionally gzip compressed on the client, while the rows that
+ * follow are encoded into the buffer of the next stream. The statements of a stream are committed when the task
+ * completes.</p>
+ *
+ * <p>The server cannot stop the transfer of a local file, so it skips the rows it cannot load, as with 'IGNORE', and
+ * truncates or converts invalid values with a warning. A load whose row count falls short of the buffered rows, or
+ * that reports warnings, fails the task, and its rows are rolled back with the rest of the task.</p>
+ *
+ * <p>Subclasses enable 'LOAD DATA LOCAL' in the connection arguments of their driver, and name the drivers that
+ * support the hook, see {@link #getSupportedDrivers()}.</p>
+ *
+ * @param <K> - Key passed to this class to be written, must be a {@link DBRecord}
+ * @param <V> - Value passed to this class to be written. The value is ignored.
+ */
+public abstract class LoadDataOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+  public static final String BUFFER_SIZE = "io.cdap.plugin.db.output.load.data.buffer.size";
+  public static final String STREAMS = "io.cdap.plugin.db.output.load.data.streams";
+  public static final String COMPRESSION = "io.cdap.plugin.db.output.load.data.compression";
+  public static final int DEFAULT_BUFFER_SIZE = 16 * 1024 * 1024;
+
+  private static final Logger LOG = LoggerFactory.getLogger(LoadDataOutputFormat.class);
+  private static final int MAX_REPORTED_WARNINGS = 10;
+
+  /**
+   * Sets the load settings that are specified. Tasks load through a single stream without compression by default.
+   *
+   * @param configAccessor accessor of the output format configuration
+   * @param bufferSize size in bytes of the buffer loaded by each statement
+   * @param streams number of concurrent load streams of each task
+   * @param compression whether buffers are gzip compressed before they are sent
+   */
+  public static void configure(ConnectionConfigAccessor configAccessor, @Nullable Integer bufferSize,
+                               @Nullable Integer streams, @Nullable Boolean compression) {
+    Configuration conf = configAccessor.getConfiguration();
+    if (bufferSize != null) {
+      conf.setInt(BUFFER_SIZE, bufferSize);
+    }
+    if (streams != null) {
+      conf.setInt(STREAMS, streams);
+    }
+    if (compression != null) {
+      conf.setBoolean(COMPRESSION, compression);
+    }
+  }
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    Configuration conf = context.getConfiguration();
+    DBConfiguration dbConf = new DBConfiguration(conf);
+    int streams = conf.getInt(STREAMS, 1);
+    List<Connection> connections = new ArrayList<>(streams);
+    try {
+      for (int i = 0; i < streams; i++) {
+        connections.add(getConnection(conf));
+      }
+    } catch (RuntimeException e) {
+      for (Connection connection : connections) {
+        try {
+          connection.close();
+        } catch (SQLException ex) {
+          e.addSuppressed(ex);
+        }
+      }
+      releaseDriver();
+      throw Throwables.propagate(e);
+    }
+    return new LoadDataRecordWriter(connections, dbConf.getOutputTableName(), dbConf.getOutputFieldNames(),
+                                    conf.getInt(BUFFER_SIZE, DEFAULT_BUFFER_SIZE),
+                                    conf.getBoolean(COMPRESSION, false));
+  }
+
+  /**
+   * Returns the drivers that support streaming 'LOAD DATA LOCAL INFILE', named in the error raised when the driver
+   * in use does not.
+   */
+  protected abstract String getSupportedDrivers();
+
+  /**
+   * Builds the statement that loads a buffer. Values of binary columns are sent as hex digits and decoded by the
+   * server, and values of bit columns are converted from their numeric text, since both would otherwise be taken
+   * as the characters of the text. Compressed buffers are sent as a file with the '.gz' extension, from which the
+   * server detects the compression.
+   */
+  @VisibleForTesting
+  static String constructLoadDataQuery(String tableName, String[] fieldNames, List<ColumnType> columnTypes,
+                                       boolean compressed) {
+    StringJoiner columns = new StringJoiner(",", "(", ")");
+    StringJoiner assignments = new StringJoiner(",", " SET ", "").setEmptyValue("");
+    for (int i = 0; i < fieldNames.length; i++) {
+      String variable = "@c" + i;
+      switch (columnTypes.get(i).getType()) {
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+          columns.add(variable);
+          assignments.add(String.format("%s = UNHEX(%s)", fieldNames[i], variable));
+          break;
+        case Types.BIT:
+          columns.add(variable);
+          assignments.add(String.format("%s = CAST(%s AS UNSIGNED)", fieldNames[i], variable));
+          break;
+        default:
+          columns.add(fieldNames[i]);
+      }
+    }
+    return String.format("LOAD DATA LOCAL INFILE '%s' INTO TABLE %s CHARACTER SET utf8mb4 %s%s",
+                         compressed ? "stream.gz" : "stream", tableName, columns, assignments);
+  }
+
+  /**
+   * Writes records through the load streams of the task, which are prepared with the first record, since it
+   * provides the column types, so that tasks without records do not issue any statement.
+   */
+  private class LoadDataRecordWriter extends RecordWriter<K, V> {
+    private final List<LoadStream> streams = new ArrayList<>();
+    // null with a single stream, which loads its buffers on the task thread
+    @Nullable
+    private final ExecutorService executor;
+    private final String tableName;
+    private final String[] fieldNames;
+    private final int bufferSize;
+    private final boolean compressed;
+    private final StringBuilder row = new StringBuilder();
+    private TextRowEncoder rowEncoder;
+    private String loadDataQuery;
+    private LoadStream current;
+    private int currentIndex;
+    private boolean prepared;
+    private boolean failed;
+
+    LoadDataRecordWriter(List<Connection> connections, String tableName, String[] fieldNames, int bufferSize,
+                         boolean compressed) {
+      for (Connection connection : connections) {
+        streams.add(new LoadStream(connection));
+      }
+      this.current = streams.get(0);
+      this.executor = connections.size() == 1 ? null : Executors.newFixedThreadPool(
+        connections.size(), new ThreadFactoryBuilder().setDaemon(true).setNameFormat("load-data-%d").build());
+      this.tableName = tableName;
+      this.fieldNames = fieldNames;
+      this.bufferSize = bufferSize;
+      this.compressed = compressed;
+    }
+
+    @Override
+    public void write(K key, V value) throws IOException {
+      if (!(key instanceof DBRecord)) {
+        throw new IOException(String.format("LOAD DATA requires records of type '%s', but found '%s'.",
+                                            DBRecord.class.getName(), key.getClass().getName()));
+      }
+      DBRecord dbRecord = (DBRecord) key;
+      boolean written = false;
+      try {
+        if (!prepared) {
+          prepare(dbRecord.getColumnTypes());
+        }
+        row.setLength(0);
+        rowEncoder.encode(dbRecord.getRecord(), row);
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+        current.append(bytes);
+        if (current.buffer.size() >= bufferSize) {
+          current.submit();
+          currentIndex = (currentIndex + 1) % streams.size();
+          current = streams.get(currentIndex);
+          // the buffer of the next stream is reused once its previous load is done
+          current.await();
+        }
+        written = true;
+      } finally {
+        // the rows of a failed write are not loaded, whatever the failure
+        if (!written) {
+          failed = true;
+        }
+      }
+    }
+
+    @Override
+    public void close(TaskAttemptContext context) throws IOException {
+      try {
+        if (prepared) {
+          if (failed) {
+            rollback();
+          } else {
+            current.submit();
+            long loadedRows = 0;
+            for (LoadStream stream : streams) {
+              stream.await();
+              loadedRows += stream.loadedRows;
+            }
+            for (LoadStream stream : streams) {
+              stream.connection.commit();
+            }
+            LOG.debug("Loaded {} rows into {} through {} streams.", loadedRows, tableName, streams.size());
+          }
+        }
+      } catch (IOException | SQLException e) {
+        rollback();
+        throw e instanceof IOException ? (IOException) e : new IOException(e);
+      } finally {
+        if (executor != null) {
+          executor.shutdownNow();
+        }
+        IOException closeFailure = null;
+        for (LoadStream stream : streams) {
+          try {
+            stream.close();
+          } catch (IOException e) {
+            closeFailure = closeFailure == null ? e : closeFailure;
+          }
+        }
+        releaseDriver();
+        if (closeFailure != null) {
+          throw closeFailure;
+        }
+      }
+    }
+
+    private void prepare(List<ColumnType> columnTypes) throws IOException {
+      rowEncoder = new TextRowEncoder(columnTypes);
+      loadDataQuery = constructLoadDataQuery(tableName, fieldNames, columnTypes, compressed);
+      for (LoadStream stream : streams) {
+        stream.prepare();
+      }
+      prepared = true;
+    }
+
+    private void rollback() {
+      for (LoadStream stream : streams) {
+        try {
+          stream.await();
+        } catch (IOException e) {
+          LOG.debug("Load stream failed before the rollback.", e);
+        }
+        try {
+          stream.connection.rollback();
+        } catch (SQLException e) {
+          LOG.warn("Failed to rollback the transaction.", e);
+        }
+      }
+    }
+
+    /**
+     * Fails a load that skipped rows or reported warnings, since the server ignores the rows it cannot load and
+     * truncates invalid values instead of failing the statement.
+     *
+     * @param bufferedRows number of rows sent by the load
+     * @param loadedRows number of rows loaded as reported by the server, or -1 if unknown
+     * @param warning first warning of the load, if any
+     */
+    private void checkLoad(int bufferedRows, int loadedRows, @Nullable SQLWarning warning) throws IOException {
+      boolean skipped = loadedRows >= 0 && loadedRows < bufferedRows;
+      if (!skipped && warning == null) {
+        return;
+      }
+      StringBuilder message = new StringBuilder(String.format(
+        "Loaded %s of %d rows into %s. The server skips the rows it cannot load and truncates invalid values.",
+        loadedRows >= 0 ? loadedRows : "an unknown number", bufferedRows, tableName));
+      if (warning != null) {
+        message.append(" Warnings:");
+      }
+      for (int count = 0; warning != null && count < MAX_REPORTED_WARNINGS; count++) {
+        message.append(' ').append(warning.getMessage());
+        warning = warning.getNextWarning();
+      }
+      throw new IOException(message.toString());
+    }
+
+    /**
+     * A connection that loads one buffer at a time. The buffer is only written by the task thread while no load
+     * of the stream is pending.
+     */
+    private class LoadStream {
+      private final Connection connection;
+      private final RowBuffer buffer = new RowBuffer();
+      private final RowBuffer compressedBuffer = new RowBuffer();
+      private Statement statement;
+      private Method setLocalInfileInputStream;
+      private Future<?> pending;
+      private int bufferedRows;
+      private long loadedRows;
+
+      LoadStream(Connection connection) {
+        this.connection = connection;
+      }
+
+      void prepare() throws IOException {
+        try {
+          statement = connection.createStatement();
+          setLocalInfileInputStream = statement.getClass().getMethod("setLocalInfileInputStream",
+                                                                     InputStream.class);
+        } catch (NoSuchMethodException e) {
+          throw new IOException(String.format("The JDBC driver does not support streaming 'LOAD DATA LOCAL " +
+                                                "INFILE'. Use %s.", getSupportedDrivers()), e);
+        } catch (SQLException e) {
+          throw new IOException(e);
+        }
+      }
+
+      void append(byte[] bytes) {
+        buffer.write(bytes, 0, bytes.length);
+        bufferedRows++;
+      }
+
+      void submit() throws IOException {
+        if (bufferedRows > 0 && executor == null) {
+          load();
+        } else if (bufferedRows > 0) {
+          pending = executor.submit(() -> {
+            load();
+            return null;
+          });
+        }
+      }
+
+      void await() throws IOException {
+        if (pending == null) {
+          return;
+        }
+        try {
+          pending.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while waiting for a load to complete.", e);
+        } catch (ExecutionException e) {
+          Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+          throw Throwables.propagate(e.getCause());
+        } finally {
+          pending = null;
+        }
+      }
+
+      private void load() throws IOException {
+        try {
+          InputStream input = buffer.toInputStream();
+          if (compressed) {
+            compressedBuffer.reset();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressedBuffer)) {
+              buffer.writeTo(gzip);
+            }
+            input = compressedBuffer.toInputStream();
+          }
+          setLocalInfileInputStream.invoke(statement, input);
+          statement.execute(loadDataQuery);
+          int updateCount = statement.getUpdateCount();
+          SQLWarning warning = statement.getWarnings();
+          statement.clearWarnings();
+          checkLoad(bufferedRows, updateCount, warning);
+          loadedRows += bufferedRows;
+        } catch (IllegalAccessException e) {
+          throw new IOException(e);
+        } catch (InvocationTargetException e) {
+          throw new IOException(String.format("Failed to execute '%s'.", loadDataQuery), e.getCause());
+        } catch (SQLException e) {
+          throw new IOException(String.format("Failed to execute '%s'.", loadDataQuery), e);
+        } finally {
+          buffer.reset();
+          bufferedRows = 0;
+        }
+      }
+
+      void close() throws IOException {
+        try {
+          if (statement != null) {
+            statement.close();
+          }
+          connection.close();
+        } catch (SQLException e) {
+          throw new IOException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Buffer whose content is read without being copied.
+   */
+  private static class RowBuffer extends ByteArrayOutputStream {
+
+    InputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
+    }
+  }
+}
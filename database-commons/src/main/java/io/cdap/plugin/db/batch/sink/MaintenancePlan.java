@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Statements that suspend the maintenance of a table before records are loaded, and restore it afterwards.
+ * Each suspend statement is paired with the statement that restores what it suspended, so that a partially suspended
+ * table can be restored. Indexes are restored first, in parallel, then constraints and triggers are restored in order.
+ */
+public class MaintenancePlan {
+  private final List<Step> steps = new ArrayList<>();
+  private final List<CombinedRestore> combinedIndexRestores = new ArrayList<>();
+
+  /**
+   * Adds a statement that drops or disables an index, a constraint or a trigger before records are loaded.
+   *
+   * @return the position of the statement in the plan
+   */
+  public int addSuspendQuery(String query) {
+    steps.add(new Step(query));
+    return steps.size() - 1;
+  }
+
+  /**
+   * Adds a statement that recreates or rebuilds the index suspended by the last suspend statement once records are
+   * loaded. It can run in parallel with the other index statements.
+   */
+  public void addIndexRestoreQuery(String query) {
+    getLastStep().indexRestoreQuery = query;
+  }
+
+  /**
+   * Adds a statement that recreates or enables the constraint or the trigger suspended by the last suspend statement
+   * once the indexes are restored.
+   */
+  public void addRestoreQuery(String query) {
+    getLastStep().restoreQuery = query;
+  }
+
+  /**
+   * Adds a statement that recreates the indexes of the suspend statements at the given positions at once. It replaces
+   * their own index statements when all of them were executed.
+   */
+  public void addCombinedIndexRestoreQuery(Collection<Integer> suspendQueries, String query) {
+    combinedIndexRestores.add(new CombinedRestore(new LinkedHashSet<>(suspendQueries), query));
+  }
+
+  public boolean isEmpty() {
+    return steps.isEmpty();
+  }
+
+  public List<String> getSuspendQueries() {
+    return Collections.unmodifiableList(steps.stream().map(step -> step.suspendQuery).collect(Collectors.toList()));
+  }
+
+  public List<String> getIndexRestoreQueries() {
+    List<String> queries = new ArrayList<>();
+    Set<Integer> combined = new LinkedHashSet<>();
+    for (CombinedRestore restore : combinedIndexRestores) {
+      if (restore.suspendQueries.stream().allMatch(position -> position < steps.size())) {
+        combined.addAll(restore.suspendQueries);
+      }
+    }
+    for (int position = 0; position < steps.size(); position++) {
+      String query = steps.get(position).indexRestoreQuery;
+      if (query != null && !combined.contains(position)) {
+        queries.add(query);
+      }
+    }
+    for (CombinedRestore restore : combinedIndexRestores) {
+      if (combined.containsAll(restore.suspendQueries)) {
+        queries.add(restore.query);
+      }
+    }
+    return Collections.unmodifiableList(queries);
+  }
+
+  public List<String> getRestoreQueries() {
+    return Collections.unmodifiableList(steps.stream().map(step -> step.restoreQuery).filter(query -> query != null)
+                                          .collect(Collectors.toList()));
+  }
+
+  /**
+   * Returns the plan that restores only what the first given number of suspend statements suspended, for a table
+   * whose maintenance was partially suspended.
+   */
+  public MaintenancePlan getExecutedPlan(int executedSuspendQueries) {
+    MaintenancePlan plan = new MaintenancePlan();
+    plan.steps.addAll(steps.subList(0, Math.min(executedSuspendQueries, steps.size())));
+    plan.combinedIndexRestores.addAll(combinedIndexRestores);
+    return plan;
+  }
+
+  private Step getLastStep() {
+    if (steps.isEmpty()) {
+      throw new IllegalStateException("A restore statement must follow a suspend statement.");
+    }
+    return steps.get(steps.size() - 1);
+  }
+
+  /**
+   * A suspend statement with the statements that restore what it suspended.
+   */
+  private static final class Step {
+    private final String suspendQuery;
+    private String indexRestoreQuery;
+    private String restoreQuery;
+
+    private Step(String suspendQuery) {
+      this.suspendQuery = suspendQuery;
+    }
+  }
+
+  /**
+   * A statement that restores the indexes of several suspend statements at once.
+   */
+  private static final class CombinedRestore {
+    private final Set<Integer> suspendQueries;
+    private final String query;
+
+    private CombinedRestore(Set<Integer> suspendQueries, String query) {
+      this.suspendQueries = suspendQueries;
+      this.query = query;
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statement that rewrites a batch of single-row inserts into inserts of several rows, with a
+ * {@code VALUES (...), (...)} clause, for drivers that send every row of a batch as a separate statement.
+ *
+ * The parameters bound for every row added to the batch are recorded, and replayed when the batch is executed into
+ * statements of up to {@code rowsPerStatement} rows, with the parameter indexes of each row shifted by its position
+ * in the statement. All rows of a batch are sent as a batch of full statements followed by a single statement with
+ * the remaining rows, and a statement is prepared once for each number of rows. The update count of every row is
+ * {@link Statement#SUCCESS_NO_INFO}.
+ *
+ * Column writers may depend on the classes of the driver, for example to bind values of database specific types
+ * loaded from the class loader of the statement. The statement is therefore defined in the class loader of the
+ * statements of the driver, and returns their connection instead of the pooled connection it prepares them on.
+ */
+final class MultiRowInsertStatement implements InvocationHandler {
+
+  private final Connection connection;
+  private final String table;
+  private final String[] columns;
+  private final int rowsPerStatement;
+  // prepared statements by number of rows
+  private final Map<Integer, PreparedStatement> statements = new HashMap<>();
+  private final List<Parameter[]> rows = new ArrayList<>();
+  private final Parameter[] parameters;
+  private Connection driverConnection;
+  private boolean closed;
+
+  private MultiRowInsertStatement(Connection connection, String table, String[] columns, int rowsPerStatement) {
+    this.connection = connection;
+    this.table = table;
+    this.columns = columns;
+    this.rowsPerStatement = rowsPerStatement;
+    this.parameters = new Parameter[columns.length];
+  }
+
+  /**
+   * Creates a statement that inserts rows into the given columns of the table, several rows at a time. The
+   * statement of full batches is prepared on the connection right away, the others once they are executed.
+   *
+   * @param connection the connection to prepare statements on
+   * @param table the name of the table
+   * @param columns the names of the columns
+   * @param rowsPerStatement the maximum number of rows inserted by a statement
+   * @return the statement, which takes one parameter per column
+   * @throws SQLException if the statement of full batches can not be prepared
+   */
+  static PreparedStatement create(Connection connection, String table, String[] columns,
+                                  int rowsPerStatement) throws SQLException {
+    MultiRowInsertStatement handler = new MultiRowInsertStatement(connection, table, columns, rowsPerStatement);
+    PreparedStatement driverStatement = handler.getStatement(rowsPerStatement);
+    try {
+      handler.driverConnection = driverStatement.getConnection();
+      return (PreparedStatement) Proxy.newProxyInstance(
+        driverStatement.getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class}, handler);
+    } catch (SQLException | RuntimeException e) {
+      try {
+        handler.close();
+      } catch (SQLException ex) {
+        e.addSuppressed(ex);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Builds the statement that inserts the given number of rows.
+   */
+  @VisibleForTesting
+  static String constructQuery(String table, String[] columns, int rows) {
+    String row = Arrays.stream(columns).map(column -> "?").collect(Collectors.joining(", ", "(", ")"));
+    return String.format("INSERT INTO %s (%s) VALUES %s", table, String.join(", ", columns),
+                         String.join(", ", Collections.nCopies(rows, row)));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    String name = method.getName();
+    if (method.getDeclaringClass() == Object.class) {
+      switch (name) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return String.format("%s(%s, %d rows)", getClass().getSimpleName(), table, rowsPerStatement);
+      }
+    }
+    // parameter setters take the parameter index followed by the value
+    if (name.startsWith("set") && args != null && args.length > 1 && method.getParameterTypes()[0] == int.class) {
+      setParameter((Integer) args[0], method, args);
+      return null;
+    }
+    switch (name) {
+      case "addBatch":
+        if (args == null) {
+          rows.add(parameters.clone());
+          return null;
+        }
+        break;
+      case "clearParameters":
+        Arrays.fill(parameters, null);
+        return null;
+      case "clearBatch":
+        rows.clear();
+        return null;
+      case "executeBatch":
+        return executeBatch();
+      case "getConnection":
+        return driverConnection;
+      case "getWarnings":
+        return null;
+      case "clearWarnings":
+        return null;
+      case "isClosed":
+        return closed;
+      case "close":
+        close();
+        return null;
+      default:
+        break;
+    }
+    throw new SQLFeatureNotSupportedException(String.format("Method '%s' is not supported by multi-row inserts.",
+                                                            name));
+  }
+
+  private void setParameter(int index, Method method, Object[] args) throws SQLException {
+    if (index < 1 || index > parameters.length) {
+      throw new SQLException(String.format("Parameter index %d is out of range 1 to %d.", index, parameters.length));
+    }
+    parameters[index - 1] = new Parameter(method, args);
+  }
+
+  private int[] executeBatch() throws SQLException {
+    int[] updateCounts = new int[rows.size()];
+    Arrays.fill(updateCounts, Statement.SUCCESS_NO_INFO);
+    int fullStatements = rows.size() / rowsPerStatement;
+    int remainingRows = rows.size() % rowsPerStatement;
+    try {
+      if (fullStatements > 0) {
+        PreparedStatement statement = getStatement(rowsPerStatement);
+        for (int i = 0; i < fullStatements; i++) {
+          bind(statement, i * rowsPerStatement, rowsPerStatement);
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+      if (remainingRows > 0) {
+        PreparedStatement statement = getStatement(remainingRows);
+        bind(statement, fullStatements * rowsPerStatement, remainingRows);
+        statement.executeUpdate();
+      }
+    } finally {
+      rows.clear();
+    }
+    return updateCounts;
+  }
+
+  private PreparedStatement getStatement(int rowCount) throws SQLException {
+    PreparedStatement statement = statements.get(rowCount);
+    if (statement == null) {
+      statement = connection.prepareStatement(constructQuery(table, columns, rowCount));
+      statements.put(rowCount, statement);
+    }
+    return statement;
+  }
+
+  private void bind(PreparedStatement statement, int firstRow, int rowCount) throws SQLException {
+    for (int row = 0; row < rowCount; row++) {
+      Parameter[] rowParameters = rows.get(firstRow + row);
+      int offset = row * columns.length;
+      for (int i = 0; i < rowParameters.length; i++) {
+        if (rowParameters[i] == null) {
+          throw new SQLException(String.format("No value specified for parameter %d of row %d.", i + 1,
+                                               firstRow + row + 1));
+        }
+        rowParameters[i].bind(statement, offset);
+      }
+    }
+  }
+
+  private void close() throws SQLException {
+    closed = true;
+    rows.clear();
+    SQLException closeFailure = null;
+    for (PreparedStatement statement : statements.values()) {
+      try {
+        statement.close();
+      } catch (SQLException e) {
+        if (closeFailure == null) {
+          closeFailure = e;
+        } else {
+          closeFailure.addSuppressed(e);
+        }
+      }
+    }
+    statements.clear();
+    if (closeFailure != null) {
+      throw closeFailure;
+    }
+  }
+
+  /**
+   * A call to a parameter setter, replayed with a shifted parameter index.
+   */
+  private static final class Parameter {
+    private final Method setter;
+    private final Object[] args;
+
+    private Parameter(Method setter, Object[] args) {
+      this.setter = setter;
+      this.args = args;
+    }
+
+    private void bind(PreparedStatement statement, int offset) throws SQLException {
+      Object[] shiftedArgs = args.clone();
+      shiftedArgs[0] = (Integer) args[0] + offset;
+      try {
+        setter.invoke(statement, shiftedArgs);
+      } catch (IllegalAccessException e) {
+        throw new SQLException(e);
+      } catch (InvocationTargetException e) {
+        if (e.getCause() instanceof SQLException) {
+          throw (SQLException) e.getCause();
+        }
+        throw new SQLException(e.getCause());
+      }
+    }
+  }
+}
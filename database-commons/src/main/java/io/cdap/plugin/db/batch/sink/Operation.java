@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import io.cdap.cdap.etl.api.FailureCollector;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * Operation that a database sink applies to the table for every record.
+ */
+public enum Operation {
+  /**
+   * Inserts a row.
+   */
+  INSERT,
+  /**
+   * Inserts a row, or updates the row with the same key columns if it exists.
+   */
+  UPSERT,
+  /**
+   * Updates the rows with the same key columns. The statement takes the non-key columns, then the key columns.
+   */
+  UPDATE,
+  /**
+   * Deletes the rows with the same key columns. The statement only takes the key columns.
+   */
+  DELETE;
+
+  /**
+   * Returns the operation of the given value, defaults to {@link #INSERT} if the value is {@code null}.
+   */
+  public static Operation from(@Nullable String value) {
+    return value == null ? INSERT : valueOf(value.toUpperCase());
+  }
+
+  /**
+   * Validates that the given value is either null or one of the operations.
+   *
+   * @param value the value to check
+   * @param property name of the config property of the operation
+   * @param collector failure collector
+   */
+  public static void validate(@Nullable String value, String property, FailureCollector collector) {
+    try {
+      from(value);
+    } catch (IllegalArgumentException e) {
+      collector.addFailure(String.format("Unsupported operation '%s'.", value),
+                           String.format("Operation must be one of the following values: %s",
+                                         Arrays.toString(values())))
+        .withConfigProperty(property);
+    }
+  }
+}
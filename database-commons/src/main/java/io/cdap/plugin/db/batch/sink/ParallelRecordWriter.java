@@ -0,0 +1,203 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.db.DBRecord;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+
+/**
+ * Record writer that spreads the records of a task over several {@link ETLDBOutputFormat.BatchRecordWriter}s, each
+ * with its own connection and running on its own thread, fed from a bounded queue. Records are routed by the hash of
+ * their routing fields, so that records with the same key are written in order by the same connection. Records are
+ * distributed round-robin if there are no routing fields.
+ *
+ * Each connection commits its own transaction. The first failure of a writer is thrown by the next call to
+ * {@link #write} or by {@link #close}, in which case the transactions of all writers are rolled back.
+ *
+ * @param <K> key class
+ * @param <V> value class
+ */
+final class ParallelRecordWriter<K extends DBWritable, V> extends RecordWriter<K, V> {
+
+  // number of records waiting in the queue of each writer
+  private static final int QUEUE_CAPACITY = 1024;
+
+  private final List<ETLDBOutputFormat<K, V>.BatchRecordWriter> writers;
+  private final List<String> routingFields;
+  private final List<BlockingQueue<Entry<K, V>>> queues = new ArrayList<>();
+  private final List<Future<?>> workers = new ArrayList<>();
+  private final ExecutorService executor;
+  // marks the end of the records in a queue
+  private final Entry<K, V> end = new Entry<>(null, null);
+  @Nullable
+  private volatile IOException failure;
+  private int nextWriter;
+
+  /**
+   * @param writers the writers the records are spread over
+   * @param routingFields the fields whose values route the records to the writers, or an empty list to distribute
+   *                      the records round-robin
+   */
+  ParallelRecordWriter(List<ETLDBOutputFormat<K, V>.BatchRecordWriter> writers, List<String> routingFields) {
+    this.writers = writers;
+    this.routingFields = routingFields;
+    this.executor = Executors.newFixedThreadPool(
+      writers.size(), new ThreadFactoryBuilder().setDaemon(true).setNameFormat("sink-writer-%d").build());
+    for (ETLDBOutputFormat<K, V>.BatchRecordWriter writer : writers) {
+      BlockingQueue<Entry<K, V>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+      queues.add(queue);
+      workers.add(executor.submit(() -> consume(writer, queue)));
+    }
+  }
+
+  @Override
+  public void write(K key, V value) throws IOException {
+    checkFailure();
+    put(queues.get(route(key)), new Entry<>(key, value));
+  }
+
+  @Override
+  public void close(TaskAttemptContext context) throws IOException {
+    try {
+      for (BlockingQueue<Entry<K, V>> queue : queues) {
+        put(queue, end);
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      setFailure(new InterruptedIOException("Interrupted while waiting for the writers to finish."));
+    } catch (IOException | ExecutionException e) {
+      setFailure(e instanceof IOException ? (IOException) e : new IOException(e.getCause()));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    if (failure != null) {
+      for (ETLDBOutputFormat<K, V>.BatchRecordWriter writer : writers) {
+        writer.abort();
+      }
+    }
+    IOException closeFailure = null;
+    for (ETLDBOutputFormat<K, V>.BatchRecordWriter writer : writers) {
+      try {
+        writer.close(context);
+      } catch (IOException e) {
+        if (closeFailure == null) {
+          closeFailure = e;
+        } else {
+          closeFailure.addSuppressed(e);
+        }
+      }
+    }
+    checkFailure();
+    if (closeFailure != null) {
+      throw closeFailure;
+    }
+  }
+
+  private int route(K key) {
+    if (routingFields.isEmpty() || !(key instanceof DBRecord)) {
+      nextWriter = (nextWriter + 1) % writers.size();
+      return nextWriter;
+    }
+    StructuredRecord record = ((DBRecord) key).getRecord();
+    Object[] values = new Object[routingFields.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = record.get(routingFields.get(i));
+    }
+    // deep hash code, so that byte array values are hashed by content
+    return Math.floorMod(Arrays.deepHashCode(values), writers.size());
+  }
+
+  /**
+   * Writes the records of a queue until its end. Records that follow a failure are discarded, so that the queue
+   * never blocks the pipeline thread.
+   */
+  private void consume(ETLDBOutputFormat<K, V>.BatchRecordWriter writer, BlockingQueue<Entry<K, V>> queue) {
+    try {
+      for (Entry<K, V> entry = queue.take(); entry != end; entry = queue.take()) {
+        if (failure != null) {
+          continue;
+        }
+        try {
+          writer.write(entry.key, entry.value);
+        } catch (IOException e) {
+          setFailure(e);
+        } catch (RuntimeException e) {
+          setFailure(new IOException(e));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      setFailure(new InterruptedIOException("Interrupted while writing records."));
+    }
+  }
+
+  private void put(BlockingQueue<Entry<K, V>> queue, Entry<K, V> entry) throws IOException {
+    try {
+      queue.put(entry);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while queueing a record.");
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    IOException e = failure;
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  private synchronized void setFailure(IOException e) {
+    if (failure == null) {
+      failure = e;
+    }
+  }
+
+  /**
+   * A record waiting to be written.
+   */
+  private static final class Entry<K, V> {
+    private final K key;
+    private final V value;
+
+    private Entry(@Nullable K key, @Nullable V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
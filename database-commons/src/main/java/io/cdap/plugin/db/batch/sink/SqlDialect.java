@@ -0,0 +1,399 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import io.cdap.plugin.db.ColumnType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * SQL dialect of a database, which defines how the statements of the sink operations that have no standard form
+ * are built. Statements take one parameter per field, in the order of the fields, so that records are bound like
+ * for an insert. The dialect also defines how staging tables are created and published to the table.
+ */
+public enum SqlDialect {
+  /**
+   * 'INSERT ... ON CONFLICT DO UPDATE'.
+   */
+  POSTGRES {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      List<String> updatedColumns = getUpdatedColumns(fieldNames, keyColumns);
+      String action = updatedColumns.isEmpty() ? "NOTHING" : updatedColumns.stream()
+        .map(column -> String.format("%s = EXCLUDED.%s", column, column))
+        .collect(Collectors.joining(", ", "UPDATE SET ", ""));
+      return String.format("INSERT INTO %s (%s) VALUES (%s) ON CONFLICT (%s) DO %s", table,
+                           String.join(", ", fieldNames), getParameters(fieldNames.length),
+                           String.join(", ", keyColumns), action);
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("CREATE UNLOGGED TABLE %s (LIKE %s INCLUDING DEFAULTS)", stagingTable, table);
+    }
+
+    @Override
+    public int getMaxMultiRowInsertParameters() {
+      return 32767;
+    }
+  },
+  /**
+   * 'INSERT ... ON DUPLICATE KEY UPDATE', also used by MariaDB and MemSQL.
+   */
+  MYSQL {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      List<String> updatedColumns = getUpdatedColumns(fieldNames, keyColumns);
+      // an update of a key column to itself leaves an existing row unchanged
+      String assignments = (updatedColumns.isEmpty() ? keyColumns.subList(0, 1) : updatedColumns).stream()
+        .map(column -> String.format("%s = VALUES(%s)", column, column))
+        .collect(Collectors.joining(", "));
+      return String.format("INSERT INTO %s (%s) VALUES (%s) ON DUPLICATE KEY UPDATE %s", table,
+                           String.join(", ", fieldNames), getParameters(fieldNames.length), assignments);
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("CREATE TABLE %s LIKE %s", stagingTable, table);
+    }
+
+    @Override
+    public boolean supportsStagingMode(StagingMode stagingMode) {
+      return stagingMode != StagingMode.EXCHANGE_PARTITION;
+    }
+
+    @Override
+    public List<String> constructSwapQueries(String table, String stagingTable, String oldTable) {
+      // both tables are renamed atomically
+      return Arrays.asList(String.format("RENAME TABLE %s TO %s, %s TO %s", table, oldTable, stagingTable, table),
+                           String.format("DROP TABLE %s", oldTable));
+    }
+
+    @Override
+    public int getMaxMultiRowInsertParameters() {
+      return 65535;
+    }
+  },
+  /**
+   * 'MERGE' from a row selected from 'DUAL'.
+   */
+  ORACLE {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      return constructMergeQuery(table, fieldNames, keyColumns,
+                                 String.format("(SELECT %s FROM DUAL) s", getParameterColumns(fieldNames)));
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("CREATE TABLE %s NOLOGGING AS SELECT * FROM %s WHERE 1 = 0", stagingTable, table);
+    }
+
+    @Override
+    public String constructInsertSelectQuery(String table, String stagingTable, String columns) {
+      // direct-path insert, which appends the rows above the high water mark of the table
+      return String.format("INSERT /*+ APPEND */ INTO %s (%s) SELECT %s FROM %s", table, columns, columns,
+                           stagingTable);
+    }
+
+    @Override
+    public boolean supportsStagingMode(StagingMode stagingMode) {
+      return stagingMode != StagingMode.SWAP;
+    }
+
+    @Override
+    public String constructExchangePartitionQuery(String table, String partition, String stagingTable) {
+      return String.format("ALTER TABLE %s EXCHANGE PARTITION %s WITH TABLE %s UPDATE GLOBAL INDEXES", table,
+                           partition, stagingTable);
+    }
+  },
+  /**
+   * 'MERGE' from a row constructor, terminated by a semicolon as required by SQL Server.
+   */
+  SQL_SERVER {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      return constructMergeQuery(table, fieldNames, keyColumns, getValuesSource(fieldNames)) + ";";
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("SELECT * INTO %s FROM %s WHERE 1 = 0", stagingTable, table);
+    }
+
+    @Override
+    public String constructInsertSelectQuery(String table, String stagingTable, String columns) {
+      // a table lock allows the insert to be minimally logged
+      return String.format("INSERT INTO %s WITH (TABLOCK) (%s) SELECT %s FROM %s", table, columns, columns,
+                           stagingTable);
+    }
+
+    @Override
+    public int getMaxMultiRowInsertParameters() {
+      // the server accepts at most 2100 parameters per request, leaving room for the ones added by the driver
+      return 2000;
+    }
+  },
+  /**
+   * 'MERGE' from a row constructor, with parameters cast to the types of the columns since DB2 can not infer the
+   * types of untyped parameters of a row constructor.
+   */
+  DB2 {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      return constructMergeQuery(table, fieldNames, keyColumns, getValuesSource(fieldNames));
+    }
+
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns,
+                                       List<ColumnType> columnTypes) {
+      return constructMergeQuery(table, fieldNames, keyColumns,
+                                 getValuesSource(fieldNames, getCastParameters(fieldNames, columnTypes)));
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("CREATE TABLE %s LIKE %s", stagingTable, table);
+    }
+
+    @Override
+    public int getMaxMultiRowInsertParameters() {
+      return 32767;
+    }
+  },
+  /**
+   * 'MERGE' from a row selected from 'DUMMY'.
+   */
+  SAP_HANA {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      return constructMergeQuery(table, fieldNames, keyColumns,
+                                 String.format("(SELECT %s FROM DUMMY) s", getParameterColumns(fieldNames)));
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("CREATE TABLE %s LIKE %s WITH NO DATA", stagingTable, table);
+    }
+  },
+  /**
+   * 'MERGE' from a row selected without a table, with parameters cast to the types of the columns so that the
+   * values are not converted to the types Teradata infers for them. The key columns must include the primary index
+   * of the table.
+   */
+  TERADATA {
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns) {
+      return constructMergeQuery(table, fieldNames, keyColumns,
+                                 String.format("(SELECT %s) s", getParameterColumns(fieldNames)));
+    }
+
+    @Override
+    public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns,
+                                       List<ColumnType> columnTypes) {
+      return constructMergeQuery(table, fieldNames, keyColumns, String.format(
+        "(SELECT %s) s", getParameterColumns(fieldNames, getCastParameters(fieldNames, columnTypes))));
+    }
+
+    @Override
+    public String constructCreateStagingTableQuery(String stagingTable, String table) {
+      return String.format("CREATE TABLE %s AS %s WITH NO DATA", stagingTable, table);
+    }
+  };
+
+  /**
+   * Builds the statement that inserts a row, or updates the row with the same key columns if it exists.
+   *
+   * @param table the name of the table
+   * @param fieldNames the names of the columns of the row
+   * @param keyColumns the names of the key columns, which are part of the field names
+   * @return the statement, with one parameter per field
+   */
+  public abstract String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns);
+
+  /**
+   * Builds the statement that inserts a row, or updates the row with the same key columns if it exists, for
+   * columns of known types. Dialects that need the types of the parameters use them, the others ignore them.
+   *
+   * @param table the name of the table
+   * @param fieldNames the names of the columns of the row
+   * @param keyColumns the names of the key columns, which are part of the field names
+   * @param columnTypes the types of the columns, in the order of the field names
+   * @return the statement, with one parameter per field
+   */
+  public String constructUpsertQuery(String table, String[] fieldNames, List<String> keyColumns,
+                                     List<ColumnType> columnTypes) {
+    return constructUpsertQuery(table, fieldNames, keyColumns);
+  }
+
+  /**
+   * Builds the statement that creates an empty staging table with the columns of the table. The staging table is not
+   * logged if the database supports it.
+   *
+   * @param stagingTable the name of the staging table
+   * @param table the name of the table
+   * @return the statement
+   */
+  public abstract String constructCreateStagingTableQuery(String stagingTable, String table);
+
+  /**
+   * Builds the statement that inserts all rows of the staging table into the table.
+   *
+   * @param table the name of the table
+   * @param stagingTable the name of the staging table
+   * @param columns comma separated names of the columns to insert
+   * @return the statement
+   */
+  public String constructInsertSelectQuery(String table, String stagingTable, String columns) {
+    return String.format("INSERT INTO %s (%s) SELECT %s FROM %s", table, columns, columns, stagingTable);
+  }
+
+  /**
+   * Returns whether the database supports the given staging mode. All databases support inserting the rows of the
+   * staging table into the table.
+   */
+  public boolean supportsStagingMode(StagingMode stagingMode) {
+    return stagingMode == StagingMode.NONE || stagingMode == StagingMode.INSERT_SELECT;
+  }
+
+  /**
+   * Returns the maximum number of parameters of an insert statement with several rows in its {@code VALUES} clause,
+   * or 0 if the database does not support such statements.
+   */
+  public int getMaxMultiRowInsertParameters() {
+    return 0;
+  }
+
+  /**
+   * Builds the statements that replace the table with the staging table, and drop the replaced table.
+   * Only called if the database supports {@link StagingMode#SWAP}.
+   *
+   * @param table the name of the table
+   * @param stagingTable the name of the staging table
+   * @param oldTable the name the table is renamed to before it is dropped
+   * @return the statements, executed in order
+   */
+  public List<String> constructSwapQueries(String table, String stagingTable, String oldTable) {
+    throw new UnsupportedOperationException(String.format("Dialect '%s' does not support swapping tables.", this));
+  }
+
+  /**
+   * Builds the statement that exchanges a partition of the table with the staging table.
+   * Only called if the database supports {@link StagingMode#EXCHANGE_PARTITION}.
+   *
+   * @param table the name of the table
+   * @param partition the name of the partition
+   * @param stagingTable the name of the staging table
+   * @return the statement
+   */
+  public String constructExchangePartitionQuery(String table, String partition, String stagingTable) {
+    throw new UnsupportedOperationException(String.format("Dialect '%s' does not support exchanging partitions.",
+                                                          this));
+  }
+
+  private static String constructMergeQuery(String table, String[] fieldNames, List<String> keyColumns,
+                                            String source) {
+    StringBuilder query = new StringBuilder(String.format("MERGE INTO %s t USING %s ON (%s)", table, source,
+                                                          keyColumns.stream()
+                                                            .map(column -> String.format("t.%s = s.%s", column,
+                                                                                         column))
+                                                            .collect(Collectors.joining(" AND "))));
+    List<String> updatedColumns = getUpdatedColumns(fieldNames, keyColumns);
+    if (!updatedColumns.isEmpty()) {
+      query.append(updatedColumns.stream()
+                     .map(column -> String.format("%s = s.%s", column, column))
+                     .collect(Collectors.joining(", ", " WHEN MATCHED THEN UPDATE SET ", "")));
+    }
+    query.append(String.format(" WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)", String.join(", ", fieldNames),
+                               Arrays.stream(fieldNames).map(column -> "s." + column)
+                                 .collect(Collectors.joining(", "))));
+    return query.toString();
+  }
+
+  private static List<String> getUpdatedColumns(String[] fieldNames, List<String> keyColumns) {
+    return Arrays.stream(fieldNames).filter(column -> !keyColumns.contains(column)).collect(Collectors.toList());
+  }
+
+  private static String getParameters(int count) {
+    StringJoiner parameters = new StringJoiner(", ");
+    for (int i = 0; i < count; i++) {
+      parameters.add("?");
+    }
+    return parameters.toString();
+  }
+
+  private static String getParameterColumns(String[] fieldNames) {
+    return getParameterColumns(fieldNames, Collections.nCopies(fieldNames.length, "?"));
+  }
+
+  private static String getParameterColumns(String[] fieldNames, List<String> parameters) {
+    StringJoiner columns = new StringJoiner(", ");
+    for (int i = 0; i < fieldNames.length; i++) {
+      columns.add(parameters.get(i) + " AS " + fieldNames[i]);
+    }
+    return columns.toString();
+  }
+
+  private static String getValuesSource(String[] fieldNames) {
+    return getValuesSource(fieldNames, Collections.nCopies(fieldNames.length, "?"));
+  }
+
+  private static String getValuesSource(String[] fieldNames, List<String> parameters) {
+    return String.format("(VALUES (%s)) AS s (%s)", String.join(", ", parameters), String.join(", ", fieldNames));
+  }
+
+  /**
+   * Returns the parameters of the fields, each cast to the type of its column.
+   */
+  private static List<String> getCastParameters(String[] fieldNames, List<ColumnType> columnTypes) {
+    if (columnTypes.size() != fieldNames.length) {
+      throw new IllegalArgumentException(String.format("Expected the types of %d columns, but found %d.",
+                                                       fieldNames.length, columnTypes.size()));
+    }
+    return columnTypes.stream()
+      .map(columnType -> String.format("CAST(? AS %s)", getTypeDefinition(columnType)))
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the definition of the type of a column, with its length or its precision and scale if the type takes
+   * them. DB2 reports binary character types as 'CHAR () FOR BIT DATA', where the length goes between the
+   * parentheses.
+   */
+  static String getTypeDefinition(ColumnType columnType) {
+    String type = columnType.getTypeName().toUpperCase();
+    int precision = columnType.getPrecision();
+    if (precision <= 0) {
+      return type;
+    }
+    if (type.contains("()")) {
+      return type.replace("()", String.format("(%d)", precision));
+    }
+    if (type.equals("DECIMAL") || type.equals("NUMERIC") || type.equals("NUMBER")) {
+      return String.format("%s(%d,%d)", type, precision, columnType.getScale());
+    }
+    if (type.contains("CHAR") || type.contains("BINARY") || type.contains("BYTE") || type.contains("GRAPHIC")
+      || type.endsWith("LOB")) {
+      return String.format("%s(%d)", type, precision);
+    }
+    return type;
+  }
+}
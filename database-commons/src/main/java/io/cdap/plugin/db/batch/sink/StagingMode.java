@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import io.cdap.cdap.etl.api.FailureCollector;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * How a database sink stages the records of a run before they are published to the table.
+ */
+public enum StagingMode {
+  /**
+   * Records are written to the table directly.
+   */
+  NONE,
+  /**
+   * Records are written to a staging table, then inserted into the table with a single insert-select.
+   */
+  INSERT_SELECT,
+  /**
+   * Records are written to a staging table, which then replaces the table by renaming both.
+   */
+  SWAP,
+  /**
+   * Records are written to a staging table, which is then exchanged with a partition of the table.
+   */
+  EXCHANGE_PARTITION;
+
+  /**
+   * Returns the staging mode of the given value, defaults to {@link #NONE} if the value is {@code null}.
+   */
+  public static StagingMode from(@Nullable String value) {
+    return value == null ? NONE : valueOf(value.toUpperCase());
+  }
+
+  /**
+   * Validates that the given value is either null or one of the staging modes.
+   *
+   * @param value the value to check
+   * @param property name of the config property of the staging mode
+   * @param collector failure collector
+   */
+  public static void validate(@Nullable String value, String property, FailureCollector collector) {
+    try {
+      from(value);
+    } catch (IllegalArgumentException e) {
+      collector.addFailure(String.format("Unsupported staging mode '%s'.", value),
+                           String.format("Staging mode must be one of the following values: %s",
+                                         Arrays.toString(values())))
+        .withConfigProperty(property);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Names the staging tables that the task attempts of a run create next to the table of the sink.
+ */
+public final class StagingTables {
+
+  private StagingTables() {
+    throw new AssertionError("Should not instantiate static utility class.");
+  }
+
+  /**
+   * Returns the name of the staging table of a task attempt, unique across runs and attempts, in the schema of the
+   * given table.
+   *
+   * @param tableName escaped name of the table of the sink
+   * @param infix marker of the kind of staging table
+   * @param runId identifier of the run, or null if unknown
+   * @param attemptId identifier of the task attempt
+   */
+  public static String getAttemptTableName(String tableName, String infix, @Nullable String runId,
+                                           TaskAttemptID attemptId) {
+    // the attempt identifier holds the identifiers of the job, the task and the attempt
+    String attempt = attemptId.toString().substring(attemptId.toString().indexOf('_') + 1);
+    return appendToTableName(tableName, getRunInfix(infix, runId) + attempt);
+  }
+
+  /**
+   * Returns the prefix of the names of the staging tables of the task attempts of a run.
+   */
+  public static String getAttemptTablePrefix(String tableName, String infix, String runId) {
+    return appendToTableName(tableName, getRunInfix(infix, runId));
+  }
+
+  /**
+   * Appends the given suffix to the name of a table, inside of the quotes of a quoted name.
+   */
+  public static String appendToTableName(String tableName, String suffix) {
+    if (tableName.endsWith("\"")) {
+      return tableName.substring(0, tableName.length() - 1) + suffix + "\"";
+    }
+    return tableName + suffix;
+  }
+
+  /**
+   * Returns the position of the dot between the schema and the table in the given name, or -1 if the name has
+   * no schema.
+   */
+  public static int getSchemaSeparator(String tableName) {
+    boolean quoted = false;
+    for (int i = tableName.length() - 1; i >= 0; i--) {
+      char c = tableName.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == '.' && !quoted) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Escapes the wildcards of a LIKE pattern with a backslash.
+   */
+  public static String escapeLikePattern(String value) {
+    return value.replaceAll("([\\\\_%])", "\\\\$1");
+  }
+
+  private static String getRunInfix(String infix, @Nullable String runId) {
+    return infix + (runId == null ? "" : runId + "_");
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suspends the maintenance of the indexes, constraints and triggers of a table while records are loaded into it.
+ */
+public interface TableMaintenance {
+
+  /**
+   * Reads the non-unique indexes, the constraints and the triggers of the table that slow down loads, and builds
+   * the statements that suspend and restore them. Unique indexes and primary keys are kept.
+   *
+   * @param connection       connection to the database.
+   * @param tableName        name of the table, as stored in the catalog of the database.
+   * @param escapedTableName name of the table, as used in statements.
+   * @return the statements that suspend and restore the maintenance of the table.
+   */
+  MaintenancePlan plan(Connection connection, String tableName, String escapedTableName) throws SQLException;
+
+  /**
+   * Runs a catalog query that takes the name of the table as its only parameter.
+   *
+   * @param connection connection to the database.
+   * @param query      the catalog query.
+   * @param table      name of the table.
+   * @param columns    number of columns of the result, all read as strings.
+   * @return the rows of the result.
+   */
+  static List<String[]> queryCatalog(Connection connection, String query, String table, int columns)
+    throws SQLException {
+    List<String[]> rows = new ArrayList<>();
+    try (PreparedStatement statement = connection.prepareStatement(query)) {
+      statement.setString(1, table);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          String[] row = new String[columns];
+          for (int i = 0; i < columns; i++) {
+            row[i] = resultSet.getString(i + 1);
+          }
+          rows.add(row);
+        }
+      }
+    }
+    return rows;
+  }
+}
@@ -42,7 +42,9 @@ import io.cdap.plugin.db.ConnectionConfig;
 import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBConfig;
 import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.SchemaCache;
 import io.cdap.plugin.db.SchemaReader;
+import io.cdap.plugin.db.batch.ConnectionPool;
 import io.cdap.plugin.db.batch.TransactionIsolationLevel;
 import io.cdap.plugin.db.batch.config.DatabaseSourceConfig;
 import io.cdap.plugin.util.DBUtils;
@@ -57,12 +59,11 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.List;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -127,10 +128,12 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
     try {
 
       driverCleanup = loadPluginClassAndGetDriver(driverClass);
-      try (Connection connection = getConnection()) {
-        executeInitQueries(connection, sourceConfig.getInitQueries());
-        String query = sourceConfig.getImportQuery();
-        return loadSchemaFromDB(connection, query);
+      try {
+        return getCachedSchema(() -> {
+          try (Connection connection = getConnection(driverClass)) {
+            return loadSchemaFromDB(connection, sourceConfig.getImportQuery());
+          }
+        });
       } finally {
         driverCleanup.destroy();
       }
@@ -141,13 +144,16 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
   }
 
   private Schema loadSchemaFromDB(Connection connection, String query) throws SQLException {
-    Statement statement = connection.createStatement();
-    statement.setMaxRows(1);
     if (query.contains("$CONDITIONS")) {
       query = removeConditionsClause(query);
     }
-    ResultSet resultSet = statement.executeQuery(query);
-    return Schema.recordOf("outputSchema", getSchemaReader().getSchemaFields(resultSet));
+    return SchemaCache.inferSchema(connection, getSchemaReader(), query);
+  }
+
+  private Schema getCachedSchema(SchemaCache.SchemaLoader loader) throws SQLException {
+    return SchemaCache.getInstance().getSchema(sourceConfig.getConnectionString(),
+                                               sourceConfig.getConnectionArguments(), sourceConfig.getInitQueries(),
+                                               getSchemaReader(), sourceConfig.getImportQuery(), loader);
   }
 
   @VisibleForTesting
@@ -167,10 +173,14 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
 
     Properties connectionProperties = new Properties();
     connectionProperties.putAll(sourceConfig.getConnectionArguments());
-    try (Connection connection = DriverManager.getConnection(connectionString, connectionProperties)) {
-      executeInitQueries(connection, sourceConfig.getInitQueries());
-      return loadSchemaFromDB(connection, sourceConfig.getImportQuery());
-
+    try {
+      return getCachedSchema(() -> {
+        try (Connection connection = ConnectionPool.getInstance().getConnection(driverClass, connectionString,
+                                                                                connectionProperties,
+                                                                                sourceConfig.getInitQueries())) {
+          return loadSchemaFromDB(connection, sourceConfig.getImportQuery());
+        }
+      });
     } catch (SQLException e) {
       // wrap exception to ensure SQLException-child instances not exposed to contexts without jdbc driver in classpath
       throw new SQLException(e.getMessage(), e.getSQLState(), e.getErrorCode());
@@ -179,14 +189,6 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
     }
   }
 
-  private void executeInitQueries(Connection connection, List<String> initQueries) throws SQLException {
-    for (String query : initQueries) {
-      try (Statement statement = connection.createStatement()) {
-        statement.execute(query);
-      }
-    }
-  }
-
   protected SchemaReader getSchemaReader() {
     return new CommonSchemaReader();
   }
@@ -210,11 +212,12 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
     }
   }
 
-  private Connection getConnection() throws SQLException {
+  private Connection getConnection(Class<? extends Driver> driverClass) throws SQLException {
     String connectionString = createConnectionString();
     Properties connectionProperties = new Properties();
     connectionProperties.putAll(sourceConfig.getConnectionArguments());
-    return DriverManager.getConnection(connectionString, connectionProperties);
+    return ConnectionPool.getInstance().getConnection(driverClass, connectionString, connectionProperties,
+                                                      sourceConfig.getInitQueries());
   }
 
   @Override
@@ -266,6 +269,7 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
     if (sourceConfig.getNumSplits() != null) {
       connectionConfigAccessor.getConfiguration().setInt(MRJobConfig.NUM_MAPS, sourceConfig.getNumSplits());
     }
+    connectionConfigAccessor.setSplitStrategy(SplitStrategy.from(sourceConfig.getSplitStrategy()));
 
     Schema schemaFromDB = loadSchemaFromDB(driverClass);
     if (sourceConfig.getSchema() != null) {
@@ -284,8 +288,27 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
       lineageRecorder.recordRead("Read", "Read from database plugin",
                                  schema.getFields().stream().map(Schema.Field::getName).collect(Collectors.toList()));
     }
+    configureInputFormat(connectionConfigAccessor);
     context.setInput(Input.of(sourceConfig.getReferenceName(), new SourceInputFormatProvider(
-      DataDrivenETLDBInputFormat.class, connectionConfigAccessor.getConfiguration())));
+      getInputFormatClass(), connectionConfigAccessor.getConfiguration())));
+  }
+
+  /**
+   * Returns the input format that reads the records of this source. Override this method to read the records
+   * through a database specific mechanism instead of one query per split.
+   */
+  protected Class<? extends DataDrivenETLDBInputFormat> getInputFormatClass() {
+    return DataDrivenETLDBInputFormat.class;
+  }
+
+  /**
+   * Sets the properties of the input format that are specific to the database.
+   * Called once all common properties are set.
+   *
+   * @param connectionConfigAccessor accessor of the input format configuration
+   */
+  protected void configureInputFormat(ConnectionConfigAccessor connectionConfigAccessor) {
+    // no-op by default
   }
 
   protected Class<? extends DBWritable> getDBRecordType() {
@@ -305,6 +328,15 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
 
   @Override
   public void destroy() {
+    // connections are pooled under the connection string they were opened with, which is the one of the input
+    // format in the tasks and may be built differently by the database specific source on the driver side
+    Set<String> connectionStrings = new HashSet<>(Arrays.asList(sourceConfig.getConnectionString(),
+                                                                createConnectionString()));
+    for (String connectionString : connectionStrings) {
+      if (connectionString != null) {
+        ConnectionPool.getInstance().closeIdleConnections(connectionString);
+      }
+    }
     DBUtils.cleanup(driverClass);
   }
 
@@ -325,6 +357,7 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
     public static final String SCHEMA = "schema";
     public static final String TRANSACTION_ISOLATION_LEVEL = "transactionIsolationLevel";
     public static final String FETCH_SIZE = "fetchSize";
+    public static final String SPLIT_STRATEGY = "splitStrategy";
 
     @Name(IMPORT_QUERY)
     @Description("The SELECT query to use to import data from the specified table. " +
@@ -357,6 +390,16 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
     @Macro
     public Integer numSplits;
 
+    @Nullable
+    @Name(SPLIT_STRATEGY)
+    @Macro
+    @Description("How the rows are divided between splits. 'RANGE' divides the range returned by the bounding " +
+      "query into ranges of equal width. 'QUANTILE' divides the values of the split-by column at quantiles " +
+      "computed by the database, so that splits read about the same number of rows even when the values are " +
+      "skewed; the bounding query is not needed and the split-by column must be selected by the import query. " +
+      "Defaults to 'RANGE'.")
+    public String splitStrategy;
+
     @Nullable
     @Name(SCHEMA)
     @Description("The schema of records output by the source. This will be used in place of whatever schema comes " +
@@ -389,6 +432,12 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
       return splitBy;
     }
 
+    @Nullable
+    @Override
+    public String getSplitStrategy() {
+      return splitStrategy;
+    }
+
     public void validate(FailureCollector collector) {
       boolean hasOneSplit = false;
       if (!containsMacro(NUM_SPLITS) && numSplits != null) {
@@ -423,13 +472,32 @@ public abstract class AbstractDBSource<T extends PluginConfig & DatabaseSourceCo
                              null).withConfigProperty(SPLIT_BY).withConfigProperty(NUM_SPLITS);
       }
 
-      if (!hasOneSplit && !containsMacro(NUM_SPLITS) && !containsMacro(
+      if (!containsMacro(SPLIT_STRATEGY)) {
+        SplitStrategy.validate(splitStrategy, SPLIT_STRATEGY, collector);
+      }
+
+      if (!hasOneSplit && requiresBoundingQuery() && !containsMacro(NUM_SPLITS) && !containsMacro(
         "boundingQuery") && (boundingQuery == null || boundingQuery.isEmpty())) {
         collector.addFailure("Bounding Query must be specified if Number of Splits is not set to 1.", null)
           .withConfigProperty(BOUNDING_QUERY).withConfigProperty(NUM_SPLITS);
       }
     }
 
+    /**
+     * Returns whether the splits are planned from the bounding query, in which case it is required unless
+     * a single split is read.
+     */
+    protected boolean requiresBoundingQuery() {
+      if (containsMacro(SPLIT_STRATEGY)) {
+        return true;
+      }
+      try {
+        return SplitStrategy.from(splitStrategy) != SplitStrategy.QUANTILE;
+      } catch (IllegalArgumentException e) {
+        return true;
+      }
+    }
+
     public void validateSchema(Schema actualSchema, FailureCollector collector) {
       validateSchema(actualSchema, getSchema(), collector);
     }
@@ -16,14 +16,19 @@
 
 package io.cdap.plugin.db.batch.source;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
 import io.cdap.plugin.db.ConnectionConfigAccessor;
-import io.cdap.plugin.db.JDBCDriverShim;
+import io.cdap.plugin.db.batch.ConnectionPool;
 import io.cdap.plugin.db.batch.NoOpCommitConnection;
 import io.cdap.plugin.db.batch.TransactionIsolationLevel;
-import io.cdap.plugin.util.DBUtils;
+import io.cdap.plugin.util.DriverCleanup;
+import io.cdap.plugin.util.DriverRegistry;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.MRJobConfig;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
@@ -36,19 +41,37 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Driver;
-import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Properties;
+import javax.annotation.Nullable;
 
 /**
  * Class that extends {@link DBInputFormat} to load the database driver class correctly.
+ *
+ * <p>With the {@link SplitStrategy#QUANTILE} split strategy, splits are planned on quantiles of the split-by column
+ * instead of on equal-width ranges between the bounds returned by the bounding query. The quantiles are computed by
+ * the database with the 'NTILE' window function. Databases that do not support it are asked for the ordered values
+ * of the column instead, which are sampled at regular intervals. If neither query succeeds, splits fall back to
+ * ranges when a bounding query is configured.</p>
  */
 public class DataDrivenETLDBInputFormat extends DataDrivenDBInputFormat {
 
   private static final Logger LOG = LoggerFactory.getLogger(DataDrivenETLDBInputFormat.class);
-  private Driver driver;
-  private JDBCDriverShim driverShim;
+  private static final String CONDITIONS = "$CONDITIONS";
+  private static final String ALL_ROWS = "1=1";
+  // number of sampled values kept per split when quantiles are sampled from the ordered values of the column
+  private static final int SAMPLES_PER_SPLIT = 100;
+  private static final int SAMPLE_FETCH_SIZE = 1000;
+  private Class<? extends Driver> driverClass;
+  @Nullable
+  private DriverCleanup driverCleanup;
 
   public static void setInput(Configuration conf,
                               Class<? extends DBWritable> inputClass,
@@ -68,32 +91,21 @@ public class DataDrivenETLDBInputFormat extends DataDrivenDBInputFormat {
       ConnectionConfigAccessor connectionConfigAccessor = new ConnectionConfigAccessor(getConf());
       try {
         String url = connectionConfigAccessor.getConfiguration().get(DBConfiguration.URL_PROPERTY);
-        try {
-          // throws SQLException if no suitable driver is found
-          DriverManager.getDriver(url);
-        } catch (SQLException e) {
-          if (driverShim == null) {
-            if (driver == null) {
-              ClassLoader classLoader = connectionConfigAccessor.getConfiguration().getClassLoader();
-              String driverClassName = connectionConfigAccessor.getConfiguration()
-                .get(DBConfiguration.DRIVER_CLASS_PROPERTY);
-              @SuppressWarnings("unchecked")
-              Class<? extends Driver> driverClass =
-                (Class<? extends Driver>) classLoader.loadClass(driverClassName);
-              driver = driverClass.newInstance();
-
-              // De-register the default driver that gets registered when driver class is loaded.
-              DBUtils.deregisterAllDrivers(driverClass);
-            }
-            driverShim = new JDBCDriverShim(driver);
-            DriverManager.registerDriver(driverShim);
-            LOG.debug("Registered JDBC driver via shim {}. Actual Driver {}.", driverShim, driver);
-          }
+        if (driverCleanup == null) {
+          ClassLoader classLoader = connectionConfigAccessor.getConfiguration().getClassLoader();
+          String driverClassName = connectionConfigAccessor.getConfiguration()
+            .get(DBConfiguration.DRIVER_CLASS_PROPERTY);
+          @SuppressWarnings("unchecked")
+          Class<? extends Driver> loadedClass = (Class<? extends Driver>) classLoader.loadClass(driverClassName);
+          driverClass = loadedClass;
+          driverCleanup = DriverRegistry.register(driverClass);
         }
 
         Properties properties = new Properties();
         properties.putAll(connectionConfigAccessor.getConnectionArguments());
-        connection = DriverManager.getConnection(url, properties);
+        // initialization queries are executed by the pool when a connection is opened
+        connection = ConnectionPool.getInstance().getConnection(driverClass, url, properties,
+                                                                connectionConfigAccessor.getInitQueries());
 
         if (connectionConfigAccessor.isAutoCommitEnabled()) {
           // hack to work around jdbc drivers like the hive driver that throw exceptions on commit
@@ -109,12 +121,6 @@ public class DataDrivenETLDBInputFormat extends DataDrivenDBInputFormat {
         String level = connectionConfigAccessor.getConfiguration().get(TransactionIsolationLevel.CONF_KEY);
         LOG.debug("Transaction isolation level: {}", level);
         connection.setTransactionIsolation(TransactionIsolationLevel.getLevel(level));
-        // execute initialization queries if any
-        for (String query : connectionConfigAccessor.getInitQueries()) {
-          try (Statement statement = connection.createStatement()) {
-            statement.execute(query);
-          }
-        }
       } catch (Exception e) {
         throw Throwables.propagate(e);
       }
@@ -122,6 +128,168 @@ public class DataDrivenETLDBInputFormat extends DataDrivenDBInputFormat {
     return this.connection;
   }
 
+  @Override
+  public List<InputSplit> getSplits(JobContext job) throws IOException {
+    int numSplits = job.getConfiguration().getInt(MRJobConfig.NUM_MAPS, 1);
+    String splitBy = getDBConf().getInputOrderBy();
+    SplitStrategy splitStrategy = new ConnectionConfigAccessor(job.getConfiguration()).getSplitStrategy();
+    if (splitStrategy != SplitStrategy.QUANTILE || numSplits <= 1 || Strings.isNullOrEmpty(splitBy)) {
+      return super.getSplits(job);
+    }
+
+    try {
+      List<String> boundaries = getQuantileBoundaries(splitBy, numSplits);
+      LOG.debug("Split-by column '{}' divided at {}", splitBy, boundaries);
+      return getQuantileSplits(splitBy, boundaries);
+    } catch (SQLException e) {
+      if (Strings.isNullOrEmpty(getDBConf().getInputBoundingQuery())) {
+        throw new IOException(String.format("Unable to compute the quantiles of split-by column '%s': %s",
+                                            splitBy, e.getMessage()), e);
+      }
+      LOG.warn("Unable to compute the quantiles of split-by column '{}', splitting the range returned by the " +
+                 "bounding query instead.", splitBy, e);
+    } finally {
+      // the connection returns to the pool, which rolls back the failed transaction, if any
+      closeConnection();
+    }
+    return super.getSplits(job);
+  }
+
+  /**
+   * Returns the values of the split-by column that divide the rows of the input query into the given number of
+   * sets of about the same size, in ascending order and rendered as SQL literals.
+   */
+  private List<String> getQuantileBoundaries(String splitBy, int numSplits) throws SQLException {
+    Connection connection = getConnection();
+    // the query is wrapped, so the split-by column is referenced by its name in the select list
+    String column = splitBy.substring(splitBy.lastIndexOf('.') + 1);
+    String query = getDBConf().getInputQuery().replace(CONDITIONS, ALL_ROWS);
+    String tilesQuery = String.format(
+      "SELECT MIN(%1$s) FROM (SELECT %1$s, NTILE(%2$d) OVER (ORDER BY %1$s) AS split_tile FROM (%3$s) split_query " +
+        "WHERE %1$s IS NOT NULL) split_tiles GROUP BY split_tile ORDER BY split_tile", column, numSplits, query);
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(tilesQuery)) {
+      int sqlType = resultSet.getMetaData().getColumnType(1);
+      List<String> tileMinimums = new ArrayList<>(numSplits);
+      while (resultSet.next()) {
+        tileMinimums.add(toLiteral(resultSet, sqlType));
+      }
+      return selectBoundaries(tileMinimums, tileMinimums.size());
+    } catch (SQLFeatureNotSupportedException e) {
+      throw e;
+    } catch (SQLException e) {
+      LOG.debug("Unable to compute the quantiles of split-by column '{}' with NTILE, sampling its values instead.",
+                splitBy, e);
+      if (!connection.getAutoCommit()) {
+        // some databases do not accept further statements in a transaction once one has failed
+        connection.rollback();
+      }
+    }
+
+    String valuesQuery = String.format("SELECT %1$s FROM (%2$s) split_query WHERE %1$s IS NOT NULL ORDER BY %1$s",
+                                       column, query);
+    try (Statement statement = connection.createStatement()) {
+      statement.setFetchSize(SAMPLE_FETCH_SIZE);
+      try (ResultSet resultSet = statement.executeQuery(valuesQuery)) {
+        int sqlType = resultSet.getMetaData().getColumnType(1);
+        int maxSamples = numSplits * SAMPLES_PER_SPLIT;
+        List<String> samples = new ArrayList<>(maxSamples);
+        long interval = 1;
+        for (long row = 0; resultSet.next(); row++) {
+          if (row % interval != 0) {
+            continue;
+          }
+          samples.add(toLiteral(resultSet, sqlType));
+          if (samples.size() == maxSamples) {
+            // keep every other sample, so the samples stay evenly spaced over the rows read so far
+            for (int i = 0; i < maxSamples / 2; i++) {
+              samples.set(i, samples.get(i * 2));
+            }
+            samples.subList(maxSamples / 2, maxSamples).clear();
+            interval *= 2;
+          }
+        }
+        return selectBoundaries(samples, numSplits);
+      }
+    }
+  }
+
+  /**
+   * Returns the values that divide the given ordered samples into the given number of sets of the same size.
+   * The first sample is read by the first split, so it is never a boundary.
+   */
+  @VisibleForTesting
+  static List<String> selectBoundaries(List<String> samples, int numSplits) {
+    List<String> boundaries = new ArrayList<>(numSplits - 1);
+    for (int i = 1; i < numSplits && !samples.isEmpty(); i++) {
+      boundaries.add(samples.get((int) ((long) i * samples.size() / numSplits)));
+    }
+    boundaries.removeIf(boundary -> boundary.equals(samples.get(0)));
+    return distinct(boundaries);
+  }
+
+  /**
+   * Returns splits of the rows between consecutive boundaries. Rows with a null value of the split-by column are
+   * read by the first split.
+   */
+  @VisibleForTesting
+  static List<InputSplit> getQuantileSplits(String splitBy, List<String> boundaries) {
+    List<InputSplit> splits = new ArrayList<>(boundaries.size() + 1);
+    if (boundaries.isEmpty()) {
+      splits.add(new DataDrivenDBInputSplit(ALL_ROWS, ALL_ROWS));
+      return splits;
+    }
+    splits.add(new DataDrivenDBInputSplit(String.format("%s < %s OR %s IS NULL", splitBy, boundaries.get(0), splitBy),
+                                          ALL_ROWS));
+    for (int i = 1; i < boundaries.size(); i++) {
+      splits.add(new DataDrivenDBInputSplit(String.format("%s >= %s", splitBy, boundaries.get(i - 1)),
+                                            String.format("%s < %s", splitBy, boundaries.get(i))));
+    }
+    splits.add(new DataDrivenDBInputSplit(String.format("%s >= %s", splitBy, boundaries.get(boundaries.size() - 1)),
+                                          ALL_ROWS));
+    return splits;
+  }
+
+  /**
+   * Returns the value of the first column of the current row as a SQL literal.
+   *
+   * @throws SQLFeatureNotSupportedException if values of the given SQL type can not be rendered as literals
+   */
+  @VisibleForTesting
+  static String toLiteral(ResultSet resultSet, int sqlType) throws SQLException {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+      case Types.DECIMAL:
+      case Types.NUMERIC:
+        return resultSet.getBigDecimal(1).toPlainString();
+      case Types.CHAR:
+      case Types.VARCHAR:
+      case Types.LONGVARCHAR:
+      case Types.NCHAR:
+      case Types.NVARCHAR:
+      case Types.LONGNVARCHAR:
+        return "'" + resultSet.getString(1).replace("'", "''") + "'";
+      case Types.DATE:
+        // JDBC escape syntax, translated by the driver into the literal of the database
+        return String.format("{d '%s'}", resultSet.getDate(1));
+      case Types.TIMESTAMP:
+        return String.format("{ts '%s'}", resultSet.getTimestamp(1));
+      default:
+        throw new SQLFeatureNotSupportedException(
+          String.format("Quantile splits are not supported for split-by columns of SQL type %d.", sqlType));
+    }
+  }
+
+  private static List<String> distinct(List<String> values) {
+    return new ArrayList<>(new LinkedHashSet<>(values));
+  }
+
   // versions > HDP-2.3.4 started using createConnection instead of getConnection,
   // this is added for compatibility, more information at (HYDRATOR-791)
   public Connection createConnection() {
@@ -160,11 +328,7 @@ public class DataDrivenETLDBInputFormat extends DataDrivenDBInputFormat {
       @Override
       public void close() throws IOException {
         dbRecordReader.close();
-        try {
-          DriverManager.deregisterDriver(driverShim);
-        } catch (SQLException e) {
-          throw new IOException(e);
-        }
+        releaseDriver();
       }
     };
   }
@@ -172,10 +336,13 @@ public class DataDrivenETLDBInputFormat extends DataDrivenDBInputFormat {
   @Override
   protected void closeConnection() {
     super.closeConnection();
-    try {
-      DriverManager.deregisterDriver(driverShim);
-    } catch (SQLException e) {
-      throw Throwables.propagate(e);
+    releaseDriver();
+  }
+
+  private void releaseDriver() {
+    if (driverCleanup != null) {
+      driverCleanup.destroy();
+      driverCleanup = null;
     }
   }
 }
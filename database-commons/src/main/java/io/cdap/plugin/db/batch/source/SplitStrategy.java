@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.source;
+
+import io.cdap.cdap.etl.api.FailureCollector;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * How a database source divides the rows of the import query between splits.
+ */
+public enum SplitStrategy {
+  /**
+   * The range between the minimum and maximum values returned by the bounding query is divided into ranges of
+   * equal width.
+   */
+  RANGE,
+  /**
+   * The values of the split-by column are divided at quantiles computed by the database, so that every split reads
+   * about the same number of rows whatever the distribution of the values.
+   */
+  QUANTILE;
+
+  /**
+   * Returns the split strategy of the given value, defaults to {@link #RANGE} if the value is {@code null}.
+   */
+  public static SplitStrategy from(@Nullable String value) {
+    return value == null ? RANGE : valueOf(value.toUpperCase());
+  }
+
+  /**
+   * Validates that the given value is either null or one of the split strategies.
+   *
+   * @param value the value to check
+   * @param property name of the config property of the split strategy
+   * @param collector failure collector
+   */
+  public static void validate(@Nullable String value, String property, FailureCollector collector) {
+    try {
+      from(value);
+    } catch (IllegalArgumentException e) {
+      collector.addFailure(String.format("Unsupported split strategy '%s'.", value),
+                           String.format("Split strategy must be one of the following values: %s",
+                                         Arrays.toString(values())))
+        .withConfigProperty(property);
+    }
+  }
+}
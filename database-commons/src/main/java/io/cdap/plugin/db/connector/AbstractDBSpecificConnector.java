@@ -29,6 +29,7 @@ import io.cdap.plugin.common.util.ExceptionUtils;
 import io.cdap.plugin.db.CommonSchemaReader;
 import io.cdap.plugin.db.ConnectionConfig;
 import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.SchemaCache;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.source.DataDrivenETLDBInputFormat;
 import org.apache.hadoop.io.LongWritable;
@@ -38,9 +39,8 @@ import org.apache.hadoop.mapreduce.lib.db.DBWritable;
 
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -97,7 +97,12 @@ public abstract class AbstractDBSpecificConnector<T extends DBWritable> extends
       connectionConfigAccessor.getConfiguration().set(argument.getKey(), argument.getValue());
     }
     try {
-      connectionConfigAccessor.setSchema(loadTableSchema(getConnection(path),  tableQuery).toString());
+      Schema schema = getCachedSchema(getConnectionString(path.getDatabase()), tableQuery, () -> {
+        try (Connection connection = getConnection(path)) {
+          return loadTableSchema(connection, tableQuery);
+        }
+      });
+      connectionConfigAccessor.setSchema(schema.toString());
     } catch (SQLException e) {
       throw new IOException(String.format("Failed to get table schema due to: %s.",
                                           ExceptionUtils.getRootCauseMessage(e)), e);
@@ -128,10 +133,14 @@ public abstract class AbstractDBSpecificConnector<T extends DBWritable> extends
   }
 
   protected Schema loadTableSchema(Connection connection, String query) throws SQLException {
-    Statement statement = connection.createStatement();
-    statement.setMaxRows(1);
-    ResultSet resultSet = statement.executeQuery(query);
-    return Schema.recordOf("outputSchema", getSchemaReader().getSchemaFields(resultSet));
+    return SchemaCache.inferSchema(connection, getSchemaReader(), query);
+  }
+
+  private Schema getCachedSchema(String connectionString, String query,
+                                 SchemaCache.SchemaLoader loader) throws SQLException {
+    return SchemaCache.getInstance().getSchema(connectionString,
+                                               Maps.fromProperties(config.getConnectionArgumentsProperties()),
+                                               Collections.emptyList(), getSchemaReader(), query, loader);
   }
 
   protected void setConnectionProperties(Map<String, String> properties) {
@@ -148,6 +157,11 @@ public abstract class AbstractDBSpecificConnector<T extends DBWritable> extends
   protected Schema getTableSchema(Connection connection, String database,
                                   String schema, String table) throws SQLException {
 
-    return loadTableSchema(getConnection(),  getTableQuery(database, schema, table));
+    String tableQuery = getTableQuery(database, schema, table);
+    return getCachedSchema(config.getConnectionString(), tableQuery, () -> {
+      try (Connection tableConnection = getConnection()) {
+        return loadTableSchema(tableConnection, tableQuery);
+      }
+    });
   }
 }
@@ -21,7 +21,6 @@ import io.cdap.cdap.api.plugin.PluginProperties;
 import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.PipelineConfigurer;
 import io.cdap.plugin.db.ConnectionConfig;
-import io.cdap.plugin.db.JDBCDriverShim;
 import io.cdap.plugin.db.batch.config.DatabaseConnectionConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,30 +72,14 @@ public final class DBUtils {
   }
 
   /**
-   * Ensures that the JDBC Driver specified in configuration is available and can be loaded. Also registers it with
-   * {@link DriverManager} if it is not already registered.
+   * Ensures that the JDBC Driver specified in configuration is available and can be loaded, and registers it with
+   * the {@link DriverRegistry}. The returned cleanup releases the registration.
    */
   public static DriverCleanup ensureJDBCDriverIsAvailable(Class<? extends Driver> jdbcDriverClass,
                                                           String connectionString, String jdbcPluginName)
     throws IllegalAccessException, InstantiationException, SQLException {
-
-    try {
-      DriverManager.getDriver(connectionString);
-      return new DriverCleanup(null);
-    } catch (SQLException e) {
-      // Driver not found. We will try to register it with the DriverManager.
-      LOG.debug("Plugin Name: {}; Driver Class: {} not found. Registering JDBC driver via shim {} ",
-                jdbcPluginName, jdbcDriverClass.getName(), JDBCDriverShim.class.getName());
-
-      final JDBCDriverShim driverShim = new JDBCDriverShim(jdbcDriverClass.newInstance());
-      try {
-        DBUtils.deregisterAllDrivers(jdbcDriverClass);
-      } catch (NoSuchFieldException | ClassNotFoundException e1) {
-        LOG.error("Unable to deregister JDBC Driver class {}", jdbcDriverClass);
-      }
-      DriverManager.registerDriver(driverShim);
-      return new DriverCleanup(driverShim);
-    }
+    LOG.debug("Plugin Name: {}; Registering JDBC driver {}.", jdbcPluginName, jdbcDriverClass.getName());
+    return DriverRegistry.register(jdbcDriverClass);
   }
 
   @Nullable
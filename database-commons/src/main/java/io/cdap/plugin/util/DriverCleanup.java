@@ -16,31 +16,26 @@
 
 package io.cdap.plugin.util;
 
-import com.google.common.base.Throwables;
 import io.cdap.cdap.etl.api.Destroyable;
-import io.cdap.plugin.db.JDBCDriverShim;
 
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import javax.annotation.Nullable;
+import java.sql.Driver;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * class to de-register driver
+ * Handle of a JDBC driver registered with the {@link DriverRegistry}, which releases the registration when it is
+ * destroyed. Destroying a handle more than once has no effect.
  */
 public class DriverCleanup implements Destroyable {
-  private final JDBCDriverShim driverShim;
+  private final Class<? extends Driver> driverClass;
+  private final AtomicBoolean destroyed = new AtomicBoolean();
 
-  DriverCleanup(@Nullable JDBCDriverShim driverShim) {
-    this.driverShim = driverShim;
+  DriverCleanup(Class<? extends Driver> driverClass) {
+    this.driverClass = driverClass;
   }
 
   public void destroy() {
-    if (driverShim != null) {
-      try {
-        DriverManager.deregisterDriver(driverShim);
-      } catch (SQLException e) {
-        throw Throwables.propagate(e);
-      }
+    if (destroyed.compareAndSet(false, true)) {
+      DriverRegistry.release(driverClass);
     }
   }
 }
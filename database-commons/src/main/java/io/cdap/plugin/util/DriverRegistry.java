@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the JDBC drivers of the plugins. Every driver class, and hence every class loader that loads a driver,
+ * gets a single driver instance, and connections are opened by calling {@link Driver#connect} on it directly, rather
+ * than through the global, synchronized {@link java.sql.DriverManager}. Registrations are reference counted: each
+ * {@link #register} returns a {@link DriverCleanup} handle, and the driver instance is dropped once all handles have
+ * been destroyed, so that the class loader of the driver can be unloaded.
+ */
+public final class DriverRegistry {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DriverRegistry.class);
+  // registrations are counted while holding the lock of the map, connections are opened without locking
+  private static final Map<Class<? extends Driver>, RegisteredDriver> DRIVERS = new ConcurrentHashMap<>();
+
+  private DriverRegistry() {
+    throw new AssertionError("Should not instantiate static utility class.");
+  }
+
+  /**
+   * Registers the given driver class, instantiating the driver if it is not registered yet.
+   *
+   * @param driverClass the JDBC driver class
+   * @return the handle of the registration, which must be destroyed once the driver is no longer used
+   */
+  public static DriverCleanup register(Class<? extends Driver> driverClass)
+    throws IllegalAccessException, InstantiationException {
+    synchronized (DRIVERS) {
+      RegisteredDriver registered = DRIVERS.get(driverClass);
+      if (registered == null) {
+        registered = new RegisteredDriver(driverClass.newInstance());
+        // drivers register an instance with the DriverManager when their class is loaded, which would keep
+        // the class loader of the driver alive
+        try {
+          DBUtils.deregisterAllDrivers(driverClass);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+          LOG.debug("Unable to deregister JDBC Driver class {} from the DriverManager.", driverClass, e);
+        }
+        DRIVERS.put(driverClass, registered);
+        LOG.debug("Registered JDBC driver {}.", driverClass.getName());
+      }
+      registered.references++;
+    }
+    return new DriverCleanup(driverClass);
+  }
+
+  /**
+   * Opens a connection through the registered instance of the given driver class.
+   *
+   * @param driverClass the JDBC driver class, which must be registered
+   * @param url connection string of the database
+   * @param properties connection arguments, including the credentials
+   * @return a new connection
+   * @throws SQLException if the driver is not registered, does not accept the connection string or fails to connect
+   */
+  public static Connection connect(Class<? extends Driver> driverClass, String url,
+                                   Properties properties) throws SQLException {
+    RegisteredDriver registered = DRIVERS.get(driverClass);
+    if (registered == null) {
+      throw new SQLException(String.format("JDBC driver '%s' is not registered.", driverClass.getName()));
+    }
+    Connection connection = registered.driver.connect(url, properties);
+    if (connection == null) {
+      throw new SQLException(String.format("JDBC driver '%s' does not accept the connection string '%s'.",
+                                           driverClass.getName(), url), "08001");
+    }
+    return connection;
+  }
+
+  /**
+   * Releases a registration of the given driver class, dropping the driver instance once no registration is left.
+   */
+  static void release(Class<? extends Driver> driverClass) {
+    synchronized (DRIVERS) {
+      RegisteredDriver registered = DRIVERS.get(driverClass);
+      if (registered != null && --registered.references == 0) {
+        DRIVERS.remove(driverClass);
+        LOG.debug("Released JDBC driver {}.", driverClass.getName());
+      }
+    }
+  }
+
+  /**
+   * A registered driver instance with the number of its registrations.
+   */
+  private static final class RegisteredDriver {
+    private final Driver driver;
+    private int references;
+
+    private RegisteredDriver(Driver driver) {
+      this.driver = driver;
+    }
+  }
+}
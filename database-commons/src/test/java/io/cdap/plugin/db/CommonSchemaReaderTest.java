@@ -24,9 +24,12 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
@@ -209,4 +212,34 @@ public class CommonSchemaReaderTest {
     when(metadata.getColumnType(eq(1))).thenReturn(Types.STRUCT);
     reader.getSchema(metadata, 1);
   }
+
+  @Test
+  public void testGetSchemaFieldsFromMetadataByDefault() throws SQLException {
+    // a reader written before the metadata variant existed
+    SchemaReader legacyReader = new SchemaReader() {
+      @Override
+      public List<Schema.Field> getSchemaFields(ResultSet resultSet) throws SQLException {
+        return getSchemaFields(resultSet.getMetaData());
+      }
+
+      @Override
+      public Schema getSchema(ResultSetMetaData metadata, int index) throws SQLException {
+        return Schema.of(Schema.Type.STRING);
+      }
+
+      @Override
+      public boolean shouldIgnoreColumn(ResultSetMetaData metadata, int index) throws SQLException {
+        return index == 2;
+      }
+    };
+    when(metadata.getColumnCount()).thenReturn(3);
+    when(metadata.getColumnName(eq(1))).thenReturn("id");
+    when(metadata.getColumnName(eq(3))).thenReturn("name");
+    when(metadata.isNullable(eq(1))).thenReturn(ResultSetMetaData.columnNoNulls);
+    when(metadata.isNullable(eq(3))).thenReturn(ResultSetMetaData.columnNullable);
+
+    Assert.assertEquals(Arrays.asList(Schema.Field.of("id", Schema.of(Schema.Type.STRING)),
+                                      Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING)))),
+                        legacyReader.getSchemaFields(metadata));
+  }
 }
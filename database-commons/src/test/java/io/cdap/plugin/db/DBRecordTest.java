@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tests for reading and writing {@link DBRecord}.
+ */
+public class DBRecordTest {
+
+  private static final Schema SCHEMA = Schema.recordOf(
+    "record",
+    Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("created", Schema.nullableOf(Schema.of(Schema.LogicalType.DATE))),
+    Schema.Field.of("amount", Schema.decimalOf(10, 2))
+  );
+
+  @Test
+  public void testReadFieldsResolvesMetadataOncePerResultSet() throws SQLException {
+    ResultSetMetaData metadata = Mockito.mock(ResultSetMetaData.class);
+    Mockito.when(metadata.getColumnType(1)).thenReturn(Types.SMALLINT);
+    Mockito.when(metadata.getColumnType(2)).thenReturn(Types.VARCHAR);
+    Mockito.when(metadata.getColumnType(3)).thenReturn(Types.DATE);
+    Mockito.when(metadata.getColumnType(4)).thenReturn(Types.DECIMAL);
+    Mockito.when(metadata.getPrecision(4)).thenReturn(10);
+    Mockito.when(metadata.getScale(4)).thenReturn(2);
+
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    Mockito.when(resultSet.getMetaData()).thenReturn(metadata);
+    Mockito.when(resultSet.getInt(1)).thenReturn(1, 2);
+    Mockito.when(resultSet.getObject(2)).thenReturn("first", null);
+    Mockito.when(resultSet.getDate(3)).thenReturn(Date.valueOf("2020-01-31"), null);
+    Mockito.when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal("1.50"), new BigDecimal("22.25"));
+
+    DBRecord dbRecord = new DBRecord();
+    Configuration conf = new Configuration();
+    new ConnectionConfigAccessor(conf).setSchema(SCHEMA.toString());
+    dbRecord.setConf(conf);
+
+    dbRecord.readFields(resultSet);
+    StructuredRecord first = dbRecord.getRecord();
+    dbRecord.readFields(resultSet);
+    StructuredRecord second = dbRecord.getRecord();
+
+    Assert.assertEquals(1, (int) first.get("id"));
+    Assert.assertEquals("first", first.get("name"));
+    Assert.assertEquals(LocalDate.of(2020, 1, 31), first.getDate("created"));
+    Assert.assertEquals(new BigDecimal("1.50"), first.getDecimal("amount"));
+
+    Assert.assertEquals(2, (int) second.get("id"));
+    Assert.assertNull(second.get("name"));
+    Assert.assertNull(second.getDate("created"));
+    Assert.assertEquals(new BigDecimal("22.25"), second.getDecimal("amount"));
+
+    Mockito.verify(resultSet, Mockito.times(1)).getMetaData();
+    Mockito.verify(metadata, Mockito.times(4)).getColumnType(Mockito.anyInt());
+  }
+
+  @Test
+  public void testWriteWithColumnWriters() throws SQLException {
+    List<ColumnType> columnTypes = ImmutableList.of(
+      new ColumnType("id", "SMALLINT", Types.SMALLINT),
+      new ColumnType("name", "VARCHAR", Types.VARCHAR),
+      new ColumnType("created", "DATE", Types.DATE),
+      new ColumnType("missing", "INTEGER", Types.INTEGER)
+    );
+    StructuredRecord first = StructuredRecord.builder(SCHEMA)
+      .set("id", 1)
+      .set("name", "first")
+      .setDate("created", LocalDate.of(2020, 1, 31))
+      .setDecimal("amount", new BigDecimal("1.50"))
+      .build();
+    StructuredRecord second = StructuredRecord.builder(SCHEMA)
+      .set("id", 2)
+      .setDecimal("amount", new BigDecimal("22.25"))
+      .build();
+
+    ColumnWriter[] columnWriters = new DBRecord(first, columnTypes).createColumnWriters(SCHEMA);
+    PreparedStatement stmt = Mockito.mock(PreparedStatement.class);
+    new DBRecord(first, columnTypes).write(stmt, columnWriters);
+    new DBRecord(second, columnTypes).write(stmt, columnWriters);
+
+    Mockito.verify(stmt).setShort(1, (short) 1);
+    Mockito.verify(stmt).setShort(1, (short) 2);
+    Mockito.verify(stmt).setString(2, "first");
+    Mockito.verify(stmt).setNull(2, Types.VARCHAR);
+    Mockito.verify(stmt).setDate(3, Date.valueOf("2020-01-31"));
+    Mockito.verify(stmt).setNull(3, Types.DATE);
+    Mockito.verify(stmt, Mockito.times(2)).setNull(4, Types.INTEGER);
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SchemaCacheTest {
+
+  private static final Schema SCHEMA = Schema.recordOf("outputSchema",
+                                                       Schema.Field.of("id", Schema.of(Schema.Type.INT)));
+
+  @Test
+  public void testSchemaCached() throws SQLException {
+    SchemaCache cache = new SchemaCache(10, TimeUnit.MINUTES.toMillis(5), Ticker.systemTicker());
+    AtomicInteger loads = new AtomicInteger();
+    SchemaCache.SchemaLoader loader = () -> {
+      loads.incrementAndGet();
+      return SCHEMA;
+    };
+
+    Assert.assertEquals(SCHEMA, getSchema(cache, "jdbc:test:db", "SELECT * FROM t", loader));
+    Assert.assertEquals(SCHEMA, getSchema(cache, "jdbc:test:db", " SELECT *\n  FROM t; ", loader));
+    Assert.assertEquals(1, loads.get());
+
+    getSchema(cache, "jdbc:test:other", "SELECT * FROM t", loader);
+    getSchema(cache, "jdbc:test:db", "SELECT id FROM t", loader);
+    cache.getSchema("jdbc:test:db", ImmutableMap.of("user", "other"), Collections.emptyList(),
+                    new CommonSchemaReader(), "SELECT * FROM t", loader);
+    cache.getSchema("jdbc:test:db", Collections.emptyMap(), ImmutableList.of("SET ROLE reader"),
+                    new CommonSchemaReader(), "SELECT * FROM t", loader);
+    Assert.assertEquals(5, loads.get());
+  }
+
+  @Test
+  public void testSchemaExpires() throws SQLException {
+    AtomicLong nanos = new AtomicLong();
+    Ticker ticker = new Ticker() {
+      @Override
+      public long read() {
+        return nanos.get();
+      }
+    };
+    SchemaCache cache = new SchemaCache(10, TimeUnit.MINUTES.toMillis(5), ticker);
+    AtomicInteger loads = new AtomicInteger();
+    SchemaCache.SchemaLoader loader = () -> {
+      loads.incrementAndGet();
+      return SCHEMA;
+    };
+
+    getSchema(cache, "jdbc:test:db", "SELECT * FROM t", loader);
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(4));
+    getSchema(cache, "jdbc:test:db", "SELECT * FROM t", loader);
+    Assert.assertEquals(1, loads.get());
+
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+    getSchema(cache, "jdbc:test:db", "SELECT * FROM t", loader);
+    Assert.assertEquals(2, loads.get());
+  }
+
+  @Test
+  public void testFailedLoadNotCached() throws SQLException {
+    SchemaCache cache = new SchemaCache(10, TimeUnit.MINUTES.toMillis(5), Ticker.systemTicker());
+    try {
+      getSchema(cache, "jdbc:test:db", "SELECT * FROM t", () -> {
+        throw new SQLException("Table does not exist");
+      });
+      Assert.fail("Expected the load failure to be propagated");
+    } catch (SQLException e) {
+      Assert.assertEquals("Table does not exist", e.getMessage());
+    }
+    Assert.assertEquals(SCHEMA, getSchema(cache, "jdbc:test:db", "SELECT * FROM t", () -> SCHEMA));
+  }
+
+  @Test
+  public void testInferSchemaFromPreparedStatementMetadata() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+    ResultSetMetaData metadata = mockMetadata();
+    Mockito.when(connection.prepareStatement("SELECT * FROM t")).thenReturn(preparedStatement);
+    Mockito.when(preparedStatement.getMetaData()).thenReturn(metadata);
+
+    Assert.assertEquals(SCHEMA, SchemaCache.inferSchema(connection, new CommonSchemaReader(), "SELECT * FROM t"));
+    // the query is described, not executed
+    Mockito.verify(preparedStatement, Mockito.never()).executeQuery();
+    Mockito.verify(connection, Mockito.never()).createStatement();
+    Mockito.verify(preparedStatement).close();
+  }
+
+  @Test
+  public void testInferSchemaFromEmptyQuery() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+    Statement statement = Mockito.mock(Statement.class);
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    ResultSetMetaData metadata = mockMetadata();
+    // the driver can not describe the query without executing it
+    Mockito.when(connection.prepareStatement("SELECT * FROM t;")).thenReturn(preparedStatement);
+    Mockito.when(connection.createStatement()).thenReturn(statement);
+    Mockito.when(statement.executeQuery("SELECT * FROM (SELECT * FROM t) schema_query WHERE 1 = 0"))
+      .thenReturn(resultSet);
+    Mockito.when(resultSet.getMetaData()).thenReturn(metadata);
+
+    Assert.assertEquals(SCHEMA, SchemaCache.inferSchema(connection, new CommonSchemaReader(), "SELECT * FROM t;"));
+    Mockito.verify(statement, Mockito.never()).setMaxRows(Mockito.anyInt());
+    Mockito.verify(resultSet).close();
+    Mockito.verify(statement).close();
+  }
+
+  @Test
+  public void testInferSchemaFromFirstRow() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    Statement subQueryStatement = Mockito.mock(Statement.class);
+    Statement statement = Mockito.mock(Statement.class);
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    ResultSetMetaData metadata = mockMetadata();
+    Mockito.when(connection.prepareStatement("SELECT * FROM t ORDER BY id"))
+      .thenThrow(new SQLException("Not supported"));
+    Mockito.when(connection.createStatement()).thenReturn(subQueryStatement, statement);
+    Mockito.when(subQueryStatement.executeQuery(Mockito.anyString())).thenThrow(new SQLException("Syntax error"));
+    Mockito.when(statement.executeQuery("SELECT * FROM t ORDER BY id")).thenReturn(resultSet);
+    Mockito.when(resultSet.getMetaData()).thenReturn(metadata);
+
+    Assert.assertEquals(SCHEMA, SchemaCache.inferSchema(connection, new CommonSchemaReader(),
+                                                        "SELECT * FROM t ORDER BY id"));
+    Mockito.verify(statement).setMaxRows(1);
+    Mockito.verify(subQueryStatement).close();
+    Mockito.verify(statement).close();
+  }
+
+  @Test
+  public void testNormalizeQuery() {
+    Assert.assertEquals("SELECT * FROM t WHERE name = 'a b'",
+                        SchemaCache.normalizeQuery("\tSELECT *\r\n FROM t  WHERE name = 'a b' ;; "));
+  }
+
+  private static Schema getSchema(SchemaCache cache, String connectionString, String query,
+                                  SchemaCache.SchemaLoader loader) throws SQLException {
+    return cache.getSchema(connectionString, Collections.emptyMap(), Collections.emptyList(),
+                           new CommonSchemaReader(), query, loader);
+  }
+
+  private static ResultSetMetaData mockMetadata() throws SQLException {
+    ResultSetMetaData metadata = Mockito.mock(ResultSetMetaData.class);
+    Mockito.when(metadata.getColumnCount()).thenReturn(1);
+    Mockito.when(metadata.getColumnName(1)).thenReturn("id");
+    Mockito.when(metadata.getColumnType(1)).thenReturn(Types.INTEGER);
+    Mockito.when(metadata.isSigned(1)).thenReturn(true);
+    Mockito.when(metadata.isNullable(1)).thenReturn(ResultSetMetaData.columnNoNulls);
+    return metadata;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+
+/**
+ * Tests for {@link TextRowEncoder}.
+ */
+public class TextRowEncoderTest {
+
+  private static final Schema SCHEMA = Schema.recordOf(
+    "record",
+    Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+    Schema.Field.of("created", Schema.nullableOf(Schema.of(Schema.LogicalType.DATE))),
+    Schema.Field.of("amount", Schema.decimalOf(10, 2)),
+    Schema.Field.of("active", Schema.of(Schema.Type.BOOLEAN)),
+    Schema.Field.of("data", Schema.nullableOf(Schema.of(Schema.Type.BYTES)))
+  );
+
+  private static final TextRowEncoder ENCODER = new TextRowEncoder(ImmutableList.of(
+    new ColumnType("id", "INTEGER", Types.INTEGER),
+    new ColumnType("name", "VARCHAR", Types.VARCHAR),
+    new ColumnType("created", "DATE", Types.DATE),
+    new ColumnType("amount", "DECIMAL", Types.DECIMAL),
+    new ColumnType("active", "BOOLEAN", Types.BOOLEAN),
+    new ColumnType("data", "VARBINARY", Types.VARBINARY),
+    new ColumnType("missing", "VARCHAR", Types.VARCHAR)));
+
+  @Test
+  public void testEncode() {
+    StructuredRecord record = StructuredRecord.builder(SCHEMA)
+      .set("id", 1)
+      .set("name", "a\tb\\c\nd")
+      .setDate("created", LocalDate.of(2020, 1, 2))
+      .setDecimal("amount", new BigDecimal("12.30"))
+      .set("active", true)
+      .set("data", new byte[] {0x0a, (byte) 0xff})
+      .build();
+
+    StringBuilder row = new StringBuilder();
+    ENCODER.encode(record, row);
+    Assert.assertEquals("1\ta\\tb\\\\c\\nd\t2020-01-02\t12.30\t1\t0aff\t\\N\n", row.toString());
+  }
+
+  @Test
+  public void testEncodeNulls() {
+    StructuredRecord record = StructuredRecord.builder(SCHEMA)
+      .set("id", 2)
+      .setDecimal("amount", new BigDecimal("0.00"))
+      .set("active", false)
+      .build();
+
+    StringBuilder row = new StringBuilder();
+    ENCODER.encode(record, row);
+    Assert.assertEquals("2\t\\N\t\\N\t0.00\t0\t\\N\t\\N\n", row.toString());
+  }
+}
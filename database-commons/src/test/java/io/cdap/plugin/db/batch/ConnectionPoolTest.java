@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch;
+
+import io.cdap.plugin.util.DriverCleanup;
+import io.cdap.plugin.util.DriverRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * Test class for {@link ConnectionPool}.
+ */
+public class ConnectionPoolTest {
+  private static final String URL = "jdbc:pooltest://localhost/db";
+  private static final List<String> INIT_QUERIES = Collections.singletonList("SET search_path TO sales");
+
+  private static final List<Connection> OPENED = new ArrayList<>();
+  private static final List<Statement> STATEMENTS = new ArrayList<>();
+  private DriverCleanup driverCleanup;
+
+  @Before
+  public void registerDriver() throws Exception {
+    OPENED.clear();
+    STATEMENTS.clear();
+    driverCleanup = DriverRegistry.register(TestDriver.class);
+  }
+
+  @After
+  public void releaseDriver() {
+    driverCleanup.destroy();
+  }
+
+  @Test
+  public void testConnectionReused() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(2, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES).close();
+    Connection connection = pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES);
+
+    Assert.assertEquals(1, OPENED.size());
+    Assert.assertFalse(connection.isClosed());
+    // initialization queries are only executed when the connection is opened
+    Mockito.verify(STATEMENTS.get(0)).execute(INIT_QUERIES.get(0));
+    Assert.assertEquals(1, STATEMENTS.size());
+    connection.close();
+    Assert.assertTrue(connection.isClosed());
+    Assert.assertEquals(1, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testConnectionsKeyedByArgumentsAndInitQueries() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(2, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES).close();
+    pool.getConnection(TestDriver.class, URL, properties("admin"), INIT_QUERIES).close();
+    pool.getConnection(TestDriver.class, URL, properties("user"), Collections.emptyList()).close();
+
+    Assert.assertEquals(3, OPENED.size());
+    Assert.assertEquals(3, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testConnectionResetOnRelease() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(2, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    Connection connection = pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES);
+    Connection physical = OPENED.get(0);
+    Mockito.when(physical.getAutoCommit()).thenReturn(false);
+    Mockito.when(physical.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_SERIALIZABLE);
+    connection.close();
+
+    Mockito.verify(physical).rollback();
+    Mockito.verify(physical).setAutoCommit(true);
+    Mockito.verify(physical).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    Mockito.verify(physical, Mockito.never()).close();
+    Assert.assertEquals(1, pool.getIdleConnectionCount());
+  }
+
+  @Test
+  public void testInvalidConnectionReplaced() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(2, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES).close();
+    Mockito.when(OPENED.get(0).isValid(Mockito.anyInt())).thenReturn(false);
+    pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES);
+
+    Assert.assertEquals(2, OPENED.size());
+    Mockito.verify(OPENED.get(0)).close();
+  }
+
+  @Test
+  public void testIdleConnectionsLimited() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(1, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    Connection first = pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES);
+    Connection second = pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES);
+    first.close();
+    second.close();
+
+    Assert.assertEquals(1, pool.getIdleConnectionCount());
+    Mockito.verify(OPENED.get(0), Mockito.never()).close();
+    Mockito.verify(OPENED.get(1)).close();
+  }
+
+  @Test
+  public void testIdleConnectionsEvicted() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(2, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES).close();
+    pool.evictIdleConnections(System.currentTimeMillis());
+    Assert.assertEquals(1, pool.getIdleConnectionCount());
+
+    pool.evictIdleConnections(System.currentTimeMillis() + ConnectionPool.IDLE_TIMEOUT_MILLIS);
+    Assert.assertEquals(0, pool.getIdleConnectionCount());
+    Mockito.verify(OPENED.get(0)).close();
+  }
+
+  @Test
+  public void testCloseIdleConnections() throws SQLException {
+    ConnectionPool pool = new ConnectionPool(2, ConnectionPool.IDLE_TIMEOUT_MILLIS);
+
+    pool.getConnection(TestDriver.class, URL, properties("user"), INIT_QUERIES).close();
+    Connection inUse = pool.getConnection(TestDriver.class, URL, properties("admin"), INIT_QUERIES);
+    pool.closeIdleConnections(URL);
+
+    Assert.assertEquals(0, pool.getIdleConnectionCount());
+    Mockito.verify(OPENED.get(0)).close();
+    // connections in use still return to the pool
+    inUse.close();
+    Assert.assertEquals(1, pool.getIdleConnectionCount());
+  }
+
+  private static Connection openConnection() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.getAutoCommit()).thenReturn(true);
+    Mockito.when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+    Mockito.when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+    Mockito.when(connection.createStatement()).thenAnswer(invocation -> {
+      Statement statement = Mockito.mock(Statement.class);
+      STATEMENTS.add(statement);
+      return statement;
+    });
+    OPENED.add(connection);
+    return connection;
+  }
+
+  @Test
+  public void testDriverReleased() throws Exception {
+    DriverCleanup secondCleanup = DriverRegistry.register(TestDriver.class);
+    secondCleanup.destroy();
+    secondCleanup.destroy();
+    // the driver is registered as long as a registration is left
+    DriverRegistry.connect(TestDriver.class, URL, properties("user")).close();
+
+    driverCleanup.destroy();
+    try {
+      DriverRegistry.connect(TestDriver.class, URL, properties("user"));
+      Assert.fail("Connected through a released driver.");
+    } catch (SQLException e) {
+      // expected
+    }
+    driverCleanup = DriverRegistry.register(TestDriver.class);
+  }
+
+  private static Properties properties(String user) {
+    Properties properties = new Properties();
+    properties.put("user", user);
+    properties.put("password", "secret");
+    return properties;
+  }
+
+  /**
+   * Driver that opens mock connections.
+   */
+  public static final class TestDriver implements Driver {
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+      return acceptsURL(url) ? openConnection() : null;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+      return URL.equals(url);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+      return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+      return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+      return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+      return false;
+    }
+
+    @Override
+    public Logger getParentLogger() {
+      return Logger.getGlobal();
+    }
+  }
+}
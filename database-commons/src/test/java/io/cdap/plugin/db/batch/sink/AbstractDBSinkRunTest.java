@@ -0,0 +1,378 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.cdap.cdap.api.data.batch.Output;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.cdap.etl.api.action.SettableArguments;
+import io.cdap.cdap.etl.api.batch.BatchSinkContext;
+import io.cdap.cdap.etl.mock.validation.MockFailureCollector;
+import io.cdap.plugin.db.batch.ConnectionPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Test class for the steps of {@link AbstractDBSink} that run before and after the tasks, against a fake database.
+ */
+public class AbstractDBSinkRunTest {
+  private static final String URL = "jdbc:fake:sink";
+  private static final String TABLE = "items";
+  private static final Schema SCHEMA = Schema.recordOf(
+    "items",
+    Schema.Field.of("ID", Schema.of(Schema.Type.INT)),
+    Schema.Field.of("NAME", Schema.of(Schema.Type.STRING)));
+
+  @Before
+  public void setUp() {
+    FakeDriver.TABLES.clear();
+    FakeDriver.TABLES.add(TABLE);
+    FakeDriver.STATEMENTS.clear();
+    FakeDriver.failingStatement = null;
+    FakeDriver.allTablesExist = false;
+  }
+
+  @After
+  public void tearDown() {
+    ConnectionPool.getInstance().closeIdleConnections(URL);
+  }
+
+  @Test
+  public void testPrepareRunAndOnRunFinish() {
+    TestSink sink = new TestSink(new TestSinkConfig(null, null));
+    BatchSinkContext context = createContext();
+
+    sink.prepareRun(context);
+    Mockito.verify(context).addOutput(Mockito.any(Output.class));
+    sink.onRunFinish(true, context);
+
+    // the leftovers of the tasks are dropped on a pooled connection once the run finishes
+    Assert.assertEquals(ImmutableList.of(TABLE), sink.cleanedUpTables);
+    Assert.assertTrue(FakeDriver.STATEMENTS.isEmpty());
+  }
+
+  @Test
+  public void testInsertSelectStaging() {
+    TestSink sink = new TestSink(new TestSinkConfig(StagingMode.INSERT_SELECT.name(), null));
+    BatchSinkContext context = createContext();
+
+    sink.prepareRun(context);
+    Assert.assertEquals(1, FakeDriver.STATEMENTS.size());
+    String stagingTable = getCreatedTable(FakeDriver.STATEMENTS.get(0));
+    Assert.assertEquals(String.format("CREATE TABLE %s LIKE %s", stagingTable, TABLE), FakeDriver.STATEMENTS.get(0));
+    Assert.assertTrue(stagingTable.startsWith(TABLE + "_stg_"));
+    Assert.assertTrue(FakeDriver.TABLES.contains(stagingTable));
+
+    sink.onRunFinish(true, context);
+    Assert.assertEquals(String.format("INSERT INTO %s (ID,NAME) SELECT ID,NAME FROM %s", TABLE, stagingTable),
+                        FakeDriver.STATEMENTS.get(1));
+    Assert.assertEquals("DROP TABLE " + stagingTable, FakeDriver.STATEMENTS.get(2));
+    Assert.assertFalse(FakeDriver.TABLES.contains(stagingTable));
+    // the tasks wrote to the staging table
+    Assert.assertEquals(stagingTable, sink.cleanedUpTables.get(0));
+  }
+
+  @Test
+  public void testStagingTableIsDroppedIfRunFails() {
+    TestSink sink = new TestSink(new TestSinkConfig(StagingMode.INSERT_SELECT.name(), null));
+    BatchSinkContext context = createContext();
+
+    sink.prepareRun(context);
+    String stagingTable = getCreatedTable(FakeDriver.STATEMENTS.get(0));
+    sink.onRunFinish(false, context);
+    Assert.assertEquals(ImmutableList.of(FakeDriver.STATEMENTS.get(0), "DROP TABLE " + stagingTable),
+                        FakeDriver.STATEMENTS);
+    Assert.assertEquals(ImmutableSet.of(TABLE), FakeDriver.TABLES);
+  }
+
+  @Test
+  public void testExistingStagingTableIsRefused() {
+    TestSink sink = new TestSink(new TestSinkConfig(StagingMode.INSERT_SELECT.name(), null));
+    // every table exists, including the one the run would create
+    FakeDriver.allTablesExist = true;
+    try {
+      sink.prepareRun(createContext());
+      Assert.fail("The staging table of the run already exists.");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getMessage().contains("already exists"));
+    }
+    Assert.assertTrue(FakeDriver.STATEMENTS.isEmpty());
+  }
+
+  @Test
+  public void testSuspendAndRestoreTableMaintenance() {
+    TestSink sink = new TestSink(new TestSinkConfig(null, true));
+    BatchSinkContext context = createContext();
+
+    sink.prepareRun(context);
+    Assert.assertEquals(ImmutableList.of("DROP INDEX items_name", "ALTER TABLE items DISABLE TRIGGER items_audit"),
+                        FakeDriver.STATEMENTS);
+    FakeDriver.STATEMENTS.clear();
+    sink.onRunFinish(true, context);
+    Assert.assertEquals(ImmutableList.of("CREATE INDEX items_name ON items (NAME)",
+                                         "ALTER TABLE items ENABLE TRIGGER items_audit"),
+                        FakeDriver.STATEMENTS);
+  }
+
+  @Test
+  public void testPartiallySuspendedTableMaintenanceIsRestored() {
+    TestSink sink = new TestSink(new TestSinkConfig(null, true));
+    BatchSinkContext context = createContext();
+    FakeDriver.failingStatement = "ALTER TABLE items DISABLE";
+
+    try {
+      sink.prepareRun(context);
+      Assert.fail("Suspending the triggers of the table fails.");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getMessage().contains("Failed to suspend"));
+    }
+    // only the index that was dropped is restored
+    Assert.assertEquals(ImmutableList.of("DROP INDEX items_name", "CREATE INDEX items_name ON items (NAME)"),
+                        FakeDriver.STATEMENTS);
+    Mockito.verify(context, Mockito.never()).addOutput(Mockito.any(Output.class));
+  }
+
+  private static String getCreatedTable(String createStatement) {
+    return createStatement.split(" ")[2];
+  }
+
+  private static BatchSinkContext createContext() {
+    BatchSinkContext context = Mockito.mock(BatchSinkContext.class);
+    Mockito.when(context.getStageName()).thenReturn("sink");
+    Mockito.when(context.getLogicalStartTime()).thenReturn(System.currentTimeMillis());
+    Mockito.when(context.getInputSchema()).thenReturn(SCHEMA);
+    Mockito.when(context.getFailureCollector()).thenReturn(new MockFailureCollector("sink"));
+    Mockito.when(context.getArguments()).thenReturn(Mockito.mock(SettableArguments.class));
+    Mockito.doReturn(FakeDriver.class).when(context).loadPluginClass(Mockito.anyString());
+    return context;
+  }
+
+  /**
+   * Sink of the fake database, which suspends an index and a trigger of the table when configured to, and records
+   * the tables whose task leftovers it drops.
+   */
+  private static final class TestSink extends AbstractDBSink<TestSinkConfig> {
+    private final List<String> cleanedUpTables = new ArrayList<>();
+
+    TestSink(TestSinkConfig config) {
+      super(config);
+    }
+
+    @Override
+    protected SqlDialect getSqlDialect() {
+      return SqlDialect.DB2;
+    }
+
+    @Override
+    protected TableMaintenance getTableMaintenance() {
+      return (connection, tableName, escapedTableName) -> {
+        MaintenancePlan plan = new MaintenancePlan();
+        plan.addSuspendQuery("DROP INDEX items_name");
+        plan.addIndexRestoreQuery(String.format("CREATE INDEX items_name ON %s (NAME)", escapedTableName));
+        plan.addSuspendQuery(String.format("ALTER TABLE %s DISABLE TRIGGER items_audit", escapedTableName));
+        plan.addRestoreQuery(String.format("ALTER TABLE %s ENABLE TRIGGER items_audit", escapedTableName));
+        return plan;
+      };
+    }
+
+    @Override
+    protected void cleanupTasks(Connection connection, String tableName, String runId) {
+      Assert.assertNotNull(runId);
+      cleanedUpTables.add(tableName);
+    }
+  }
+
+  /**
+   * Config of the sink of the fake database.
+   */
+  private static final class TestSinkConfig extends AbstractDBSink.DBSinkConfig {
+    private final String testStagingMode;
+    private final Boolean testSuspendTableMaintenance;
+
+    TestSinkConfig(@Nullable String stagingMode, @Nullable Boolean suspendTableMaintenance) {
+      this.referenceName = TABLE;
+      this.tableName = TABLE;
+      this.testStagingMode = stagingMode;
+      this.testSuspendTableMaintenance = suspendTableMaintenance;
+    }
+
+    @Override
+    public String getConnectionString() {
+      return URL;
+    }
+
+    @Nullable
+    @Override
+    public String getStagingMode() {
+      return testStagingMode;
+    }
+
+    @Nullable
+    @Override
+    public Boolean getSuspendTableMaintenance() {
+      return testSuspendTableMaintenance;
+    }
+  }
+
+  /**
+   * Driver of a fake database, which only knows which tables exist and records the statements that it executes.
+   * All tables have the columns of {@link #SCHEMA}, and statements that start with {@link #failingStatement} fail.
+   * Queries of any table succeed if {@link #allTablesExist} is set.
+   */
+  public static final class FakeDriver implements Driver {
+    static final Set<String> TABLES = ConcurrentHashMap.newKeySet();
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    static volatile String failingStatement;
+    static volatile boolean allTablesExist;
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("^CREATE TABLE (\\S+)");
+    private static final Pattern DROP_TABLE = Pattern.compile("^DROP TABLE (\\S+)");
+    private static final Pattern QUERIED_TABLE = Pattern.compile(" FROM (\\S+)");
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+      return acceptsURL(url) ? createConnection() : null;
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+      return url.startsWith(URL);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+      return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+      return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+      return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+      return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+      throw new SQLFeatureNotSupportedException();
+    }
+
+    private static Connection createConnection() throws SQLException {
+      Connection connection = Mockito.mock(Connection.class);
+      Mockito.when(connection.isValid(Mockito.anyInt())).thenReturn(true);
+      Mockito.when(connection.createStatement()).thenAnswer(invocation -> {
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(statement.execute(Mockito.anyString()))
+          .thenAnswer(executeInvocation -> execute(executeInvocation.getArgument(0)));
+        Mockito.when(statement.executeQuery(Mockito.anyString()))
+          .thenAnswer(queryInvocation -> executeQuery(queryInvocation.getArgument(0)));
+        return statement;
+      });
+      Mockito.when(connection.prepareStatement(Mockito.anyString())).thenAnswer(invocation -> {
+        String query = invocation.getArgument(0);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        Mockito.when(statement.executeQuery()).thenAnswer(queryInvocation -> executeQuery(query));
+        return statement;
+      });
+      DatabaseMetaData metaData = Mockito.mock(DatabaseMetaData.class);
+      Mockito.when(metaData.getTables(Mockito.any(), Mockito.any(), Mockito.anyString(), Mockito.any()))
+        .thenAnswer(invocation -> createResultSet(TABLES.contains(invocation.<String>getArgument(2)) ? 1 : 0));
+      Mockito.when(connection.getMetaData()).thenReturn(metaData);
+      return connection;
+    }
+
+    private static boolean execute(String sql) throws SQLException {
+      String failing = failingStatement;
+      if (failing != null && sql.startsWith(failing)) {
+        throw new SQLException(String.format("Failed to execute '%s'.", sql));
+      }
+      STATEMENTS.add(sql);
+      Matcher matcher = CREATE_TABLE.matcher(sql);
+      if (matcher.find()) {
+        TABLES.add(matcher.group(1));
+      }
+      matcher = DROP_TABLE.matcher(sql);
+      if (matcher.find()) {
+        TABLES.remove(matcher.group(1));
+      }
+      return false;
+    }
+
+    private static ResultSet executeQuery(String sql) throws SQLException {
+      Matcher matcher = QUERIED_TABLE.matcher(sql);
+      if (!matcher.find() || !(allTablesExist || TABLES.contains(matcher.group(1)))) {
+        throw new SQLException(String.format("Table of '%s' does not exist.", sql));
+      }
+      return createResultSet(0);
+    }
+
+    private static ResultSet createResultSet(int rows) throws SQLException {
+      ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+      Mockito.when(metaData.getColumnCount()).thenReturn(2);
+      Mockito.when(metaData.getColumnName(1)).thenReturn("ID");
+      Mockito.when(metaData.getColumnTypeName(1)).thenReturn("INTEGER");
+      Mockito.when(metaData.getColumnType(1)).thenReturn(Types.INTEGER);
+      Mockito.when(metaData.getPrecision(1)).thenReturn(10);
+      Mockito.when(metaData.getColumnName(2)).thenReturn("NAME");
+      Mockito.when(metaData.getColumnTypeName(2)).thenReturn("VARCHAR");
+      Mockito.when(metaData.getColumnType(2)).thenReturn(Types.VARCHAR);
+      Mockito.when(metaData.getPrecision(2)).thenReturn(64);
+
+      ResultSet resultSet = Mockito.mock(ResultSet.class);
+      AtomicInteger remainingRows = new AtomicInteger(rows);
+      Mockito.when(resultSet.next()).thenAnswer(invocation -> remainingRows.getAndDecrement() > 0);
+      Mockito.when(resultSet.getMetaData()).thenReturn(metaData);
+      Mockito.when(resultSet.findColumn("ID")).thenReturn(1);
+      Mockito.when(resultSet.findColumn("NAME")).thenReturn(2);
+      return resultSet;
+    }
+  }
+}
@@ -49,7 +49,9 @@ public class AbstractDBSinkTest {
       resultSetMetaData.setColumnName(i + 1, columns.get(i));
       resultSetMetaData.setColumnTypeName(i + 1, "STRING");
       resultSetMetaData.setColumnType(i + 1, i);
-      expectedColumns.add(new ColumnType(name, "STRING", i));
+      resultSetMetaData.setPrecision(i + 1, 32);
+      resultSetMetaData.setScale(i + 1, 0);
+      expectedColumns.add(new ColumnType(name, "STRING", i, 32, 0));
     }
 
     List<ColumnType> result = AbstractDBSink.getMatchedColumnTypeList(resultSetMetaData, columns);
@@ -88,4 +90,45 @@ public class AbstractDBSinkTest {
       Assert.assertEquals(errorMessage, e.getMessage());
     }
   }
+
+  @Test
+  public void testGetParameterColumnTypes() {
+    ColumnType id = new ColumnType("ID", "INTEGER", 4);
+    ColumnType name = new ColumnType("NAME", "VARCHAR", 12);
+    ColumnType age = new ColumnType("AGE", "INTEGER", 4);
+    List<ColumnType> columnTypes = ImmutableList.of(id, name, age);
+
+    Assert.assertEquals(columnTypes, AbstractDBSink.getParameterColumnTypes(columnTypes, Operation.INSERT,
+                                                                            ImmutableList.of()));
+    Assert.assertEquals(columnTypes, AbstractDBSink.getParameterColumnTypes(columnTypes, Operation.UPSERT,
+                                                                            ImmutableList.of("ID")));
+    Assert.assertEquals(ImmutableList.of(id, age, name),
+                        AbstractDBSink.getParameterColumnTypes(columnTypes, Operation.UPDATE,
+                                                               ImmutableList.of("NAME")));
+    Assert.assertEquals(ImmutableList.of(age, name, id),
+                        AbstractDBSink.getParameterColumnTypes(columnTypes, Operation.DELETE,
+                                                               ImmutableList.of("AGE", "NAME", "ID")));
+  }
+
+  @Test
+  public void testConstructUpdateAndDeleteQueries() {
+    String[] fieldNames = {"ID", "NAME", "AGE"};
+    Assert.assertEquals("UPDATE users SET ID = ?, AGE = ? WHERE NAME = ?",
+                        ETLDBOutputFormat.constructUpdateQuery("users", fieldNames, ImmutableList.of("NAME")));
+    Assert.assertEquals("UPDATE users SET NAME = ? WHERE AGE = ? AND ID = ?",
+                        ETLDBOutputFormat.constructUpdateQuery("users", fieldNames, ImmutableList.of("AGE", "ID")));
+    Assert.assertEquals("DELETE FROM users WHERE AGE = ? AND NAME = ? AND ID = ?",
+                        ETLDBOutputFormat.constructDeleteQuery("users", ImmutableList.of("AGE", "NAME", "ID")));
+  }
+
+  @Test
+  public void testNewRunId() {
+    long logicalStartTime = 1665835200000L;
+    String runId = AbstractDBSink.newRunId(logicalStartTime);
+
+    Assert.assertTrue(runId.startsWith(Long.toString(logicalStartTime, 36) + "_"));
+    Assert.assertTrue(runId.length() <= 17);
+    // runs with the same logical start time get their own tables
+    Assert.assertNotEquals(runId, AbstractDBSink.newRunId(logicalStartTime));
+  }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for {@link AsyncBatchExecutor}.
+ */
+public class AsyncBatchExecutorTest {
+  private static final String QUERY = "INSERT INTO items (id) VALUES (?)";
+
+  @Test
+  public void testBatchesExecutedInOrder() throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.prepareStatement(QUERY)).thenAnswer(invocation -> Mockito.mock(PreparedStatement.class));
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    AsyncBatchExecutor executor = new AsyncBatchExecutor(() -> connection.prepareStatement(QUERY), 2,
+                                                         (statement, rows) -> executed.add(rows));
+
+    PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+    for (int rows = 1; rows <= 5; rows++) {
+      statement = executor.submit(statement, rows);
+    }
+    executor.await();
+    executor.close();
+
+    Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5), executed);
+    // the statement of the writer and at most one statement per in-flight batch
+    Mockito.verify(connection, Mockito.atMost(2)).prepareStatement(QUERY);
+  }
+
+  @Test
+  public void testSubmitBlocksWhileBatchesInFlight() throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.prepareStatement(QUERY)).thenAnswer(invocation -> Mockito.mock(PreparedStatement.class));
+    CountDownLatch release = new CountDownLatch(1);
+    AsyncBatchExecutor.BatchAction action = (statement, rows) -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new SQLException(e);
+      }
+    };
+    AsyncBatchExecutor executor = new AsyncBatchExecutor(() -> connection.prepareStatement(QUERY), 1, action);
+
+    PreparedStatement statement = executor.submit(Mockito.mock(PreparedStatement.class), 1);
+    CountDownLatch submitted = new CountDownLatch(1);
+    Thread writer = new Thread(() -> {
+      try {
+        executor.submit(statement, 1);
+        submitted.countDown();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    writer.start();
+
+    Assert.assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+    release.countDown();
+    Assert.assertTrue(submitted.await(10, TimeUnit.SECONDS));
+    executor.await();
+    executor.close();
+  }
+
+  @Test
+  public void testAtMostMaxBatchesInFlight() throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.prepareStatement(QUERY)).thenAnswer(invocation -> Mockito.mock(PreparedStatement.class));
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    AsyncBatchExecutor.BatchAction action = (statement, rows) -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new SQLException(e);
+      }
+      executed.add(rows);
+    };
+    AsyncBatchExecutor executor = new AsyncBatchExecutor(() -> connection.prepareStatement(QUERY), 2, action);
+
+    Thread writer = new Thread(() -> {
+      PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+      try {
+        for (int rows = 1; rows <= 3; rows++) {
+          statement = executor.submit(statement, rows);
+        }
+      } catch (SQLException e) {
+        // interrupted while the third batch waits for a free statement
+      }
+    });
+    writer.start();
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+    while (writer.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(Thread.State.WAITING, writer.getState());
+
+    // the third batch must not have been queued while two batches are in flight
+    writer.interrupt();
+    writer.join(TimeUnit.SECONDS.toMillis(10));
+    release.countDown();
+    executor.await();
+    executor.close();
+
+    Assert.assertEquals(Arrays.asList(1, 2), executed);
+    Mockito.verify(connection, Mockito.times(2)).prepareStatement(QUERY);
+  }
+
+  @Test
+  public void testFailureSurfacedOnNextCall() throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.prepareStatement(QUERY)).thenAnswer(invocation -> Mockito.mock(PreparedStatement.class));
+    SQLException failure = new SQLException("duplicate key");
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    AsyncBatchExecutor.BatchAction action = (statement, rows) -> {
+      executed.add(rows);
+      throw failure;
+    };
+    AsyncBatchExecutor executor = new AsyncBatchExecutor(() -> connection.prepareStatement(QUERY), 1, action);
+
+    PreparedStatement failed = Mockito.mock(PreparedStatement.class);
+    executor.submit(failed, 1);
+    executor.drain();
+    try {
+      executor.checkFailure();
+      Assert.fail("Expected the failure of the batch.");
+    } catch (SQLException e) {
+      Assert.assertSame(failure, e);
+    }
+    try {
+      executor.submit(Mockito.mock(PreparedStatement.class), 2);
+      Assert.fail("Expected the failure of the batch.");
+    } catch (SQLException e) {
+      Assert.assertSame(failure, e);
+    }
+    executor.close();
+
+    Assert.assertEquals(Collections.singletonList(1), executed);
+    Mockito.verify(failed).clearBatch();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.DBRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Tests for {@link LoadDataOutputFormat}.
+ */
+public class LoadDataOutputFormatTest {
+
+  @Test
+  public void testConstructLoadDataQuery() {
+    String query = LoadDataOutputFormat.constructLoadDataQuery(
+      "my_table", new String[] {"id", "data", "flag", "name"},
+      ImmutableList.of(new ColumnType("id", "INT", Types.INTEGER),
+                       new ColumnType("data", "VARBINARY", Types.VARBINARY),
+                       new ColumnType("flag", "BIT", Types.BIT),
+                       new ColumnType("name", "VARCHAR", Types.VARCHAR)), false);
+
+    Assert.assertEquals("LOAD DATA LOCAL INFILE 'stream' INTO TABLE my_table CHARACTER SET utf8mb4 " +
+                          "(id,@c1,@c2,name) SET data = UNHEX(@c1),flag = CAST(@c2 AS UNSIGNED)", query);
+  }
+
+  @Test
+  public void testConstructLoadDataQueryWithoutAssignments() {
+    String query = LoadDataOutputFormat.constructLoadDataQuery(
+      "my_table", new String[] {"id"}, ImmutableList.of(new ColumnType("id", "INT", Types.INTEGER)), false);
+
+    Assert.assertEquals("LOAD DATA LOCAL INFILE 'stream' INTO TABLE my_table CHARACTER SET utf8mb4 (id)", query);
+  }
+
+  @Test
+  public void testConstructCompressedLoadDataQuery() {
+    String query = LoadDataOutputFormat.constructLoadDataQuery(
+      "my_table", new String[] {"id"}, ImmutableList.of(new ColumnType("id", "INT", Types.INTEGER)), true);
+
+    Assert.assertEquals("LOAD DATA LOCAL INFILE 'stream.gz' INTO TABLE my_table CHARACTER SET utf8mb4 (id)", query);
+  }
+
+  @Test
+  public void testFailedWriteIsRolledBack() throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.createStatement()).thenReturn(Mockito.mock(LoadDataStatement.class));
+    LoadDataOutputFormat<DBRecord, Object> outputFormat = new LoadDataOutputFormat<DBRecord, Object>() {
+      @Override
+      protected Connection getConnection(Configuration conf) {
+        return connection;
+      }
+
+      @Override
+      protected String getSupportedDrivers() {
+        return "the test driver";
+      }
+    };
+    Configuration conf = new Configuration();
+    conf.set(DBConfiguration.OUTPUT_TABLE_NAME_PROPERTY, "my_table");
+    conf.set(DBConfiguration.OUTPUT_FIELD_NAMES_PROPERTY, "id");
+    TaskAttemptContext context = Mockito.mock(TaskAttemptContext.class);
+    Mockito.when(context.getConfiguration()).thenReturn(conf);
+    DBRecord record = Mockito.mock(DBRecord.class);
+    Mockito.when(record.getColumnTypes()).thenReturn(ImmutableList.of(new ColumnType("id", "INT", Types.INTEGER)));
+    Mockito.when(record.getRecord()).thenThrow(new IllegalStateException("Invalid record."));
+
+    RecordWriter<DBRecord, Object> writer = outputFormat.getRecordWriter(context);
+    try {
+      writer.write(record, null);
+      Assert.fail("The write of an invalid record should fail.");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    writer.close(context);
+
+    // a runtime failure discards the rows of the task like an I/O failure
+    Mockito.verify(connection).rollback();
+    Mockito.verify(connection, Mockito.never()).commit();
+  }
+
+  @Test
+  public void testSkippedRowsFailTheTask() throws Exception {
+    LoadDataStatement statement = Mockito.mock(LoadDataStatement.class);
+    Mockito.when(statement.getUpdateCount()).thenReturn(1);
+    assertLoadFails(statement, "Loaded 1 of 2 rows into my_table.");
+  }
+
+  @Test
+  public void testWarningsFailTheTask() throws Exception {
+    LoadDataStatement statement = Mockito.mock(LoadDataStatement.class);
+    Mockito.when(statement.getUpdateCount()).thenReturn(2);
+    Mockito.when(statement.getWarnings()).thenReturn(new SQLWarning("Data truncated for column 'id' at row 2"));
+    assertLoadFails(statement, "Warnings: Data truncated for column 'id' at row 2");
+  }
+
+  private static void assertLoadFails(LoadDataStatement statement, String expectedMessage) throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    Mockito.when(connection.createStatement()).thenReturn(statement);
+    LoadDataOutputFormat<DBRecord, Object> outputFormat = new LoadDataOutputFormat<DBRecord, Object>() {
+      @Override
+      protected Connection getConnection(Configuration conf) {
+        return connection;
+      }
+
+      @Override
+      protected String getSupportedDrivers() {
+        return "the test driver";
+      }
+    };
+    Configuration conf = new Configuration();
+    conf.set(DBConfiguration.OUTPUT_TABLE_NAME_PROPERTY, "my_table");
+    conf.set(DBConfiguration.OUTPUT_FIELD_NAMES_PROPERTY, "id");
+    TaskAttemptContext context = Mockito.mock(TaskAttemptContext.class);
+    Mockito.when(context.getConfiguration()).thenReturn(conf);
+    Schema schema = Schema.recordOf("record", Schema.Field.of("id", Schema.of(Schema.Type.INT)));
+    List<ColumnType> columnTypes = ImmutableList.of(new ColumnType("id", "INT", Types.INTEGER));
+
+    RecordWriter<DBRecord, Object> writer = outputFormat.getRecordWriter(context);
+    for (int id = 1; id <= 2; id++) {
+      writer.write(new DBRecord(StructuredRecord.builder(schema).set("id", id).build(), columnTypes), null);
+    }
+    try {
+      writer.close(context);
+      Assert.fail("A load that skips rows or reports warnings should fail.");
+    } catch (IOException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains(expectedMessage));
+    }
+
+    Mockito.verify(statement).execute(Mockito.startsWith("LOAD DATA LOCAL INFILE"));
+    Mockito.verify(connection).rollback();
+    Mockito.verify(connection, Mockito.never()).commit();
+  }
+
+  /**
+   * Statement of the drivers that load local files from a stream.
+   */
+  public abstract static class LoadDataStatement implements Statement {
+    public abstract void setLocalInfileInputStream(InputStream inputStream);
+  }
+}
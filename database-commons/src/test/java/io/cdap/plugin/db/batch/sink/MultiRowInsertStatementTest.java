@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * Test class for {@link MultiRowInsertStatement}.
+ */
+public class MultiRowInsertStatementTest {
+  private static final String[] COLUMNS = {"id", "name"};
+
+  @Test
+  public void testConstructQuery() {
+    Assert.assertEquals("INSERT INTO items (id, name) VALUES (?, ?)",
+                        MultiRowInsertStatement.constructQuery("items", COLUMNS, 1));
+    Assert.assertEquals("INSERT INTO items (id, name) VALUES (?, ?), (?, ?), (?, ?)",
+                        MultiRowInsertStatement.constructQuery("items", COLUMNS, 3));
+  }
+
+  @Test
+  public void testExecuteBatch() throws Exception {
+    Connection connection = Mockito.mock(Connection.class);
+    PreparedStatement fullStatement = Mockito.mock(PreparedStatement.class);
+    PreparedStatement lastStatement = Mockito.mock(PreparedStatement.class);
+    Mockito.when(connection.prepareStatement(MultiRowInsertStatement.constructQuery("items", COLUMNS, 2)))
+      .thenReturn(fullStatement);
+    Mockito.when(connection.prepareStatement(MultiRowInsertStatement.constructQuery("items", COLUMNS, 1)))
+      .thenReturn(lastStatement);
+
+    PreparedStatement statement = MultiRowInsertStatement.create(connection, "items", COLUMNS, 2);
+    for (int id = 1; id <= 5; id++) {
+      statement.setInt(1, id);
+      if (id == 3) {
+        statement.setNull(2, Types.VARCHAR);
+      } else {
+        statement.setString(2, "item" + id);
+      }
+      statement.addBatch();
+    }
+    Assert.assertArrayEquals(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO,
+                               Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO},
+                             statement.executeBatch());
+
+    // rows 1 to 4 are sent as two statements of two rows, row 5 as a statement of one row
+    Mockito.verify(fullStatement).setInt(1, 1);
+    Mockito.verify(fullStatement).setString(2, "item1");
+    Mockito.verify(fullStatement).setInt(3, 2);
+    Mockito.verify(fullStatement).setString(4, "item2");
+    Mockito.verify(fullStatement).setInt(1, 3);
+    Mockito.verify(fullStatement).setNull(2, Types.VARCHAR);
+    Mockito.verify(fullStatement).setInt(3, 4);
+    Mockito.verify(fullStatement).setString(4, "item4");
+    Mockito.verify(fullStatement, Mockito.times(2)).addBatch();
+    Mockito.verify(fullStatement).executeBatch();
+    Mockito.verify(lastStatement).setInt(1, 5);
+    Mockito.verify(lastStatement).setString(2, "item5");
+    Mockito.verify(lastStatement).executeUpdate();
+
+    // statements are prepared once per number of rows
+    statement.setInt(1, 6);
+    statement.setString(2, "item6");
+    statement.addBatch();
+    Assert.assertEquals(1, statement.executeBatch().length);
+    Mockito.verify(connection, Mockito.times(2)).prepareStatement(Mockito.anyString());
+
+    statement.close();
+    Mockito.verify(fullStatement).close();
+    Mockito.verify(lastStatement).close();
+  }
+
+  @Test
+  public void testDriverConnectionAndClassLoader() throws Exception {
+    Connection pooledConnection = Mockito.mock(Connection.class);
+    Connection driverConnection = Mockito.mock(Connection.class);
+    PreparedStatement driverStatement = Mockito.mock(PreparedStatement.class);
+    Mockito.when(pooledConnection.prepareStatement(Mockito.anyString())).thenReturn(driverStatement);
+    Mockito.when(driverStatement.getConnection()).thenReturn(driverConnection);
+
+    // column writers of database specific types load the classes of the driver from the class loader of the statement
+    PreparedStatement statement = MultiRowInsertStatement.create(pooledConnection, "items", COLUMNS, 2);
+    Assert.assertSame(driverConnection, statement.getConnection());
+    Assert.assertSame(driverStatement.getClass().getClassLoader(), statement.getClass().getClassLoader());
+  }
+}
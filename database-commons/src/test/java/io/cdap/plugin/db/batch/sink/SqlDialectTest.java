@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.plugin.db.ColumnType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for the upsert statements of {@link SqlDialect}.
+ */
+public class SqlDialectTest {
+  private static final String[] FIELDS = {"id", "name", "price"};
+  private static final List<String> KEY = Collections.singletonList("id");
+  private static final List<ColumnType> COLUMN_TYPES = ImmutableList.of(
+    new ColumnType("id", "INTEGER", Types.INTEGER, 10, 0),
+    new ColumnType("name", "VARCHAR", Types.VARCHAR, 64, 0),
+    new ColumnType("price", "DECIMAL", Types.DECIMAL, 12, 2));
+
+  @Test
+  public void testPostgresUpsert() {
+    Assert.assertEquals("INSERT INTO items (id, name, price) VALUES (?, ?, ?) ON CONFLICT (id) "
+                          + "DO UPDATE SET name = EXCLUDED.name, price = EXCLUDED.price",
+                        SqlDialect.POSTGRES.constructUpsertQuery("items", FIELDS, KEY));
+    Assert.assertEquals("INSERT INTO items (id, name) VALUES (?, ?) ON CONFLICT (id, name) DO NOTHING",
+                        SqlDialect.POSTGRES.constructUpsertQuery("items", new String[]{"id", "name"},
+                                                                 ImmutableList.of("id", "name")));
+  }
+
+  @Test
+  public void testMysqlUpsert() {
+    Assert.assertEquals("INSERT INTO items (id, name, price) VALUES (?, ?, ?) "
+                          + "ON DUPLICATE KEY UPDATE name = VALUES(name), price = VALUES(price)",
+                        SqlDialect.MYSQL.constructUpsertQuery("items", FIELDS, KEY));
+    Assert.assertEquals("INSERT INTO items (id) VALUES (?) ON DUPLICATE KEY UPDATE id = VALUES(id)",
+                        SqlDialect.MYSQL.constructUpsertQuery("items", new String[]{"id"}, KEY));
+  }
+
+  @Test
+  public void testMergeUpsert() {
+    String merge = " ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET name = s.name, price = s.price "
+      + "WHEN NOT MATCHED THEN INSERT (id, name, price) VALUES (s.id, s.name, s.price)";
+    Assert.assertEquals("MERGE INTO items t USING (SELECT ? AS id, ? AS name, ? AS price FROM DUAL) s" + merge,
+                        SqlDialect.ORACLE.constructUpsertQuery("items", FIELDS, KEY));
+    Assert.assertEquals("MERGE INTO items t USING (VALUES (?, ?, ?)) AS s (id, name, price)" + merge + ";",
+                        SqlDialect.SQL_SERVER.constructUpsertQuery("items", FIELDS, KEY));
+    Assert.assertEquals("MERGE INTO items t USING (VALUES (?, ?, ?)) AS s (id, name, price)" + merge,
+                        SqlDialect.DB2.constructUpsertQuery("items", FIELDS, KEY));
+    Assert.assertEquals("MERGE INTO items t USING (SELECT ? AS id, ? AS name, ? AS price FROM DUMMY) s" + merge,
+                        SqlDialect.SAP_HANA.constructUpsertQuery("items", FIELDS, KEY));
+    Assert.assertEquals("MERGE INTO items t USING (SELECT ? AS id, ? AS name, ? AS price) s" + merge,
+                        SqlDialect.TERADATA.constructUpsertQuery("items", FIELDS, KEY));
+  }
+
+  @Test
+  public void testTypedMergeUpsert() {
+    String merge = " ON (t.id = s.id) WHEN MATCHED THEN UPDATE SET name = s.name, price = s.price "
+      + "WHEN NOT MATCHED THEN INSERT (id, name, price) VALUES (s.id, s.name, s.price)";
+    Assert.assertEquals("MERGE INTO items t USING (VALUES (CAST(? AS INTEGER), CAST(? AS VARCHAR(64)), "
+                          + "CAST(? AS DECIMAL(12,2)))) AS s (id, name, price)" + merge,
+                        SqlDialect.DB2.constructUpsertQuery("items", FIELDS, KEY, COLUMN_TYPES));
+    Assert.assertEquals("MERGE INTO items t USING (SELECT CAST(? AS INTEGER) AS id, CAST(? AS VARCHAR(64)) AS name, "
+                          + "CAST(? AS DECIMAL(12,2)) AS price) s" + merge,
+                        SqlDialect.TERADATA.constructUpsertQuery("items", FIELDS, KEY, COLUMN_TYPES));
+    // dialects that infer the types of the parameters ignore the column types
+    Assert.assertEquals(SqlDialect.ORACLE.constructUpsertQuery("items", FIELDS, KEY),
+                        SqlDialect.ORACLE.constructUpsertQuery("items", FIELDS, KEY, COLUMN_TYPES));
+  }
+
+  @Test
+  public void testTypeDefinition() {
+    Assert.assertEquals("CHAR(16) FOR BIT DATA", SqlDialect.getTypeDefinition(
+      new ColumnType("id", "CHAR () FOR BIT DATA", Types.BINARY, 16, 0)));
+    Assert.assertEquals("VARBYTE(100)",
+                        SqlDialect.getTypeDefinition(new ColumnType("data", "VARBYTE", Types.VARBINARY, 100, 0)));
+    Assert.assertEquals("TIMESTAMP",
+                        SqlDialect.getTypeDefinition(new ColumnType("ts", "TIMESTAMP", Types.TIMESTAMP, 26, 6)));
+    Assert.assertEquals("VARCHAR", SqlDialect.getTypeDefinition(new ColumnType("name", "VARCHAR", Types.VARCHAR)));
+  }
+
+  @Test
+  public void testMergeUpsertWithKeyColumnsOnly() {
+    Assert.assertEquals("MERGE INTO items t USING (SELECT ? AS id, ? AS name FROM DUAL) s "
+                          + "ON (t.id = s.id AND t.name = s.name) "
+                          + "WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name)",
+                        SqlDialect.ORACLE.constructUpsertQuery("items", new String[]{"id", "name"},
+                                                               ImmutableList.of("id", "name")));
+  }
+
+  @Test
+  public void testStagingQueries() {
+    Assert.assertEquals("CREATE UNLOGGED TABLE items_stg (LIKE items INCLUDING DEFAULTS)",
+                        SqlDialect.POSTGRES.constructCreateStagingTableQuery("items_stg", "items"));
+    Assert.assertEquals("INSERT INTO items (id,name) SELECT id,name FROM items_stg",
+                        SqlDialect.POSTGRES.constructInsertSelectQuery("items", "items_stg", "id,name"));
+    Assert.assertEquals(ImmutableList.of("RENAME TABLE items TO items_old, items_stg TO items", "DROP TABLE items_old"),
+                        SqlDialect.MYSQL.constructSwapQueries("items", "items_stg", "items_old"));
+    Assert.assertEquals("INSERT /*+ APPEND */ INTO items (id,name) SELECT id,name FROM items_stg",
+                        SqlDialect.ORACLE.constructInsertSelectQuery("items", "items_stg", "id,name"));
+    Assert.assertEquals("ALTER TABLE items EXCHANGE PARTITION p1 WITH TABLE items_stg UPDATE GLOBAL INDEXES",
+                        SqlDialect.ORACLE.constructExchangePartitionQuery("items", "p1", "items_stg"));
+
+    Assert.assertTrue(SqlDialect.MYSQL.supportsStagingMode(StagingMode.SWAP));
+    Assert.assertFalse(SqlDialect.MYSQL.supportsStagingMode(StagingMode.EXCHANGE_PARTITION));
+    Assert.assertTrue(SqlDialect.ORACLE.supportsStagingMode(StagingMode.EXCHANGE_PARTITION));
+    Assert.assertFalse(SqlDialect.POSTGRES.supportsStagingMode(StagingMode.SWAP));
+    Assert.assertTrue(SqlDialect.TERADATA.supportsStagingMode(StagingMode.INSERT_SELECT));
+  }
+}
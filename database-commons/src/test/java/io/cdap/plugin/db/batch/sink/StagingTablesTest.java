@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.sink;
+
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link StagingTables}.
+ */
+public class StagingTablesTest {
+  private static final TaskAttemptID ATTEMPT = new TaskAttemptID("20221015", 1, TaskType.MAP, 3, 2);
+
+  @Test
+  public void testGetAttemptTableName() {
+    Assert.assertEquals("my_table_FL_run_20221015_0001_m_000003_2",
+                        StagingTables.getAttemptTableName("my_table", "_FL_", "run", ATTEMPT));
+    Assert.assertEquals("db.my_table_FL_run_20221015_0001_m_000003_2",
+                        StagingTables.getAttemptTableName("db.my_table", "_FL_", "run", ATTEMPT));
+    Assert.assertEquals("\"S\".\"My Table_LD_run_20221015_0001_m_000003_2\"",
+                        StagingTables.getAttemptTableName("\"S\".\"My Table\"", "_LD_", "run", ATTEMPT));
+    // attempts of the same task get their own staging table
+    Assert.assertNotEquals(StagingTables.getAttemptTableName("my_table", "_FL_", "run", ATTEMPT),
+                           StagingTables.getAttemptTableName("my_table", "_FL_", "run",
+                                                             new TaskAttemptID("20221015", 1, TaskType.MAP, 3, 3)));
+    Assert.assertTrue(StagingTables.getAttemptTableName("my_table", "_FL_", "run", ATTEMPT)
+                        .startsWith(StagingTables.getAttemptTablePrefix("my_table", "_FL_", "run")));
+  }
+
+  @Test
+  public void testGetSchemaSeparator() {
+    Assert.assertEquals(-1, StagingTables.getSchemaSeparator("my_table"));
+    Assert.assertEquals(2, StagingTables.getSchemaSeparator("db.my_table"));
+    Assert.assertEquals(3, StagingTables.getSchemaSeparator("\"S\".\"my.table\""));
+  }
+
+  @Test
+  public void testEscapeLikePattern() {
+    Assert.assertEquals("my\\_table\\%\\\\", StagingTables.escapeLikePattern("my_table%\\"));
+  }
+}
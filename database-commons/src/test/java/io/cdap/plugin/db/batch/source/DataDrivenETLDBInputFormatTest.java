@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db.batch.source;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.lib.db.DataDrivenDBInputFormat.DataDrivenDBInputSplit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the quantile split planning of {@link DataDrivenETLDBInputFormat}.
+ */
+public class DataDrivenETLDBInputFormatTest {
+
+  @Test
+  public void testSelectBoundaries() {
+    List<String> samples = ImmutableList.of("1", "2", "3", "4", "5", "6", "7", "8");
+    Assert.assertEquals(ImmutableList.of("3", "5", "7"), DataDrivenETLDBInputFormat.selectBoundaries(samples, 4));
+    Assert.assertEquals(ImmutableList.of("2", "3", "4", "5", "6", "7", "8"),
+                        DataDrivenETLDBInputFormat.selectBoundaries(samples, 8));
+    Assert.assertEquals(Collections.emptyList(),
+                        DataDrivenETLDBInputFormat.selectBoundaries(Collections.emptyList(), 4));
+  }
+
+  @Test
+  public void testSelectBoundariesOfSkewedValues() {
+    // most rows share the lowest value, which can not be divided between splits
+    List<String> samples = ImmutableList.of("1", "1", "1", "1", "1", "1", "2", "3");
+    Assert.assertEquals(ImmutableList.of("2"), DataDrivenETLDBInputFormat.selectBoundaries(samples, 4));
+    Assert.assertEquals(Collections.emptyList(),
+                        DataDrivenETLDBInputFormat.selectBoundaries(ImmutableList.of("1", "1", "1"), 3));
+  }
+
+  @Test
+  public void testGetQuantileSplits() {
+    Assert.assertEquals(ImmutableList.of("( t.id < 10 OR t.id IS NULL ) AND ( 1=1 )",
+                                         "( t.id >= 10 ) AND ( t.id < 250 )",
+                                         "( t.id >= 250 ) AND ( 1=1 )"),
+                        getConditions(DataDrivenETLDBInputFormat.getQuantileSplits("t.id",
+                                                                                   ImmutableList.of("10", "250"))));
+    Assert.assertEquals(ImmutableList.of("( 1=1 ) AND ( 1=1 )"),
+                        getConditions(DataDrivenETLDBInputFormat.getQuantileSplits("id", Collections.emptyList())));
+  }
+
+  @Test
+  public void testToLiteral() throws SQLException {
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    Mockito.when(resultSet.getBigDecimal(1)).thenReturn(new BigDecimal("1E+3"));
+    Mockito.when(resultSet.getString(1)).thenReturn("O'Brien");
+    Mockito.when(resultSet.getDate(1)).thenReturn(Date.valueOf("2021-03-04"));
+    Mockito.when(resultSet.getTimestamp(1)).thenReturn(Timestamp.valueOf("2021-03-04 05:06:07.5"));
+
+    Assert.assertEquals("1000", DataDrivenETLDBInputFormat.toLiteral(resultSet, Types.BIGINT));
+    Assert.assertEquals("1000", DataDrivenETLDBInputFormat.toLiteral(resultSet, Types.NUMERIC));
+    Assert.assertEquals("'O''Brien'", DataDrivenETLDBInputFormat.toLiteral(resultSet, Types.VARCHAR));
+    Assert.assertEquals("{d '2021-03-04'}", DataDrivenETLDBInputFormat.toLiteral(resultSet, Types.DATE));
+    Assert.assertEquals("{ts '2021-03-04 05:06:07.5'}",
+                        DataDrivenETLDBInputFormat.toLiteral(resultSet, Types.TIMESTAMP));
+  }
+
+  @Test(expected = SQLFeatureNotSupportedException.class)
+  public void testToLiteralOfUnsupportedType() throws SQLException {
+    DataDrivenETLDBInputFormat.toLiteral(Mockito.mock(ResultSet.class), Types.BLOB);
+  }
+
+  private static List<String> getConditions(List<InputSplit> splits) {
+    return splits.stream()
+      .map(DataDrivenDBInputSplit.class::cast)
+      .map(split -> String.format("( %s ) AND ( %s )", split.getLowerClause(), split.getUpperClause()))
+      .collect(Collectors.toList());
+  }
+}
@@ -19,12 +19,13 @@ package io.cdap.plugin.db2;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.cdap.etl.api.validation.InvalidStageException;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ColumnWriter;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.List;
@@ -51,21 +52,20 @@ public class DB2Record extends DBRecord {
   }
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
     if (DB2SchemaReader.DB2_TYPES.contains(sqlType)) {
-      handleSpecificType(resultSet, recordBuilder, field, columnIndex);
-    } else {
-      setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+      return createSpecificTypeColumnReader(metadata, field, columnIndex);
     }
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 
   @Override
-  public void write(PreparedStatement stmt) throws SQLException {
+  public void write(PreparedStatement stmt, ColumnWriter[] columnWriters) throws SQLException {
     // DB2 driver throws SQLException if data conversation fails, but SQLException is skipped.
     // So we need to throw another exception to fail pipeline in this case.
     try {
-      super.write(stmt);
+      super.write(stmt, columnWriters);
     } catch (SQLException e) {
       if (e.getErrorCode() == ILLEGAL_CONVERSION_ERROR_CODE) {
         throw new InvalidStageException(e.getMessage(), e);
@@ -75,16 +75,14 @@ public class DB2Record extends DBRecord {
     }
   }
 
-  private void handleSpecificType(ResultSet resultSet,
-                                  StructuredRecord.Builder recordBuilder,
-                                  Schema.Field field, int columnIndex) throws SQLException {
-
-    ResultSetMetaData metaData = resultSet.getMetaData();
-
+  private ColumnReader createSpecificTypeColumnReader(ResultSetMetaData metaData, Schema.Field field,
+                                                      int columnIndex) throws SQLException {
+    String fieldName = field.getName();
     String columnTypeName = metaData.getColumnTypeName(columnIndex);
 
     if (DB2SchemaReader.DB2_DECFLOAT.equals(columnTypeName)) {
-      recordBuilder.set(field.getName(), resultSet.getString(columnIndex));
+      return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
     }
+    return (resultSet, recordBuilder) -> { };
   }
 }
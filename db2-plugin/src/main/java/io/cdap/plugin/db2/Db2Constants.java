@@ -27,4 +27,6 @@ public final class Db2Constants {
 
   public static final String PLUGIN_NAME = "Db2";
   public static final String DB2_CONNECTION_STRING_FORMAT = "jdbc:db2://%s:%s/%s";
+  public static final String WRITE_MODE = "writeMode";
+  public static final String ALLOW_REJECTED_ROWS = "allowRejectedRows";
 }
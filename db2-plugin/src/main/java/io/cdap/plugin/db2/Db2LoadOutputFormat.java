@@ -0,0 +1,278 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db2;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.batch.sink.StagingTables;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that writes records to DB2 with the LOAD utility.
+ *
+ * <p>Every task attempt stages its records in its own table, named after the run and the attempt and created with
+ * the columns of the target table, with the NOT ATOMIC multi-row inserts of {@link Db2MultiRowInsertOutputFormat}.
+ * Once the staged rows are committed, they are loaded into the target table in one pass by 'SYSPROC.ADMIN_CMD' with
+ * 'LOAD FROM (SELECT ...) OF CURSOR', and the staging table is dropped. The staging tables left by attempts that did
+ * not finish are dropped once the run finishes, see {@link #dropStagingTables(Connection, String, String)}.</p>
+ *
+ * <p>The load is not recoverable by a roll forward and commits on its own. Rows that the load rejects or deletes
+ * fail the task, with the query that retrieves the messages of the load, unless they are allowed by
+ * {@link #ALLOW_REJECTED_ROWS}, in which case they are logged.</p>
+ *
+ * <p>A declared global temporary table can not be used for staging, since it is only visible to the session that
+ * declared it and the load reads the rows through its own cursor.</p>
+ *
+ * @param <K> key class
+ * @param <V> value class
+ */
+public class Db2LoadOutputFormat<K extends DBWritable, V> extends Db2MultiRowInsertOutputFormat<K, V> {
+
+  public static final String ALLOW_REJECTED_ROWS = "io.cdap.plugin.db2.load.allow.rejected.rows";
+
+  private static final Logger LOG = LoggerFactory.getLogger(Db2LoadOutputFormat.class);
+  private static final String STAGING_TABLE_INFIX = "_LD_";
+  private static final String STAGING_TABLES_QUERY = "SELECT TABNAME FROM SYSCAT.TABLES " +
+    "WHERE TABSCHEMA = %s AND TABNAME LIKE ? ESCAPE '\\' AND TYPE = 'T'";
+  // SQLCODE of an undefined object name
+  private static final int UNDEFINED_NAME = -204;
+
+  @Nullable
+  private String stagingTable;
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    Configuration conf = context.getConfiguration();
+    DBConfiguration dbConf = new DBConfiguration(conf);
+    String tableName = dbConf.getOutputTableName();
+    String columns = String.join(",", dbConf.getOutputFieldNames());
+
+    Connection connection = getConnection(conf);
+    try {
+      String staging = StagingTables.getAttemptTableName(tableName, STAGING_TABLE_INFIX,
+                                                         new ConnectionConfigAccessor(conf).getRunId(),
+                                                         context.getTaskAttemptID());
+      executeAndCommit(connection, String.format("CREATE TABLE %s AS (SELECT %s FROM %s) WITH NO DATA",
+                                                 staging, columns, tableName));
+      stagingTable = staging;
+      // the records are written to the staging table, see constructQuery()
+      return new LoadRecordWriter(super.getRecordWriter(context), connection, tableName, columns,
+                                  conf.getBoolean(ALLOW_REJECTED_ROWS, false));
+    } catch (SQLException | RuntimeException e) {
+      dropStagingTable(connection);
+      closeQuietly(connection);
+      throw new IOException(String.format("Unable to create the staging table of the load into table '%s'.",
+                                          tableName), e);
+    }
+  }
+
+  @Override
+  public String constructQuery(String table, String[] fieldNames) {
+    return super.constructQuery(stagingTable == null ? table : stagingTable, fieldNames);
+  }
+
+  /**
+   * Returns the command that loads the rows of the staging table into the target table.
+   */
+  @VisibleForTesting
+  static String getLoadCommand(String stagingTable, String tableName, String columns) {
+    return String.format("LOAD FROM (SELECT %s FROM %s) OF CURSOR MESSAGES ON SERVER INSERT INTO %s (%s) " +
+                           "NONRECOVERABLE", columns, stagingTable, tableName, columns);
+  }
+
+  /**
+   * Drops the staging tables that the task attempts of a run left behind, for example when an attempt was killed
+   * before its writer was closed.
+   *
+   * @param connection connection to the database
+   * @param tableName name of the target table of the tasks
+   * @param runId identifier of the run, see {@link ConnectionConfigAccessor#getRunId()}
+   */
+  public static void dropStagingTables(Connection connection, String tableName, String runId) throws SQLException {
+    // the staging tables are created in the schema of the target table
+    String prefix = StagingTables.getAttemptTablePrefix(tableName, STAGING_TABLE_INFIX, runId);
+    int separator = StagingTables.getSchemaSeparator(prefix);
+    String schema = separator < 0 ? null : prefix.substring(0, separator);
+    List<String> stagingTables = new ArrayList<>();
+    String query = String.format(STAGING_TABLES_QUERY, schema == null ? "CURRENT SCHEMA" : "?");
+    try (PreparedStatement statement = connection.prepareStatement(query)) {
+      int index = 1;
+      if (schema != null) {
+        statement.setString(index++, toCatalogName(schema));
+      }
+      statement.setString(index, StagingTables.escapeLikePattern(toCatalogName(prefix.substring(separator + 1)))
+        + "%");
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          String stagingTable = "\"" + resultSet.getString(1).replace("\"", "\"\"") + "\"";
+          stagingTables.add(schema == null ? stagingTable : schema + "." + stagingTable);
+        }
+      }
+    }
+    connection.setAutoCommit(false);
+    for (String stagingTable : stagingTables) {
+      LOG.info("Dropping load staging table {} left by a task attempt.", stagingTable);
+      dropTableIfExists(connection, stagingTable);
+    }
+  }
+
+  /**
+   * Returns the name of the given identifier in the catalog, where ordinary identifiers are in upper case.
+   */
+  private static String toCatalogName(String identifier) {
+    if (identifier.length() > 1 && identifier.startsWith("\"") && identifier.endsWith("\"")) {
+      return identifier.substring(1, identifier.length() - 1).replace("\"\"", "\"");
+    }
+    return identifier.toUpperCase();
+  }
+
+  private void load(Connection connection, String tableName, String columns, boolean allowRejectedRows)
+    throws SQLException, IOException {
+    try (CallableStatement statement = connection.prepareCall("CALL SYSPROC.ADMIN_CMD(?)")) {
+      statement.setString(1, getLoadCommand(stagingTable, tableName, columns));
+      if (statement.execute()) {
+        try (ResultSet resultSet = statement.getResultSet()) {
+          if (resultSet.next()) {
+            long loaded = resultSet.getLong("ROWS_LOADED");
+            long rejected = resultSet.getLong("ROWS_REJECTED");
+            long deleted = resultSet.getLong("ROWS_DELETED");
+            LOG.debug("Loaded {} rows into table {}.", loaded, tableName);
+            if (rejected > 0 || deleted > 0) {
+              String message = String.format("The load into table %s rejected %d rows and deleted %d rows. The " +
+                                               "messages of the load can be retrieved with '%s'.", tableName,
+                                             rejected, deleted, resultSet.getString("MSG_RETRIEVAL"));
+              if (!allowRejectedRows) {
+                // the loaded rows are already committed by the load
+                throw new IOException(message + String.format(" The %d loaded rows are committed.", loaded));
+              }
+              LOG.warn(message);
+            }
+          }
+        }
+      }
+    }
+    connection.commit();
+  }
+
+  private void dropStagingTable(Connection connection) {
+    if (stagingTable == null) {
+      return;
+    }
+    try {
+      dropTableIfExists(connection, stagingTable);
+    } catch (SQLException e) {
+      LOG.warn("Unable to drop load staging table {}.", stagingTable, e);
+    }
+  }
+
+  private static void dropTableIfExists(Connection connection, String table) throws SQLException {
+    try {
+      executeAndCommit(connection, "DROP TABLE " + table);
+    } catch (SQLException e) {
+      if (e.getErrorCode() != UNDEFINED_NAME) {
+        throw e;
+      }
+      connection.rollback();
+    }
+  }
+
+  private static void executeAndCommit(Connection connection, String query) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate(query);
+    }
+    connection.commit();
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LOG.warn("Unable to close connection.", e);
+    }
+  }
+
+  /**
+   * Writes records to the staging table of the task, and loads them into the target table once they are
+   * committed.
+   */
+  private class LoadRecordWriter extends RecordWriter<K, V> {
+    private final RecordWriter<K, V> delegate;
+    private final Connection connection;
+    private final String tableName;
+    private final String columns;
+    private final boolean allowRejectedRows;
+    private boolean written;
+    private boolean failed;
+
+    LoadRecordWriter(RecordWriter<K, V> delegate, Connection connection, String tableName, String columns,
+                     boolean allowRejectedRows) {
+      this.delegate = delegate;
+      this.connection = connection;
+      this.tableName = tableName;
+      this.columns = columns;
+      this.allowRejectedRows = allowRejectedRows;
+    }
+
+    @Override
+    public void write(K key, V value) throws IOException, InterruptedException {
+      written = true;
+      try {
+        delegate.write(key, value);
+      } catch (IOException | RuntimeException e) {
+        failed = true;
+        throw e;
+      }
+    }
+
+    @Override
+    public void close(TaskAttemptContext context) throws IOException, InterruptedException {
+      try {
+        delegate.close(context);
+        if (written && !failed) {
+          load(connection, tableName, columns, allowRejectedRows);
+        }
+      } catch (SQLException e) {
+        try {
+          connection.rollback();
+        } catch (SQLException ex) {
+          LOG.warn("Unable to roll back the transaction.", ex);
+        }
+        throw new IOException(e);
+      } finally {
+        dropStagingTable(connection);
+        closeQuietly(connection);
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db2;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that sends every batch of a task as a NOT ATOMIC multi-row insert, so that the server processes
+ * all rows of a batch even if some of them fail. The driver is switched to NOT ATOMIC inserts by the
+ * {@link #ATOMIC_MULTI_ROW_INSERT} connection argument, and a failed batch is reported as a chunk, with the range of
+ * its rows in the task, the positions of the failed rows and the errors chained by the driver.
+ *
+ * @param <K> key class
+ * @param <V> value class
+ */
+public class Db2MultiRowInsertOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+
+  public static final String ATOMIC_MULTI_ROW_INSERT = "atomicMultiRowInsert";
+  // value of the driver property for NOT ATOMIC multi-row inserts
+  public static final String NOT_ATOMIC = "2";
+  public static final int DEFAULT_BATCH_SIZE = 10000;
+
+  private static final int MAX_REPORTED_FAILURES = 5;
+
+  private long chunks;
+  private long rowsWritten;
+
+  /**
+   * Configures the output format. Batches default to {@link #DEFAULT_BATCH_SIZE} rows unless batch settings are
+   * configured.
+   *
+   * @param configAccessor accessor of the configuration of the output format
+   * @param batchSize configured maximum number of rows in a batch
+   * @param batchSizeBytes configured maximum estimated size in bytes of a batch
+   */
+  public static void configure(ConnectionConfigAccessor configAccessor, @Nullable Integer batchSize,
+                               @Nullable Long batchSizeBytes) {
+    if (batchSize == null && batchSizeBytes == null) {
+      configAccessor.setBatchSize(DEFAULT_BATCH_SIZE);
+    }
+  }
+
+  @Override
+  protected int[] executeBatch(PreparedStatement statement, int rows) throws SQLException {
+    long chunk;
+    long firstRow;
+    // batches of parallel writers are numbered in the order they are executed
+    synchronized (this) {
+      chunk = ++chunks;
+      firstRow = rowsWritten + 1;
+      rowsWritten += rows;
+    }
+    try {
+      return super.executeBatch(statement, rows);
+    } catch (BatchUpdateException e) {
+      throw new SQLException(describeFailure(e, chunk, firstRow, rows), e.getSQLState(), e.getErrorCode(), e);
+    }
+  }
+
+  /**
+   * Describes the failure of a chunk of rows from the update counts and the chained errors of the exception.
+   *
+   * @param e the exception thrown by the driver
+   * @param chunk the number of the chunk in the task, starting at 1
+   * @param firstRow the position of the first row of the chunk in the task, starting at 1
+   * @param rows the number of rows in the chunk
+   */
+  @VisibleForTesting
+  static String describeFailure(BatchUpdateException e, long chunk, long firstRow, int rows) {
+    StringBuilder description = new StringBuilder(String.format("Chunk %d with rows %d to %d failed: ",
+                                                                chunk, firstRow, firstRow + rows - 1));
+    int[] updateCounts = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+    if (updateCounts.length < rows) {
+      // the driver stops at the first failure of an atomic batch
+      description.append(String.format("row %d failed and the following rows were not processed.",
+                                       firstRow + updateCounts.length));
+    } else {
+      List<Long> failedRows = new ArrayList<>();
+      int failures = 0;
+      for (int i = 0; i < updateCounts.length; i++) {
+        if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+          if (failures++ < MAX_REPORTED_FAILURES) {
+            failedRows.add(firstRow + i);
+          }
+        }
+      }
+      description.append(String.format("%d of %d rows failed, first failed rows: %s.", failures, rows, failedRows));
+    }
+
+    SQLException next = e.getNextException();
+    if (next == null) {
+      description.append(" Error: ").append(e.getMessage());
+    }
+    for (int i = 0; next != null && i < MAX_REPORTED_FAILURES; i++, next = next.getNextException()) {
+      description.append(" Error: ").append(next.getMessage());
+    }
+    return description.toString();
+  }
+}
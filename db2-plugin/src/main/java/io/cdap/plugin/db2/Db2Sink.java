@@ -16,19 +16,31 @@
 
 package io.cdap.plugin.db2;
 
+import com.google.common.collect.ImmutableMap;
 import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import javax.annotation.Nullable;
+
 
 /**
  * Sink support for a DB2 database.
@@ -50,10 +62,55 @@ public class Db2Sink extends AbstractDBSink<Db2Sink.Db2SinkConfig> {
    * DB2 action configuration.
    */
   public static class Db2SinkConfig extends DBSpecificSinkConfig {
+
+    @Name(Db2Constants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+      "'MULTI_ROW_INSERT' writes each batch as a NOT ATOMIC multi-row insert and reports the failed rows of a " +
+      "batch, 'LOAD' stages the records of each task in a table and loads them with the LOAD utility. " +
+      "Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Name(Db2Constants.ALLOW_REJECTED_ROWS)
+    @Description("Whether rows that the LOAD utility rejects or deletes in 'LOAD' write mode are only logged. " +
+      "Otherwise they fail the task, and the rows already loaded by the task stay committed. Defaults to false.")
+    @Macro
+    @Nullable
+    private Boolean allowRejectedRows;
+
     @Override
     public String getConnectionString() {
       return String.format(Db2Constants.DB2_CONNECTION_STRING_FORMAT, host, port, database);
     }
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Boolean getAllowRejectedRows() {
+      return allowRejectedRows;
+    }
+
+    @Override
+    protected Map<String, String> getDBSpecificArguments() {
+      // rows are sent as NOT ATOMIC multi-row inserts in both the multi-row insert and load modes
+      if (containsMacro(Db2Constants.WRITE_MODE) || isInsert()) {
+        return Collections.emptyMap();
+      }
+      return ImmutableMap.of(Db2MultiRowInsertOutputFormat.ATOMIC_MULTI_ROW_INSERT,
+                             Db2MultiRowInsertOutputFormat.NOT_ATOMIC);
+    }
+
+    private boolean isInsert() {
+      try {
+        return Db2WriteMode.from(writeMode) == Db2WriteMode.INSERT;
+      } catch (IllegalArgumentException e) {
+        return true;
+      }
+    }
   }
 
   @Override
@@ -70,4 +127,46 @@ public class Db2Sink extends AbstractDBSink<Db2Sink.Db2SinkConfig> {
   protected FieldsValidator getFieldsValidator() {
     return new DB2FieldsValidator();
   }
+
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!db2SinkConfig.containsMacro(Db2Constants.WRITE_MODE)) {
+      Db2WriteMode.validate(db2SinkConfig.getWriteMode(), collector);
+    }
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.DB2;
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    switch (Db2WriteMode.from(db2SinkConfig.getWriteMode())) {
+      case MULTI_ROW_INSERT:
+        return Db2MultiRowInsertOutputFormat.class;
+      case LOAD:
+        return Db2LoadOutputFormat.class;
+      default:
+        return super.getOutputFormatClass();
+    }
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (Db2WriteMode.from(db2SinkConfig.getWriteMode()) != Db2WriteMode.INSERT) {
+      Db2MultiRowInsertOutputFormat.configure(configAccessor, db2SinkConfig.getBatchSize(),
+                                              db2SinkConfig.getBatchSizeBytes());
+    }
+    configAccessor.getConfiguration().setBoolean(Db2LoadOutputFormat.ALLOW_REJECTED_ROWS,
+                                                 Boolean.TRUE.equals(db2SinkConfig.getAllowRejectedRows()));
+  }
+
+  @Override
+  protected void cleanupTasks(Connection connection, String tableName, String runId) throws SQLException {
+    if (Db2WriteMode.from(db2SinkConfig.getWriteMode()) == Db2WriteMode.LOAD) {
+      Db2LoadOutputFormat.dropStagingTables(connection, tableName, runId);
+    }
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.db2;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tests for {@link Db2MultiRowInsertOutputFormat} and {@link Db2LoadOutputFormat}.
+ */
+public class Db2OutputFormatTest {
+
+  @Test
+  public void testDescribeNotAtomicFailure() {
+    BatchUpdateException e = new BatchUpdateException("Batch failure.", new int[] {1, Statement.EXECUTE_FAILED, 1,
+      Statement.EXECUTE_FAILED});
+    e.setNextException(new SQLException("Row 2 is invalid."));
+    e.setNextException(new SQLException("Row 4 is invalid."));
+
+    Assert.assertEquals("Chunk 3 with rows 21 to 24 failed: 2 of 4 rows failed, first failed rows: [22, 24]. " +
+                          "Error: Row 2 is invalid. Error: Row 4 is invalid.",
+                        Db2MultiRowInsertOutputFormat.describeFailure(e, 3, 21, 4));
+  }
+
+  @Test
+  public void testDescribeAtomicFailure() {
+    BatchUpdateException e = new BatchUpdateException("Batch failure.", new int[] {1});
+
+    Assert.assertEquals("Chunk 1 with rows 1 to 3 failed: row 2 failed and the following rows were not processed. " +
+                          "Error: Batch failure.",
+                        Db2MultiRowInsertOutputFormat.describeFailure(e, 1, 1, 3));
+  }
+
+  @Test
+  public void testGetLoadCommand() {
+    Assert.assertEquals("LOAD FROM (SELECT ID,NAME FROM USERS_LD0) OF CURSOR MESSAGES ON SERVER " +
+                          "INSERT INTO USERS (ID,NAME) NONRECOVERABLE",
+                        Db2LoadOutputFormat.getLoadCommand("USERS_LD0", "USERS", "ID,NAME"));
+  }
+
+  @Test
+  public void testDropStagingTables() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    PreparedStatement query = Mockito.mock(PreparedStatement.class);
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    Mockito.when(resultSet.next()).thenReturn(true, false);
+    Mockito.when(resultSet.getString(1)).thenReturn("USERS_LD_RUN_20221015_0001_M_000003_0");
+    Mockito.when(query.executeQuery()).thenReturn(resultSet);
+    Mockito.when(connection.prepareStatement(ArgumentMatchers.contains("CURRENT SCHEMA"))).thenReturn(query);
+    Statement statement = Mockito.mock(Statement.class);
+    Mockito.when(connection.createStatement()).thenReturn(statement);
+
+    Db2LoadOutputFormat.dropStagingTables(connection, "users", "run");
+
+    // ordinary identifiers are stored in upper case
+    Mockito.verify(query).setString(1, "USERS\\_LD\\_RUN\\_%");
+    Mockito.verify(statement).executeUpdate("DROP TABLE \"USERS_LD_RUN_20221015_0001_M_000003_0\"");
+  }
+}
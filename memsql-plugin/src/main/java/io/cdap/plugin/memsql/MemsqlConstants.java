@@ -36,6 +36,11 @@ public final class MemsqlConstants {
   public static final String TRUST_STORE = "trustStore";
   public static final String TRUST_STORE_PASSWORD = "trustStorePassword";
   public static final String MEMSQL_CONNECTION_STRING_FORMAT = "jdbc:mariadb://%s:%s/%s";
+  public static final String ALLOW_LOCAL_INFILE = "allowLocalInfile";
+  public static final String WRITE_MODE = "writeMode";
+  public static final String LOAD_DATA_BUFFER_SIZE = "loadDataBufferSize";
+  public static final String LOAD_DATA_STREAMS = "loadDataStreams";
+  public static final String LOAD_DATA_COMPRESSION = "loadDataCompression";
 
   /**
    * Query to append 'ANSI_QUOTES' sql mode to the current value of SQL_MODE system variable.
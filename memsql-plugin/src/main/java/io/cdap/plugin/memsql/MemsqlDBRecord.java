@@ -16,11 +16,11 @@
 
 package io.cdap.plugin.memsql;
 
-import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.DBRecord;
 
-import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 
@@ -30,20 +30,24 @@ import java.sql.Types;
 public class MemsqlDBRecord extends DBRecord {
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+    String fieldName = field.getName();
     Schema.Type fieldType = field.getSchema().isNullable() ? field.getSchema().getNonNullable().getType()
       : field.getSchema().getType();
 
     // In MemqSQL bool stores as tinyint
     if (fieldType == Schema.Type.BOOLEAN && sqlType == Types.TINYINT) {
-      Integer value = resultSet.getInt(columnIndex);
-      recordBuilder.set(field.getName(), value > 0);
+      return (resultSet, recordBuilder) -> {
+        Integer value = resultSet.getInt(columnIndex);
+        recordBuilder.set(fieldName, value > 0);
+      };
     } else if (sqlType == Types.BIT) {
-      Boolean value = resultSet.getBoolean(columnIndex);
-      recordBuilder.set(field.getName(), value);
-    } else {
-      setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+      return (resultSet, recordBuilder) -> {
+        Boolean value = resultSet.getBoolean(columnIndex);
+        recordBuilder.set(fieldName, value);
+      };
     }
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 }
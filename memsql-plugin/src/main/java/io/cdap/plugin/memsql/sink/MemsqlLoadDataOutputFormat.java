@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.memsql.sink;
+
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.batch.sink.LoadDataOutputFormat;
+import io.cdap.plugin.memsql.MemsqlConstants;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that loads records with 'LOAD DATA LOCAL INFILE' instead of batched inserts. Each task spreads the
+ * rows over {@link #DEFAULT_STREAMS} concurrent load streams by default, which keep all leaf partitions busy.
+ *
+ * @param <K> - Key passed to this class to be written, must be a {@link DBRecord}
+ * @param <V> - Value passed to this class to be written. The value is ignored.
+ */
+public class MemsqlLoadDataOutputFormat<K extends DBWritable, V> extends LoadDataOutputFormat<K, V> {
+  public static final int DEFAULT_STREAMS = 4;
+
+  /**
+   * Sets the load settings that are specified, and enables 'LOAD DATA LOCAL' in the driver.
+   *
+   * @param configAccessor accessor of the output format configuration
+   * @param bufferSize size in bytes of the buffer loaded by each statement
+   * @param streams number of concurrent load streams of each task
+   * @param compression whether buffers are gzip compressed before they are sent
+   */
+  public static void configure(ConnectionConfigAccessor configAccessor, @Nullable Integer bufferSize,
+                               @Nullable Integer streams, @Nullable Boolean compression) {
+    Map<String, String> connectionArguments = new HashMap<>(configAccessor.getConnectionArguments());
+    connectionArguments.put(MemsqlConstants.ALLOW_LOCAL_INFILE, "true");
+    configAccessor.setConnectionArguments(connectionArguments);
+    LoadDataOutputFormat.configure(configAccessor, bufferSize, streams == null ? DEFAULT_STREAMS : streams,
+                                   compression);
+  }
+
+  @Override
+  protected String getSupportedDrivers() {
+    return "the MariaDB Connector/J 2.x driver";
+  }
+}
@@ -19,9 +19,13 @@ package io.cdap.plugin.memsql.sink;
 import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
 import io.cdap.plugin.memsql.MemsqlConstants;
 
 /**
@@ -43,4 +47,38 @@ public class MemsqlSink extends AbstractDBSink<MemsqlSinkConfig> {
   protected FieldsValidator getFieldsValidator() {
     return new MemsqlFieldsValidator();
   }
+
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!memsqlSinkConfig.containsMacro(MemsqlConstants.WRITE_MODE)) {
+      MemsqlWriteMode.validate(memsqlSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, MemsqlConstants.LOAD_DATA_BUFFER_SIZE, memsqlSinkConfig.getLoadDataBufferSize(),
+                     "Load data buffer size");
+    validatePositive(collector, MemsqlConstants.LOAD_DATA_STREAMS, memsqlSinkConfig.getLoadDataStreams(),
+                     "Load data streams");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.MYSQL;
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (MemsqlWriteMode.from(memsqlSinkConfig.getWriteMode()) == MemsqlWriteMode.LOAD_DATA) {
+      return MemsqlLoadDataOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (MemsqlWriteMode.from(memsqlSinkConfig.getWriteMode()) == MemsqlWriteMode.LOAD_DATA) {
+      MemsqlLoadDataOutputFormat.configure(configAccessor, memsqlSinkConfig.getLoadDataBufferSize(),
+                                           memsqlSinkConfig.getLoadDataStreams(),
+                                           memsqlSinkConfig.getLoadDataCompression());
+    }
+  }
 }
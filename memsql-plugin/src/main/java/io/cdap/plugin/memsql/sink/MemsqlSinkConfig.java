@@ -17,6 +17,7 @@
 package io.cdap.plugin.memsql.sink;
 
 import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.memsql.MemsqlConstants;
@@ -65,6 +66,54 @@ public class MemsqlSinkConfig extends DBSpecificSinkConfig {
   @Nullable
   public String trustStorePassword;
 
+  @Name(MemsqlConstants.WRITE_MODE)
+  @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+    "'LOAD_DATA' streams the records through concurrent 'LOAD DATA LOCAL INFILE' statements. Defaults to 'INSERT'.")
+  @Macro
+  @Nullable
+  private String writeMode;
+
+  @Name(MemsqlConstants.LOAD_DATA_BUFFER_SIZE)
+  @Description("Size in bytes of the buffer of rows that is loaded by each statement in 'LOAD_DATA' write mode. " +
+    "Defaults to 16777216.")
+  @Macro
+  @Nullable
+  private Integer loadDataBufferSize;
+
+  @Name(MemsqlConstants.LOAD_DATA_STREAMS)
+  @Description("Number of concurrent load streams of each task in 'LOAD_DATA' write mode, each with its own " +
+    "connection. Defaults to 4.")
+  @Macro
+  @Nullable
+  private Integer loadDataStreams;
+
+  @Name(MemsqlConstants.LOAD_DATA_COMPRESSION)
+  @Description("Whether the buffers of rows are gzip compressed before they are sent in 'LOAD_DATA' write mode. " +
+    "Defaults to false.")
+  @Macro
+  @Nullable
+  private Boolean loadDataCompression;
+
+  @Nullable
+  public String getWriteMode() {
+    return writeMode;
+  }
+
+  @Nullable
+  public Integer getLoadDataBufferSize() {
+    return loadDataBufferSize;
+  }
+
+  @Nullable
+  public Integer getLoadDataStreams() {
+    return loadDataStreams;
+  }
+
+  @Nullable
+  public Boolean getLoadDataCompression() {
+    return loadDataCompression;
+  }
+
   @Override
   public String getConnectionString() {
     return MemsqlUtil.getConnectionString(host, port, database);
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.memsql.sink;
+
+import io.cdap.cdap.etl.api.FailureCollector;
+import io.cdap.plugin.memsql.MemsqlConstants;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * How a MemSQL sink writes records.
+ */
+public enum MemsqlWriteMode {
+  /**
+   * Batched 'INSERT' statements.
+   */
+  INSERT,
+  /**
+   * Concurrent 'LOAD DATA LOCAL INFILE' streams through {@link MemsqlLoadDataOutputFormat}.
+   */
+  LOAD_DATA;
+
+  /**
+   * Returns the write mode of the given value, defaults to {@link #INSERT} if the value is {@code null}.
+   */
+  public static MemsqlWriteMode from(@Nullable String value) {
+    return value == null ? INSERT : valueOf(value.toUpperCase());
+  }
+
+  /**
+   * Validates that the given value is either null or one of the write modes.
+   *
+   * @param value the value to check
+   * @param collector failure collector
+   */
+  public static void validate(@Nullable String value, FailureCollector collector) {
+    try {
+      from(value);
+    } catch (IllegalArgumentException e) {
+      collector.addFailure(String.format("Unsupported write mode '%s'.", value),
+                           String.format("Write mode must be one of the following values: %s",
+                                         Arrays.toString(values())))
+        .withConfigProperty(MemsqlConstants.WRITE_MODE);
+    }
+  }
+}
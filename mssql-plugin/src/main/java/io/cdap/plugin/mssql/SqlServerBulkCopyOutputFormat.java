@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mssql;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Output format that loads records through the bulk copy API of the SQL Server driver instead of batched inserts.
+ * Records are buffered and each full buffer is sent by one 'SQLServerBulkCopy.writeToServer' call, reading the
+ * records through a {@link SqlServerBulkRecord}. The bulk copy uses the transaction of the task connection, which
+ * is committed when the task completes.
+ *
+ * @param <K> - Key passed to this class to be written, must be a {@link DBRecord}
+ * @param <V> - Value passed to this class to be written. The value is ignored.
+ */
+public class SqlServerBulkCopyOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+  public static final String BATCH_SIZE = "io.cdap.plugin.mssql.bulk.copy.batch.size";
+  public static final String TABLE_LOCK = "io.cdap.plugin.mssql.bulk.copy.table.lock";
+  public static final String CHECK_CONSTRAINTS = "io.cdap.plugin.mssql.bulk.copy.check.constraints";
+  public static final String FIRE_TRIGGERS = "io.cdap.plugin.mssql.bulk.copy.fire.triggers";
+  public static final int DEFAULT_BATCH_SIZE = 10000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(SqlServerBulkCopyOutputFormat.class);
+  private static final String DRIVER_PACKAGE = "com.microsoft.sqlserver.jdbc.";
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    Configuration conf = context.getConfiguration();
+    DBConfiguration dbConf = new DBConfiguration(conf);
+    try {
+      ClassLoader driverClassLoader =
+        conf.getClassLoader().loadClass(conf.get(DBConfiguration.DRIVER_CLASS_PROPERTY)).getClassLoader();
+      return new BulkCopyRecordWriter(getConnection(conf), driverClassLoader, dbConf.getOutputTableName(),
+                                      dbConf.getOutputFieldNames(), conf);
+    } catch (Exception e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
+  /**
+   * Writes records through a 'SQLServerBulkCopy' of the connection. The driver classes are accessed through
+   * reflection, since they are loaded by the class loader of the JDBC plugin. The bulk copy is created with the
+   * first record, which provides the column types, so that tasks without records do not issue any statement.
+   */
+  private class BulkCopyRecordWriter extends RecordWriter<K, V> {
+    private final Connection connection;
+    private final ClassLoader driverClassLoader;
+    private final String tableName;
+    private final String[] fieldNames;
+    private final int batchSize;
+    private final boolean tableLock;
+    private final boolean checkConstraints;
+    private final boolean fireTriggers;
+    private final List<StructuredRecord> pendingRecords;
+    private long copiedRows;
+    private SqlServerBulkRecord bulkRecord;
+    private Object bulkRecordProxy;
+    private Object bulkCopy;
+    private Method writeToServer;
+    private boolean failed;
+
+    BulkCopyRecordWriter(Connection connection, ClassLoader driverClassLoader, String tableName,
+                         String[] fieldNames, Configuration conf) {
+      this.connection = connection;
+      this.driverClassLoader = driverClassLoader;
+      this.tableName = tableName;
+      this.fieldNames = fieldNames;
+      this.batchSize = conf.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE);
+      this.tableLock = conf.getBoolean(TABLE_LOCK, false);
+      this.checkConstraints = conf.getBoolean(CHECK_CONSTRAINTS, false);
+      this.fireTriggers = conf.getBoolean(FIRE_TRIGGERS, false);
+      this.pendingRecords = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void write(K key, V value) throws IOException {
+      if (!(key instanceof DBRecord)) {
+        throw new IOException(String.format("Bulk copy requires records of type '%s', but found '%s'.",
+                                            DBRecord.class.getName(), key.getClass().getName()));
+      }
+      DBRecord dbRecord = (DBRecord) key;
+      try {
+        if (bulkCopy == null) {
+          prepare(dbRecord.getColumnTypes());
+        }
+        pendingRecords.add(dbRecord.getRecord());
+        if (pendingRecords.size() >= batchSize) {
+          copyPendingRecords();
+        }
+      } catch (IOException e) {
+        failed = true;
+        throw e;
+      }
+    }
+
+    @Override
+    public void close(TaskAttemptContext context) throws IOException {
+      try {
+        if (bulkCopy != null) {
+          if (failed) {
+            connection.rollback();
+          } else {
+            copyPendingRecords();
+            connection.commit();
+            LOG.debug("Copied {} rows into {}.", copiedRows, tableName);
+          }
+        }
+      } catch (IOException | SQLException e) {
+        try {
+          connection.rollback();
+        } catch (SQLException ex) {
+          LOG.warn("Failed to rollback the transaction.", ex);
+        }
+        throw e instanceof IOException ? (IOException) e : new IOException(e);
+      } finally {
+        try {
+          if (bulkCopy != null) {
+            bulkCopy.getClass().getMethod("close").invoke(bulkCopy);
+          }
+        } catch (ReflectiveOperationException e) {
+          LOG.warn("Failed to close the bulk copy.", e);
+        }
+        try {
+          connection.close();
+        } catch (SQLException e) {
+          throw new IOException(e);
+        }
+        releaseDriver();
+      }
+    }
+
+    private void prepare(List<ColumnType> columnTypes) throws IOException {
+      String[] columnNames = new String[columnTypes.size()];
+      int[] types = new int[columnTypes.size()];
+      int[] precisions = new int[columnTypes.size()];
+      int[] scales = new int[columnTypes.size()];
+      String query = String.format("SELECT %s FROM %s WHERE 1 = 0", Joiner.on(',').join(fieldNames), tableName);
+      try (Statement statement = connection.createStatement();
+           ResultSet resultSet = statement.executeQuery(query)) {
+        ResultSetMetaData metadata = resultSet.getMetaData();
+        for (int i = 0; i < columnTypes.size(); i++) {
+          columnNames[i] = columnTypes.get(i).getName();
+          types[i] = columnTypes.get(i).getType();
+          precisions[i] = metadata.getPrecision(i + 1);
+          scales[i] = metadata.getScale(i + 1);
+        }
+      } catch (SQLException e) {
+        throw new IOException(String.format("Failed to read the column metadata of table '%s'.", tableName), e);
+      }
+      bulkRecord = new SqlServerBulkRecord(columnNames, types, precisions, scales);
+
+      try {
+        Class<?> bulkRecordClass = driverClassLoader.loadClass(DRIVER_PACKAGE + "ISQLServerBulkRecord");
+        Class<?> bulkCopyClass = driverClassLoader.loadClass(DRIVER_PACKAGE + "SQLServerBulkCopy");
+        Class<?> optionsClass = driverClassLoader.loadClass(DRIVER_PACKAGE + "SQLServerBulkCopyOptions");
+        Class<?> connectionClass = driverClassLoader.loadClass(DRIVER_PACKAGE + "SQLServerConnection");
+        bulkRecordProxy = Proxy.newProxyInstance(driverClassLoader, new Class<?>[] {bulkRecordClass}, bulkRecord);
+
+        Object options = optionsClass.newInstance();
+        optionsClass.getMethod("setBatchSize", int.class).invoke(options, batchSize);
+        optionsClass.getMethod("setTableLock", boolean.class).invoke(options, tableLock);
+        optionsClass.getMethod("setCheckConstraints", boolean.class).invoke(options, checkConstraints);
+        optionsClass.getMethod("setFireTriggers", boolean.class).invoke(options, fireTriggers);
+
+        bulkCopy = bulkCopyClass.getConstructor(Connection.class).newInstance(connection.unwrap(connectionClass));
+        bulkCopyClass.getMethod("setBulkCopyOptions", optionsClass).invoke(bulkCopy, options);
+        bulkCopyClass.getMethod("setDestinationTableName", String.class).invoke(bulkCopy, tableName);
+        Method addColumnMapping = bulkCopyClass.getMethod("addColumnMapping", int.class, String.class);
+        for (int i = 0; i < columnNames.length; i++) {
+          addColumnMapping.invoke(bulkCopy, i + 1, columnNames[i]);
+        }
+        writeToServer = findWriteToServer(bulkCopyClass, bulkRecordClass);
+      } catch (InvocationTargetException e) {
+        throw new IOException(String.format("Failed to create the bulk copy into '%s'.", tableName), e.getCause());
+      } catch (ReflectiveOperationException | SQLException e) {
+        throw new IOException("Failed to create the bulk copy through the SQL Server driver. " +
+                                "Make sure that the JDBC plugin uses the Microsoft JDBC Driver for SQL Server.", e);
+      }
+    }
+
+    private Method findWriteToServer(Class<?> bulkCopyClass, Class<?> bulkRecordClass) throws NoSuchMethodException {
+      // newer drivers take the 'ISQLServerBulkData' super interface of 'ISQLServerBulkRecord'
+      for (Method method : bulkCopyClass.getMethods()) {
+        if (method.getName().equals("writeToServer") && method.getParameterCount() == 1
+          && method.getParameterTypes()[0].isInterface()
+          && method.getParameterTypes()[0].isAssignableFrom(bulkRecordClass)) {
+          return method;
+        }
+      }
+      throw new NoSuchMethodException(bulkCopyClass.getName() + ".writeToServer(ISQLServerBulkRecord)");
+    }
+
+    private void copyPendingRecords() throws IOException {
+      if (pendingRecords.isEmpty()) {
+        return;
+      }
+      bulkRecord.reset(pendingRecords);
+      try {
+        writeToServer.invoke(bulkCopy, bulkRecordProxy);
+      } catch (IllegalAccessException e) {
+        throw new IOException(e);
+      } catch (InvocationTargetException e) {
+        throw new IOException(String.format("Failed to bulk copy %d rows into '%s'.", pendingRecords.size(),
+                                            tableName), e.getCause());
+      }
+      copiedRows += pendingRecords.size();
+      pendingRecords.clear();
+    }
+  }
+}
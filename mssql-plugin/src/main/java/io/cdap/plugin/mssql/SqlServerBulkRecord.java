@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mssql;
+
+import io.cdap.cdap.api.common.Bytes;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Adapter of a chunk of {@link StructuredRecord}s to the 'ISQLServerBulkRecord' interface of the SQL Server driver.
+ * The interface is loaded by the class loader of the JDBC plugin, so the adapter is exposed through a
+ * {@link java.lang.reflect.Proxy} that is handled by this class.
+ *
+ * Values are converted to the Java types the driver expects for the column types. Like {@link SqlServerSinkDBRecord},
+ * 'TIME' values keep their 100 nanoseconds accuracy, and 'GEOGRAPHY' and 'GEOMETRY' values are sent as Well Known
+ * Text strings or as bytes, which the server converts to the spatial type.
+ */
+class SqlServerBulkRecord implements InvocationHandler {
+  private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+  private final String[] columnNames;
+  private final int[] destinationTypes;
+  private final int[] sourceTypes;
+  private final int[] precisions;
+  private final int[] scales;
+  private final Set<Integer> columnOrdinals = new LinkedHashSet<>();
+  private ValueConverter[] valueConverters;
+  private Schema convertersSchema;
+  private List<StructuredRecord> records;
+  private int position;
+
+  /**
+   * @param columnNames names of the destination columns
+   * @param destinationTypes SQL types of the destination columns
+   * @param precisions precisions of the destination columns
+   * @param scales scales of the destination columns
+   */
+  SqlServerBulkRecord(String[] columnNames, int[] destinationTypes, int[] precisions, int[] scales) {
+    this.columnNames = columnNames;
+    this.destinationTypes = destinationTypes;
+    this.sourceTypes = destinationTypes.clone();
+    this.precisions = precisions;
+    this.scales = scales;
+    for (int i = 1; i <= columnNames.length; i++) {
+      columnOrdinals.add(i);
+    }
+  }
+
+  /**
+   * Sets the records that are read by the next bulk copy.
+   */
+  void reset(List<StructuredRecord> records) {
+    this.records = records;
+    this.position = -1;
+    if (!records.isEmpty()) {
+      resolveConverters(records.get(0).getSchema());
+    }
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "getColumnOrdinals":
+        return columnOrdinals;
+      case "getColumnName":
+        return columnNames[(int) args[0] - 1];
+      case "getColumnType":
+        return sourceTypes[(int) args[0] - 1];
+      case "getPrecision":
+        return precisions[(int) args[0] - 1];
+      case "getScale":
+        return scales[(int) args[0] - 1];
+      case "isAutoIncrement":
+        return false;
+      case "next":
+        return ++position < records.size();
+      case "getRowData":
+        return getRowData(records.get(position));
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "equals":
+        return proxy == args[0];
+      case "toString":
+        return "SqlServerBulkRecord" + columnOrdinals;
+      default:
+        // column metadata and formatters are only used by file based records
+        return null;
+    }
+  }
+
+  private Object[] getRowData(StructuredRecord record) {
+    resolveConverters(record.getSchema());
+    Object[] row = new Object[valueConverters.length];
+    for (int i = 0; i < valueConverters.length; i++) {
+      row[i] = valueConverters[i].convert(record);
+    }
+    return row;
+  }
+
+  private void resolveConverters(Schema recordSchema) {
+    if (valueConverters != null && (recordSchema == convertersSchema || recordSchema.equals(convertersSchema))) {
+      return;
+    }
+    valueConverters = new ValueConverter[columnNames.length];
+    for (int i = 0; i < columnNames.length; i++) {
+      valueConverters[i] = createValueConverter(recordSchema.getField(columnNames[i]), i);
+    }
+    convertersSchema = recordSchema;
+  }
+
+  private ValueConverter createValueConverter(@Nullable Schema.Field field, int index) {
+    if (field == null) {
+      return record -> null;
+    }
+    String fieldName = field.getName();
+    Schema fieldSchema = field.getSchema().isNullable() ? field.getSchema().getNonNullable() : field.getSchema();
+
+    if (destinationTypes[index] == SqlServerSourceSchemaReader.GEOGRAPHY_TYPE ||
+      destinationTypes[index] == SqlServerSourceSchemaReader.GEOMETRY_TYPE) {
+      if (fieldSchema.getType() == Schema.Type.STRING) {
+        sourceTypes[index] = Types.VARCHAR;
+        return record -> record.get(fieldName);
+      }
+      sourceTypes[index] = Types.VARBINARY;
+      return record -> toBytes(record.get(fieldName));
+    }
+
+    Schema.LogicalType logicalType = fieldSchema.getLogicalType();
+    if (logicalType != null) {
+      switch (logicalType) {
+        case DATE:
+          return record -> {
+            LocalDate value = record.getDate(fieldName);
+            return value == null ? null : Date.valueOf(value);
+          };
+        case TIME_MILLIS:
+        case TIME_MICROS:
+          return record -> {
+            LocalTime value = record.getTime(fieldName);
+            return value == null ? null : Timestamp.valueOf(LocalDateTime.of(EPOCH, value));
+          };
+        case TIMESTAMP_MILLIS:
+        case TIMESTAMP_MICROS:
+          return record -> {
+            ZonedDateTime value = record.getTimestamp(fieldName);
+            return value == null ? null : Timestamp.from(value.toInstant());
+          };
+        case DATETIME:
+          return record -> {
+            LocalDateTime value = record.getDateTime(fieldName);
+            return value == null ? null : Timestamp.valueOf(value);
+          };
+        case DECIMAL:
+          return record -> record.getDecimal(fieldName);
+        default:
+          return record -> record.get(fieldName);
+      }
+    }
+    if (fieldSchema.getType() == Schema.Type.BYTES) {
+      return record -> toBytes(record.get(fieldName));
+    }
+    return record -> record.get(fieldName);
+  }
+
+  @Nullable
+  private static byte[] toBytes(@Nullable Object value) {
+    return value instanceof ByteBuffer ? Bytes.toBytes((ByteBuffer) value) : (byte[]) value;
+  }
+
+  /**
+   * Converts the value of a single field of a record.
+   */
+  @FunctionalInterface
+  private interface ValueConverter {
+
+    @Nullable
+    Object convert(StructuredRecord record);
+  }
+}
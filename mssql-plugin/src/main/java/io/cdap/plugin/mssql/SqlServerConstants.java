@@ -208,4 +208,28 @@ public final class SqlServerConstants {
    */
   public static final String SET_LANGUAGE_QUERY_FORMAT = "SET LANGUAGE '%s';";
 
+  /**
+   * Sink property name used to specify how records are written, see {@link SqlServerWriteMode}.
+   */
+  public static final String WRITE_MODE = "writeMode";
+
+  /**
+   * Sink property name used to specify the number of rows sent by each bulk copy operation.
+   */
+  public static final String BULK_COPY_BATCH_SIZE = "bulkCopyBatchSize";
+
+  /**
+   * Sink property name used to specify whether bulk copy holds a table lock instead of row locks.
+   */
+  public static final String BULK_COPY_TABLE_LOCK = "bulkCopyTableLock";
+
+  /**
+   * Sink property name used to specify whether constraints are checked while rows are bulk copied.
+   */
+  public static final String BULK_COPY_CHECK_CONSTRAINTS = "bulkCopyCheckConstraints";
+
+  /**
+   * Sink property name used to specify whether insert triggers fire for bulk copied rows.
+   */
+  public static final String BULK_COPY_FIRE_TRIGGERS = "bulkCopyFireTriggers";
 }
@@ -24,15 +24,21 @@ import io.cdap.cdap.api.annotation.MetadataProperty;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
 import io.cdap.cdap.etl.api.connector.Connector;
 import io.cdap.plugin.common.ConfigUtil;
 import io.cdap.plugin.db.ConnectionConfig;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+import org.apache.hadoop.conf.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -73,6 +79,45 @@ public class SqlServerSink extends AbstractDBSink<SqlServerSink.SqlServerSinkCon
     return new SqlFieldsValidator();
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!sqlServerSinkConfig.containsMacro(SqlServerConstants.WRITE_MODE)) {
+      SqlServerWriteMode.validate(sqlServerSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, SqlServerConstants.BULK_COPY_BATCH_SIZE, sqlServerSinkConfig.getBulkCopyBatchSize(),
+                     "Bulk copy batch size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.SQL_SERVER;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new SqlServerTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (SqlServerWriteMode.from(sqlServerSinkConfig.getWriteMode()) == SqlServerWriteMode.BULK_COPY) {
+      return SqlServerBulkCopyOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    Configuration conf = configAccessor.getConfiguration();
+    if (sqlServerSinkConfig.getBulkCopyBatchSize() != null) {
+      conf.setInt(SqlServerBulkCopyOutputFormat.BATCH_SIZE, sqlServerSinkConfig.getBulkCopyBatchSize());
+    }
+    conf.setBoolean(SqlServerBulkCopyOutputFormat.TABLE_LOCK, sqlServerSinkConfig.isBulkCopyTableLock());
+    conf.setBoolean(SqlServerBulkCopyOutputFormat.CHECK_CONSTRAINTS, sqlServerSinkConfig.isBulkCopyCheckConstraints());
+    conf.setBoolean(SqlServerBulkCopyOutputFormat.FIRE_TRIGGERS, sqlServerSinkConfig.isBulkCopyFireTriggers());
+  }
+
   /**
    * MSSQL action configuration.
    */
@@ -144,6 +189,59 @@ public class SqlServerSink extends AbstractDBSink<SqlServerSink.SqlServerSinkCon
     @Nullable
     public String currentLanguage;
 
+    @Name(SqlServerConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+      "'BULK_COPY' sends the records through the bulk copy API of the driver. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Name(SqlServerConstants.BULK_COPY_BATCH_SIZE)
+    @Description("Number of rows sent by each bulk copy operation in 'BULK_COPY' write mode. Defaults to 10000.")
+    @Macro
+    @Nullable
+    private Integer bulkCopyBatchSize;
+
+    @Name(SqlServerConstants.BULK_COPY_TABLE_LOCK)
+    @Description("Whether bulk copy holds a table lock for its duration instead of row locks.")
+    @Macro
+    @Nullable
+    private Boolean bulkCopyTableLock;
+
+    @Name(SqlServerConstants.BULK_COPY_CHECK_CONSTRAINTS)
+    @Description("Whether constraints are checked while rows are bulk copied.")
+    @Macro
+    @Nullable
+    private Boolean bulkCopyCheckConstraints;
+
+    @Name(SqlServerConstants.BULK_COPY_FIRE_TRIGGERS)
+    @Description("Whether insert triggers fire for bulk copied rows.")
+    @Macro
+    @Nullable
+    private Boolean bulkCopyFireTriggers;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getBulkCopyBatchSize() {
+      return bulkCopyBatchSize;
+    }
+
+    public boolean isBulkCopyTableLock() {
+      return Boolean.TRUE.equals(bulkCopyTableLock);
+    }
+
+    public boolean isBulkCopyCheckConstraints() {
+      return Boolean.TRUE.equals(bulkCopyCheckConstraints);
+    }
+
+    public boolean isBulkCopyFireTriggers() {
+      return Boolean.TRUE.equals(bulkCopyFireTriggers);
+    }
+
     @Override
     public Map<String, String> getDBSpecificArguments() {
       return SqlServerUtil.composeDbSpecificArgumentsMap(instanceName, connection.getAuthenticationType(), null,
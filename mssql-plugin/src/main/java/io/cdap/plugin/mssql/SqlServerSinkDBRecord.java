@@ -19,11 +19,11 @@ package io.cdap.plugin.mssql;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ColumnWriter;
 import io.cdap.plugin.db.SchemaReader;
 
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.sql.Types;
+import java.time.LocalTime;
 import java.util.List;
 import javax.annotation.Nullable;
 
@@ -38,37 +38,44 @@ public class SqlServerSinkDBRecord extends SqlServerSourceDBRecord {
   }
 
   @Override
-  protected void writeToDB(PreparedStatement stmt, @Nullable Schema.Field field, int fieldIndex) throws SQLException {
-    Object fieldValue = (field != null) ? record.get(field.getName()) : null;
+  protected ColumnWriter createColumnWriter(@Nullable Schema.Field field, int fieldIndex) {
     int sqlType = columnTypes.get(fieldIndex).getType();
     int sqlIndex = fieldIndex + 1;
     switch (sqlType) {
       case SqlServerSourceSchemaReader.GEOGRAPHY_TYPE:
       case SqlServerSourceSchemaReader.GEOMETRY_TYPE:
-        if (fieldValue == null) {
-          // Handle setting GEOGRAPHY and GEOMETRY 'null' values. Using 'stmt.setNull(sqlIndex, GEOMETRY_TYPE)' leads
-          // to com.microsoft.sqlserver.jdbc.SQLServerException: The conversion from OBJECT to GEOMETRY is unsupported
-          stmt.setString(sqlIndex, "Null");
-        } else if (fieldValue instanceof String) {
-          // Handle setting GEOGRAPHY and GEOMETRY values from Well Known Text.
-          // For example, "POINT(3 40 5 6)"
-          stmt.setString(sqlIndex, (String) fieldValue);
-        } else {
-          super.writeBytes(stmt, fieldIndex, sqlIndex, fieldValue);
-        }
-        break;
+        String fieldName = field == null ? null : field.getName();
+        return (stmt, record) -> {
+          Object fieldValue = fieldName == null ? null : record.get(fieldName);
+          if (fieldValue == null) {
+            // Handle setting GEOGRAPHY and GEOMETRY 'null' values. Using 'stmt.setNull(sqlIndex, GEOMETRY_TYPE)' leads
+            // to com.microsoft.sqlserver.jdbc.SQLServerException: The conversion from OBJECT to GEOMETRY is unsupported
+            stmt.setString(sqlIndex, "Null");
+          } else if (fieldValue instanceof String) {
+            // Handle setting GEOGRAPHY and GEOMETRY values from Well Known Text.
+            // For example, "POINT(3 40 5 6)"
+            stmt.setString(sqlIndex, (String) fieldValue);
+          } else {
+            stmt.setBytes(sqlIndex, toBytes(fieldValue));
+          }
+        };
       case Types.TIME:
+        if (field == null) {
+          return super.createColumnWriter(null, fieldIndex);
+        }
         // Handle setting SQL Server 'TIME' data type as string to avoid accuracy loss. 'TIME' data type has the
         // accuracy of 100 nanoseconds(1 millisecond in Informatica) but 'java.sql.Time' will round value to second.
-        if (fieldValue != null) {
-          String fieldName = field.getName();
-          stmt.setString(sqlIndex, record.getTime(fieldName).toString());
-        } else {
-          stmt.setNull(sqlIndex, sqlType);
-        }
-        break;
+        String timeFieldName = field.getName();
+        return (stmt, record) -> {
+          LocalTime value = record.getTime(timeFieldName);
+          if (value != null) {
+            stmt.setString(sqlIndex, value.toString());
+          } else {
+            stmt.setNull(sqlIndex, sqlType);
+          }
+        };
       default:
-        super.writeToDB(stmt, field, fieldIndex);
+        return super.createColumnWriter(field, fieldIndex);
     }
   }
 
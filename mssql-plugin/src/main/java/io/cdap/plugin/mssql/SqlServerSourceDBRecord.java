@@ -18,6 +18,7 @@ package io.cdap.plugin.mssql;
 
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
@@ -25,6 +26,7 @@ import io.cdap.plugin.db.SchemaReader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
@@ -45,41 +47,32 @@ public class SqlServerSourceDBRecord extends DBRecord {
   }
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder,
-      Schema.Field field, int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+    String fieldName = field.getName();
     Schema fieldSchema = field.getSchema();
     if (fieldSchema.isNullable()) {
       fieldSchema = fieldSchema.getNonNullable();
     }
 
-    if (SqlServerSourceSchemaReader.shouldConvertToDatetime(resultSet.getMetaData(), columnIndex) &&
+    if (SqlServerSourceSchemaReader.shouldConvertToDatetime(metadata, columnIndex) &&
           fieldSchema.getLogicalType() == Schema.LogicalType.DATETIME) {
-      try {
-        Method getLocalDateTime = resultSet.getClass().getMethod("getDateTime", int.class);
-        Timestamp value = (Timestamp) getLocalDateTime.invoke(resultSet, columnIndex);
-        recordBuilder.setDateTime(field.getName(), value == null ? null : value.toLocalDateTime());
-        return;
-      } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-        throw new RuntimeException(String.format("Fail to convert column %s of type %s to datetime. Error: %s.",
-                                                 resultSet.getMetaData().getColumnName(columnIndex),
-                                                 resultSet.getMetaData().getColumnTypeName(columnIndex),
-                                                 e.getMessage()), e);
-      }
+      return new DatetimeColumnReader(fieldName, columnIndex, metadata.getColumnName(columnIndex),
+                                      metadata.getColumnTypeName(columnIndex));
     }
     switch (sqlType) {
       case Types.TIME:
         // Handle reading SQL Server 'TIME' data type to avoid accuracy loss.
         // 'TIME' data type has the accuracy of 100 nanoseconds(1 millisecond in Informatica)
         // but reading via 'getTime' and 'getObject' will round value to second.
-        final Timestamp timestamp = resultSet.getTimestamp(columnIndex);
-        recordBuilder.setTime(field.getName(),
-            timestamp == null ? null : timestamp.toLocalDateTime().toLocalTime());
-        break;
+        return (resultSet, recordBuilder) -> {
+          final Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+          recordBuilder.setTime(fieldName, timestamp == null ? null : timestamp.toLocalDateTime().toLocalTime());
+        };
       case SqlServerSourceSchemaReader.DATETIME_OFFSET_TYPE:
-        recordBuilder.set(field.getName(), resultSet.getString(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
       default:
-        setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+        return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
     }
   }
 
@@ -87,4 +80,37 @@ public class SqlServerSourceDBRecord extends DBRecord {
   protected SchemaReader getSchemaReader() {
     return new SqlServerSourceSchemaReader();
   }
+
+  /**
+   * Reads 'datetime' and 'datetime2' columns through the driver specific 'getDateTime' method, which is looked up
+   * once for the result set class.
+   */
+  private static class DatetimeColumnReader implements ColumnReader {
+    private final String fieldName;
+    private final int columnIndex;
+    private final String columnName;
+    private final String columnTypeName;
+    private Method getDateTime;
+
+    DatetimeColumnReader(String fieldName, int columnIndex, String columnName, String columnTypeName) {
+      this.fieldName = fieldName;
+      this.columnIndex = columnIndex;
+      this.columnName = columnName;
+      this.columnTypeName = columnTypeName;
+    }
+
+    @Override
+    public void read(ResultSet resultSet, StructuredRecord.Builder recordBuilder) {
+      try {
+        if (getDateTime == null) {
+          getDateTime = resultSet.getClass().getMethod("getDateTime", int.class);
+        }
+        Timestamp value = (Timestamp) getDateTime.invoke(resultSet, columnIndex);
+        recordBuilder.setDateTime(fieldName, value == null ? null : value.toLocalDateTime());
+      } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
+        throw new RuntimeException(String.format("Fail to convert column %s of type %s to datetime. Error: %s.",
+                                                 columnName, columnTypeName, e.getMessage()), e);
+      }
+    }
+  }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mssql;
+
+import io.cdap.plugin.db.batch.sink.MaintenancePlan;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Suspends the maintenance of a SQL Server table by disabling its non-unique nonclustered indexes, its foreign keys
+ * and its triggers. Indexes are rebuilt and foreign keys are checked again once records are loaded.
+ */
+public class SqlServerTableMaintenance implements TableMaintenance {
+  private static final String INDEXES_QUERY = "SELECT QUOTENAME(name) FROM sys.indexes " +
+    "WHERE object_id = OBJECT_ID(?) AND type = 2 AND is_unique = 0 AND is_primary_key = 0 " +
+    "AND is_unique_constraint = 0 AND is_disabled = 0";
+  private static final String FOREIGN_KEYS_QUERY = "SELECT QUOTENAME(name) FROM sys.foreign_keys " +
+    "WHERE parent_object_id = OBJECT_ID(?) AND is_disabled = 0";
+  private static final String TRIGGERS_QUERY = "SELECT QUOTENAME(name) FROM sys.triggers " +
+    "WHERE parent_id = OBJECT_ID(?) AND is_disabled = 0";
+
+  @Override
+  public MaintenancePlan plan(Connection connection, String tableName, String escapedTableName) throws SQLException {
+    MaintenancePlan plan = new MaintenancePlan();
+    for (String[] index : TableMaintenance.queryCatalog(connection, INDEXES_QUERY, escapedTableName, 1)) {
+      plan.addSuspendQuery(String.format("ALTER INDEX %s ON %s DISABLE", index[0], escapedTableName));
+      plan.addIndexRestoreQuery(String.format("ALTER INDEX %s ON %s REBUILD", index[0], escapedTableName));
+    }
+    // checking the foreign key again makes it trusted by the optimizer
+    for (String[] foreignKey : TableMaintenance.queryCatalog(connection, FOREIGN_KEYS_QUERY, escapedTableName, 1)) {
+      plan.addSuspendQuery(String.format("ALTER TABLE %s NOCHECK CONSTRAINT %s", escapedTableName, foreignKey[0]));
+      plan.addRestoreQuery(String.format("ALTER TABLE %s WITH CHECK CHECK CONSTRAINT %s", escapedTableName,
+                                         foreignKey[0]));
+    }
+    for (String[] trigger : TableMaintenance.queryCatalog(connection, TRIGGERS_QUERY, escapedTableName, 1)) {
+      plan.addSuspendQuery(String.format("DISABLE TRIGGER %s ON %s", trigger[0], escapedTableName));
+      plan.addRestoreQuery(String.format("ENABLE TRIGGER %s ON %s", trigger[0], escapedTableName));
+    }
+    return plan;
+  }
+}
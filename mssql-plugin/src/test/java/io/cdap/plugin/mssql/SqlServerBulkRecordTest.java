@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mssql;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * Tests for {@link SqlServerBulkRecord}.
+ */
+public class SqlServerBulkRecordTest {
+
+  /**
+   * Subset of the driver 'ISQLServerBulkRecord' interface.
+   */
+  public interface BulkRecord {
+    Set<Integer> getColumnOrdinals();
+
+    int getColumnType(int column);
+
+    boolean next();
+
+    Object[] getRowData();
+  }
+
+  @Test
+  public void testRowData() {
+    Schema schema = Schema.recordOf(
+      "record",
+      Schema.Field.of("id", Schema.of(Schema.Type.INT)),
+      Schema.Field.of("time", Schema.nullableOf(Schema.of(Schema.LogicalType.TIME_MICROS))),
+      Schema.Field.of("shape", Schema.of(Schema.Type.STRING)));
+    SqlServerBulkRecord bulkRecord = new SqlServerBulkRecord(
+      new String[] {"id", "time", "shape", "missing"},
+      new int[] {Types.INTEGER, Types.TIME, SqlServerSourceSchemaReader.GEOMETRY_TYPE, Types.VARCHAR},
+      new int[] {10, 16, 0, 10}, new int[] {0, 7, 0, 0});
+    BulkRecord proxy = (BulkRecord) Proxy.newProxyInstance(getClass().getClassLoader(),
+                                                          new Class<?>[] {BulkRecord.class}, bulkRecord);
+
+    LocalTime time = LocalTime.of(10, 11, 12, 123456000);
+    bulkRecord.reset(ImmutableList.of(
+      StructuredRecord.builder(schema).set("id", 1).setTime("time", time).set("shape", "POINT(1 2)").build(),
+      StructuredRecord.builder(schema).set("id", 2).set("shape", "POINT(3 4)").build()));
+
+    Assert.assertEquals(ImmutableList.of(1, 2, 3, 4), ImmutableList.copyOf(proxy.getColumnOrdinals()));
+    Assert.assertEquals(Types.VARCHAR, proxy.getColumnType(3));
+    Assert.assertTrue(proxy.next());
+    Object[] row = proxy.getRowData();
+    Assert.assertEquals(1, row[0]);
+    Assert.assertEquals(time, ((Timestamp) row[1]).toLocalDateTime().toLocalTime());
+    Assert.assertEquals("POINT(1 2)", row[2]);
+    Assert.assertNull(row[3]);
+    Assert.assertTrue(proxy.next());
+    Assert.assertNull(proxy.getRowData()[1]);
+    Assert.assertFalse(proxy.next());
+  }
+}
@@ -39,6 +39,10 @@ public final class MysqlConstants {
   public static final String TRUST_CERT_KEYSTORE_PASSWORD = "trustCertificateKeyStorePassword";
   public static final String MYSQL_CONNECTION_STRING_FORMAT = "jdbc:mysql://%s:%s/%s";
   public static final String USE_CURSOR_FETCH = "useCursorFetch";
+  public static final String WRITE_MODE = "writeMode";
+  public static final String LOAD_DATA_BUFFER_SIZE = "loadDataBufferSize";
+  public static final String ALLOW_LOAD_LOCAL_INFILE = "allowLoadLocalInfile";
+  public static final String ALLOW_LOCAL_INFILE = "allowLocalInfile";
 
   /**
    * Query to set SQL_MODE system variable.
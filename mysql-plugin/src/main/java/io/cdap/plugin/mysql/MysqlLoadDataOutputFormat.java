@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mysql;
+
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.batch.sink.LoadDataOutputFormat;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that loads records with 'LOAD DATA LOCAL INFILE' instead of batched inserts, through a single
+ * stream per task. All statements of a task are committed when the task completes.
+ *
+ * @param <K> - Key passed to this class to be written, must be a {@link DBRecord}
+ * @param <V> - Value passed to this class to be written. The value is ignored.
+ */
+public class MysqlLoadDataOutputFormat<K extends DBWritable, V> extends LoadDataOutputFormat<K, V> {
+
+  /**
+   * Sets the buffer size, if specified, and enables 'LOAD DATA LOCAL' in the MySQL and MariaDB drivers, which
+   * do not allow it by default.
+   *
+   * @param configAccessor accessor of the output format configuration
+   * @param bufferSize size in bytes of the buffer loaded by each statement
+   */
+  public static void configure(ConnectionConfigAccessor configAccessor, @Nullable Integer bufferSize) {
+    Map<String, String> connectionArguments = new HashMap<>(configAccessor.getConnectionArguments());
+    connectionArguments.put(MysqlConstants.ALLOW_LOAD_LOCAL_INFILE, "true");
+    connectionArguments.put(MysqlConstants.ALLOW_LOCAL_INFILE, "true");
+    configAccessor.setConnectionArguments(connectionArguments);
+    LoadDataOutputFormat.configure(configAccessor, bufferSize, null, null);
+  }
+
+  @Override
+  protected String getSupportedDrivers() {
+    return "the MySQL Connector/J or MariaDB Connector/J 2.x driver";
+  }
+}
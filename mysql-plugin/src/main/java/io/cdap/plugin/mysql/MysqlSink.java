@@ -23,12 +23,17 @@ import io.cdap.cdap.api.annotation.Metadata;
 import io.cdap.cdap.api.annotation.MetadataProperty;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
 import io.cdap.cdap.etl.api.connector.Connector;
 import io.cdap.plugin.common.ConfigUtil;
 import io.cdap.plugin.db.ConnectionConfig;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
 
 import java.util.Collections;
 import java.util.List;
@@ -51,6 +56,41 @@ public class MysqlSink extends AbstractDBSink<MysqlSink.MysqlSinkConfig> {
     this.mysqlSinkConfig = mysqlSinkConfig;
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!mysqlSinkConfig.containsMacro(MysqlConstants.WRITE_MODE)) {
+      MysqlWriteMode.validate(mysqlSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, MysqlConstants.LOAD_DATA_BUFFER_SIZE, mysqlSinkConfig.getLoadDataBufferSize(),
+                     "Load data buffer size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.MYSQL;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new MysqlTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (MysqlWriteMode.from(mysqlSinkConfig.getWriteMode()) == MysqlWriteMode.LOAD_DATA) {
+      return MysqlLoadDataOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (MysqlWriteMode.from(mysqlSinkConfig.getWriteMode()) == MysqlWriteMode.LOAD_DATA) {
+      MysqlLoadDataOutputFormat.configure(configAccessor, mysqlSinkConfig.getLoadDataBufferSize());
+    }
+  }
+
   /**
    * MySQL action configuration.
    */
@@ -112,6 +152,30 @@ public class MysqlSink extends AbstractDBSink<MysqlSink.MysqlSinkConfig> {
     @Nullable
     public String trustCertificateKeyStorePassword;
 
+    @Name(MysqlConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+      "'LOAD_DATA' streams the records through 'LOAD DATA LOCAL INFILE'. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Name(MysqlConstants.LOAD_DATA_BUFFER_SIZE)
+    @Description("Size in bytes of the buffer of rows that is loaded by each statement in 'LOAD_DATA' write mode. " +
+      "Defaults to 16777216.")
+    @Macro
+    @Nullable
+    private Integer loadDataBufferSize;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getLoadDataBufferSize() {
+      return loadDataBufferSize;
+    }
+
     @Override
     public String getConnectionString() {
       return MysqlUtil.getConnectionString(connection.getHost(), connection.getPort(), database);
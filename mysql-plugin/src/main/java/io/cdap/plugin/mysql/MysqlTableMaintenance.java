@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mysql;
+
+import io.cdap.plugin.db.batch.sink.MaintenancePlan;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suspends the maintenance of a MySQL table by dropping its non-unique indexes and its triggers, which are created
+ * again once records are loaded. Indexes that contain a column of a foreign key are kept, since foreign keys can not
+ * be disabled for other sessions.
+ */
+public class MysqlTableMaintenance implements TableMaintenance {
+  // functional indexes, which have no column name, are kept
+  private static final String INDEXES_QUERY = "SELECT s.INDEX_NAME, MAX(s.INDEX_TYPE), " +
+    "GROUP_CONCAT(CONCAT('`', REPLACE(s.COLUMN_NAME, '`', '``'), '`', IFNULL(CONCAT('(', s.SUB_PART, ')'), ''), " +
+    "IF(s.COLLATION = 'D', ' DESC', '')) ORDER BY s.SEQ_IN_INDEX SEPARATOR ', ') " +
+    "FROM information_schema.STATISTICS s LEFT JOIN information_schema.KEY_COLUMN_USAGE k " +
+    "ON k.TABLE_SCHEMA = s.TABLE_SCHEMA AND k.TABLE_NAME = s.TABLE_NAME AND k.COLUMN_NAME = s.COLUMN_NAME " +
+    "AND k.REFERENCED_TABLE_NAME IS NOT NULL " +
+    "WHERE s.TABLE_SCHEMA = DATABASE() AND s.TABLE_NAME = ? AND s.NON_UNIQUE = 1 " +
+    "GROUP BY s.INDEX_NAME HAVING COUNT(s.COLUMN_NAME) = COUNT(*) AND COUNT(k.COLUMN_NAME) = 0";
+  private static final String TRIGGERS_QUERY = "SELECT TRIGGER_NAME FROM information_schema.TRIGGERS " +
+    "WHERE EVENT_OBJECT_SCHEMA = DATABASE() AND EVENT_OBJECT_TABLE = ? ORDER BY ACTION_ORDER";
+  private static final String FULLTEXT = "FULLTEXT";
+  private static final String SPATIAL = "SPATIAL";
+
+  @Override
+  public MaintenancePlan plan(Connection connection, String tableName, String escapedTableName) throws SQLException {
+    MaintenancePlan plan = new MaintenancePlan();
+    List<Integer> droppedIndexes = new ArrayList<>();
+    List<String> addedIndexes = new ArrayList<>();
+    for (String[] index : TableMaintenance.queryCatalog(connection, INDEXES_QUERY, tableName, 3)) {
+      String indexName = quote(index[0]);
+      int position = plan.addSuspendQuery(String.format("ALTER TABLE %s DROP INDEX %s", escapedTableName, indexName));
+      if (FULLTEXT.equals(index[1]) || SPATIAL.equals(index[1])) {
+        // InnoDB adds a single full-text index per statement
+        plan.addIndexRestoreQuery(String.format("ALTER TABLE %s ADD %s INDEX %s (%s)", escapedTableName, index[1],
+                                                indexName, index[2]));
+      } else {
+        String addedIndex = String.format("ADD INDEX %s (%s)", indexName, index[2]);
+        plan.addIndexRestoreQuery(String.format("ALTER TABLE %s %s", escapedTableName, addedIndex));
+        droppedIndexes.add(position);
+        addedIndexes.add(addedIndex);
+      }
+    }
+    if (addedIndexes.size() > 1) {
+      // all other indexes are built in a single pass over the table
+      plan.addCombinedIndexRestoreQuery(droppedIndexes, String.format("ALTER TABLE %s %s", escapedTableName,
+                                                                      String.join(", ", addedIndexes)));
+    }
+
+    // triggers can not be disabled, so they are created again from their original statement
+    for (String[] trigger : TableMaintenance.queryCatalog(connection, TRIGGERS_QUERY, tableName, 1)) {
+      String triggerName = quote(trigger[0]);
+      try (Statement statement = connection.createStatement();
+           ResultSet resultSet = statement.executeQuery("SHOW CREATE TRIGGER " + triggerName)) {
+        if (resultSet.next()) {
+          plan.addSuspendQuery("DROP TRIGGER " + triggerName);
+          plan.addRestoreQuery(resultSet.getString("SQL Original Statement"));
+        }
+      }
+    }
+    return plan;
+  }
+
+  private static String quote(String name) {
+    return "`" + name.replace("`", "``") + "`";
+  }
+}
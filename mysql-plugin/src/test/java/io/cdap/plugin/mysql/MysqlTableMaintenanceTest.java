@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.mysql;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.plugin.db.batch.sink.MaintenancePlan;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tests for {@link MysqlTableMaintenance}.
+ */
+public class MysqlTableMaintenanceTest {
+
+  @Test
+  public void testPlan() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    mockQuery(connection, "information_schema.STATISTICS",
+              new String[] {"idx_name", "BTREE", "`name`(10)"},
+              new String[] {"idx_text", "FULLTEXT", "`text`"},
+              new String[] {"idx_age", "BTREE", "`age` DESC, `id`"});
+    mockQuery(connection, "information_schema.TRIGGERS", new String[] {"trg"});
+    Statement statement = Mockito.mock(Statement.class);
+    ResultSet trigger = Mockito.mock(ResultSet.class);
+    Mockito.when(trigger.next()).thenReturn(true);
+    Mockito.when(trigger.getString("SQL Original Statement")).thenReturn("CREATE TRIGGER trg ...");
+    Mockito.when(statement.executeQuery("SHOW CREATE TRIGGER `trg`")).thenReturn(trigger);
+    Mockito.when(connection.createStatement()).thenReturn(statement);
+
+    MaintenancePlan plan = new MysqlTableMaintenance().plan(connection, "users", "users");
+
+    Assert.assertEquals(ImmutableList.of("ALTER TABLE users DROP INDEX `idx_name`",
+                                         "ALTER TABLE users DROP INDEX `idx_text`",
+                                         "ALTER TABLE users DROP INDEX `idx_age`",
+                                         "DROP TRIGGER `trg`"),
+                        plan.getSuspendQueries());
+    Assert.assertEquals(ImmutableList.of("ALTER TABLE users ADD FULLTEXT INDEX `idx_text` (`text`)",
+                                         "ALTER TABLE users ADD INDEX `idx_name` (`name`(10)), " +
+                                           "ADD INDEX `idx_age` (`age` DESC, `id`)"),
+                        plan.getIndexRestoreQueries());
+    Assert.assertEquals(ImmutableList.of("CREATE TRIGGER trg ..."), plan.getRestoreQueries());
+
+    // only the indexes that were dropped are added again when the suspend statements partially failed
+    MaintenancePlan executedPlan = plan.getExecutedPlan(2);
+    Assert.assertEquals(ImmutableList.of("ALTER TABLE users ADD INDEX `idx_name` (`name`(10))",
+                                         "ALTER TABLE users ADD FULLTEXT INDEX `idx_text` (`text`)"),
+                        executedPlan.getIndexRestoreQueries());
+    Assert.assertTrue(executedPlan.getRestoreQueries().isEmpty());
+  }
+
+  @Test
+  public void testPlanWithoutIndexesAndTriggers() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    mockQuery(connection, "information_schema.STATISTICS");
+    mockQuery(connection, "information_schema.TRIGGERS");
+
+    Assert.assertTrue(new MysqlTableMaintenance().plan(connection, "users", "users").isEmpty());
+  }
+
+  private static void mockQuery(Connection connection, String table, String[]... rows) throws SQLException {
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    int[] row = {-1};
+    Mockito.when(resultSet.next()).thenAnswer(invocation -> ++row[0] < rows.length);
+    Mockito.when(resultSet.getString(ArgumentMatchers.anyInt()))
+      .thenAnswer(invocation -> rows[row[0]][invocation.<Integer>getArgument(0) - 1]);
+    PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+    Mockito.when(statement.executeQuery()).thenReturn(resultSet);
+    Mockito.when(connection.prepareStatement(ArgumentMatchers.contains(table))).thenReturn(statement);
+  }
+}
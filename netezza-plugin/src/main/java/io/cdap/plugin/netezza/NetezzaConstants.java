@@ -26,4 +26,8 @@ public final class NetezzaConstants {
 
   public static final String PLUGIN_NAME = "Netezza";
   public static final String NETEZZA_CONNECTION_STRING_FORMAT = "jdbc:netezza://%s:%s/%s";
+  public static final String WRITE_MODE = "writeMode";
+  public static final String EXTERNAL_TABLE_FILE_SIZE = "externalTableFileSize";
+  public static final String MAX_REJECTED_ROWS = "maxRejectedRows";
+  public static final String READ_MODE = "readMode";
 }
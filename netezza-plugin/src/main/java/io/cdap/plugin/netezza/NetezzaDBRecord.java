@@ -19,10 +19,11 @@ package io.cdap.plugin.netezza;
 import com.google.common.collect.ImmutableSet;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
 import io.cdap.plugin.db.DBRecord;
 
-import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.List;
@@ -52,25 +53,23 @@ public class NetezzaDBRecord extends DBRecord {
   public NetezzaDBRecord() {}
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
     if (netezzaTypes.contains(sqlType)) {
-      handleNetezzaSpecificType(resultSet, recordBuilder, field, columnIndex, sqlType);
-    } else {
-      setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+      return createNetezzaSpecificColumnReader(field, columnIndex, sqlType);
     }
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 
-  private void handleNetezzaSpecificType(ResultSet resultSet, StructuredRecord.Builder recordBuilder,
-                                         Schema.Field field, int columnIndex, int sqlType) throws SQLException {
-
+  private ColumnReader createNetezzaSpecificColumnReader(Schema.Field field, int columnIndex, int sqlType) {
+    String fieldName = field.getName();
     switch (sqlType) {
       case Types.VARBINARY:
-        recordBuilder.set(field.getName(), resultSet.getBytes(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getBytes(columnIndex));
       case INTERVAL:
-        recordBuilder.set(field.getName(), resultSet.getString(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
+      default:
+        return (resultSet, recordBuilder) -> { };
     }
   }
 }
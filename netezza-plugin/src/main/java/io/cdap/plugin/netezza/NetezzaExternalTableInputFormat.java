@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import io.cdap.plugin.db.batch.source.DataDrivenETLDBInputFormat;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * Input format that unloads the rows of each split into a local file through a transient external table, instead
+ * of fetching them through a JDBC cursor. The split query is run by 'CREATE EXTERNAL TABLE ... AS SELECT' with
+ * 'REMOTESOURCE 'JDBC'', which makes the Netezza driver write the delimited rows on the client, and the file is then
+ * parsed into records by {@link NetezzaDBRecord}, through a {@link NetezzaTextResultSet} with the metadata of the
+ * query. The file is deleted when the split is read.
+ */
+public class NetezzaExternalTableInputFormat extends DataDrivenETLDBInputFormat {
+  private static final Logger LOG = LoggerFactory.getLogger(NetezzaExternalTableInputFormat.class);
+  private static final Charset LATIN9 = Charset.forName("ISO-8859-15");
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected RecordReader createDBRecordReader(DBInputSplit split, Configuration conf) throws IOException {
+    String query = getInputQuery();
+    if (split instanceof DataDrivenDBInputSplit) {
+      DataDrivenDBInputSplit dataDrivenSplit = (DataDrivenDBInputSplit) split;
+      query = query.replace(SUBSTITUTE_TOKEN, String.format("( %s ) AND ( %s )", dataDrivenSplit.getLowerClause(),
+                                                            dataDrivenSplit.getUpperClause()));
+    }
+    Class<? extends DBWritable> inputClass = (Class<? extends DBWritable>) getDBConf().getInputClass();
+    return new UnloadRecordReader(getConnection(), query, ReflectionUtils.newInstance(inputClass, conf));
+  }
+
+  private String getInputQuery() throws IOException {
+    String query = getDBConf().getInputQuery();
+    if (query == null) {
+      throw new IOException("External table unloads require an import query.");
+    }
+    return query;
+  }
+
+  /**
+   * Builds the statement that unloads the rows of a query into a local file.
+   */
+  static String constructUnloadQuery(String query, String path, String logDir) {
+    return String.format("CREATE EXTERNAL TABLE '%s' USING (REMOTESOURCE 'JDBC' DELIMITER 9 ESCAPECHAR '\\' " +
+                           "NULLVALUE '\\N' DATESTYLE 'YMD' DATEDELIM '-' TIMESTYLE '24HOUR' BOOLSTYLE '1_0' " +
+                           "ENCODING 'internal' LOGDIR '%s') AS %s", path, logDir, query);
+  }
+
+  /**
+   * Returns the charset of the unloaded values of a column, which is UTF-8 for national character columns and
+   * Latin-9 for the others.
+   */
+  static Charset getCharset(int sqlType, String typeName) {
+    if (sqlType == Types.NCHAR || sqlType == Types.NVARCHAR || typeName.toUpperCase().startsWith("NCHAR")
+      || typeName.toUpperCase().startsWith("NVARCHAR") || typeName.toUpperCase().startsWith("NATIONAL")) {
+      return StandardCharsets.UTF_8;
+    }
+    return LATIN9;
+  }
+
+  /**
+   * Unloads the split when it is initialized, then reads the records from the unloaded file.
+   */
+  private class UnloadRecordReader extends RecordReader<LongWritable, DBWritable> {
+    private final Connection connection;
+    private final String query;
+    private final DBWritable value;
+    private final LongWritable key = new LongWritable();
+    private File file;
+    private long fileLength;
+    private CountingInputStream input;
+    private NetezzaUnloadParser parser;
+    private NetezzaTextResultSet resultSet;
+    private long position;
+
+    UnloadRecordReader(Connection connection, String query, DBWritable value) {
+      this.connection = connection;
+      this.query = query;
+      this.value = value;
+    }
+
+    @Override
+    public void initialize(InputSplit split, TaskAttemptContext context) throws IOException {
+      try (Statement statement = connection.createStatement()) {
+        ResultSetMetaData metadata;
+        try (ResultSet rs = statement.executeQuery(String.format("SELECT * FROM (%s) unloaded LIMIT 0", query))) {
+          metadata = rs.getMetaData();
+          resultSet = new NetezzaTextResultSet(metadata);
+        }
+        Charset[] charsets = new Charset[metadata.getColumnCount()];
+        for (int i = 0; i < charsets.length; i++) {
+          charsets[i] = getCharset(metadata.getColumnType(i + 1), metadata.getColumnTypeName(i + 1));
+        }
+
+        file = File.createTempFile("netezza-unload-", ".tbl");
+        String unloadQuery = constructUnloadQuery(query, file.getAbsolutePath(),
+                                                  file.getParentFile().getAbsolutePath());
+        LOG.debug("Unloading split with '{}'.", unloadQuery);
+        statement.execute(unloadQuery);
+        fileLength = file.length();
+        input = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)));
+        parser = new NetezzaUnloadParser(input, charsets);
+      } catch (SQLException e) {
+        throw new IOException(String.format("Failed to unload the rows of '%s'.", query), e);
+      }
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+      String[] row = parser.next();
+      if (row == null) {
+        return false;
+      }
+      resultSet.setRow(row);
+      try {
+        value.readFields(resultSet.getResultSet());
+      } catch (SQLException e) {
+        throw new IOException(e);
+      }
+      key.set(position++);
+      return true;
+    }
+
+    @Override
+    public LongWritable getCurrentKey() {
+      return key;
+    }
+
+    @Override
+    public DBWritable getCurrentValue() {
+      return value;
+    }
+
+    @Override
+    public float getProgress() {
+      return fileLength == 0 || input == null ? 0f : (float) input.count / fileLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        if (input != null) {
+          input.close();
+        }
+      } finally {
+        if (file != null && !file.delete()) {
+          LOG.warn("Failed to delete file {}.", file);
+        }
+        closeConnection();
+      }
+    }
+  }
+
+  /**
+   * Counts the bytes read, to report the progress of the reader.
+   */
+  private static class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import com.google.common.base.Throwables;
+import io.cdap.cdap.etl.api.StageMetrics;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that loads records into Netezza through transient external tables instead of batched inserts.
+ * Rows are encoded as tab separated text into a local file, and each full file is loaded by one
+ * 'INSERT INTO ... SELECT ... FROM EXTERNAL' statement that the Netezza driver streams from the client with
+ * 'REMOTESOURCE 'JDBC''. All statements of a task are committed when the task completes.
+ *
+ * <p>Rows that Netezza can not parse are rejected, up to the configured maximum, and counted in the
+ * 'records.rejected' metric of the stage. The files and the logs of the loads of a task are kept in a local
+ * directory of the task, and the logs are written to the task log before the directory is deleted.</p>
+ *
+ * @param <K> - Key passed to this class to be written, must be a {@link DBRecord}
+ * @param <V> - Value passed to this class to be written. The value is ignored.
+ */
+public class NetezzaExternalTableOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+  public static final String FILE_SIZE = "io.cdap.plugin.netezza.external.table.file.size";
+  public static final String MAX_REJECTED_ROWS = "io.cdap.plugin.netezza.external.table.max.rejected.rows";
+  public static final String STAGE_NAME = "io.cdap.plugin.netezza.stage.name";
+  public static final long DEFAULT_FILE_SIZE = 256L * 1024 * 1024;
+
+  private static final Logger LOG = LoggerFactory.getLogger(NetezzaExternalTableOutputFormat.class);
+
+  /**
+   * Sets the properties of the output format.
+   *
+   * @param configAccessor accessor of the output format configuration
+   * @param stageName name of the sink stage, which receives the metrics of the loads
+   * @param fileSize size in bytes of the files loaded by each statement, or null for the default
+   * @param maxRejectedRows number of rows each statement may reject, or null to reject none
+   */
+  public static void configure(ConnectionConfigAccessor configAccessor, String stageName, @Nullable Long fileSize,
+                               @Nullable Integer maxRejectedRows) {
+    Configuration conf = configAccessor.getConfiguration();
+    conf.set(STAGE_NAME, stageName);
+    if (fileSize != null) {
+      conf.setLong(FILE_SIZE, fileSize);
+    }
+    if (maxRejectedRows != null) {
+      conf.setInt(MAX_REJECTED_ROWS, maxRejectedRows);
+    }
+  }
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    Configuration conf = context.getConfiguration();
+    DBConfiguration dbConf = new DBConfiguration(conf);
+    try {
+      return new ExternalTableRecordWriter(getConnection(conf), dbConf.getOutputTableName(),
+                                           dbConf.getOutputFieldNames(),
+                                           new ConnectionConfigAccessor(conf).getRunId(), conf.get(STAGE_NAME),
+                                           conf.getLong(FILE_SIZE, DEFAULT_FILE_SIZE),
+                                           conf.getInt(MAX_REJECTED_ROWS, 0));
+    } catch (Exception e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
+  /**
+   * Builds the statement that loads a file. The columns of the external table are defined like the columns of the
+   * target table.
+   */
+  static String constructLoadQuery(String tableName, String[] fieldNames, String[] columnDefinitions,
+                                   String path, String logDir, int maxRejectedRows) {
+    String columns = String.join(",", fieldNames);
+    StringJoiner definitions = new StringJoiner(", ", "(", ")");
+    for (int i = 0; i < fieldNames.length; i++) {
+      definitions.add(fieldNames[i] + " " + columnDefinitions[i]);
+    }
+    return String.format("INSERT INTO %s (%s) SELECT %s FROM EXTERNAL '%s' %s USING (REMOTESOURCE 'JDBC' " +
+                           "DELIMITER 9 ESCAPECHAR '\\' NULLVALUE '\\N' DATESTYLE 'YMD' DATEDELIM '-' " +
+                           "TIMESTYLE '24HOUR' BOOLSTYLE '1_0' CTRLCHARS TRUE MAXERRORS %d LOGDIR '%s')",
+                         tableName, columns, columns, path, definitions, maxRejectedRows + 1, logDir);
+  }
+
+  /**
+   * Returns the definition of a column of an external table with the given type.
+   */
+  static String getColumnDefinition(String typeName, int precision, int scale) {
+    String type = typeName.toUpperCase();
+    if (type.equals("NUMERIC") || type.equals("DECIMAL")) {
+      return String.format("%s(%d,%d)", type, precision, scale);
+    }
+    if ((type.contains("CHAR") || type.contains("BINARY") || type.equals("ST_GEOMETRY")) && precision > 0) {
+      return String.format("%s(%d)", type, precision);
+    }
+    return type;
+  }
+
+  /**
+   * Writes records to a local file, which is loaded and deleted whenever it is full. The column definitions are
+   * read with the first record, so that tasks without records do not issue any statement.
+   */
+  private class ExternalTableRecordWriter extends RecordWriter<K, V> {
+    private final Connection connection;
+    private final String tableName;
+    private final String[] fieldNames;
+    @Nullable
+    private final String runId;
+    private final String stageName;
+    private final long fileSize;
+    private final int maxRejectedRows;
+    private final StringBuilder row = new StringBuilder();
+    private NetezzaRowEncoder rowEncoder;
+    private String[] columnDefinitions;
+    private StageMetrics metrics;
+    private File logDir;
+    private File file;
+    private OutputStream output;
+    private long fileBytes;
+    private long fileRows;
+    private long loadedRows;
+    private boolean failed;
+
+    ExternalTableRecordWriter(Connection connection, String tableName, String[] fieldNames, @Nullable String runId,
+                              String stageName, long fileSize, int maxRejectedRows) {
+      this.connection = connection;
+      this.tableName = tableName;
+      this.fieldNames = fieldNames;
+      this.runId = runId;
+      this.stageName = stageName;
+      this.fileSize = fileSize;
+      this.maxRejectedRows = maxRejectedRows;
+    }
+
+    @Override
+    public void write(K key, V value) throws IOException {
+      if (!(key instanceof DBRecord)) {
+        throw new IOException(String.format("External table loads require records of type '%s', but found '%s'.",
+                                            DBRecord.class.getName(), key.getClass().getName()));
+      }
+      DBRecord dbRecord = (DBRecord) key;
+      boolean written = false;
+      try {
+        if (rowEncoder == null) {
+          rowEncoder = new NetezzaRowEncoder(dbRecord.getColumnTypes());
+          columnDefinitions = readColumnDefinitions();
+          // records are passed on by the sink, so it registered the metrics before the first one
+          metrics = NetezzaLoadMetrics.get(runId, stageName);
+          logDir = Files.createTempDirectory("netezza-load-").toFile();
+        }
+        if (output == null) {
+          file = File.createTempFile("netezza-load-", ".tbl", logDir);
+          output = new BufferedOutputStream(new FileOutputStream(file));
+        }
+        row.setLength(0);
+        rowEncoder.encode(dbRecord.getRecord(), row);
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+        output.write(bytes);
+        fileBytes += bytes.length;
+        fileRows++;
+        if (fileBytes >= fileSize) {
+          loadFile();
+        }
+        written = true;
+      } finally {
+        if (!written) {
+          failed = true;
+        }
+      }
+    }
+
+    @Override
+    public void close(TaskAttemptContext context) throws IOException {
+      try {
+        if (rowEncoder != null) {
+          if (failed) {
+            connection.rollback();
+          } else {
+            loadFile();
+            connection.commit();
+            LOG.debug("Loaded {} rows into {}.", loadedRows, tableName);
+          }
+        }
+      } catch (IOException | SQLException e) {
+        try {
+          connection.rollback();
+        } catch (SQLException ex) {
+          LOG.warn("Failed to rollback the transaction.", ex);
+        }
+        throw e instanceof IOException ? (IOException) e : new IOException(e);
+      } finally {
+        deleteFile();
+        deleteLogDir();
+        try {
+          connection.close();
+        } catch (SQLException e) {
+          throw new IOException(e);
+        }
+        releaseDriver();
+      }
+    }
+
+    private String[] readColumnDefinitions() throws IOException {
+      try (Statement statement = connection.createStatement();
+           ResultSet resultSet = statement.executeQuery(String.format("SELECT %s FROM %s WHERE 1 = 0",
+                                                                      String.join(",", fieldNames), tableName))) {
+        ResultSetMetaData metadata = resultSet.getMetaData();
+        String[] definitions = new String[metadata.getColumnCount()];
+        for (int i = 0; i < definitions.length; i++) {
+          definitions[i] = getColumnDefinition(metadata.getColumnTypeName(i + 1), metadata.getPrecision(i + 1),
+                                               metadata.getScale(i + 1));
+        }
+        return definitions;
+      } catch (SQLException e) {
+        throw new IOException(String.format("Failed to read the columns of table '%s'.", tableName), e);
+      }
+    }
+
+    private void loadFile() throws IOException {
+      if (output == null) {
+        return;
+      }
+      output.close();
+      output = null;
+      String query = constructLoadQuery(tableName, fieldNames, columnDefinitions, file.getAbsolutePath(),
+                                        logDir.getAbsolutePath(), maxRejectedRows);
+      try (Statement statement = connection.createStatement()) {
+        long insertedRows = statement.executeUpdate(query);
+        loadedRows += insertedRows;
+        NetezzaLoadMetrics.countRejected(metrics, tableName, fileRows - insertedRows);
+      } catch (SQLException e) {
+        throw new IOException(String.format("Failed to execute '%s'.", query), e);
+      } finally {
+        deleteFile();
+      }
+    }
+
+    private void deleteFile() {
+      if (output != null) {
+        try {
+          output.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close file {}.", file, e);
+        }
+        output = null;
+      }
+      if (file != null && !file.delete()) {
+        LOG.warn("Failed to delete file {}.", file);
+      }
+      file = null;
+      fileBytes = 0;
+      fileRows = 0;
+    }
+
+    /**
+     * Writes the logs of the loads to the task log and deletes the directory of the task.
+     */
+    private void deleteLogDir() {
+      if (logDir == null) {
+        return;
+      }
+      File[] logFiles = logDir.listFiles();
+      if (logFiles != null) {
+        for (File logFile : logFiles) {
+          String name = logFile.getName();
+          try {
+            if (name.endsWith(".nzbad") && logFile.length() > 0) {
+              LOG.warn("Rows rejected while loading table {}, from {}:{}{}", tableName, name,
+                       System.lineSeparator(), readLogFile(logFile));
+            } else if (name.endsWith(".nzlog") && LOG.isDebugEnabled()) {
+              LOG.debug("Log of the load of table {}, from {}:{}{}", tableName, name,
+                        System.lineSeparator(), readLogFile(logFile));
+            }
+          } catch (IOException e) {
+            LOG.warn("Failed to read file {}.", logFile, e);
+          }
+          if (!logFile.delete()) {
+            LOG.warn("Failed to delete file {}.", logFile);
+          }
+        }
+      }
+      if (!logDir.delete()) {
+        LOG.warn("Failed to delete directory {}.", logDir);
+      }
+      logDir = null;
+    }
+
+    private String readLogFile(File logFile) throws IOException {
+      return new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import io.cdap.cdap.etl.api.StageMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Reports the rows rejected by external table loads as metrics of the sink stage. Output formats have no access to
+ * the stage context, so the sink registers the metrics of its stage when it is initialized in a task, and the
+ * output format running in the same task looks them up by run and stage. The metrics stay registered until every
+ * sink of the run and stage that registered them in this JVM is destroyed.
+ */
+final class NetezzaLoadMetrics {
+  static final String REJECTED_RECORDS = "records.rejected";
+
+  private static final Logger LOG = LoggerFactory.getLogger(NetezzaLoadMetrics.class);
+  private static final Map<String, Registration> STAGE_METRICS = new ConcurrentHashMap<>();
+
+  private NetezzaLoadMetrics() {
+    throw new AssertionError("Should not instantiate static utility class.");
+  }
+
+  static void register(@Nullable String runId, String stageName, StageMetrics metrics) {
+    STAGE_METRICS.compute(getKey(runId, stageName), (key, registration) ->
+      registration == null ? new Registration(metrics) : registration.retain());
+  }
+
+  static void unregister(@Nullable String runId, String stageName) {
+    STAGE_METRICS.computeIfPresent(getKey(runId, stageName), (key, registration) -> registration.release());
+  }
+
+  @Nullable
+  static StageMetrics get(@Nullable String runId, String stageName) {
+    Registration registration = STAGE_METRICS.get(getKey(runId, stageName));
+    return registration == null ? null : registration.metrics;
+  }
+
+  static void countRejected(@Nullable StageMetrics metrics, String tableName, long rejectedRows) {
+    if (rejectedRows <= 0) {
+      return;
+    }
+    LOG.warn("{} rows were rejected while loading table {}.", rejectedRows, tableName);
+    if (metrics != null) {
+      metrics.count(REJECTED_RECORDS, (int) Math.min(rejectedRows, Integer.MAX_VALUE));
+    }
+  }
+
+  private static String getKey(@Nullable String runId, String stageName) {
+    return runId + ":" + stageName;
+  }
+
+  /**
+   * Metrics of a stage, with the number of sinks that registered them.
+   */
+  private static final class Registration {
+    private final StageMetrics metrics;
+    private final int references;
+
+    Registration(StageMetrics metrics) {
+      this(metrics, 1);
+    }
+
+    private Registration(StageMetrics metrics, int references) {
+      this.metrics = metrics;
+      this.references = references;
+    }
+
+    Registration retain() {
+      return new Registration(metrics, references + 1);
+    }
+
+    @Nullable
+    Registration release() {
+      return references == 1 ? null : new Registration(metrics, references - 1);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import io.cdap.cdap.etl.api.FailureCollector;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * How a Netezza source reads records.
+ */
+public enum NetezzaReadMode {
+  /**
+   * One query per split through a JDBC cursor.
+   */
+  QUERY,
+  /**
+   * Transient external table unloads through {@link NetezzaExternalTableInputFormat}.
+   */
+  EXTERNAL_TABLE;
+
+  /**
+   * Returns the read mode of the given value, defaults to {@link #QUERY} if the value is {@code null}.
+   */
+  public static NetezzaReadMode from(@Nullable String value) {
+    return value == null ? QUERY : valueOf(value.toUpperCase());
+  }
+
+  /**
+   * Validates that the given value is either null or one of the read modes.
+   *
+   * @param value the value to check
+   * @param collector failure collector
+   */
+  public static void validate(@Nullable String value, FailureCollector collector) {
+    try {
+      from(value);
+    } catch (IllegalArgumentException e) {
+      collector.addFailure(String.format("Unsupported read mode '%s'.", value),
+                           String.format("Read mode must be one of the following values: %s",
+                                         Arrays.toString(values())))
+        .withConfigProperty(NetezzaConstants.READ_MODE);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.TextRowEncoder;
+
+import java.util.List;
+
+/**
+ * Renders records as rows of a Netezza external table with a backslash escape character. Escaped characters are
+ * written as the escape character followed by the character itself, since Netezza does not translate escape
+ * sequences like {@code \t}. INTERVAL columns are written as the text read by {@link NetezzaDBRecord}, and
+ * VARBINARY columns as hex digits.
+ */
+class NetezzaRowEncoder extends TextRowEncoder {
+
+  NetezzaRowEncoder(List<ColumnType> columnTypes) {
+    super(columnTypes);
+  }
+
+  @Override
+  protected FieldEncoder createFieldEncoder(Schema.Field field, ColumnType columnType) {
+    if (columnType.getType() == NetezzaDBRecord.INTERVAL) {
+      return nullSafe(field.getName(), (value, row) -> appendString(row, value.toString()));
+    }
+    return super.createFieldEncoder(field, columnType);
+  }
+
+  @Override
+  protected void appendString(StringBuilder row, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' || c == FIELD_DELIMITER || c == ROW_DELIMITER || c == '\r') {
+        row.append('\\');
+      }
+      row.append(c);
+    }
+  }
+}
@@ -17,15 +17,22 @@
 package io.cdap.plugin.netezza;
 
 import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.etl.api.FailureCollector;
+import io.cdap.cdap.etl.api.batch.BatchRuntimeContext;
 import io.cdap.cdap.etl.api.batch.BatchSink;
+import io.cdap.cdap.etl.api.batch.BatchSinkContext;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
 
+import javax.annotation.Nullable;
 
 /**
  * Sink support for a Netezza database.
@@ -36,6 +43,7 @@ import io.cdap.plugin.db.batch.sink.FieldsValidator;
 public class NetezzaSink extends AbstractDBSink<NetezzaSink.NetezzaSinkConfig> {
 
   private final NetezzaSinkConfig netezzaSinkConfig;
+  private String stageName;
 
   public NetezzaSink(NetezzaSinkConfig netezzaSinkConfig) {
     super(netezzaSinkConfig);
@@ -52,10 +60,104 @@ public class NetezzaSink extends AbstractDBSink<NetezzaSink.NetezzaSinkConfig> {
     return new NetezzaFieldsValidator();
   }
 
+  @Override
+  public void prepareRun(BatchSinkContext context) {
+    stageName = context.getStageName();
+    super.prepareRun(context);
+  }
+
+  @Override
+  public void initialize(BatchRuntimeContext context) throws Exception {
+    super.initialize(context);
+    stageName = context.getStageName();
+    NetezzaLoadMetrics.register(getRunId(), stageName, context.getMetrics());
+  }
+
+  @Override
+  public void destroy() {
+    try {
+      if (stageName != null) {
+        NetezzaLoadMetrics.unregister(getRunId(), stageName);
+      }
+    } finally {
+      super.destroy();
+    }
+  }
+
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!netezzaSinkConfig.containsMacro(NetezzaConstants.WRITE_MODE)) {
+      NetezzaWriteMode.validate(netezzaSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, NetezzaConstants.EXTERNAL_TABLE_FILE_SIZE,
+                     netezzaSinkConfig.getExternalTableFileSize(), "External table file size");
+    Integer maxRejectedRows = netezzaSinkConfig.getMaxRejectedRows();
+    if (maxRejectedRows != null && maxRejectedRows < 0) {
+      collector.addFailure(String.format("Invalid value for maximum rejected rows '%d'.", maxRejectedRows),
+                           "Maximum rejected rows must be zero or more.")
+        .withConfigProperty(NetezzaConstants.MAX_REJECTED_ROWS);
+    }
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (NetezzaWriteMode.from(netezzaSinkConfig.getWriteMode()) == NetezzaWriteMode.EXTERNAL_TABLE) {
+      return NetezzaExternalTableOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (NetezzaWriteMode.from(netezzaSinkConfig.getWriteMode()) == NetezzaWriteMode.EXTERNAL_TABLE) {
+      NetezzaExternalTableOutputFormat.configure(configAccessor, stageName,
+                                                 netezzaSinkConfig.getExternalTableFileSize(),
+                                                 netezzaSinkConfig.getMaxRejectedRows());
+    }
+  }
+
   /**
    * Netezza action configuration.
    */
   public static class NetezzaSinkConfig extends DBSpecificSinkConfig {
+
+    @Name(NetezzaConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+      "'EXTERNAL_TABLE' loads files of delimited rows through transient external tables. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Name(NetezzaConstants.EXTERNAL_TABLE_FILE_SIZE)
+    @Description("Size in bytes of the files of rows that are loaded by each statement in 'EXTERNAL_TABLE' " +
+      "write mode. Defaults to 268435456.")
+    @Macro
+    @Nullable
+    private Long externalTableFileSize;
+
+    @Name(NetezzaConstants.MAX_REJECTED_ROWS)
+    @Description("Number of rows that each load may reject before it fails in 'EXTERNAL_TABLE' write mode. " +
+      "Rejected rows are counted in the 'records.rejected' metric. Defaults to 0.")
+    @Macro
+    @Nullable
+    private Integer maxRejectedRows;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Long getExternalTableFileSize() {
+      return externalTableFileSize;
+    }
+
+    @Nullable
+    public Integer getMaxRejectedRows() {
+      return maxRejectedRows;
+    }
+
     @Override
     public String getConnectionString() {
       return String.format(NetezzaConstants.NETEZZA_CONNECTION_STRING_FORMAT, host, port, database);
@@ -17,13 +17,17 @@
 package io.cdap.plugin.netezza;
 
 import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSource;
 import io.cdap.plugin.db.batch.config.DBSpecificSourceConfig;
 import io.cdap.plugin.db.batch.source.AbstractDBSource;
+import io.cdap.plugin.db.batch.source.DataDrivenETLDBInputFormat;
 import org.apache.hadoop.mapreduce.lib.db.DBWritable;
 
+import javax.annotation.Nullable;
 
 /**
  * Batch source to read from Netezza.
@@ -52,14 +56,52 @@ public class NetezzaSource extends AbstractDBSource<NetezzaSource.NetezzaSourceC
                          netezzaSourceConfig.port, netezzaSourceConfig.database);
   }
 
+  @Override
+  protected Class<? extends DataDrivenETLDBInputFormat> getInputFormatClass() {
+    return netezzaSourceConfig.isExternalTable() ? NetezzaExternalTableInputFormat.class
+      : super.getInputFormatClass();
+  }
+
   /**
    * Netezza source config.
    */
   public static class NetezzaSourceConfig extends DBSpecificSourceConfig {
 
+    @Name(NetezzaConstants.READ_MODE)
+    @Description("How records are read from the database. 'QUERY' reads the rows of each split through a JDBC " +
+      "cursor, 'EXTERNAL_TABLE' unloads them into a local file through a transient external table and parses the " +
+      "file. Defaults to 'QUERY'.")
+    @Macro
+    @Nullable
+    private String readMode;
+
     @Override
     public String getConnectionString() {
       return String.format(NetezzaConstants.NETEZZA_CONNECTION_STRING_FORMAT, host, port, database);
     }
+
+    @Nullable
+    public String getReadMode() {
+      return readMode;
+    }
+
+    @Override
+    public void validate(FailureCollector collector) {
+      super.validate(collector);
+      if (!containsMacro(NetezzaConstants.READ_MODE)) {
+        NetezzaReadMode.validate(readMode, collector);
+      }
+    }
+
+    /**
+     * Returns whether the rows are unloaded through external tables.
+     */
+    public boolean isExternalTable() {
+      try {
+        return NetezzaReadMode.from(readMode) == NetezzaReadMode.EXTERNAL_TABLE;
+      } catch (IllegalArgumentException e) {
+        return false;
+      }
+    }
   }
 }
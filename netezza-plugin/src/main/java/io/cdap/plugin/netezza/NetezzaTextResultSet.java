@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalTime;
+import javax.annotation.Nullable;
+
+/**
+ * Exposes rows of unloaded text values as a {@link ResultSet} with the metadata of the unloaded query, so that
+ * {@link NetezzaDBRecord} reads them with the same column readers and type semantics as the rows of a JDBC
+ * cursor. Values are converted by the getters like the Netezza driver converts them.
+ */
+class NetezzaTextResultSet implements InvocationHandler {
+  private final ResultSetMetaData metadata;
+  private final int[] columnTypes;
+  private final ResultSet resultSet;
+  private String[] row;
+  private boolean wasNull;
+
+  NetezzaTextResultSet(ResultSetMetaData metadata) throws SQLException {
+    this.metadata = metadata;
+    this.columnTypes = new int[metadata.getColumnCount()];
+    for (int i = 0; i < columnTypes.length; i++) {
+      columnTypes[i] = metadata.getColumnType(i + 1);
+    }
+    this.resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                                                        new Class<?>[] {ResultSet.class}, this);
+  }
+
+  /**
+   * Returns the result set, which is the same instance for all rows.
+   */
+  ResultSet getResultSet() {
+    return resultSet;
+  }
+
+  void setRow(String[] row) {
+    this.row = row;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "getMetaData":
+        return metadata;
+      case "wasNull":
+        return wasNull;
+      case "findColumn":
+        return findColumn((String) args[0]);
+      case "close":
+        return null;
+      case "isClosed":
+        return false;
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "equals":
+        return proxy == args[0];
+      case "toString":
+        return NetezzaTextResultSet.class.getSimpleName();
+    }
+    if (!method.getName().startsWith("get") || args == null || args.length != 1) {
+      throw new SQLFeatureNotSupportedException(String.format("'%s' is not supported for unloaded rows.",
+                                                              method.getName()));
+    }
+    int columnIndex = args[0] instanceof String ? findColumn((String) args[0]) : (Integer) args[0];
+    String value = row[columnIndex - 1];
+    wasNull = value == null;
+    return get(method.getName(), method.getReturnType(), columnTypes[columnIndex - 1], value);
+  }
+
+  @Nullable
+  private Object get(String getter, Class<?> returnType, int sqlType, @Nullable String value) throws SQLException {
+    if (value == null) {
+      return returnType.isPrimitive() ? defaultValue(returnType) : null;
+    }
+    switch (getter) {
+      case "getString":
+        return value;
+      case "getBoolean":
+        return parseBoolean(value);
+      case "getByte":
+        return Byte.parseByte(value);
+      case "getShort":
+        return Short.parseShort(value);
+      case "getInt":
+        return Integer.parseInt(value);
+      case "getLong":
+        return Long.parseLong(value);
+      case "getFloat":
+        return Float.parseFloat(value);
+      case "getDouble":
+        return Double.parseDouble(value);
+      case "getBigDecimal":
+        return new BigDecimal(value);
+      case "getDate":
+        return Date.valueOf(value);
+      case "getTime":
+        return Time.valueOf(LocalTime.parse(value));
+      case "getTimestamp":
+        return Timestamp.valueOf(value);
+      case "getBytes":
+        return parseHex(value);
+      case "getObject":
+        return getObject(sqlType, value);
+      default:
+        throw new SQLFeatureNotSupportedException(String.format("'%s' is not supported for unloaded rows.", getter));
+    }
+  }
+
+  private static Object getObject(int sqlType, String value) throws SQLException {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+        return Integer.parseInt(value);
+      case Types.BIGINT:
+        return Long.parseLong(value);
+      case Types.REAL:
+        return Float.parseFloat(value);
+      case Types.FLOAT:
+      case Types.DOUBLE:
+        return Double.parseDouble(value);
+      case Types.BIT:
+      case Types.BOOLEAN:
+        return parseBoolean(value);
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        return new BigDecimal(value);
+      case Types.DATE:
+        return Date.valueOf(value);
+      case Types.TIME:
+        return Time.valueOf(LocalTime.parse(value));
+      case Types.TIMESTAMP:
+        return Timestamp.valueOf(value);
+      case Types.BINARY:
+      case Types.VARBINARY:
+        return parseHex(value);
+      default:
+        return value;
+    }
+  }
+
+  private int findColumn(String columnLabel) throws SQLException {
+    for (int i = 1; i <= columnTypes.length; i++) {
+      if (metadata.getColumnLabel(i).equalsIgnoreCase(columnLabel)) {
+        return i;
+      }
+    }
+    throw new SQLException(String.format("Column '%s' not found in the unloaded rows.", columnLabel));
+  }
+
+  private static boolean parseBoolean(String value) {
+    return value.equals("1") || value.equalsIgnoreCase("t") || value.equalsIgnoreCase("true");
+  }
+
+  private static byte[] parseHex(String value) throws SQLException {
+    if (value.length() % 2 != 0) {
+      throw new SQLException(String.format("Invalid hex value '%s'.", value));
+    }
+    byte[] bytes = new byte[value.length() / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) Integer.parseInt(value.substring(2 * i, 2 * i + 2), 16);
+    }
+    return bytes;
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (type == boolean.class) {
+      return false;
+    }
+    if (type == float.class) {
+      return 0f;
+    }
+    if (type == double.class) {
+      return 0d;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == short.class) {
+      return (short) 0;
+    }
+    if (type == byte.class) {
+      return (byte) 0;
+    }
+    return 0;
+  }
+}
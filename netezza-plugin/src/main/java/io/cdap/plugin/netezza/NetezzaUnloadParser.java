@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import io.cdap.plugin.db.TextRowEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import javax.annotation.Nullable;
+
+/**
+ * Parses the rows of a Netezza external table unloaded with the delimiters of {@link TextRowEncoder}, a backslash
+ * escape character and {@code \N} null values. Rows are split on the bytes of the delimiters, which is safe for
+ * both the Latin-9 and the UTF-8 encoded columns of the 'internal' encoding, and each value is decoded with the
+ * charset of its column.
+ */
+class NetezzaUnloadParser {
+  private static final int ESCAPE = '\\';
+  // the null value is the only value that contains an escaped 'N', since 'N' itself is never escaped
+  private static final int NULL_MARKER = 'N';
+
+  private final InputStream input;
+  private final Charset[] charsets;
+  private final String[] values;
+  private final ByteArrayOutputStream value = new ByteArrayOutputStream();
+
+  NetezzaUnloadParser(InputStream input, Charset[] charsets) {
+    this.input = input;
+    this.charsets = charsets;
+    this.values = new String[charsets.length];
+  }
+
+  /**
+   * Returns the values of the next row, or null at the end of the input. The returned array is reused for every
+   * row.
+   */
+  @Nullable
+  String[] next() throws IOException {
+    int b = input.read();
+    if (b == -1) {
+      return null;
+    }
+    int column = 0;
+    boolean isNull = false;
+    value.reset();
+    while (true) {
+      if (b == -1 || b == TextRowEncoder.ROW_DELIMITER || b == TextRowEncoder.FIELD_DELIMITER) {
+        setValue(column++, isNull);
+        if (b != TextRowEncoder.FIELD_DELIMITER) {
+          break;
+        }
+        value.reset();
+        isNull = false;
+      } else if (b == ESCAPE) {
+        int next = input.read();
+        if (next == -1) {
+          throw new IOException("Unexpected end of the unloaded rows after an escape character.");
+        }
+        if (next == NULL_MARKER) {
+          isNull = true;
+        } else {
+          value.write(next);
+        }
+      } else {
+        value.write(b);
+      }
+      b = input.read();
+    }
+    if (column != values.length) {
+      throw new IOException(String.format("Expected %d values in the unloaded row, but found %d.",
+                                          values.length, column));
+    }
+    return values;
+  }
+
+  private void setValue(int column, boolean isNull) throws IOException {
+    if (column >= values.length) {
+      throw new IOException(String.format("Expected %d values in the unloaded row, but found more.",
+                                          values.length));
+    }
+    values[column] = isNull ? null : new String(value.toByteArray(), charsets[column]);
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.netezza;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Tests for {@link NetezzaExternalTableInputFormat}, {@link NetezzaUnloadParser} and {@link NetezzaTextResultSet}.
+ */
+public class NetezzaExternalTableInputFormatTest {
+  private static final Charset LATIN9 = Charset.forName("ISO-8859-15");
+
+  @Test
+  public void testConstructUnloadQuery() {
+    Assert.assertEquals("CREATE EXTERNAL TABLE '/tmp/rows.tbl' USING (REMOTESOURCE 'JDBC' DELIMITER 9 " +
+                          "ESCAPECHAR '\\' NULLVALUE '\\N' DATESTYLE 'YMD' DATEDELIM '-' TIMESTYLE '24HOUR' " +
+                          "BOOLSTYLE '1_0' ENCODING 'internal' LOGDIR '/tmp') AS SELECT * FROM my_table",
+                        NetezzaExternalTableInputFormat.constructUnloadQuery("SELECT * FROM my_table",
+                                                                             "/tmp/rows.tbl", "/tmp"));
+  }
+
+  @Test
+  public void testGetCharset() {
+    Assert.assertEquals(StandardCharsets.UTF_8, NetezzaExternalTableInputFormat.getCharset(Types.NVARCHAR, ""));
+    Assert.assertEquals(StandardCharsets.UTF_8,
+                        NetezzaExternalTableInputFormat.getCharset(Types.OTHER, "national character varying"));
+    Assert.assertEquals(LATIN9, NetezzaExternalTableInputFormat.getCharset(Types.VARCHAR, "VARCHAR"));
+  }
+
+  @Test
+  public void testParseRows() throws IOException {
+    byte[] bytes = "1\ta\\\tb\\\\N\t\\N\n\\N\t\t\u20ac\n".getBytes(StandardCharsets.UTF_8);
+    NetezzaUnloadParser parser = new NetezzaUnloadParser(
+      new ByteArrayInputStream(bytes), new Charset[] {LATIN9, LATIN9, StandardCharsets.UTF_8});
+
+    Assert.assertArrayEquals(new String[] {"1", "a\tb\\N", null}, parser.next());
+    Assert.assertArrayEquals(new String[] {null, "", "\u20ac"}, parser.next());
+    Assert.assertNull(parser.next());
+  }
+
+  @Test(expected = IOException.class)
+  public void testParseRowWithMissingValues() throws IOException {
+    NetezzaUnloadParser parser = new NetezzaUnloadParser(
+      new ByteArrayInputStream("1\n".getBytes(StandardCharsets.UTF_8)), new Charset[] {LATIN9, LATIN9});
+    parser.next();
+  }
+
+  @Test
+  public void testTextResultSet() throws SQLException {
+    NetezzaTextResultSet textResultSet = new NetezzaTextResultSet(
+      new Metadata(new String[] {"id", "amount", "flag", "day", "data"},
+                   new int[] {Types.INTEGER, Types.NUMERIC, Types.BOOLEAN, Types.DATE, Types.VARBINARY}));
+    ResultSet resultSet = textResultSet.getResultSet();
+
+    textResultSet.setRow(new String[] {"7", "12.50", "1", "2020-01-31", "0aff"});
+    Assert.assertEquals(7, resultSet.getInt(1));
+    Assert.assertEquals(new BigDecimal("12.50"), resultSet.getBigDecimal("amount"));
+    Assert.assertTrue(resultSet.getBoolean(3));
+    Assert.assertEquals(Date.valueOf("2020-01-31"), resultSet.getDate(4));
+    Assert.assertArrayEquals(new byte[] {0x0a, (byte) 0xff}, resultSet.getBytes(5));
+    Assert.assertEquals(7, resultSet.getObject(1));
+    Assert.assertFalse(resultSet.wasNull());
+
+    textResultSet.setRow(new String[] {null, null, null, null, null});
+    Assert.assertEquals(0, resultSet.getInt(1));
+    Assert.assertTrue(resultSet.wasNull());
+    Assert.assertNull(resultSet.getBigDecimal(2));
+  }
+
+  /**
+   * Metadata of named columns of the given types.
+   */
+  private static class Metadata implements ResultSetMetaData {
+    private final String[] names;
+    private final int[] types;
+
+    Metadata(String[] names, int[] types) {
+      this.names = names;
+      this.types = types;
+    }
+
+    @Override
+    public int getColumnCount() {
+      return names.length;
+    }
+
+    @Override
+    public String getColumnLabel(int column) {
+      return names[column - 1];
+    }
+
+    @Override
+    public String getColumnName(int column) {
+      return names[column - 1];
+    }
+
+    @Override
+    public int getColumnType(int column) {
+      return types[column - 1];
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) {
+      return false;
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) {
+      return false;
+    }
+
+    @Override
+    public boolean isSearchable(int column) {
+      return false;
+    }
+
+    @Override
+    public boolean isCurrency(int column) {
+      return false;
+    }
+
+    @Override
+    public int isNullable(int column) {
+      return columnNullable;
+    }
+
+    @Override
+    public boolean isSigned(int column) {
+      return false;
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) {
+      return 0;
+    }
+
+    @Override
+    public String getSchemaName(int column) {
+      return "";
+    }
+
+    @Override
+    public int getPrecision(int column) {
+      return 0;
+    }
+
+    @Override
+    public int getScale(int column) {
+      return 0;
+    }
+
+    @Override
+    public String getTableName(int column) {
+      return "";
+    }
+
+    @Override
+    public String getCatalogName(int column) {
+      return "";
+    }
+
+    @Override
+    public String getColumnTypeName(int column) {
+      return "";
+    }
+
+    @Override
+    public boolean isReadOnly(int column) {
+      return true;
+    }
+
+    @Override
+    public boolean isWritable(int column) {
+      return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) {
+      return false;
+    }
+
+    @Override
+    public String getColumnClassName(int column) {
+      return String.class.getName();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+      throw new SQLException("Not a wrapper.");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package io.cdap.plugin.netezza;
+
+import com.google.common.collect.ImmutableList;
+import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Types;
+
+/**
+ * Tests for {@link NetezzaExternalTableOutputFormat} and {@link NetezzaRowEncoder}.
+ */
+public class NetezzaExternalTableOutputFormatTest {
+
+  @Test
+  public void testGetColumnDefinition() {
+    Assert.assertEquals("NUMERIC(10,2)", NetezzaExternalTableOutputFormat.getColumnDefinition("numeric", 10, 2));
+    Assert.assertEquals("VARCHAR(20)", NetezzaExternalTableOutputFormat.getColumnDefinition("VARCHAR", 20, 0));
+    Assert.assertEquals("VARBINARY(8)", NetezzaExternalTableOutputFormat.getColumnDefinition("VARBINARY", 8, 0));
+    Assert.assertEquals("INTEGER", NetezzaExternalTableOutputFormat.getColumnDefinition("INTEGER", 10, 0));
+    Assert.assertEquals("INTERVAL", NetezzaExternalTableOutputFormat.getColumnDefinition("INTERVAL", 0, 0));
+  }
+
+  @Test
+  public void testConstructLoadQuery() {
+    String query = NetezzaExternalTableOutputFormat.constructLoadQuery(
+      "my_table", new String[] {"id", "name"}, new String[] {"INTEGER", "VARCHAR(20)"}, "/tmp/rows.tbl", "/tmp", 0);
+
+    Assert.assertEquals("INSERT INTO my_table (id,name) SELECT id,name FROM EXTERNAL '/tmp/rows.tbl' " +
+                          "(id INTEGER, name VARCHAR(20)) USING (REMOTESOURCE 'JDBC' DELIMITER 9 ESCAPECHAR '\\' " +
+                          "NULLVALUE '\\N' DATESTYLE 'YMD' DATEDELIM '-' TIMESTYLE '24HOUR' BOOLSTYLE '1_0' " +
+                          "CTRLCHARS TRUE MAXERRORS 1 LOGDIR '/tmp')", query);
+  }
+
+  @Test
+  public void testEncodeRow() {
+    Schema schema = Schema.recordOf("record",
+                                    Schema.Field.of("name", Schema.nullableOf(Schema.of(Schema.Type.STRING))),
+                                    Schema.Field.of("period", Schema.of(Schema.Type.STRING)),
+                                    Schema.Field.of("data", Schema.of(Schema.Type.BYTES)),
+                                    Schema.Field.of("flag", Schema.of(Schema.Type.BOOLEAN)));
+    NetezzaRowEncoder encoder = new NetezzaRowEncoder(ImmutableList.of(
+      new ColumnType("name", "VARCHAR", Types.VARCHAR),
+      new ColumnType("period", "INTERVAL", NetezzaDBRecord.INTERVAL),
+      new ColumnType("data", "VARBINARY", Types.VARBINARY),
+      new ColumnType("flag", "BOOLEAN", Types.BOOLEAN)));
+    StructuredRecord record = StructuredRecord.builder(schema)
+      .set("name", "a\tb\\c\nd")
+      .set("period", "1 day 02:00:00")
+      .set("data", new byte[] {0x0A, (byte) 0xFF})
+      .set("flag", true)
+      .build();
+
+    StringBuilder row = new StringBuilder();
+    encoder.encode(record, row);
+    Assert.assertEquals("a\\\tb\\\\c\\\nd\t1 day 02:00:00\t0aff\t1\n", row.toString());
+  }
+}
@@ -33,4 +33,5 @@ public final class OracleConstants {
   public static final String CONNECTION_TYPE = "connectionType";
   public static final String ROLE = "role";
   public static final String NAME_DATABASE = "database";
+  public static final String WRITE_MODE = "writeMode";
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.oracle;
+
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that writes records to Oracle with direct-path array inserts.
+ *
+ * <p>Each executed batch is bound as one array and inserted with the 'APPEND_VALUES' hint, so rows are written
+ * above the high water mark of the table, bypassing the buffer cache and generating minimal undo. A direct-path insert
+ * locks the table until the transaction ends and the table can not be modified again in the same transaction, so
+ * the transaction is committed after every batch and concurrent tasks load their batches one at a time.</p>
+ *
+ * @param <K> key class
+ * @param <V> value class
+ */
+public class OracleOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+
+  public static final String DIRECT_PATH = "io.cdap.plugin.oracle.direct.path";
+  public static final int DEFAULT_DIRECT_PATH_BATCH_SIZE = 50000;
+  public static final long DEFAULT_DIRECT_PATH_BATCH_SIZE_BYTES = 32L * 1024 * 1024;
+
+  private static final String INSERT = "INSERT";
+  private static final String APPEND_VALUES_HINT = " /*+ APPEND_VALUES */";
+
+  private boolean directPath;
+
+  /**
+   * Configures direct-path inserts. Batches default to {@link #DEFAULT_DIRECT_PATH_BATCH_SIZE} rows or
+   * {@link #DEFAULT_DIRECT_PATH_BATCH_SIZE_BYTES} bytes, whichever comes first, unless batch settings are configured,
+   * and the transaction is committed after every batch. Each task writes through a single connection, since a
+   * direct-path insert locks the table until it is committed.
+   *
+   * @param configAccessor accessor of the configuration of the output format
+   * @param batchSize configured maximum number of rows in a batch
+   * @param batchSizeBytes configured maximum estimated size in bytes of a batch
+   */
+  public static void configureDirectPath(ConnectionConfigAccessor configAccessor, @Nullable Integer batchSize,
+                                         @Nullable Long batchSizeBytes) {
+    configAccessor.getConfiguration().setBoolean(DIRECT_PATH, true);
+    if (batchSize == null && batchSizeBytes == null) {
+      configAccessor.setBatchSize(DEFAULT_DIRECT_PATH_BATCH_SIZE);
+      configAccessor.setBatchSizeBytes(DEFAULT_DIRECT_PATH_BATCH_SIZE_BYTES);
+    }
+    configAccessor.setBatchesPerCommit(1);
+    configAccessor.setWriterParallelism(1);
+  }
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    directPath = context.getConfiguration().getBoolean(DIRECT_PATH, false);
+    return super.getRecordWriter(context);
+  }
+
+  @Override
+  public String constructQuery(String table, String[] fieldNames) {
+    String query = super.constructQuery(table, fieldNames);
+    return directPath ? addAppendValuesHint(query) : query;
+  }
+
+  static String addAppendValuesHint(String query) {
+    if (!query.startsWith(INSERT)) {
+      return query;
+    }
+    return INSERT + APPEND_VALUES_HINT + query.substring(INSERT.length());
+  }
+}
@@ -24,14 +24,19 @@ import io.cdap.cdap.api.annotation.MetadataProperty;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
 import io.cdap.cdap.etl.api.connector.Connector;
 import io.cdap.plugin.common.ConfigUtil;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
 
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -67,6 +72,40 @@ public class OracleSink extends AbstractDBSink<OracleSink.OracleSinkConfig> {
     return new OracleSinkSchemaReader();
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!oracleSinkConfig.containsMacro(OracleConstants.WRITE_MODE)) {
+      OracleWriteMode.validate(oracleSinkConfig.getWriteMode(), collector);
+    }
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.ORACLE;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new OracleTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (OracleWriteMode.from(oracleSinkConfig.getWriteMode()) == OracleWriteMode.DIRECT_PATH) {
+      return OracleOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (OracleWriteMode.from(oracleSinkConfig.getWriteMode()) == OracleWriteMode.DIRECT_PATH) {
+      OracleOutputFormat.configureDirectPath(configAccessor, oracleSinkConfig.getBatchSize(),
+                                             oracleSinkConfig.getBatchSizeBytes());
+    }
+  }
+
   /**
    * Oracle action configuration.
    */
@@ -90,6 +129,19 @@ public class OracleSink extends AbstractDBSink<OracleSink.OracleSinkConfig> {
     @Nullable
     public Integer defaultBatchValue;
 
+    @Name(OracleConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of conventional insert statements, " +
+      "'DIRECT_PATH' writes each batch as a direct-path insert with the 'APPEND_VALUES' hint and commits it. " +
+      "Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
     @Override
     protected Map<String, String> getDBSpecificArguments() {
       return ImmutableMap.of(OracleConstants.DEFAULT_BATCH_VALUE, String.valueOf(defaultBatchValue));
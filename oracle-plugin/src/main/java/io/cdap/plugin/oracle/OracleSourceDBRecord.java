@@ -17,21 +17,18 @@
 package io.cdap.plugin.oracle;
 
 import com.google.common.io.ByteStreams;
-import io.cdap.cdap.api.common.Bytes;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
 import io.cdap.cdap.etl.api.validation.InvalidStageException;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ColumnWriter;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.math.BigDecimal;
-import java.nio.ByteBuffer;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -67,81 +64,52 @@ public class OracleSourceDBRecord extends DBRecord {
   }
 
   /**
-   * Builds the {@link #record} using the specified {@link ResultSet} for Oracle DB
-   *
-   * @param resultSet the {@link ResultSet} to build the {@link StructuredRecord} from
+   * Resolves the column readers for Oracle DB.
+   * All LONG or LONG RAW columns have to be retrieved from the ResultSet prior to all the other columns.
+   * Otherwise, we will face java.sql.SQLException: Stream has already been closed
    */
   @Override
-  public void readFields(ResultSet resultSet) throws SQLException {
-    Schema schema = getSchema();
-    ResultSetMetaData metadata = resultSet.getMetaData();
-    StructuredRecord.Builder recordBuilder = StructuredRecord.builder(schema);
-
-    // All LONG or LONG RAW columns have to be retrieved from the ResultSet prior to all the other columns.
-    // Otherwise, we will face java.sql.SQLException: Stream has already been closed
-    for (int i = 0; i < schema.getFields().size(); i++) {
+  protected ColumnReader[] createColumnReaders(ResultSetMetaData metadata, Schema schema) throws SQLException {
+    ColumnReader[] readers = super.createColumnReaders(metadata, schema);
+    ColumnReader[] orderedReaders = new ColumnReader[readers.length];
+    int position = 0;
+    for (int i = 0; i < readers.length; i++) {
       if (isLongOrLongRaw(metadata.getColumnType(i + 1))) {
-        readField(i, metadata, resultSet, schema, recordBuilder);
+        orderedReaders[position++] = readers[i];
       }
     }
-
     // Read fields of other types
-    for (int i = 0; i < schema.getFields().size(); i++) {
+    for (int i = 0; i < readers.length; i++) {
       if (!isLongOrLongRaw(metadata.getColumnType(i + 1))) {
-        readField(i, metadata, resultSet, schema, recordBuilder);
+        orderedReaders[position++] = readers[i];
       }
     }
-
-    record = recordBuilder.build();
+    return orderedReaders;
   }
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
     if (OracleSourceSchemaReader.ORACLE_TYPES.contains(sqlType) || sqlType == Types.NCLOB) {
-      handleOracleSpecificType(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
-    } else {
-      setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+      return createOracleSpecificColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
     }
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 
   @Override
-  protected void writeToDB(PreparedStatement stmt, @Nullable Schema.Field field, int fieldIndex) throws SQLException {
+  protected ColumnWriter createColumnWriter(@Nullable Schema.Field field, int fieldIndex) {
     int sqlType = columnTypes.get(fieldIndex).getType();
     int sqlIndex = fieldIndex + 1;
-    switch (sqlType) {
-      case OracleSourceSchemaReader.TIMESTAMP_TZ:
-        if (field != null && record.get(field.getName()) != null) {
-          // Set value of Oracle 'TIMESTAMP WITH TIME ZONE' data type as instance of 'oracle.sql.TIMESTAMPTZ',
-          // created from timestamp string, such as "2019-07-15 15:57:46.65 GMT".
-          String timestampString = record.get(field.getName());
-          Object timestampWithTimeZone = createOracleTimestampWithTimeZone(stmt.getConnection(), timestampString);
-          stmt.setObject(sqlIndex, timestampWithTimeZone);
-        } else {
-          stmt.setNull(sqlIndex, sqlType);
-        }
-        break;
-      default:
-        super.writeToDB(stmt, field, fieldIndex);
-    }
-  }
-
-  /**
-   * Creates an instance of 'oracle.sql.TIMESTAMPTZ' which corresponds to the specified timestamp with time zone string.
-   * @param connection sql connection.
-   * @param timestampString timestamp with time zone string, such as "2019-07-15 15:57:46.65 GMT".
-   * @return instance of 'oracle.sql.TIMESTAMPTZ' which corresponds to the specified timestamp with time zone string.
-   */
-  private Object createOracleTimestampWithTimeZone(Connection connection, String timestampString) {
-    try {
-      ClassLoader classLoader = connection.getClass().getClassLoader();
-      Class<?> timestampTZClass = classLoader.loadClass("oracle.sql.TIMESTAMPTZ");
-      return timestampTZClass.getConstructor(Connection.class, String.class).newInstance(connection, timestampString);
-    } catch (ClassNotFoundException e) {
-      throw new InvalidStageException("Unable to load 'oracle.sql.TIMESTAMPTZ'.", e);
-    } catch (InstantiationException | InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-      throw new InvalidStageException("Unable to instantiate 'oracle.sql.TIMESTAMPTZ'.", e);
+    if (sqlType == OracleSourceSchemaReader.TIMESTAMP_TZ && field != null) {
+      // Set value of Oracle 'TIMESTAMP WITH TIME ZONE' data type as instance of 'oracle.sql.TIMESTAMPTZ',
+      // created from timestamp string, such as "2019-07-15 15:57:46.65 GMT".
+      OracleTimestampTzFactory timestampTzFactory = new OracleTimestampTzFactory();
+      return ColumnWriter.nullSafe(field.getName(), sqlIndex, sqlType, (stmt, value) -> {
+        Object timestampWithTimeZone = timestampTzFactory.create(stmt.getConnection(), (String) value);
+        stmt.setObject(sqlIndex, timestampWithTimeZone);
+      });
     }
+    return super.createColumnWriter(field, fieldIndex);
   }
 
   /**
@@ -177,53 +145,48 @@ public class OracleSourceDBRecord extends DBRecord {
     }
   }
 
-  private void handleOracleSpecificType(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                                        int columnIndex, int sqlType, int precision, int scale)
+  private ColumnReader createOracleSpecificColumnReader(ResultSetMetaData metadata, Schema.Field field,
+                                                        int columnIndex, int sqlType, int precision, int scale)
     throws SQLException {
+    String fieldName = field.getName();
     switch (sqlType) {
       case OracleSourceSchemaReader.INTERVAL_YM:
       case OracleSourceSchemaReader.INTERVAL_DS:
       case OracleSourceSchemaReader.LONG:
       case Types.NCLOB:
-        recordBuilder.set(field.getName(), resultSet.getString(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
       case OracleSourceSchemaReader.TIMESTAMP_TZ:
-        recordBuilder.set(field.getName(), resultSet.getString(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getString(columnIndex));
       case OracleSourceSchemaReader.TIMESTAMP_LTZ:
-        Instant instant = resultSet.getTimestamp(columnIndex).toInstant();
-        recordBuilder.setTimestamp(field.getName(), instant.atZone(ZoneId.ofOffset("UTC", ZoneOffset.UTC)));
-        break;
+        return (resultSet, recordBuilder) -> {
+          Instant instant = resultSet.getTimestamp(columnIndex).toInstant();
+          recordBuilder.setTimestamp(fieldName, instant.atZone(ZoneId.ofOffset("UTC", ZoneOffset.UTC)));
+        };
       case OracleSourceSchemaReader.BINARY_FLOAT:
-        recordBuilder.set(field.getName(), resultSet.getFloat(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getFloat(columnIndex));
       case OracleSourceSchemaReader.BINARY_DOUBLE:
-        recordBuilder.set(field.getName(), resultSet.getDouble(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getDouble(columnIndex));
       case OracleSourceSchemaReader.BFILE:
-        String columnName = resultSet.getMetaData().getColumnName(columnIndex);
-        recordBuilder.set(field.getName(), getBfileBytes(resultSet, columnName));
-        break;
+        String columnName = metadata.getColumnName(columnIndex);
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, getBfileBytes(resultSet, columnName));
       case OracleSourceSchemaReader.LONG_RAW:
-        recordBuilder.set(field.getName(), resultSet.getBytes(columnIndex));
-        break;
+        return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getBytes(columnIndex));
       case Types.DECIMAL:
       case Types.NUMERIC:
         // This is the only way to differentiate FLOAT/REAL columns from other numeric columns, that based on NUMBER.
         // Since FLOAT is a subtype of the NUMBER data type, 'getColumnType' and 'getColumnTypeName' can not be used.
-        if (Double.class.getTypeName().equals(resultSet.getMetaData().getColumnClassName(columnIndex))) {
-          recordBuilder.set(field.getName(), resultSet.getDouble(columnIndex));
-        } else {
-          // For a Number type without specified precision and scale, precision will be 0 and scale will be -127
-          if (precision == 0) {
-            // reference : https://docs.oracle.com/cd/B28359_01/server.111/b28318/datatype.htm#CNCPT1832
-            scale = 0;
-          }
-          // It's required to pass 'scale' parameter since in the case of Oracle, scale of 'BigDecimal' depends on the
-          // scale of actual value. For example for value '77.12' scale will be '2' even if sql scale is '6'
-          BigDecimal decimal = resultSet.getBigDecimal(columnIndex, scale);
-          recordBuilder.setDecimal(field.getName(), decimal);
+        if (Double.class.getTypeName().equals(metadata.getColumnClassName(columnIndex))) {
+          return (resultSet, recordBuilder) -> recordBuilder.set(fieldName, resultSet.getDouble(columnIndex));
         }
+        // For a Number type without specified precision and scale, precision will be 0 and scale will be -127
+        // reference : https://docs.oracle.com/cd/B28359_01/server.111/b28318/datatype.htm#CNCPT1832
+        int decimalScale = precision == 0 ? 0 : scale;
+        // It's required to pass 'scale' parameter since in the case of Oracle, scale of 'BigDecimal' depends on the
+        // scale of actual value. For example for value '77.12' scale will be '2' even if sql scale is '6'
+        return (resultSet, recordBuilder) ->
+          recordBuilder.setDecimal(fieldName, resultSet.getBigDecimal(columnIndex, decimalScale));
+      default:
+        return (resultSet, recordBuilder) -> { };
     }
   }
 
@@ -231,22 +194,9 @@ public class OracleSourceDBRecord extends DBRecord {
     return columnType == OracleSourceSchemaReader.LONG || columnType == OracleSourceSchemaReader.LONG_RAW;
   }
 
-  private void readField(int index, ResultSetMetaData metadata, ResultSet resultSet, Schema schema,
-                         StructuredRecord.Builder recordBuilder) throws SQLException {
-    Schema.Field field = schema.getFields().get(index);
-    int columnIndex = index + 1;
-    int sqlType = metadata.getColumnType(columnIndex);
-    int sqlPrecision = metadata.getPrecision(columnIndex);
-    int sqlScale = metadata.getScale(columnIndex);
-
-    handleField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
-  }
-
   @Override
-  protected void writeBytes(PreparedStatement stmt, int fieldIndex, int sqlIndex, Object fieldValue)
-    throws SQLException {
-    byte[] byteValue = fieldValue instanceof ByteBuffer ? Bytes.toBytes((ByteBuffer) fieldValue) : (byte[]) fieldValue;
+  protected ColumnWriter.ValueWriter createBytesWriter(int sqlIndex, int sqlType) {
     // handles BINARY, VARBINARY and LOGVARBINARY
-    stmt.setBytes(sqlIndex, byteValue);
+    return (stmt, value) -> stmt.setBytes(sqlIndex, toBytes(value));
   }
 }
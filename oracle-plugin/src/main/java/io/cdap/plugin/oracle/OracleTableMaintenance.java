@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.oracle;
+
+import io.cdap.plugin.db.batch.sink.MaintenancePlan;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Suspends the maintenance of an Oracle table by marking its non-unique indexes unusable, which inserts skip by
+ * default, and by disabling its foreign keys and triggers. Indexes are rebuilt and foreign keys are validated again
+ * once records are loaded.
+ */
+public class OracleTableMaintenance implements TableMaintenance {
+  // partitioned indexes, which have no status, and indexes that enforce constraints are kept
+  private static final String INDEXES_QUERY = "SELECT i.index_name FROM user_indexes i " +
+    "WHERE i.table_name = ? AND i.uniqueness = 'NONUNIQUE' AND i.status = 'VALID' " +
+    "AND i.index_type IN ('NORMAL', 'BITMAP', 'FUNCTION-BASED NORMAL') " +
+    "AND NOT EXISTS (SELECT 1 FROM user_constraints c WHERE c.table_name = i.table_name " +
+    "AND c.index_name = i.index_name)";
+  private static final String FOREIGN_KEYS_QUERY = "SELECT constraint_name FROM user_constraints " +
+    "WHERE table_name = ? AND constraint_type = 'R' AND status = 'ENABLED'";
+  private static final String TRIGGERS_QUERY = "SELECT trigger_name FROM user_triggers " +
+    "WHERE table_name = ? AND status = 'ENABLED'";
+
+  @Override
+  public MaintenancePlan plan(Connection connection, String tableName, String escapedTableName) throws SQLException {
+    MaintenancePlan plan = new MaintenancePlan();
+    for (String[] index : TableMaintenance.queryCatalog(connection, INDEXES_QUERY, tableName, 1)) {
+      plan.addSuspendQuery(String.format("ALTER INDEX %s UNUSABLE", quote(index[0])));
+      plan.addIndexRestoreQuery(String.format("ALTER INDEX %s REBUILD", quote(index[0])));
+    }
+    for (String[] foreignKey : TableMaintenance.queryCatalog(connection, FOREIGN_KEYS_QUERY, tableName, 1)) {
+      plan.addSuspendQuery(String.format("ALTER TABLE %s DISABLE CONSTRAINT %s", escapedTableName,
+                                         quote(foreignKey[0])));
+      plan.addRestoreQuery(String.format("ALTER TABLE %s ENABLE CONSTRAINT %s", escapedTableName,
+                                         quote(foreignKey[0])));
+    }
+    for (String[] trigger : TableMaintenance.queryCatalog(connection, TRIGGERS_QUERY, tableName, 1)) {
+      plan.addSuspendQuery(String.format("ALTER TRIGGER %s DISABLE", quote(trigger[0])));
+      plan.addRestoreQuery(String.format("ALTER TRIGGER %s ENABLE", quote(trigger[0])));
+    }
+    return plan;
+  }
+
+  private static String quote(String name) {
+    return "\"" + name + "\"";
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.oracle;
+
+import io.cdap.cdap.etl.api.validation.InvalidStageException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Creates instances of 'oracle.sql.TIMESTAMPTZ' from timestamp with time zone strings.
+ *
+ * <p>The driver class is only available through the class loader of the connection, so its constructor is looked
+ * up once, when the first value is created, and kept as a method handle that is invoked for every value.</p>
+ */
+final class OracleTimestampTzFactory {
+
+  private static final String TIMESTAMPTZ_CLASS = "oracle.sql.TIMESTAMPTZ";
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Connection.class,
+                                                                           String.class);
+
+  private ClassLoader classLoader;
+  private MethodHandle constructor;
+
+  /**
+   * Creates an instance of 'oracle.sql.TIMESTAMPTZ' which corresponds to the specified timestamp with time zone string.
+   *
+   * @param connection sql connection.
+   * @param timestampString timestamp with time zone string, such as "2019-07-15 15:57:46.65 GMT".
+   * @return instance of 'oracle.sql.TIMESTAMPTZ' which corresponds to the specified timestamp with time zone string.
+   */
+  Object create(Connection connection, String timestampString) throws SQLException {
+    MethodHandle constructor = getConstructor(connection.getClass().getClassLoader());
+    try {
+      return constructor.invoke(connection, timestampString);
+    } catch (SQLException | RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new InvalidStageException("Unable to instantiate 'oracle.sql.TIMESTAMPTZ'.", t);
+    }
+  }
+
+  private MethodHandle getConstructor(ClassLoader connectionClassLoader) {
+    if (constructor != null && classLoader == connectionClassLoader) {
+      return constructor;
+    }
+    try {
+      Class<?> timestampTZClass = connectionClassLoader.loadClass(TIMESTAMPTZ_CLASS);
+      constructor = MethodHandles.publicLookup().findConstructor(timestampTZClass, CONSTRUCTOR_TYPE);
+      classLoader = connectionClassLoader;
+      return constructor;
+    } catch (ClassNotFoundException e) {
+      throw new InvalidStageException("Unable to load 'oracle.sql.TIMESTAMPTZ'.", e);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new InvalidStageException("Unable to instantiate 'oracle.sql.TIMESTAMPTZ'.", e);
+    }
+  }
+}
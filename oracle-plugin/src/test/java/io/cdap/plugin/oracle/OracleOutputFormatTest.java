@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package io.cdap.plugin.oracle;
+
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link OracleOutputFormat}.
+ */
+public class OracleOutputFormatTest {
+
+  @Test
+  public void testAddAppendValuesHint() {
+    Assert.assertEquals("INSERT /*+ APPEND_VALUES */ INTO \"my_table\" (id,name) VALUES (?,?)",
+                        OracleOutputFormat.addAppendValuesHint("INSERT INTO \"my_table\" (id,name) VALUES (?,?)"));
+  }
+
+  @Test
+  public void testConfigureDirectPathDefaults() {
+    ConnectionConfigAccessor configAccessor = new ConnectionConfigAccessor();
+    OracleOutputFormat.configureDirectPath(configAccessor, null, null);
+
+    Assert.assertTrue(configAccessor.getConfiguration().getBoolean(OracleOutputFormat.DIRECT_PATH, false));
+    Assert.assertEquals(OracleOutputFormat.DEFAULT_DIRECT_PATH_BATCH_SIZE, configAccessor.getBatchSize());
+    Assert.assertEquals(OracleOutputFormat.DEFAULT_DIRECT_PATH_BATCH_SIZE_BYTES, configAccessor.getBatchSizeBytes());
+    Assert.assertEquals(1, configAccessor.getBatchesPerCommit());
+  }
+
+  @Test
+  public void testConfigureDirectPathKeepsBatchSize() {
+    ConnectionConfigAccessor configAccessor = new ConnectionConfigAccessor();
+    configAccessor.setBatchSize(1000);
+    OracleOutputFormat.configureDirectPath(configAccessor, 1000, null);
+
+    Assert.assertEquals(1000, configAccessor.getBatchSize());
+    Assert.assertEquals(0, configAccessor.getBatchSizeBytes());
+    Assert.assertEquals(1, configAccessor.getBatchesPerCommit());
+  }
+}
@@ -27,5 +27,7 @@ public final class PostgresConstants {
 
   public static final String PLUGIN_NAME = "Postgres";
   public static final String CONNECTION_TIMEOUT = "connectionTimeout";
+  public static final String WRITE_MODE = "writeMode";
+  public static final String COPY_BUFFER_SIZE = "copyBufferSize";
   public static final String POSTGRES_CONNECTION_STRING_WITH_DB_FORMAT = "jdbc:postgresql://%s:%s/%s";
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.postgres;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
+import io.cdap.plugin.db.DBRecord;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Output format that loads records with 'COPY ... FROM STDIN' in text format instead of batched inserts.
+ * Each task streams its rows through a single COPY operation of the driver 'CopyManager', which is committed
+ * when the task completes. Rows are buffered and sent to the server whenever the buffer is full.
+ *
+ * @param <K> - Key passed to this class to be written, must be a {@link DBRecord}
+ * @param <V> - Value passed to this class to be written. The value is ignored.
+ */
+public class PostgresCopyOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+  public static final String COPY_BUFFER_SIZE = "io.cdap.plugin.postgres.copy.buffer.size";
+  public static final int DEFAULT_COPY_BUFFER_SIZE = 1024 * 1024;
+
+  private static final Logger LOG = LoggerFactory.getLogger(PostgresCopyOutputFormat.class);
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    Configuration conf = context.getConfiguration();
+    DBConfiguration dbConf = new DBConfiguration(conf);
+    String copyQuery = String.format("COPY %s (%s) FROM STDIN", dbConf.getOutputTableName(),
+                                     Joiner.on(',').join(dbConf.getOutputFieldNames()));
+    int bufferSize = conf.getInt(COPY_BUFFER_SIZE, DEFAULT_COPY_BUFFER_SIZE);
+    try {
+      ClassLoader driverClassLoader =
+        conf.getClassLoader().loadClass(conf.get(DBConfiguration.DRIVER_CLASS_PROPERTY)).getClassLoader();
+      return new CopyRecordWriter(getConnection(conf), driverClassLoader, copyQuery, bufferSize);
+    } catch (Exception e) {
+      throw Throwables.propagate(e);
+    }
+  }
+
+  /**
+   * Writes records through the 'org.postgresql.copy.CopyIn' of the connection. The driver classes are accessed
+   * through reflection, since they are loaded by the class loader of the JDBC plugin. The COPY operation is
+   * started with the first record, so that tasks without records do not issue any statement.
+   */
+  private class CopyRecordWriter extends RecordWriter<K, V> {
+    private final Connection connection;
+    private final ClassLoader driverClassLoader;
+    private final String copyQuery;
+    private final byte[] buffer;
+    private final StringBuilder row = new StringBuilder();
+    private int bufferedBytes;
+    private PostgresCopyRowEncoder rowEncoder;
+    private Object copyIn;
+    private Method writeToCopy;
+    private Method endCopy;
+    private Method cancelCopy;
+    private boolean failed;
+
+    CopyRecordWriter(Connection connection, ClassLoader driverClassLoader, String copyQuery, int bufferSize) {
+      this.connection = connection;
+      this.driverClassLoader = driverClassLoader;
+      this.copyQuery = copyQuery;
+      this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public void write(K key, V value) throws IOException {
+      if (!(key instanceof DBRecord)) {
+        throw new IOException(String.format("COPY requires records of type '%s', but found '%s'.",
+                                            DBRecord.class.getName(), key.getClass().getName()));
+      }
+      DBRecord dbRecord = (DBRecord) key;
+      boolean written = false;
+      try {
+        if (rowEncoder == null) {
+          rowEncoder = new PostgresCopyRowEncoder(dbRecord.getColumnTypes());
+        }
+        row.setLength(0);
+        rowEncoder.encode(dbRecord.getRecord(), row);
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+
+        if (copyIn == null) {
+          startCopy();
+        }
+        if (bufferedBytes + bytes.length > buffer.length) {
+          flushBuffer();
+        }
+        if (bytes.length > buffer.length) {
+          writeToCopy(bytes, bytes.length);
+        } else {
+          System.arraycopy(bytes, 0, buffer, bufferedBytes, bytes.length);
+          bufferedBytes += bytes.length;
+        }
+        written = true;
+      } finally {
+        // the rows of a failed write are not committed, whatever the failure
+        if (!written) {
+          failed = true;
+        }
+      }
+    }
+
+    @Override
+    public void close(TaskAttemptContext context) throws IOException {
+      try {
+        if (copyIn != null) {
+          if (failed) {
+            invoke(cancelCopy);
+            connection.rollback();
+          } else {
+            flushBuffer();
+            long rows = (Long) invoke(endCopy);
+            LOG.debug("Copied {} rows with '{}'.", rows, copyQuery);
+            connection.commit();
+          }
+        }
+      } catch (IOException | SQLException e) {
+        try {
+          connection.rollback();
+        } catch (SQLException ex) {
+          LOG.warn("Failed to rollback the transaction.", ex);
+        }
+        throw e instanceof IOException ? (IOException) e : new IOException(e);
+      } finally {
+        try {
+          connection.close();
+        } catch (SQLException e) {
+          throw new IOException(e);
+        }
+        releaseDriver();
+      }
+    }
+
+    private void startCopy() throws IOException {
+      try {
+        Class<?> pgConnectionClass = driverClassLoader.loadClass("org.postgresql.PGConnection");
+        Class<?> copyInClass = driverClassLoader.loadClass("org.postgresql.copy.CopyIn");
+        Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnectionClass));
+        copyIn = copyManager.getClass().getMethod("copyIn", String.class).invoke(copyManager, copyQuery);
+        writeToCopy = copyInClass.getMethod("writeToCopy", byte[].class, int.class, int.class);
+        endCopy = copyInClass.getMethod("endCopy");
+        cancelCopy = copyInClass.getMethod("cancelCopy");
+      } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | SQLException e) {
+        throw new IOException("Failed to start COPY through the PostgreSQL driver. " +
+                                "Make sure that the JDBC plugin uses the PostgreSQL driver.", e);
+      } catch (InvocationTargetException e) {
+        throw new IOException(String.format("Failed to start '%s'.", copyQuery), e.getCause());
+      }
+    }
+
+    private void flushBuffer() throws IOException {
+      if (bufferedBytes > 0) {
+        writeToCopy(buffer, bufferedBytes);
+        bufferedBytes = 0;
+      }
+    }
+
+    private void writeToCopy(byte[] bytes, int length) throws IOException {
+      invoke(writeToCopy, bytes, 0, length);
+    }
+
+    private Object invoke(Method method, Object... args) throws IOException {
+      try {
+        return method.invoke(copyIn, args);
+      } catch (IllegalAccessException e) {
+        throw new IOException(e);
+      } catch (InvocationTargetException e) {
+        throw new IOException(String.format("Failed to execute '%s'.", copyQuery), e.getCause());
+      }
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.postgres;
+
+import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.TextRowEncoder;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders records as rows of the text format of PostgreSQL 'COPY ... FROM STDIN'.
+ */
+class PostgresCopyRowEncoder extends TextRowEncoder {
+  private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSxxx");
+
+  PostgresCopyRowEncoder(List<ColumnType> columnTypes) {
+    super(columnTypes);
+  }
+
+  @Override
+  protected FieldEncoder createFieldEncoder(Schema.Field field, ColumnType columnType) {
+    if (PostgresDBRecord.isStringMapped(columnType)) {
+      // same as binding a PGobject of the column type, the server parses the string value
+      return nullSafe(field.getName(), (value, row) -> appendEscaped(row, value.toString()));
+    }
+    return super.createFieldEncoder(field, columnType);
+  }
+
+  @Override
+  protected String formatBoolean(boolean value) {
+    return value ? "t" : "f";
+  }
+
+  /**
+   * Includes the offset, so that values of 'timestamptz' columns do not depend on the session time zone.
+   * The offset is ignored for 'timestamp' columns, which get the local date time of the JVM time zone,
+   * as with {@link java.sql.PreparedStatement#setTimestamp}.
+   */
+  @Override
+  protected String formatTimestamp(ZonedDateTime value) {
+    return TIMESTAMP_FORMATTER.format(value.withZoneSameInstant(ZoneId.systemDefault()));
+  }
+
+  /**
+   * Appends the value in the hex format of 'bytea', with the backslash of the prefix escaped.
+   */
+  @Override
+  protected void appendBytes(StringBuilder row, byte[] value) {
+    row.append("\\\\x");
+    super.appendBytes(row, value);
+  }
+}
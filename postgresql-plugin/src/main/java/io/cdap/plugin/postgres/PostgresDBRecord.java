@@ -18,17 +18,19 @@ package io.cdap.plugin.postgres;
 
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ColumnWriter;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Writable class for PostgreSQL Source/Sink
@@ -47,13 +49,12 @@ public class PostgresDBRecord extends DBRecord {
   }
 
   @Override
-  protected void handleField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                             int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
-    if (isUseSchema(resultSet.getMetaData(), columnIndex)) {
-      setFieldAccordingToSchema(resultSet, recordBuilder, field, columnIndex);
-    } else {
-      setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+    if (isUseSchema(metadata, columnIndex)) {
+      return createSchemaColumnReader(field, columnIndex);
     }
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 
   private static boolean isUseSchema(ResultSetMetaData metadata, int columnIndex) throws SQLException {
@@ -67,37 +68,67 @@ public class PostgresDBRecord extends DBRecord {
     }
   }
 
-  private Object createPGobject(String type, String value, ClassLoader classLoader) throws SQLException {
-    try {
-      Class pGObjectClass = classLoader.loadClass("org.postgresql.util.PGobject");
-      Method setTypeMethod = pGObjectClass.getMethod("setType", String.class);
-      Method setValueMethod = pGObjectClass.getMethod("setValue", String.class);
-      Object result = pGObjectClass.newInstance();
-      setTypeMethod.invoke(result, type);
-      setValueMethod.invoke(result, value);
-      return result;
-    } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException |
-      InvocationTargetException e) {
-      throw new SQLException("Failed to create instance of org.postgresql.util.PGobject");
-    }
-  }
-
   @Override
-  protected void writeToDB(PreparedStatement stmt, Schema.Field field, int fieldIndex) throws SQLException {
-    int sqlIndex = fieldIndex + 1;
+  protected ColumnWriter createColumnWriter(@Nullable Schema.Field field, int fieldIndex) {
     ColumnType columnType = columnTypes.get(fieldIndex);
-    if (PostgresSchemaReader.STRING_MAPPED_POSTGRES_TYPES_NAMES.contains(columnType.getTypeName()) ||
-      PostgresSchemaReader.STRING_MAPPED_POSTGRES_TYPES.contains(columnType.getType())) {
-      stmt.setObject(sqlIndex, createPGobject(columnType.getTypeName(),
-                                              record.get(field.getName()),
-                                              stmt.getClass().getClassLoader()));
-    } else {
-      super.writeToDB(stmt, field, fieldIndex);
+    if (isStringMapped(columnType)) {
+      return new PGobjectWriter(field == null ? null : field.getName(), fieldIndex + 1, columnType.getTypeName());
     }
+    return super.createColumnWriter(field, fieldIndex);
+  }
+
+  /**
+   * Checks if values of the column are exchanged as strings that the server parses according to the column type.
+   */
+  static boolean isStringMapped(ColumnType columnType) {
+    return PostgresSchemaReader.STRING_MAPPED_POSTGRES_TYPES_NAMES.contains(columnType.getTypeName()) ||
+      PostgresSchemaReader.STRING_MAPPED_POSTGRES_TYPES.contains(columnType.getType());
   }
 
   @Override
   protected SchemaReader getSchemaReader() {
     return new PostgresSchemaReader();
   }
+
+  /**
+   * Writes string values as 'org.postgresql.util.PGobject' of the column type. The class is loaded from the
+   * class loader of the driver, and its methods are looked up once per writer.
+   */
+  private static class PGobjectWriter implements ColumnWriter {
+    private final String fieldName;
+    private final int sqlIndex;
+    private final String typeName;
+    private Class<?> pGObjectClass;
+    private Method setTypeMethod;
+    private Method setValueMethod;
+
+    PGobjectWriter(@Nullable String fieldName, int sqlIndex, String typeName) {
+      this.fieldName = fieldName;
+      this.sqlIndex = sqlIndex;
+      this.typeName = typeName;
+    }
+
+    @Override
+    public void write(PreparedStatement stmt, StructuredRecord record) throws SQLException {
+      String value = fieldName == null ? null : record.get(fieldName);
+      stmt.setObject(sqlIndex, createPGobject(value, stmt.getClass().getClassLoader()));
+    }
+
+    private Object createPGobject(@Nullable String value, ClassLoader classLoader) throws SQLException {
+      try {
+        if (pGObjectClass == null) {
+          pGObjectClass = classLoader.loadClass("org.postgresql.util.PGobject");
+          setTypeMethod = pGObjectClass.getMethod("setType", String.class);
+          setValueMethod = pGObjectClass.getMethod("setValue", String.class);
+        }
+        Object result = pGObjectClass.newInstance();
+        setTypeMethod.invoke(result, typeName);
+        setValueMethod.invoke(result, value);
+        return result;
+      } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException |
+        InvocationTargetException e) {
+        throw new SQLException("Failed to create instance of org.postgresql.util.PGobject");
+      }
+    }
+  }
 }
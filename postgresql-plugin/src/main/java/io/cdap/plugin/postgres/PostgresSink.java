@@ -30,12 +30,16 @@ import io.cdap.cdap.etl.api.batch.BatchSink;
 import io.cdap.cdap.etl.api.connector.Connector;
 import io.cdap.plugin.common.ConfigUtil;
 import io.cdap.plugin.db.ConnectionConfig;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
 import io.cdap.plugin.db.connector.AbstractDBSpecificConnectorConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +80,42 @@ public class PostgresSink extends AbstractDBSink<PostgresSink.PostgresSinkConfig
     return new PostgresDBRecord(output, columnTypes);
   }
 
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!postgresSinkConfig.containsMacro(PostgresConstants.WRITE_MODE)) {
+      PostgresWriteMode.validate(postgresSinkConfig.getWriteMode(), collector);
+    }
+    validatePositive(collector, PostgresConstants.COPY_BUFFER_SIZE, postgresSinkConfig.getCopyBufferSize(),
+                     "Copy buffer size");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.POSTGRES;
+  }
+
+  @Override
+  protected TableMaintenance getTableMaintenance() {
+    return new PostgresTableMaintenance();
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (PostgresWriteMode.from(postgresSinkConfig.getWriteMode()) == PostgresWriteMode.COPY) {
+      return PostgresCopyOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (postgresSinkConfig.getCopyBufferSize() != null) {
+      configAccessor.getConfiguration().setInt(PostgresCopyOutputFormat.COPY_BUFFER_SIZE,
+                                               postgresSinkConfig.getCopyBufferSize());
+    }
+  }
+
   @Override
   protected void setColumnsInfo(List<Schema.Field> fields) {
     List<String> columnsList = new ArrayList<>();
@@ -117,6 +157,30 @@ public class PostgresSink extends AbstractDBSink<PostgresSink.PostgresSinkConfig
     @Nullable
     public Integer connectionTimeout;
 
+    @Name(PostgresConstants.WRITE_MODE)
+    @Description("How records are written to the table. 'INSERT' writes batches of insert statements, 'COPY' " +
+      "streams the records of each task through a single 'COPY ... FROM STDIN'. Defaults to 'INSERT'.")
+    @Macro
+    @Nullable
+    private String writeMode;
+
+    @Name(PostgresConstants.COPY_BUFFER_SIZE)
+    @Description("Size in bytes of the buffer of rows that are sent to the server at once in 'COPY' write mode. " +
+      "Defaults to 1048576.")
+    @Macro
+    @Nullable
+    private Integer copyBufferSize;
+
+    @Nullable
+    public String getWriteMode() {
+      return writeMode;
+    }
+
+    @Nullable
+    public Integer getCopyBufferSize() {
+      return copyBufferSize;
+    }
+
     @Override
     public String getEscapedTableName() {
       return ESCAPE_CHAR + getTableName() + ESCAPE_CHAR;
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.postgres;
+
+import io.cdap.plugin.db.batch.sink.MaintenancePlan;
+import io.cdap.plugin.db.batch.sink.TableMaintenance;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Suspends the maintenance of a PostgreSQL table by dropping its non-unique indexes and foreign keys, which are
+ * created again once records are loaded, and by disabling its user triggers.
+ */
+public class PostgresTableMaintenance implements TableMaintenance {
+  // indexes of primary keys, unique and exclusion constraints are kept
+  private static final String INDEXES_QUERY = "SELECT i.indexrelid::regclass::text, pg_get_indexdef(i.indexrelid) " +
+    "FROM pg_index i WHERE i.indrelid = ?::text::regclass AND NOT i.indisunique AND NOT i.indisexclusion " +
+    "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)";
+  private static final String FOREIGN_KEYS_QUERY = "SELECT quote_ident(conname), pg_get_constraintdef(oid) " +
+    "FROM pg_constraint WHERE conrelid = ?::text::regclass AND contype = 'f'";
+  private static final String TRIGGERS_QUERY = "SELECT quote_ident(tgname) FROM pg_trigger " +
+    "WHERE tgrelid = ?::text::regclass AND NOT tgisinternal AND tgenabled <> 'D'";
+
+  @Override
+  public MaintenancePlan plan(Connection connection, String tableName, String escapedTableName) throws SQLException {
+    MaintenancePlan plan = new MaintenancePlan();
+    for (String[] index : TableMaintenance.queryCatalog(connection, INDEXES_QUERY, escapedTableName, 2)) {
+      plan.addSuspendQuery("DROP INDEX " + index[0]);
+      plan.addIndexRestoreQuery(index[1]);
+    }
+    // adding a foreign key back validates all rows at once
+    for (String[] foreignKey : TableMaintenance.queryCatalog(connection, FOREIGN_KEYS_QUERY, escapedTableName, 2)) {
+      plan.addSuspendQuery(String.format("ALTER TABLE %s DROP CONSTRAINT %s", escapedTableName, foreignKey[0]));
+      plan.addRestoreQuery(String.format("ALTER TABLE %s ADD CONSTRAINT %s %s", escapedTableName, foreignKey[0],
+                                         foreignKey[1]));
+    }
+    for (String[] trigger : TableMaintenance.queryCatalog(connection, TRIGGERS_QUERY, escapedTableName, 1)) {
+      plan.addSuspendQuery(String.format("ALTER TABLE %s DISABLE TRIGGER %s", escapedTableName, trigger[0]));
+      plan.addRestoreQuery(String.format("ALTER TABLE %s ENABLE TRIGGER %s", escapedTableName, trigger[0]));
+    }
+    return plan;
+  }
+}
@@ -28,6 +28,7 @@ import io.cdap.cdap.etl.proto.v2.ETLPlugin;
 import io.cdap.cdap.test.ApplicationManager;
 import io.cdap.cdap.test.DataSetManager;
 import io.cdap.plugin.common.Constants;
+import io.cdap.plugin.db.batch.config.AbstractDBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
 import org.junit.Assert;
 import org.junit.Before;
@@ -47,6 +48,7 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -135,13 +137,23 @@ public class PostgresSinkTestRun extends PostgresPluginTestBase {
     testDBSink("testDBSinkWithInferredInputSchema", "input-dbsinktest-inferred", false);
   }
 
+  @Test
+  public void testDBSinkWithMultiRowInserts() throws Exception {
+    // the UUID, INET and JSON columns are bound as PGobjects, which are loaded from the class loader of the statement
+    testDBSink("testDBSinkWithMultiRowInserts", "input-dbsinktest-multirow", true,
+               getSinkConfig(ImmutableMap.of(AbstractDBSpecificSinkConfig.ROWS_PER_INSERT, "2")));
+  }
+
   public void testDBSink(String appName, String inputDatasetName, boolean setInputSchema) throws Exception {
+    testDBSink(appName, inputDatasetName, setInputSchema, getSinkConfig());
+  }
+
+  private void testDBSink(String appName, String inputDatasetName, boolean setInputSchema,
+                          ETLPlugin sinkConfig) throws Exception {
     ETLPlugin sourceConfig = (setInputSchema)
       ? MockSource.getPlugin(inputDatasetName, SCHEMA)
       : MockSource.getPlugin(inputDatasetName);
 
-    ETLPlugin sinkConfig = getSinkConfig();
-
     ApplicationManager appManager = deployETL(sourceConfig, sinkConfig, DATAPIPELINE_ARTIFACT, appName);
     createInputData(inputDatasetName);
     runETLOnce(appManager, ImmutableMap.of("logical.start.time", String.valueOf(CURRENT_TS)));
@@ -254,6 +266,10 @@ public class PostgresSinkTestRun extends PostgresPluginTestBase {
   }
 
   private ETLPlugin getSinkConfig() {
+    return getSinkConfig(ImmutableMap.of());
+  }
+
+  private ETLPlugin getSinkConfig(Map<String, String> properties) {
     return new ETLPlugin(
       PostgresConstants.PLUGIN_NAME,
       BatchSink.PLUGIN_TYPE,
@@ -261,6 +277,7 @@ public class PostgresSinkTestRun extends PostgresPluginTestBase {
         .putAll(BASE_PROPS)
         .put(AbstractDBSink.DBSinkConfig.TABLE_NAME, "MY_DEST_TABLE")
         .put(Constants.Reference.REFERENCE_NAME, "DBTest")
+        .putAll(properties)
         .build(),
       null);
   }
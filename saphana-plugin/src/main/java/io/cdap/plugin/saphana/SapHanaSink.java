@@ -27,6 +27,7 @@ import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -72,6 +73,11 @@ public class SapHanaSink extends AbstractDBSink<SapHanaSink.SapHanaSinkConfig> {
     super.dbColumns = columnsJoiner.toString();
   }
 
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.SAP_HANA;
+  }
+
   @Override
   protected FieldsValidator getFieldsValidator() {
     return new SapHanaFieldValidator();
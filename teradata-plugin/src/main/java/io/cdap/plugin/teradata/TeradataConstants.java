@@ -22,4 +22,8 @@ package io.cdap.plugin.teradata;
 public final class TeradataConstants {
   public static final String PLUGIN_NAME = "Teradata";
   public static final String TERADATA_CONNECTION_STRING_FORMAT = "jdbc:teradata://%s/DATABASE=%s,DBS_PORT=%s%s";
+  public static final String WRITE_MODE = "writeMode";
+  public static final String FAST_LOAD_SESSIONS = "fastLoadSessions";
+  public static final String READ_MODE = "readMode";
+  public static final String FAST_EXPORT_SESSIONS = "fastExportSessions";
 }
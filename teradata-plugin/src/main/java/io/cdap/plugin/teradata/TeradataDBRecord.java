@@ -16,18 +16,17 @@
 
 package io.cdap.plugin.teradata;
 
-import io.cdap.cdap.api.common.Bytes;
 import io.cdap.cdap.api.data.format.StructuredRecord;
 import io.cdap.cdap.api.data.schema.Schema;
+import io.cdap.plugin.db.ColumnReader;
 import io.cdap.plugin.db.ColumnType;
+import io.cdap.plugin.db.ColumnWriter;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.nio.ByteBuffer;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.List;
@@ -59,22 +58,25 @@ public class TeradataDBRecord extends DBRecord {
   }
 
   @Override
-  protected void writeBytes(PreparedStatement stmt, int fieldIndex, int sqlIndex, Object fieldValue)
-    throws SQLException {
-    byte[] byteValue = fieldValue instanceof ByteBuffer ? Bytes.toBytes((ByteBuffer) fieldValue) : (byte[]) fieldValue;
+  protected ColumnWriter.ValueWriter createBytesWriter(int sqlIndex, int sqlType) {
     // handles BLOB, BINARY, VARBINARY
-    stmt.setBytes(sqlIndex, byteValue);
+    return (stmt, value) -> stmt.setBytes(sqlIndex, toBytes(value));
   }
 
   @Override
-  protected void setField(ResultSet resultSet, StructuredRecord.Builder recordBuilder, Schema.Field field,
-                          int columnIndex, int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
-    Object original = resultSet.getObject(columnIndex);
-    if (original != null && sqlType == Types.NUMERIC) {
-      BigDecimal decimal = (BigDecimal) original;
-      recordBuilder.setDecimal(field.getName(), decimal.setScale(sqlScale, RoundingMode.HALF_EVEN));
-    } else {
-      super.setField(resultSet, recordBuilder, field, columnIndex, sqlType, sqlPrecision, sqlScale);
+  protected ColumnReader createColumnReader(ResultSetMetaData metadata, Schema.Field field, int columnIndex,
+                                            int sqlType, int sqlPrecision, int sqlScale) throws SQLException {
+    if (sqlType == Types.NUMERIC) {
+      String fieldName = field.getName();
+      return (resultSet, recordBuilder) -> {
+        BigDecimal decimal = resultSet.getBigDecimal(columnIndex);
+        if (decimal == null) {
+          recordBuilder.set(fieldName, null);
+        } else {
+          recordBuilder.setDecimal(fieldName, decimal.setScale(sqlScale, RoundingMode.HALF_EVEN));
+        }
+      };
     }
+    return super.createColumnReader(metadata, field, columnIndex, sqlType, sqlPrecision, sqlScale);
   }
 }
@@ -0,0 +1,347 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.teradata.sink;
+
+import com.google.common.collect.ImmutableSet;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
+import io.cdap.plugin.db.batch.sink.StagingTables;
+import io.cdap.plugin.util.DriverRegistry;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+import org.apache.hadoop.mapreduce.lib.db.DBWritable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * Output format that writes records to Teradata through JDBC FastLoad.
+ *
+ * <p>FastLoad only loads empty tables and allows one load job per table, so every task attempt loads its records
+ * into its own empty staging table, named after the run and the attempt and created without a primary index from the
+ * columns of the target table, over a 'TYPE=FASTLOAD' connection that spreads the rows over the configured number of
+ * sessions. Once the load of a task is committed, its rows are moved to the target table with a single
+ * 'INSERT ... SELECT' and the staging table is dropped. The staging tables left by attempts that did not finish are
+ * dropped once the run finishes, see {@link #dropStagingTables(Connection, String, String)}.</p>
+ *
+ * <p>A task falls back to the batched inserts of {@link ETLDBOutputFormat} if the target table has columns that
+ * FastLoad can not load, or if the FastLoad job can not be started, for example because the system limit of
+ * concurrent load jobs is reached.</p>
+ *
+ * @param <K> key class
+ * @param <V> value class
+ */
+public class TeradataFastLoadOutputFormat<K extends DBWritable, V> extends ETLDBOutputFormat<K, V> {
+
+  public static final String SESSIONS = "io.cdap.plugin.teradata.fastload.sessions";
+  public static final int DEFAULT_BATCH_SIZE = 50000;
+
+  private static final Logger LOG = LoggerFactory.getLogger(TeradataFastLoadOutputFormat.class);
+  private static final String STAGING_TABLE_INFIX = "_FL_";
+  private static final String STAGING_TABLES_QUERY = "SELECT TableName FROM DBC.TablesV " +
+    "WHERE DatabaseName = %s AND TableName LIKE ? ESCAPE '\\' AND TableKind IN ('T', 'O')";
+  // types that can not be sent through FastLoad
+  private static final Set<Integer> UNSUPPORTED_TYPES = ImmutableSet.of(Types.BLOB, Types.CLOB, Types.NCLOB,
+                                                                        Types.SQLXML, Types.ARRAY, Types.STRUCT,
+                                                                        Types.JAVA_OBJECT, Types.OTHER);
+
+  @Nullable
+  private Connection fastLoadConnection;
+  @Nullable
+  private String stagingTable;
+
+  /**
+   * Configures the output format. Batches default to {@link #DEFAULT_BATCH_SIZE} rows unless batch settings are
+   * configured, and the transaction of a task is committed once, since the commit ends the FastLoad job. Batches
+   * are executed synchronously through a single connection, since a FastLoad connection only accepts the statement
+   * that started the job.
+   *
+   * @param configAccessor accessor of the configuration of the output format
+   * @param sessions number of FastLoad sessions of each task, or null for the driver default
+   * @param batchSize configured maximum number of rows in a batch
+   * @param batchSizeBytes configured maximum estimated size in bytes of a batch
+   */
+  public static void configure(ConnectionConfigAccessor configAccessor, @Nullable Integer sessions,
+                               @Nullable Integer batchSize, @Nullable Long batchSizeBytes) {
+    if (sessions != null) {
+      configAccessor.getConfiguration().setInt(SESSIONS, sessions);
+    }
+    if (batchSize == null && batchSizeBytes == null) {
+      configAccessor.setBatchSize(DEFAULT_BATCH_SIZE);
+    }
+    configAccessor.setBatchesPerCommit(0);
+    configAccessor.setAsyncBatches(0);
+    configAccessor.setWriterParallelism(1);
+  }
+
+  @Override
+  public RecordWriter<K, V> getRecordWriter(TaskAttemptContext context) throws IOException {
+    Configuration conf = context.getConfiguration();
+    DBConfiguration dbConf = new DBConfiguration(conf);
+    String tableName = dbConf.getOutputTableName();
+    String columns = String.join(",", dbConf.getOutputFieldNames());
+
+    Connection connection = getConnection(conf);
+    String ineligibility;
+    try {
+      ineligibility = checkEligibility(connection, tableName, columns);
+    } catch (SQLException e) {
+      closeQuietly(connection);
+      throw new IOException(e);
+    }
+    if (ineligibility != null) {
+      LOG.warn("Table {} can not be loaded with FastLoad, falling back to batched inserts: {}",
+               tableName, ineligibility);
+      closeQuietly(connection);
+      return super.getRecordWriter(context);
+    }
+
+    try {
+      String staging = StagingTables.getAttemptTableName(tableName, STAGING_TABLE_INFIX,
+                                                         new ConnectionConfigAccessor(conf).getRunId(),
+                                                         context.getTaskAttemptID());
+      executeAndCommit(connection, String.format("CREATE MULTISET TABLE %s AS (SELECT %s FROM %s) " +
+                                                   "WITH NO DATA NO PRIMARY INDEX", staging, columns, tableName));
+      stagingTable = staging;
+      fastLoadConnection = openFastLoadConnection(conf);
+      // the records are written to the staging table through the FastLoad connection, see getConnection()
+      RecordWriter<K, V> writer = super.getRecordWriter(context);
+      logWarnings(fastLoadConnection);
+      return new FastLoadRecordWriter(writer, connection, tableName, columns);
+    } catch (SQLException | RuntimeException e) {
+      LOG.warn("Unable to start FastLoad into table {}, falling back to batched inserts.", tableName, e);
+      if (fastLoadConnection != null) {
+        closeQuietly(fastLoadConnection);
+        fastLoadConnection = null;
+      }
+      dropStagingTable(connection);
+      stagingTable = null;
+      closeQuietly(connection);
+      return super.getRecordWriter(context);
+    }
+  }
+
+  @Override
+  protected Connection getConnection(Configuration conf) {
+    return fastLoadConnection == null ? super.getConnection(conf) : fastLoadConnection;
+  }
+
+  @Override
+  public String constructQuery(String table, String[] fieldNames) {
+    return super.constructQuery(stagingTable == null ? table : stagingTable, fieldNames);
+  }
+
+  /**
+   * Returns the reason why the given table can not be loaded with FastLoad, or null if it can.
+   */
+  @Nullable
+  private String checkEligibility(Connection connection, String tableName, String columns) throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(String.format("SELECT %s FROM %s WHERE 1 = 0",
+                                                                    columns, tableName))) {
+      ResultSetMetaData metadata = resultSet.getMetaData();
+      for (int i = 1; i <= metadata.getColumnCount(); i++) {
+        String typeName = metadata.getColumnTypeName(i).toUpperCase();
+        if (UNSUPPORTED_TYPES.contains(metadata.getColumnType(i)) || typeName.startsWith("PERIOD")
+          || typeName.startsWith("JSON")) {
+          return String.format("column '%s' is of type '%s'.", metadata.getColumnName(i), typeName);
+        }
+      }
+    }
+    return null;
+  }
+
+  private Connection openFastLoadConnection(Configuration conf) throws SQLException {
+    String url = conf.get(DBConfiguration.URL_PROPERTY) + ",TYPE=FASTLOAD";
+    int sessions = conf.getInt(SESSIONS, 0);
+    if (sessions > 0) {
+      url += ",SESSIONS=" + sessions;
+    }
+    Properties properties = new Properties();
+    properties.putAll(new ConnectionConfigAccessor(conf).getConnectionArguments());
+    Class<? extends Driver> driverClass;
+    try {
+      driverClass = registerDriver(conf);
+    } catch (ReflectiveOperationException e) {
+      throw new SQLException("Unable to load the JDBC driver.", e);
+    }
+    // FastLoad connections end with their load job, so they are not pooled
+    Connection connection = DriverRegistry.connect(driverClass, url, properties);
+    connection.setAutoCommit(false);
+    return connection;
+  }
+
+  /**
+   * Drops the staging tables that the task attempts of a run left behind, for example when an attempt was killed
+   * before its writer was closed.
+   *
+   * @param connection connection to the database
+   * @param tableName name of the target table of the tasks
+   * @param runId identifier of the run, see {@link ConnectionConfigAccessor#getRunId()}
+   */
+  public static void dropStagingTables(Connection connection, String tableName, String runId) throws SQLException {
+    // the staging tables are created in the database of the target table
+    String prefix = StagingTables.getAttemptTablePrefix(tableName, STAGING_TABLE_INFIX, runId);
+    int separator = StagingTables.getSchemaSeparator(prefix);
+    String database = separator < 0 ? null : prefix.substring(0, separator);
+    List<String> stagingTables = new ArrayList<>();
+    String query = String.format(STAGING_TABLES_QUERY, database == null ? "DATABASE" : "?");
+    try (PreparedStatement statement = connection.prepareStatement(query)) {
+      int index = 1;
+      if (database != null) {
+        statement.setString(index++, unquote(database));
+      }
+      statement.setString(index, StagingTables.escapeLikePattern(unquote(prefix.substring(separator + 1))) + "%");
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          String stagingTable = "\"" + resultSet.getString(1).trim().replace("\"", "\"\"") + "\"";
+          stagingTables.add(database == null ? stagingTable : database + "." + stagingTable);
+        }
+      }
+    }
+    connection.setAutoCommit(false);
+    for (String stagingTable : stagingTables) {
+      LOG.info("Dropping FastLoad staging table {} left by a task attempt.", stagingTable);
+      dropTableIfExists(connection, stagingTable);
+    }
+  }
+
+  private static String unquote(String name) {
+    if (name.length() > 1 && name.startsWith("\"") && name.endsWith("\"")) {
+      return name.substring(1, name.length() - 1).replace("\"\"", "\"");
+    }
+    return name;
+  }
+
+  private void dropStagingTable(Connection connection) {
+    if (stagingTable == null) {
+      return;
+    }
+    try {
+      dropTableIfExists(connection, stagingTable);
+    } catch (SQLException e) {
+      LOG.warn("Unable to drop FastLoad staging table {}.", stagingTable, e);
+    }
+  }
+
+  private static void dropTableIfExists(Connection connection, String table) throws SQLException {
+    try {
+      executeAndCommit(connection, "DROP TABLE " + table);
+    } catch (SQLException e) {
+      // 3807: object does not exist
+      if (e.getErrorCode() != 3807) {
+        throw e;
+      }
+      connection.rollback();
+    }
+  }
+
+  private static void executeAndCommit(Connection connection, String query) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.executeUpdate(query);
+    }
+    connection.commit();
+  }
+
+  private static void logWarnings(Connection connection) {
+    // the driver reports through warnings when it does not use FastLoad for a statement
+    try {
+      for (SQLWarning warning = connection.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+        LOG.warn("FastLoad warning: {}", warning.getMessage());
+      }
+    } catch (SQLException e) {
+      LOG.warn("Unable to read the warnings of the FastLoad connection.", e);
+    }
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LOG.warn("Unable to close connection.", e);
+    }
+  }
+
+  /**
+   * Writes records to the staging table of the task, and moves them to the target table once the FastLoad job
+   * is committed.
+   */
+  private class FastLoadRecordWriter extends RecordWriter<K, V> {
+    private final RecordWriter<K, V> delegate;
+    private final Connection connection;
+    private final String tableName;
+    private final String columns;
+    private boolean written;
+    private boolean failed;
+
+    FastLoadRecordWriter(RecordWriter<K, V> delegate, Connection connection, String tableName, String columns) {
+      this.delegate = delegate;
+      this.connection = connection;
+      this.tableName = tableName;
+      this.columns = columns;
+    }
+
+    @Override
+    public void write(K key, V value) throws IOException, InterruptedException {
+      written = true;
+      try {
+        delegate.write(key, value);
+      } catch (IOException | RuntimeException e) {
+        failed = true;
+        throw e;
+      }
+    }
+
+    @Override
+    public void close(TaskAttemptContext context) throws IOException, InterruptedException {
+      try {
+        delegate.close(context);
+        if (written && !failed) {
+          executeAndCommit(connection, String.format("INSERT INTO %s (%s) SELECT %s FROM %s",
+                                                     tableName, columns, columns, stagingTable));
+        }
+      } catch (SQLException e) {
+        try {
+          connection.rollback();
+        } catch (SQLException ex) {
+          LOG.warn("Unable to roll back the transaction.", ex);
+        }
+        throw new IOException(e);
+      } finally {
+        dropStagingTable(connection);
+        closeQuietly(connection);
+      }
+    }
+  }
+}
@@ -20,15 +20,22 @@ import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.api.data.format.StructuredRecord;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.cdap.etl.api.batch.BatchSink;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.DBRecord;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.sink.AbstractDBSink;
+import io.cdap.plugin.db.batch.sink.ETLDBOutputFormat;
 import io.cdap.plugin.db.batch.sink.FieldsValidator;
+import io.cdap.plugin.db.batch.sink.SqlDialect;
 import io.cdap.plugin.teradata.TeradataConstants;
 import io.cdap.plugin.teradata.TeradataDBRecord;
 import io.cdap.plugin.teradata.TeradataSchemaReader;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
 /**
  * Sink support for a Teradata database.
  */
@@ -57,4 +64,42 @@ public class TeradataSink  extends AbstractDBSink<TeradataSinkConfig> {
   protected DBRecord getDBRecord(StructuredRecord output) {
     return new TeradataDBRecord(output, columnTypes);
   }
+
+  @Override
+  protected void validateWriteSettings(FailureCollector collector) {
+    super.validateWriteSettings(collector);
+    if (!config.containsMacro(TeradataConstants.WRITE_MODE)) {
+      TeradataWriteMode.validate(config.getWriteMode(), collector);
+    }
+    validatePositive(collector, TeradataConstants.FAST_LOAD_SESSIONS, config.getFastLoadSessions(),
+                     "FastLoad sessions");
+  }
+
+  @Override
+  protected SqlDialect getSqlDialect() {
+    return SqlDialect.TERADATA;
+  }
+
+  @Override
+  protected Class<? extends ETLDBOutputFormat> getOutputFormatClass() {
+    if (TeradataWriteMode.from(config.getWriteMode()) == TeradataWriteMode.FASTLOAD) {
+      return TeradataFastLoadOutputFormat.class;
+    }
+    return super.getOutputFormatClass();
+  }
+
+  @Override
+  protected void configureOutputFormat(ConnectionConfigAccessor configAccessor) {
+    if (TeradataWriteMode.from(config.getWriteMode()) == TeradataWriteMode.FASTLOAD) {
+      TeradataFastLoadOutputFormat.configure(configAccessor, config.getFastLoadSessions(), config.getBatchSize(),
+                                             config.getBatchSizeBytes());
+    }
+  }
+
+  @Override
+  protected void cleanupTasks(Connection connection, String tableName, String runId) throws SQLException {
+    if (TeradataWriteMode.from(config.getWriteMode()) == TeradataWriteMode.FASTLOAD) {
+      TeradataFastLoadOutputFormat.dropStagingTables(connection, tableName, runId);
+    }
+  }
 }
@@ -16,14 +16,44 @@
 
 package io.cdap.plugin.teradata.sink;
 
+import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
+import io.cdap.cdap.api.annotation.Name;
 import io.cdap.plugin.db.batch.config.DBSpecificSinkConfig;
+import io.cdap.plugin.teradata.TeradataConstants;
 import io.cdap.plugin.teradata.TeradataUtils;
 
+import javax.annotation.Nullable;
+
 /**
  * Teradata sink config.
  */
 public class TeradataSinkConfig extends DBSpecificSinkConfig {
 
+  @Name(TeradataConstants.WRITE_MODE)
+  @Description("How records are written to the table. 'INSERT' writes batches of insert statements, " +
+    "'FASTLOAD' loads the records of each task through FastLoad sessions. Defaults to 'INSERT'.")
+  @Macro
+  @Nullable
+  private String writeMode;
+
+  @Name(TeradataConstants.FAST_LOAD_SESSIONS)
+  @Description("Number of FastLoad sessions opened by each task in 'FASTLOAD' write mode. " +
+    "Defaults to the driver default.")
+  @Macro
+  @Nullable
+  private Integer fastLoadSessions;
+
+  @Nullable
+  public String getWriteMode() {
+    return writeMode;
+  }
+
+  @Nullable
+  public Integer getFastLoadSessions() {
+    return fastLoadSessions;
+  }
+
   @Override
   public String getConnectionString() {
     return TeradataUtils.getConnectionString(host, port, database, connectionArguments);
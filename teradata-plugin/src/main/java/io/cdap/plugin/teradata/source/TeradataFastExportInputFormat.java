@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.cdap.plugin.teradata.source;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import io.cdap.plugin.db.batch.source.DataDrivenETLDBInputFormat;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.MRJobConfig;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.lib.db.DBConfiguration;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Input format that reads records from Teradata through JDBC FastExport.
+ *
+ * <p>Splits are planned on the hash of the split-by column, so that every split reads a disjoint share of
+ * about the same size of the rows on every AMP, whatever the distribution of the values of the column, and no
+ * bounding query is needed. The configured FastExport sessions are shared by the splits, so the export jobs of
+ * concurrent splits do not compete for more sessions than configured.</p>
+ *
+ * <p>Splits are still planned over a regular session. The query of each split is run over a 'TYPE=FASTEXPORT'
+ * connection, the driver falls back to a regular session for queries that FastExport does not support.</p>
+ */
+public class TeradataFastExportInputFormat extends DataDrivenETLDBInputFormat {
+
+  public static final String SESSIONS = "io.cdap.plugin.teradata.fastexport.sessions";
+
+  private static final String FAST_EXPORT_TYPE = ",TYPE=FASTEXPORT";
+  private static final String ALL_ROWS = "1=1";
+
+  /**
+   * Configures the input format.
+   *
+   * @param connectionConfigAccessor accessor of the configuration of the input format
+   * @param sessions total number of FastExport sessions shared by the splits, or null for the driver default
+   */
+  public static void configure(ConnectionConfigAccessor connectionConfigAccessor, @Nullable Integer sessions) {
+    if (sessions != null) {
+      connectionConfigAccessor.getConfiguration().setInt(SESSIONS, sessions);
+    }
+  }
+
+  @Override
+  public List<InputSplit> getSplits(JobContext job) throws IOException {
+    int numSplits = job.getConfiguration().getInt(MRJobConfig.NUM_MAPS, 1);
+    String splitBy = getDBConf().getInputOrderBy();
+    List<InputSplit> splits = new ArrayList<>();
+    if (numSplits <= 1 || Strings.isNullOrEmpty(splitBy)) {
+      splits.add(new DataDrivenDBInputSplit(ALL_ROWS, ALL_ROWS));
+      return splits;
+    }
+    for (String condition : getSplitConditions(splitBy, numSplits)) {
+      splits.add(new DataDrivenDBInputSplit(condition, ALL_ROWS));
+    }
+    return splits;
+  }
+
+  @Override
+  protected RecordReader createDBRecordReader(DBInputSplit split, Configuration conf) throws IOException {
+    // close the regular session opened when the input format was configured, getConnection() then opens
+    // the FastExport connection of the split
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        throw new IOException(e);
+      }
+      connection = null;
+    }
+    Configuration connectionConf = getConf();
+    connectionConf.set(DBConfiguration.URL_PROPERTY,
+                       getFastExportUrl(connectionConf.get(DBConfiguration.URL_PROPERTY),
+                                        connectionConf.getInt(SESSIONS, 0),
+                                        connectionConf.getInt(MRJobConfig.NUM_MAPS, 1)));
+    return super.createDBRecordReader(split, conf);
+  }
+
+  /**
+   * Returns conditions that split the rows into the given number of disjoint sets on the hash bucket of the
+   * split-by column. Rows with a null value all belong to the first split.
+   */
+  @VisibleForTesting
+  static List<String> getSplitConditions(String splitBy, int numSplits) {
+    List<String> conditions = new ArrayList<>(numSplits);
+    for (int i = 0; i < numSplits; i++) {
+      conditions.add(String.format("HASHBUCKET(HASHROW(%s)) MOD %d = %d", splitBy, numSplits, i));
+    }
+    return conditions;
+  }
+
+  /**
+   * Returns the url of a FastExport connection, sharing the given total number of sessions between the splits.
+   */
+  @VisibleForTesting
+  static String getFastExportUrl(String url, int sessions, int numSplits) {
+    if (url.toUpperCase().contains(FAST_EXPORT_TYPE)) {
+      return url;
+    }
+    String fastExportUrl = url + FAST_EXPORT_TYPE;
+    if (sessions > 0) {
+      fastExportUrl += ",SESSIONS=" + Math.max(1, sessions / Math.max(1, numSplits));
+    }
+    return fastExportUrl;
+  }
+}
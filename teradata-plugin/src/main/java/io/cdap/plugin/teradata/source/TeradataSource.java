@@ -20,8 +20,10 @@ import io.cdap.cdap.api.annotation.Description;
 import io.cdap.cdap.api.annotation.Name;
 import io.cdap.cdap.api.annotation.Plugin;
 import io.cdap.cdap.etl.api.batch.BatchSource;
+import io.cdap.plugin.db.ConnectionConfigAccessor;
 import io.cdap.plugin.db.SchemaReader;
 import io.cdap.plugin.db.batch.source.AbstractDBSource;
+import io.cdap.plugin.db.batch.source.DataDrivenETLDBInputFormat;
 import io.cdap.plugin.teradata.TeradataConstants;
 import io.cdap.plugin.teradata.TeradataDBRecord;
 import io.cdap.plugin.teradata.TeradataSchemaReader;
@@ -56,4 +58,16 @@ public class TeradataSource extends AbstractDBSource<TeradataSourceConfig> {
   protected SchemaReader getSchemaReader() {
     return new TeradataSchemaReader();
   }
+
+  @Override
+  protected Class<? extends DataDrivenETLDBInputFormat> getInputFormatClass() {
+    return config.isFastExport() ? TeradataFastExportInputFormat.class : super.getInputFormatClass();
+  }
+
+  @Override
+  protected void configureInputFormat(ConnectionConfigAccessor connectionConfigAccessor) {
+    if (config.isFastExport()) {
+      TeradataFastExportInputFormat.configure(connectionConfigAccessor, config.getFastExportSessions());
+    }
+  }
 }
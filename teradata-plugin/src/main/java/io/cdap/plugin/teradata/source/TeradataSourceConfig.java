@@ -16,14 +16,76 @@
 
 package io.cdap.plugin.teradata.source;
 
+import io.cdap.cdap.api.annotation.Description;
+import io.cdap.cdap.api.annotation.Macro;
+import io.cdap.cdap.api.annotation.Name;
+import io.cdap.cdap.etl.api.FailureCollector;
 import io.cdap.plugin.db.batch.config.DBSpecificSourceConfig;
+import io.cdap.plugin.teradata.TeradataConstants;
 import io.cdap.plugin.teradata.TeradataUtils;
 
+import javax.annotation.Nullable;
+
 /**
  * Teradata source config.
  */
 public class TeradataSourceConfig extends DBSpecificSourceConfig {
 
+  @Name(TeradataConstants.READ_MODE)
+  @Description("How records are read from the database. 'QUERY' runs the import query of each split over a " +
+    "regular session, 'FASTEXPORT' runs it over FastExport sessions. Defaults to 'QUERY'.")
+  @Macro
+  @Nullable
+  private String readMode;
+
+  @Name(TeradataConstants.FAST_EXPORT_SESSIONS)
+  @Description("Total number of FastExport sessions shared by the splits in 'FASTEXPORT' read mode. " +
+    "Defaults to the driver default for each split.")
+  @Macro
+  @Nullable
+  private Integer fastExportSessions;
+
+  @Nullable
+  public String getReadMode() {
+    return readMode;
+  }
+
+  @Nullable
+  public Integer getFastExportSessions() {
+    return fastExportSessions;
+  }
+
+  @Override
+  public void validate(FailureCollector collector) {
+    super.validate(collector);
+    if (!containsMacro(TeradataConstants.READ_MODE)) {
+      TeradataReadMode.validate(readMode, collector);
+    }
+    if (!containsMacro(TeradataConstants.FAST_EXPORT_SESSIONS) && fastExportSessions != null
+      && fastExportSessions < 1) {
+      collector.addFailure(String.format("Invalid value for FastExport sessions '%d'. Must be at least 1.",
+                                         fastExportSessions), null)
+        .withConfigProperty(TeradataConstants.FAST_EXPORT_SESSIONS);
+    }
+  }
+
+  @Override
+  protected boolean requiresBoundingQuery() {
+    // FastExport splits are planned on the hash of the split-by column
+    return super.requiresBoundingQuery() && (containsMacro(TeradataConstants.READ_MODE) || !isFastExport());
+  }
+
+  /**
+   * Returns whether the records are read through FastExport.
+   */
+  public boolean isFastExport() {
+    try {
+      return TeradataReadMode.from(readMode) == TeradataReadMode.FASTEXPORT;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
   @Override
   public String getConnectionString() {
     return TeradataUtils.getConnectionString(host, port, database, connectionArguments);
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package io.cdap.plugin.teradata.sink;
+
+import io.cdap.plugin.db.ConnectionConfigAccessor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Tests for {@link TeradataFastLoadOutputFormat}.
+ */
+public class TeradataFastLoadOutputFormatTest {
+
+  @Test
+  public void testDropStagingTables() throws SQLException {
+    Connection connection = Mockito.mock(Connection.class);
+    PreparedStatement query = Mockito.mock(PreparedStatement.class);
+    ResultSet resultSet = Mockito.mock(ResultSet.class);
+    Mockito.when(resultSet.next()).thenReturn(true, false);
+    Mockito.when(resultSet.getString(1)).thenReturn("my_table_FL_run_20221015_0001_m_000003_0  ");
+    Mockito.when(query.executeQuery()).thenReturn(resultSet);
+    Mockito.when(connection.prepareStatement(ArgumentMatchers.contains("DBC.TablesV"))).thenReturn(query);
+    Statement statement = Mockito.mock(Statement.class);
+    Mockito.when(connection.createStatement()).thenReturn(statement);
+
+    TeradataFastLoadOutputFormat.dropStagingTables(connection, "\"db\".my_table", "run");
+
+    Mockito.verify(query).setString(1, "db");
+    Mockito.verify(query).setString(2, "my\\_table\\_FL\\_run\\_%");
+    Mockito.verify(statement).executeUpdate("DROP TABLE \"db\".\"my_table_FL_run_20221015_0001_m_000003_0\"");
+  }
+
+  @Test
+  public void testConfigure() {
+    ConnectionConfigAccessor configAccessor = new ConnectionConfigAccessor();
+    configAccessor.setBatchesPerCommit(10);
+    TeradataFastLoadOutputFormat.configure(configAccessor, 4, null, null);
+
+    Assert.assertEquals(4, configAccessor.getConfiguration().getInt(TeradataFastLoadOutputFormat.SESSIONS, 0));
+    Assert.assertEquals(TeradataFastLoadOutputFormat.DEFAULT_BATCH_SIZE, configAccessor.getBatchSize());
+    Assert.assertEquals(0, configAccessor.getBatchesPerCommit());
+  }
+}
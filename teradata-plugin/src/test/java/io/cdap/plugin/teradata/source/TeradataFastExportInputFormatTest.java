@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2022 Cask Data, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+
+package io.cdap.plugin.teradata.source;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TeradataFastExportInputFormat}.
+ */
+public class TeradataFastExportInputFormatTest {
+
+  @Test
+  public void testGetSplitConditions() {
+    Assert.assertEquals(ImmutableList.of("HASHBUCKET(HASHROW(id)) MOD 3 = 0",
+                                         "HASHBUCKET(HASHROW(id)) MOD 3 = 1",
+                                         "HASHBUCKET(HASHROW(id)) MOD 3 = 2"),
+                        TeradataFastExportInputFormat.getSplitConditions("id", 3));
+  }
+
+  @Test
+  public void testGetFastExportUrl() {
+    String url = "jdbc:teradata://localhost/DATABASE=db,DBS_PORT=1025";
+    Assert.assertEquals(url + ",TYPE=FASTEXPORT", TeradataFastExportInputFormat.getFastExportUrl(url, 0, 4));
+    Assert.assertEquals(url + ",TYPE=FASTEXPORT,SESSIONS=2",
+                        TeradataFastExportInputFormat.getFastExportUrl(url, 8, 4));
+    Assert.assertEquals(url + ",TYPE=FASTEXPORT,SESSIONS=1",
+                        TeradataFastExportInputFormat.getFastExportUrl(url, 2, 4));
+    Assert.assertEquals(url + ",TYPE=FASTEXPORT",
+                        TeradataFastExportInputFormat.getFastExportUrl(url + ",TYPE=FASTEXPORT", 8, 4));
+  }
+}